@@ -98,6 +98,15 @@ public class SingletonFactory {
         }
     }
 
+    /**
+     * 获取已经创建完成的单例实例，没有创建过（或正在创建）时返回 null，不会触发创建
+     * 用于只在界面已经打开时才需要更新的场景，避免为此提前构建面板
+     */
+    public static <T> T getInstanceIfPresent(Class<T> clazz) {
+        Object existing = INSTANCE_MAP.get(clazz);
+        return clazz.isInstance(existing) ? clazz.cast(existing) : null;
+    }
+
     /**
      * 清理所有已缓存的单例实例（用于语言/主题切换时全量刷新 UI）
      */
@@ -0,0 +1,243 @@
+package com.laker.postman.common.startup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 启动流水线，按声明的依赖关系执行启动阶段
+ * <p>
+ * 阶段在依赖的阶段全部完成后开始，互不依赖的阶段（读取工作区、环境变量、请求集合、历史记录等）在后台线程中并行执行。
+ * 依赖只能指向已经声明的阶段，因此不会出现环。阶段失败时依赖它的阶段被跳过，其它阶段不受影响。
+ * 每个阶段的开始时间、耗时和执行线程在全部结束后写入日志，并保存在 {@link #getLastTimings()} 中供界面查看。
+ * </p>
+ */
+@Slf4j
+public class StartupPipeline {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // 最近一次启动各阶段的耗时，按开始时间排序
+    private static volatile List<StageTiming> lastTimings = List.of();
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+    private final List<StageTiming> timings = Collections.synchronizedList(new ArrayList<>());
+    private Consumer<StageTiming> stageListener = timing -> {
+    };
+    private boolean started;
+
+    public enum Status {
+        SUCCESS, FAILED, SKIPPED
+    }
+
+    /**
+     * 一个阶段的执行记录，时间相对于流水线开始
+     */
+    public static final class StageTiming {
+        private final String name;
+        private final List<String> dependencies;
+        private final String threadName;
+        private final long startNanos;
+        private final long durationNanos;
+        private final Status status;
+
+        public StageTiming(String name, List<String> dependencies, String threadName, long startNanos,
+                           long durationNanos, Status status) {
+            this.name = name;
+            this.dependencies = dependencies;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.status = status;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getEndNanos() {
+            return startNanos + durationNanos;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final Runnable action;
+        private final List<String> dependencies;
+
+        private Stage(String name, Runnable action, List<String> dependencies) {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * 声明一个阶段
+     *
+     * @param dependencies 必须先完成的阶段，只能是已经声明过的
+     */
+    public StartupPipeline stage(String name, Runnable action, String... dependencies) {
+        if (started) {
+            throw new IllegalStateException("Startup pipeline already started");
+        }
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate startup stage: " + name);
+        }
+        for (String dependency : dependencies) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException(
+                        "Startup stage '" + name + "' depends on undeclared stage '" + dependency + "'");
+            }
+        }
+        stages.put(name, new Stage(name, action, List.of(dependencies)));
+        return this;
+    }
+
+    /**
+     * 每个阶段结束（成功、失败或跳过）时回调，在执行该阶段的线程中调用
+     */
+    public StartupPipeline onStageFinished(Consumer<StageTiming> listener) {
+        this.stageListener = listener;
+        return this;
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    /**
+     * 开始执行所有阶段
+     *
+     * @return 所有阶段结束后完成，有阶段失败时异常完成
+     */
+    public CompletableFuture<Void> start() {
+        if (started) {
+            throw new IllegalStateException("Startup pipeline already started");
+        }
+        started = true;
+        // 阶段大多在等待磁盘 I/O，线程数按阶段数而不是 CPU 核数，保证没有依赖关系的阶段都能同时开始
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, stages.size()), r -> {
+            Thread thread = new Thread(r, "EasyStartup-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startNanos = System.nanoTime();
+        for (Stage stage : stages.values()) {
+            CompletableFuture<?>[] dependencies = stage.dependencies.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                    .handleAsync((ignored, dependencyError) -> {
+                        if (dependencyError != null) {
+                            finish(new StageTiming(stage.name, stage.dependencies, Thread.currentThread().getName(),
+                                    System.nanoTime() - startNanos, 0, Status.SKIPPED));
+                            log.warn("Startup stage '{}' skipped because a dependency failed", stage.name);
+                            throw new CompletionException(dependencyError);
+                        }
+                        runStage(stage, startNanos);
+                        return null;
+                    }, executor);
+            futures.put(stage.name, future);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    List<StageTiming> sorted = new ArrayList<>(timings);
+                    sorted.sort(Comparator.comparingLong(StageTiming::getStartNanos));
+                    lastTimings = Collections.unmodifiableList(sorted);
+                    log.info("Startup stages:\n{}", format(lastTimings));
+                });
+    }
+
+    /**
+     * 获取阶段完成的 Future，阶段失败或被跳过时异常完成
+     */
+    public CompletableFuture<Void> getFuture(String name) {
+        CompletableFuture<Void> future = futures.get(name);
+        if (future == null) {
+            throw new IllegalArgumentException("Unknown startup stage or pipeline not started: " + name);
+        }
+        return future;
+    }
+
+    private void runStage(Stage stage, long pipelineStart) {
+        long begin = System.nanoTime();
+        RuntimeException error = null;
+        try {
+            stage.action.run();
+        } catch (RuntimeException e) {
+            error = e;
+            log.error("Startup stage '{}' failed", stage.name, e);
+        }
+        long end = System.nanoTime();
+        finish(new StageTiming(stage.name, stage.dependencies, Thread.currentThread().getName(),
+                begin - pipelineStart, end - begin, error == null ? Status.SUCCESS : Status.FAILED));
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void finish(StageTiming timing) {
+        timings.add(timing);
+        try {
+            stageListener.accept(timing);
+        } catch (RuntimeException e) {
+            log.warn("Startup stage listener failed", e);
+        }
+    }
+
+    /**
+     * 最近一次启动的阶段耗时，启动还没有结束时为空
+     */
+    public static List<StageTiming> getLastTimings() {
+        return lastTimings;
+    }
+
+    /**
+     * 格式化为文本表格，用于日志和界面显示
+     */
+    public static String format(List<StageTiming> timings) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %10s  %-8s %-16s %s%n",
+                "stage", "start(ms)", "cost(ms)", "status", "thread", "after"));
+        long total = 0;
+        for (StageTiming timing : timings) {
+            total = Math.max(total, timing.getEndNanos());
+            sb.append(String.format("%-20s %10.1f %10.1f  %-8s %-16s %s%n",
+                    timing.getName(), toMillis(timing.getStartNanos()), toMillis(timing.getDurationNanos()),
+                    timing.getStatus(), timing.getThreadName(),
+                    timing.getDependencies().isEmpty() ? "-" : String.join(", ", timing.getDependencies())));
+        }
+        sb.append(String.format("total: %.1f ms", toMillis(total)));
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
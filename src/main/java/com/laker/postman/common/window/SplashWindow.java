@@ -4,9 +4,19 @@ import com.formdev.flatlaf.FlatLaf;
 import com.laker.postman.common.SingletonFactory;
 import com.laker.postman.common.constants.Icons;
 import com.laker.postman.common.constants.ModernColors;
+import com.laker.postman.common.startup.StartupPipeline;
 import com.laker.postman.frame.MainFrame;
+import com.laker.postman.ioc.BeanFactory;
 import com.laker.postman.ioc.Component;
 import com.laker.postman.ioc.PostConstruct;
+import com.laker.postman.panel.collections.left.RequestCollectionsLeftPanel;
+import com.laker.postman.performance.result.ResultSegmentStore;
+import com.laker.postman.service.ClientCertificateService;
+import com.laker.postman.service.EnvironmentService;
+import com.laker.postman.service.HistoryPersistenceService;
+import com.laker.postman.service.PerformancePersistenceService;
+import com.laker.postman.service.WorkspaceService;
+import com.laker.postman.service.js.JsScriptExecutor;
 import com.laker.postman.util.FontsUtil;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
@@ -16,6 +26,8 @@ import lombok.extern.slf4j.Slf4j;
 import javax.swing.*;
 import java.awt.*;
 import java.io.Serial;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 启动欢迎窗口（Splash Window），用于主程序加载时的过渡。
@@ -27,6 +39,17 @@ public class SplashWindow extends JWindow {
     private static final long serialVersionUID = 1L; // 添加序列化ID
     public static final int MIN_TIME = 1000; // 最小显示时间，避免闪屏
 
+    // 启动阶段
+    private static final String STAGE_WORKSPACES = "workspaces";
+    private static final String STAGE_ENVIRONMENTS = "environments";
+    private static final String STAGE_COLLECTIONS = "collections";
+    private static final String STAGE_HISTORY = "history";
+    private static final String STAGE_CLIENT_CERTIFICATES = "clientCertificates";
+    private static final String STAGE_PERFORMANCE_CONFIG = "performanceConfig";
+    private static final String STAGE_SCRIPT_ENGINE = "scriptEngine";
+    private static final String STAGE_RESULT_CACHE_CLEANUP = "resultCacheCleanup";
+    private static final String STAGE_MAIN_FRAME = "mainFrame";
+
     private JLabel statusLabel; // 状态标签，用于显示加载状态
     private JProgressBar progressBar;
     private volatile boolean isDisposed = false; // 标记窗口是否已释放
@@ -304,87 +327,61 @@ public class SplashWindow extends JWindow {
         }
     }
 
-    public void initMainFrame() {
-        SwingWorker<MainFrame, String> worker = new SwingWorker<>() {
-            @Override
-            protected MainFrame doInBackground() {
-                long start = System.currentTimeMillis();
-
-                publish(MessageKeys.SPLASH_STATUS_LOADING_MAIN);
-                setProgress(30);
-                MainFrame mainFrame = SingletonFactory.getInstance(MainFrame.class);
-
-                publish(MessageKeys.SPLASH_STATUS_INITIALIZING);
-                setProgress(60);
-                mainFrame.initComponents();
-
-                publish(MessageKeys.SPLASH_STATUS_READY);
-                setProgress(100);
-
-                long cost = System.currentTimeMillis() - start;
-                log.info("main frame initComponents cost: {} ms", cost);
-
-                ensureMinimumDisplayTime(cost);
-                return mainFrame;
-            }
-
-            @Override
-            protected void process(java.util.List<String> chunks) {
-                // 在EDT中更新状态
-                if (!chunks.isEmpty() && !isDisposed) {
-                    setStatus(chunks.get(chunks.size() - 1));
-                }
-            }
-
-            @Override
-            protected void done() {
-                SwingUtilities.invokeLater(() -> {
-                    try {
-                        if (isDisposed) return;
-
-                        setStatus(MessageKeys.SPLASH_STATUS_DONE);
-                        MainFrame mainFrame = get();
-
-                        // 启动渐隐动画关闭 SplashWindow
-                        startFadeOutAnimation(mainFrame);
-
-                    } catch (Exception e) {
-                        handleMainFrameLoadError(e);
-                    }
-                });
-            }
-        };
-        worker.addPropertyChangeListener(evt -> {
-            if ("progress".equals(evt.getPropertyName())) {
-                updateProgressBar((Integer) evt.getNewValue());
-            }
-        });
-        worker.execute();
-    }
-
-
     /**
-     * 确保最小显示时间
+     * 按阶段并行加载启动数据和主窗口
+     * 读取工作区、环境变量、请求集合、历史记录、客户端证书、压测配置、初始化 JS 引擎和清理压测结果缓存的阶段互不依赖，在后台并行执行；
+     * 主窗口构建完成后即显示，其余阶段继续在后台完成。各阶段耗时见“帮助 → 启动耗时”。
      */
-    private void ensureMinimumDisplayTime(long cost) {
-        if (cost < MIN_TIME) {
-            try {
-                Thread.sleep(MIN_TIME - cost);
-            } catch (InterruptedException interruptedException) {
-                Thread.currentThread().interrupt(); // 恢复中断状态
-                log.warn("Thread interrupted while sleeping", interruptedException);
+    public void initMainFrame() {
+        long start = System.currentTimeMillis();
+        setStatus(MessageKeys.SPLASH_STATUS_LOADING_MAIN);
+
+        StartupPipeline pipeline = new StartupPipeline()
+                .stage(STAGE_WORKSPACES, WorkspaceService::getInstance)
+                .stage(STAGE_ENVIRONMENTS, EnvironmentService::ensureLoaded, STAGE_WORKSPACES)
+                .stage(STAGE_COLLECTIONS, RequestCollectionsLeftPanel::preloadCollections, STAGE_WORKSPACES)
+                .stage(STAGE_HISTORY, () -> BeanFactory.getBean(HistoryPersistenceService.class).ensureLoaded())
+                .stage(STAGE_CLIENT_CERTIFICATES, () -> BeanFactory.getBean(ClientCertificateService.class).ensureLoaded())
+                .stage(STAGE_PERFORMANCE_CONFIG, () -> BeanFactory.getBean(PerformancePersistenceService.class).preload())
+                // 只触发 JS 引擎和 Context 池的初始化并启动低优先级的后台预热，不等待预热完成
+                .stage(STAGE_SCRIPT_ENGINE, () -> JsScriptExecutor.warmUpAsync(Runtime.getRuntime().availableProcessors()))
+                // 清理上次异常退出时遗留的压测结果段文件
+                .stage(STAGE_RESULT_CACHE_CLEANUP, ResultSegmentStore::deleteStaleStores)
+                // 顶部菜单栏的工作区和环境下拉框需要先加载工作区和环境变量
+                .stage(STAGE_MAIN_FRAME, () -> SingletonFactory.getInstance(MainFrame.class).initComponents(),
+                        STAGE_WORKSPACES, STAGE_ENVIRONMENTS);
+        int stageCount = pipeline.getStageCount();
+        AtomicInteger finished = new AtomicInteger();
+        pipeline.onStageFinished(timing -> updateProgressBar(finished.incrementAndGet() * 100 / stageCount));
+        pipeline.start();
+
+        pipeline.getFuture(STAGE_MAIN_FRAME).whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (isDisposed) return;
+            if (error != null) {
+                handleMainFrameLoadError(error);
+                return;
             }
-        }
+            long cost = System.currentTimeMillis() - start;
+            log.info("main frame initComponents cost: {} ms", cost);
+            setStatus(MessageKeys.SPLASH_STATUS_READY);
+
+            // 确保最小显示时间，避免闪屏
+            Timer timer = new Timer((int) Math.max(0, MIN_TIME - cost), e -> {
+                if (isDisposed) return;
+                setStatus(MessageKeys.SPLASH_STATUS_DONE);
+                // 启动渐隐动画关闭 SplashWindow
+                startFadeOutAnimation(SingletonFactory.getInstance(MainFrame.class));
+            });
+            timer.setRepeats(false);
+            timer.start();
+        }));
     }
 
     /**
      * 处理主窗口加载错误
      */
-    private void handleMainFrameLoadError(Exception e) {
-        if (e instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-        }
-        log.error("加载主窗口失败", e);
+    private void handleMainFrameLoadError(Throwable e) {
+        log.error("加载主窗口失败", e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
 
         SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
                 null,
@@ -67,6 +67,27 @@ public class ApplicationContext {
      */
     private final Map<Object, List<Method>> preDestroyMethods = new ConcurrentHashMap<>();
 
+    /**
+     * Bean类的注入字段和生命周期方法缓存，原型Bean每次创建时不再重复查找
+     */
+    private final Map<Class<?>, BeanMembers> beanMembersCache = new ConcurrentHashMap<>();
+
+    /**
+     * 需要注入的字段和@PostConstruct、@PreDestroy方法，已设置为可访问
+     */
+    private static final class BeanMembers {
+        private final List<Field> autowiredFields;
+        private final List<Method> postConstructMethods;
+        private final List<Method> preDestroyMethods;
+
+        private BeanMembers(List<Field> autowiredFields, List<Method> postConstructMethods,
+                            List<Method> preDestroyMethods) {
+            this.autowiredFields = autowiredFields;
+            this.postConstructMethods = postConstructMethods;
+            this.preDestroyMethods = preDestroyMethods;
+        }
+    }
+
     private ApplicationContext() {
     }
 
@@ -85,12 +106,30 @@ public class ApplicationContext {
     }
 
     /**
-     * 扫描指定包下的所有类，注册带有@Component注解的类
+     * 注册指定包下带有@Component注解的类
+     * <p>
+     * 优先使用编译期生成的 {@link BeanIndex}，只加载索引中的类且不初始化；
+     * 类路径上没有该包的索引时（例如 IDE 编译未开启注解处理）退回到扫描类路径
+     * </p>
      */
     public void scan(String... basePackages) {
+        scan(true, basePackages);
+    }
+
+    /**
+     * @param useIndex 为 false 时总是扫描类路径，用于对比启动耗时
+     */
+    void scan(boolean useIndex, String... basePackages) {
+        Map<String, BeanIndex.Entry> index = useIndex ? loadBeanIndex() : Collections.emptyMap();
         for (String basePackage : basePackages) {
             try {
-                scanPackage(basePackage);
+                List<BeanIndex.Entry> entries = indexEntries(index, basePackage);
+                if (entries.isEmpty()) {
+                    scanPackage(basePackage);
+                } else {
+                    registerIndexedBeans(entries);
+                    log.info("Registered beans of package {} from bean index", basePackage);
+                }
             } catch (Exception e) {
                 log.error("Failed to scan package: {}", basePackage, e);
             }
@@ -99,13 +138,59 @@ public class ApplicationContext {
         log.info("Total registered beans: [{}]", beanDefinitionMap.size());
     }
 
+    private Map<String, BeanIndex.Entry> loadBeanIndex() {
+        try {
+            return BeanIndex.load(getClassLoader());
+        } catch (Exception e) {
+            log.warn("Failed to read bean index, falling back to classpath scanning", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static List<BeanIndex.Entry> indexEntries(Map<String, BeanIndex.Entry> index, String basePackage) {
+        String prefix = basePackage + ".";
+        List<BeanIndex.Entry> entries = new ArrayList<>();
+        for (BeanIndex.Entry entry : index.values()) {
+            if (entry.getClassName().startsWith(prefix)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 按索引注册Bean，类只加载不初始化，实例化时才初始化
+     */
+    private void registerIndexedBeans(List<BeanIndex.Entry> entries) {
+        ClassLoader classLoader = getClassLoader();
+        for (BeanIndex.Entry entry : entries) {
+            try {
+                Class<?> clazz = Class.forName(entry.getClassName(), false, classLoader);
+                // 增量编译可能留下已不是Bean的旧索引项
+                if (!clazz.isAnnotationPresent(Component.class)) {
+                    log.warn("Skipped stale bean index entry: {}", entry.getClassName());
+                    continue;
+                }
+                BeanDefinition beanDefinition = new BeanDefinition(entry.getBeanName(), clazz, entry.isSingleton());
+                beanDefinition.setIndexEntry(entry);
+                registerBeanDefinition(beanDefinition);
+            } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                log.warn("Failed to load class: {}", entry.getClassName());
+            }
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ApplicationContext.class.getClassLoader();
+    }
+
     /**
      * 扫描包
      */
     private void scanPackage(String basePackage) throws Exception {
         String packagePath = basePackage.replace('.', '/');
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        Enumeration<URL> resources = classLoader.getResources(packagePath);
+        Enumeration<URL> resources = getClassLoader().getResources(packagePath);
 
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
@@ -137,7 +222,7 @@ public class ApplicationContext {
                 if (entryName.endsWith(".class") && entryName.startsWith(packagePath)) {
                     String className = entryName.replace('/', '.').replace(".class", "");
                     try {
-                        Class<?> clazz = Class.forName(className);
+                        Class<?> clazz = Class.forName(className, false, getClassLoader());
                         if (clazz.isAnnotationPresent(Component.class)) {
                             registerBean(clazz);
                         }
@@ -170,7 +255,7 @@ public class ApplicationContext {
                     } else if (f.getName().endsWith(".class")) {
                         String className = packageName + "." + f.getName().replace(".class", "");
                         try {
-                            Class<?> clazz = Class.forName(className);
+                            Class<?> clazz = Class.forName(className, false, getClassLoader());
                             if (clazz.isAnnotationPresent(Component.class)) {
                                 registerBean(clazz);
                             }
@@ -202,8 +287,12 @@ public class ApplicationContext {
             singleton = !Scope.PROTOTYPE.equals(scope.value());
         }
 
-        BeanDefinition beanDefinition = new BeanDefinition(beanName, clazz, singleton);
+        registerBeanDefinition(new BeanDefinition(beanName, clazz, singleton));
+    }
 
+    private void registerBeanDefinition(BeanDefinition beanDefinition) {
+        String beanName = beanDefinition.getName();
+        Class<?> clazz = beanDefinition.getBeanClass();
         beanDefinitionMap.put(beanName, beanDefinition);
 
         // 建立类型索引
@@ -212,7 +301,7 @@ public class ApplicationContext {
         // 同时索引所有接口和父类
         indexInterfaces(clazz, beanName);
 
-        log.debug("Registered bean: {} -> {} (singleton={})", beanName, clazz.getName(), singleton);
+        log.debug("Registered bean: {} -> {} (singleton={})", beanName, clazz.getName(), beanDefinition.isSingleton());
     }
 
     /**
@@ -306,8 +395,10 @@ public class ApplicationContext {
         // 1. 先从一级缓存获取完全初始化的Bean
         Object singletonObject = singletonObjects.get(beanName);
 
-        // 2. 如果一级缓存没有，且Bean正在创建中（说明存在循环依赖）
-        if (singletonObject == null && singletonsCurrentlyInCreation.contains(beanName)) {
+        // 2. 如果一级缓存没有，且Bean正在由当前线程创建中（说明存在循环依赖）
+        // 其它线程不能拿到未初始化完成的早期引用，在第4步等待创建完成
+        if (singletonObject == null && singletonsCurrentlyInCreation.contains(beanName)
+                && Thread.holdsLock(this.singletonObjects)) {
             // 加锁保证线程安全
             synchronized (this.singletonObjects) {
                 // 双重检查
@@ -395,14 +486,15 @@ public class ApplicationContext {
             }
 
             // 3. 属性注入（此时如果有循环依赖，会从三级缓存获取早期引用）
-            injectFields(instance);
+            BeanMembers members = getBeanMembers(beanDefinition);
+            injectFields(instance, members);
 
             // 4. 调用初始化方法
-            invokePostConstruct(instance);
+            invokePostConstruct(instance, members);
             invokeInitializingBean(instance);
 
             // 5. 保存销毁方法
-            registerPreDestroyMethods(instance);
+            registerPreDestroyMethods(instance, members);
 
             log.debug("Created bean: {}", beanName);
             return instance;
@@ -501,82 +593,151 @@ public class ApplicationContext {
     }
 
     /**
-     * 字段注入
+     * 获取Bean类的注入字段和生命周期方法，有索引时按索引定位，否则反射查找
      */
-    private void injectFields(Object instance) {
-        Class<?> clazz = instance.getClass();
+    private BeanMembers getBeanMembers(BeanDefinition beanDefinition) {
+        return beanMembersCache.computeIfAbsent(beanDefinition.getBeanClass(), beanClass -> {
+            BeanIndex.Entry entry = beanDefinition.getIndexEntry();
+            if (entry != null) {
+                try {
+                    return resolveIndexedMembers(beanClass, entry);
+                } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                    log.warn("Bean index entry of {} is out of date, falling back to reflection: {}",
+                            beanClass.getName(), e.toString());
+                }
+            }
+            return findAnnotatedMembers(beanClass);
+        });
+    }
 
-        while (clazz != null && clazz != Object.class) {
-            Field[] fields = clazz.getDeclaredFields();
+    private BeanMembers resolveIndexedMembers(Class<?> beanClass, BeanIndex.Entry entry)
+            throws ReflectiveOperationException {
+        List<Field> fields = new ArrayList<>();
+        for (String member : entry.getAutowiredFields()) {
+            String[] parts = BeanIndex.splitMember(member);
+            Field field = declaringClass(beanClass, parts[0]).getDeclaredField(parts[1]);
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return new BeanMembers(fields, resolveIndexedMethods(beanClass, entry.getPostConstructMethods()),
+                resolveIndexedMethods(beanClass, entry.getPreDestroyMethods()));
+    }
 
-            for (Field field : fields) {
-                if (field.isAnnotationPresent(Autowired.class)) {
-                    Autowired autowired = field.getAnnotation(Autowired.class);
+    private List<Method> resolveIndexedMethods(Class<?> beanClass, List<String> members)
+            throws ReflectiveOperationException {
+        List<Method> methods = new ArrayList<>();
+        for (String member : members) {
+            String[] parts = BeanIndex.splitMember(member);
+            Method method = declaringClass(beanClass, parts[0]).getDeclaredMethod(parts[1]);
+            method.setAccessible(true);
+            methods.add(method);
+        }
+        return methods;
+    }
 
-                    try {
-                        Object dependency = getBean(field.getType());
-                        field.setAccessible(true);
-                        field.set(instance, dependency);
-                        log.debug("Injected field '{}' in bean '{}'", field.getName(), instance.getClass().getSimpleName());
-                    } catch (NoSuchBeanException e) {
-                        if (autowired.required()) {
-                            throw new BeanCreationException(
-                                    instance.getClass().getSimpleName(),
-                                    "Failed to inject required field '" + field.getName() + "': " + e.getMessage(),
-                                    e
-                            );
-                        } else {
-                            log.debug("Skipped optional field injection: {}.{}", clazz.getSimpleName(), field.getName());
-                        }
-                    } catch (Exception e) {
-                        throw new BeanCreationException(
-                                instance.getClass().getSimpleName(),
-                                "Failed to inject field '" + field.getName() + "'",
-                                e
-                        );
-                    }
-                }
+    private static Class<?> declaringClass(Class<?> beanClass, String className) throws ClassNotFoundException {
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            if (clazz.getName().equals(className)) {
+                return clazz;
             }
-
-            clazz = clazz.getSuperclass();
         }
+        throw new ClassNotFoundException(className + " is not a superclass of " + beanClass.getName());
     }
 
     /**
-     * 调用@PostConstruct方法
+     * 反射查找注解成员，从Bean类到父类依次查找
      */
-    private void invokePostConstruct(Object instance) {
-        Class<?> clazz = instance.getClass();
+    private BeanMembers findAnnotatedMembers(Class<?> beanClass) {
+        List<Field> fields = new ArrayList<>();
+        List<Method> postConstructs = new ArrayList<>();
+        List<Method> preDestroys = new ArrayList<>();
+        Class<?> clazz = beanClass;
 
         while (clazz != null && clazz != Object.class) {
-            Method[] methods = clazz.getDeclaredMethods();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
 
-            for (Method method : methods) {
+            for (Method method : clazz.getDeclaredMethods()) {
                 if (method.isAnnotationPresent(PostConstruct.class)) {
                     // 验证方法签名
-                    if (method.getParameterCount() != 0) {
-                        throw new BeanCreationException(
-                                instance.getClass().getSimpleName(),
-                                "@PostConstruct method '" + method.getName() + "' must have no parameters"
-                        );
-                    }
-
-                    try {
-                        method.setAccessible(true);
-                        method.invoke(instance);
-                        log.debug("Invoked @PostConstruct method: {}.{}", clazz.getSimpleName(), method.getName());
-                    } catch (Exception e) {
-                        throw new BeanCreationException(
-                                instance.getClass().getSimpleName(),
-                                "Failed to invoke @PostConstruct method '" + method.getName() + "'",
-                                e
-                        );
-                    }
+                    checkNoParameters(beanClass, method, "@PostConstruct");
+                    method.setAccessible(true);
+                    postConstructs.add(method);
+                }
+                if (method.isAnnotationPresent(PreDestroy.class)) {
+                    checkNoParameters(beanClass, method, "@PreDestroy");
+                    method.setAccessible(true);
+                    preDestroys.add(method);
                 }
             }
 
             clazz = clazz.getSuperclass();
         }
+        return new BeanMembers(fields, postConstructs, preDestroys);
+    }
+
+    private static void checkNoParameters(Class<?> beanClass, Method method, String annotation) {
+        if (method.getParameterCount() != 0) {
+            throw new BeanCreationException(
+                    beanClass.getSimpleName(),
+                    annotation + " method '" + method.getName() + "' must have no parameters"
+            );
+        }
+    }
+
+    /**
+     * 字段注入
+     */
+    private void injectFields(Object instance, BeanMembers members) {
+        for (Field field : members.autowiredFields) {
+            Autowired autowired = field.getAnnotation(Autowired.class);
+
+            try {
+                Object dependency = getBean(field.getType());
+                field.set(instance, dependency);
+                log.debug("Injected field '{}' in bean '{}'", field.getName(), instance.getClass().getSimpleName());
+            } catch (NoSuchBeanException e) {
+                if (autowired.required()) {
+                    throw new BeanCreationException(
+                            instance.getClass().getSimpleName(),
+                            "Failed to inject required field '" + field.getName() + "': " + e.getMessage(),
+                            e
+                    );
+                } else {
+                    log.debug("Skipped optional field injection: {}.{}",
+                            field.getDeclaringClass().getSimpleName(), field.getName());
+                }
+            } catch (Exception e) {
+                throw new BeanCreationException(
+                        instance.getClass().getSimpleName(),
+                        "Failed to inject field '" + field.getName() + "'",
+                        e
+                );
+            }
+        }
+    }
+
+    /**
+     * 调用@PostConstruct方法
+     */
+    private void invokePostConstruct(Object instance, BeanMembers members) {
+        for (Method method : members.postConstructMethods) {
+            try {
+                method.invoke(instance);
+                log.debug("Invoked @PostConstruct method: {}.{}",
+                        method.getDeclaringClass().getSimpleName(), method.getName());
+            } catch (Exception e) {
+                throw new BeanCreationException(
+                        instance.getClass().getSimpleName(),
+                        "Failed to invoke @PostConstruct method '" + method.getName() + "'",
+                        e
+                );
+            }
+        }
     }
 
     /**
@@ -601,32 +762,9 @@ public class ApplicationContext {
     /**
      * 注册@PreDestroy方法
      */
-    private void registerPreDestroyMethods(Object instance) {
-        List<Method> destroyMethods = new ArrayList<>();
-        Class<?> clazz = instance.getClass();
-
-        while (clazz != null && clazz != Object.class) {
-            Method[] methods = clazz.getDeclaredMethods();
-
-            for (Method method : methods) {
-                if (method.isAnnotationPresent(PreDestroy.class)) {
-                    if (method.getParameterCount() != 0) {
-                        throw new BeanCreationException(
-                                instance.getClass().getSimpleName(),
-                                "@PreDestroy method '" + method.getName() + "' must have no parameters"
-                        );
-                    }
-
-                    method.setAccessible(true);
-                    destroyMethods.add(method);
-                }
-            }
-
-            clazz = clazz.getSuperclass();
-        }
-
-        if (!destroyMethods.isEmpty()) {
-            preDestroyMethods.put(instance, destroyMethods);
+    private void registerPreDestroyMethods(Object instance, BeanMembers members) {
+        if (!members.preDestroyMethods.isEmpty()) {
+            preDestroyMethods.put(instance, members.preDestroyMethods);
         }
     }
 
@@ -709,6 +847,7 @@ public class ApplicationContext {
 
         beanDefinitionMap.clear();
         typeIndexMap.clear();
+        beanMembersCache.clear();
         singletonObjects.clear();
         earlySingletonObjects.clear();
         singletonFactories.clear();
@@ -22,6 +22,11 @@ public class BeanDefinition {
      */
     private boolean singleton = true;
 
+    /**
+     * 编译期索引中的Bean信息，扫描类路径注册的Bean为null
+     */
+    private BeanIndex.Entry indexEntry;
+
 
     public BeanDefinition(String name, Class<?> beanClass) {
         this.name = name;
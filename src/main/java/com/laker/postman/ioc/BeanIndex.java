@@ -0,0 +1,159 @@
+package com.laker.postman.ioc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 编译期生成的 Bean 索引
+ * <p>
+ * 由 {@link com.laker.postman.ioc.processor.BeanIndexProcessor} 在编译时写入 {@link #LOCATION}，
+ * 每行一个 {@link Component} 类：类名、Bean 名称、作用域，以及 {@link Autowired} 字段、
+ * {@link PostConstruct} 和 {@link PreDestroy} 方法（包括父类中的，格式为 {@code 声明类#成员名}）。
+ * 容器启动时读取索引注册 Bean，不需要遍历类路径，也不会加载和初始化不是 Bean 的类。
+ * </p>
+ * 注解处理器也使用这个类，不能依赖 lombok 或其它需要注解处理的代码。
+ */
+public final class BeanIndex {
+
+    public static final String LOCATION = "META-INF/easy-postman/beans.idx";
+
+    private static final String SEPARATOR = "\t";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String EMPTY = "-";
+
+    private BeanIndex() {
+    }
+
+    /**
+     * 索引中的一个 Bean
+     */
+    public static final class Entry {
+        private final String className;
+        private final String beanName;
+        private final boolean singleton;
+        private final List<String> autowiredFields;
+        private final List<String> postConstructMethods;
+        private final List<String> preDestroyMethods;
+
+        public Entry(String className, String beanName, boolean singleton, List<String> autowiredFields,
+                     List<String> postConstructMethods, List<String> preDestroyMethods) {
+            this.className = className;
+            this.beanName = beanName;
+            this.singleton = singleton;
+            this.autowiredFields = List.copyOf(autowiredFields);
+            this.postConstructMethods = List.copyOf(postConstructMethods);
+            this.preDestroyMethods = List.copyOf(preDestroyMethods);
+        }
+
+        /**
+         * 类的二进制名称，可直接用于 {@link Class#forName}
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public boolean isSingleton() {
+            return singleton;
+        }
+
+        /**
+         * 从 Bean 类到父类依次排列，格式为 {@code 声明类#字段名}
+         */
+        public List<String> getAutowiredFields() {
+            return autowiredFields;
+        }
+
+        public List<String> getPostConstructMethods() {
+            return postConstructMethods;
+        }
+
+        public List<String> getPreDestroyMethods() {
+            return preDestroyMethods;
+        }
+    }
+
+    public static String format(Entry entry) {
+        return String.join(SEPARATOR, entry.className, entry.beanName,
+                entry.singleton ? Scope.SINGLETON : Scope.PROTOTYPE,
+                formatList(entry.autowiredFields), formatList(entry.postConstructMethods),
+                formatList(entry.preDestroyMethods));
+    }
+
+    /**
+     * 解析一行索引，空行、注释和格式不正确的行返回 null
+     */
+    public static Entry parse(String line) {
+        if (line == null || line.isBlank() || line.startsWith("#")) {
+            return null;
+        }
+        String[] columns = line.split(SEPARATOR, -1);
+        if (columns.length != 6 || columns[0].isEmpty() || columns[1].isEmpty()) {
+            return null;
+        }
+        return new Entry(columns[0], columns[1], !Scope.PROTOTYPE.equals(columns[2]),
+                parseList(columns[3]), parseList(columns[4]), parseList(columns[5]));
+    }
+
+    /**
+     * 读取类路径上的所有索引文件，同一个类出现多次时保留第一次出现的
+     *
+     * @return 类名 -> 索引项，没有索引文件时为空
+     */
+    public static Map<String, Entry> load(ClassLoader classLoader) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            try (InputStream in = url.openStream()) {
+                for (Entry entry : read(in)) {
+                    entries.putIfAbsent(entry.className, entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public static List<Entry> read(InputStream in) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Entry entry = parse(line);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 拆分 {@code 声明类#成员名}
+     */
+    static String[] splitMember(String member) {
+        int hash = member.lastIndexOf('#');
+        if (hash <= 0 || hash == member.length() - 1) {
+            throw new IllegalArgumentException("Invalid bean index member: " + member);
+        }
+        return new String[]{member.substring(0, hash), member.substring(hash + 1)};
+    }
+
+    private static String formatList(List<String> values) {
+        return values.isEmpty() ? EMPTY : String.join(LIST_SEPARATOR, values);
+    }
+
+    private static List<String> parseList(String column) {
+        if (column.isEmpty() || EMPTY.equals(column)) {
+            return List.of();
+        }
+        return Arrays.asList(column.split(LIST_SEPARATOR));
+    }
+}
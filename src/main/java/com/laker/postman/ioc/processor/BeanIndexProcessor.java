@@ -0,0 +1,191 @@
+package com.laker.postman.ioc.processor;
+
+import com.laker.postman.ioc.BeanIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * 编译期生成 {@link BeanIndex}：收集所有 {@code @Component} 类，写入 {@link BeanIndex#LOCATION}
+ * <p>
+ * 通过 META-INF/services 注册，javac 编译主代码和测试代码时自动运行；本身先于其它代码单独编译（见 pom.xml）。
+ * 增量编译只处理部分类时，与已有索引合并，索引中已不是 Bean 的类在运行时被跳过。
+ * {@code @PostConstruct}/{@code @PreDestroy} 方法带参数时直接报编译错误。
+ * 只按名称引用容器的注解，不加载注解类。
+ * </p>
+ */
+@SupportedAnnotationTypes(BeanIndexProcessor.COMPONENT)
+public class BeanIndexProcessor extends AbstractProcessor {
+
+    static final String COMPONENT = "com.laker.postman.ioc.Component";
+    private static final String SCOPE = "com.laker.postman.ioc.Scope";
+    private static final String AUTOWIRED = "com.laker.postman.ioc.Autowired";
+    private static final String POST_CONSTRUCT = "com.laker.postman.ioc.PostConstruct";
+    private static final String PRE_DESTROY = "com.laker.postman.ioc.PreDestroy";
+
+    // 类名 -> 索引项，按类名排序，输出稳定
+    private final Map<String, BeanIndex.Entry> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!entries.isEmpty()) {
+                writeIndex();
+            }
+            return false;
+        }
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement component = elements.getTypeElement(COMPONENT);
+        if (component == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(component)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "@Component is only supported on concrete classes", element);
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            BeanIndex.Entry entry = buildEntry(type);
+            entries.put(entry.getClassName(), entry);
+        }
+        // 不独占 @Component，其它处理器仍可处理
+        return false;
+    }
+
+    private BeanIndex.Entry buildEntry(TypeElement type) {
+        Elements elements = processingEnv.getElementUtils();
+        String className = elements.getBinaryName(type).toString();
+
+        String beanName = annotationValue(type, COMPONENT);
+        if (beanName == null || beanName.isEmpty()) {
+            // 与运行时一致：类名首字母小写
+            String simpleName = type.getSimpleName().toString();
+            beanName = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+        }
+        boolean singleton = !"prototype".equals(annotationValue(type, SCOPE));
+
+        List<String> autowiredFields = new ArrayList<>();
+        List<String> postConstructMethods = new ArrayList<>();
+        List<String> preDestroyMethods = new ArrayList<>();
+        // 与运行时的反射顺序一致：先 Bean 类，再逐级父类
+        TypeElement current = type;
+        while (current != null && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+            String declaring = elements.getBinaryName(current).toString();
+            for (Element member : current.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD && hasAnnotation(member, AUTOWIRED)) {
+                    autowiredFields.add(declaring + "#" + member.getSimpleName());
+                } else if (member.getKind() == ElementKind.METHOD) {
+                    if (hasAnnotation(member, POST_CONSTRUCT) && checkNoParameters(member, "@PostConstruct")) {
+                        postConstructMethods.add(declaring + "#" + member.getSimpleName());
+                    }
+                    if (hasAnnotation(member, PRE_DESTROY) && checkNoParameters(member, "@PreDestroy")) {
+                        preDestroyMethods.add(declaring + "#" + member.getSimpleName());
+                    }
+                }
+            }
+            current = superclassOf(current);
+        }
+        return new BeanIndex.Entry(className, beanName, singleton, autowiredFields, postConstructMethods,
+                preDestroyMethods);
+    }
+
+    private boolean checkNoParameters(Element method, String annotation) {
+        if (((ExecutableElement) method).getParameters().isEmpty()) {
+            return true;
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                annotation + " method '" + method.getSimpleName() + "' must have no parameters", method);
+        return false;
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return findAnnotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationName.contentEquals(annotationType.getQualifiedName())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 注解的 value 属性（含默认值），没有该注解时返回 null
+     */
+    private String annotationValue(Element element, String annotationName) {
+        AnnotationMirror mirror = findAnnotation(element, annotationName);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(value.getValue().getValue());
+            }
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        Filer filer = processingEnv.getFiler();
+        Messager messager = processingEnv.getMessager();
+        Map<String, BeanIndex.Entry> merged = new TreeMap<>(entries);
+        // 增量编译时保留本次没有处理的类
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (InputStream in = existing.openInputStream()) {
+                for (BeanIndex.Entry entry : BeanIndex.read(in)) {
+                    merged.putIfAbsent(entry.getClassName(), entry);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 没有旧索引
+        }
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + ", do not edit\n");
+                for (BeanIndex.Entry entry : merged.values()) {
+                    writer.write(BeanIndex.format(entry));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + BeanIndex.LOCATION + ": " + e);
+        }
+    }
+}
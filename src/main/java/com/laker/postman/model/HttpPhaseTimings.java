@@ -0,0 +1,108 @@
+package com.laker.postman.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 请求各阶段的时间戳（{@link System#nanoTime()}），{@link HttpEventInfo} 的轻量版本
+ * <p>
+ * 只包含基本类型字段，每个请求一个实例，随请求 tag 传递，记录时不产生额外的对象分配。
+ * 未发生的阶段（如复用连接时的 DNS、TCP 连接、TLS 握手）保持为 {@link #UNSET}。
+ * </p>
+ */
+public class HttpPhaseTimings {
+
+    public static final long UNSET = Long.MIN_VALUE;
+
+    public long callStart = UNSET;
+    public long dnsStart = UNSET;
+    public long dnsEnd = UNSET;
+    public long connectStart = UNSET;
+    public long secureConnectStart = UNSET;
+    public long secureConnectEnd = UNSET;
+    public long connectEnd = UNSET;
+    public long requestHeadersStart = UNSET;
+    public long responseHeadersStart = UNSET;
+    public long responseHeadersEnd = UNSET;
+    public long responseBodyEnd = UNSET;
+    public long callEnd = UNSET;
+
+    public void reset() {
+        callStart = UNSET;
+        dnsStart = UNSET;
+        dnsEnd = UNSET;
+        connectStart = UNSET;
+        secureConnectStart = UNSET;
+        secureConnectEnd = UNSET;
+        connectEnd = UNSET;
+        requestHeadersStart = UNSET;
+        responseHeadersStart = UNSET;
+        responseHeadersEnd = UNSET;
+        responseBodyEnd = UNSET;
+        callEnd = UNSET;
+    }
+
+    /**
+     * 从完整事件信息（毫秒时间戳）转换，用于已安装完整事件监听器的请求
+     */
+    public void copyFrom(HttpEventInfo info) {
+        reset();
+        callStart = fromMillis(info.getCallStart());
+        dnsStart = fromMillis(info.getDnsStart());
+        dnsEnd = fromMillis(info.getDnsEnd());
+        connectStart = fromMillis(info.getConnectStart());
+        secureConnectStart = fromMillis(info.getSecureConnectStart());
+        secureConnectEnd = fromMillis(info.getSecureConnectEnd());
+        connectEnd = fromMillis(info.getConnectEnd());
+        requestHeadersStart = fromMillis(info.getRequestHeadersStart());
+        responseHeadersStart = fromMillis(info.getResponseHeadersStart());
+        responseHeadersEnd = fromMillis(info.getResponseHeadersEnd());
+        responseBodyEnd = fromMillis(info.getResponseBodyEnd());
+        callEnd = fromMillis(info.getCallEnd());
+    }
+
+    private static long fromMillis(long millis) {
+        return millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : UNSET;
+    }
+
+    /**
+     * DNS 解析耗时（纳秒），未发生时为 -1
+     */
+    public long dnsNanos() {
+        return span(dnsStart, dnsEnd);
+    }
+
+    /**
+     * TCP 连接耗时（纳秒，不含 TLS 握手），未发生时为 -1
+     */
+    public long connectNanos() {
+        return span(connectStart, secureConnectStart != UNSET ? secureConnectStart : connectEnd);
+    }
+
+    /**
+     * TLS 握手耗时（纳秒），未发生时为 -1
+     */
+    public long tlsNanos() {
+        return span(secureConnectStart, secureConnectEnd);
+    }
+
+    /**
+     * 首字节耗时（纳秒）：开始发送请求头到开始接收响应头，未发生时为 -1
+     */
+    public long ttfbNanos() {
+        return span(requestHeadersStart, responseHeadersStart);
+    }
+
+    /**
+     * 下载耗时（纳秒）：响应头接收完成到响应体读取完成，未发生时为 -1
+     */
+    public long downloadNanos() {
+        return span(responseHeadersEnd, responseBodyEnd);
+    }
+
+    private static long span(long start, long end) {
+        if (start == UNSET || end == UNSET || end < start) {
+            return -1;
+        }
+        return end - start;
+    }
+}
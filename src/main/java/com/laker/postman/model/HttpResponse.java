@@ -1,7 +1,17 @@
 package com.laker.postman.model;
 
+import cn.hutool.json.JSON;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONNull;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.util.CompiledJsonPath;
+import com.laker.postman.util.JsonPathUtil;
+import tools.jackson.databind.JsonNode;
+
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * HTTP 响应类
@@ -20,14 +30,168 @@ public class HttpResponse {
     public int idleConnectionCount; // 空闲连接数
     public int connectionCount; // 连接总数
     public HttpEventInfo httpEventInfo;
+    public HttpPhaseTimings phaseTimings; // 轻量监听器按请求采集的阶段耗时，未采集时为 null
     public long bodySize; // 响应体字节数
     public long headersSize; // 响应头字节数
     public boolean isSse = false; // 是否为SSE响应
+    public ResponseBodyMode bodyMode = ResponseBodyMode.FULL; // 响应体消费方式，非 FULL 时 body 只是说明文字
+    public String bodyDigest; // 摘要模式下响应体的 SHA-256
+    public Map<String, Boolean> streamedContains; // 流式断言模式下各 Contains 内容的匹配结果
+    public Map<String, String> streamedJsonPaths; // 流式断言模式下 JSONPath 的求值结果，值可以为 null
+
+    // 同一次请求内断言和脚本共用的解析结果，按需解析，body 或 headers 被替换后重新解析
+    // 第一次 JSONPath 查找用流式匹配，找到即停；json() 或再次查找时才把响应体解析成一棵节点树并复用
+    private String streamedLookupSource;
+    private String jsonTreeSource;
+    private JsonNode jsonTree;
+    private String parsedJsonSource;
+    private JSON parsedJson;
+    private Map<String, List<String>> headerIndexSource;
+    private Map<String, List<String>> headerIndex;
+
+    /**
+     * 响应体是否包含指定文本，流式断言模式下使用读取时的匹配结果
+     */
+    public boolean bodyContains(String text) {
+        if (streamedContains != null) {
+            Boolean matched = streamedContains.get(text);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        return body != null && text != null && body.contains(text);
+    }
+
+    /**
+     * 响应体解析成的 hutool JSON（pm.response.json()），同一响应只解析一次，多次调用返回同一对象
+     * <p>
+     * 由共享的节点树转换，不再单独解析文本；数值类型与 hutool 解析时一致
+     * </p>
+     *
+     * @throws cn.hutool.json.JSONException 响应体不是合法 JSON
+     */
+    public JSON json() {
+        if (body == null) {
+            return null;
+        }
+        if (parsedJson == null || parsedJsonSource != body) {
+            JsonNode tree = jsonTree();
+            // 不是对象或数组时交给 hutool 抛出原有的解析异常
+            parsedJson = tree != null && tree.isContainer() ? (JSON) toHutool(tree) : JSONUtil.parse(body);
+            parsedJsonSource = body;
+        }
+        return parsedJson;
+    }
+
+    /**
+     * 响应体中 JSONPath 的第一个匹配值，路径不合法或找不到返回 null
+     * <p>
+     * 第一次查找直接在响应体文本上流式求值，不构建节点树；已有节点树或再次查找时，
+     * 在与 {@link #json()} 共享的节点树上求值
+     * </p>
+     */
+    public String jsonPath(String path) {
+        if (streamedJsonPaths != null && path != null && streamedJsonPaths.containsKey(path)) {
+            return streamedJsonPaths.get(path);
+        }
+        if (body == null || path == null || path.isEmpty()) {
+            return null;
+        }
+        CompiledJsonPath compiled;
+        try {
+            compiled = JsonPathUtil.compile(path);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (jsonTreeSource != body && streamedLookupSource != body) {
+            streamedLookupSource = body;
+            return compiled.findFirst(body);
+        }
+        return compiled.findFirst(jsonTree());
+    }
+
+    /**
+     * 响应体的节点树，body 被替换后重新解析，不是合法 JSON 时返回 null
+     */
+    private JsonNode jsonTree() {
+        if (jsonTreeSource != body) {
+            jsonTree = CompiledJsonPath.parseTree(body);
+            jsonTreeSource = body;
+        }
+        return jsonTree;
+    }
+
+    /**
+     * 节点转换为 hutool 的值：小数为 BigDecimal，整数按范围为 Integer / Long，超出 long 的整数保留文本，null 为 JSONNull
+     */
+    private static Object toHutool(JsonNode node) {
+        if (node.isObject()) {
+            JSONObject object = new JSONObject();
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                object.set(entry.getKey(), toHutool(entry.getValue()));
+            }
+            return object;
+        }
+        if (node.isArray()) {
+            JSONArray array = new JSONArray(node.size());
+            for (JsonNode element : node.values()) {
+                array.add(toHutool(element));
+            }
+            return array;
+        }
+        if (node.isString()) {
+            return node.stringValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isIntegralNumber()) {
+            if (node.canConvertToInt()) {
+                return node.intValue();
+            }
+            return node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue().toString();
+        }
+        if (node.isNumber()) {
+            return node.decimalValue();
+        }
+        return JSONNull.NULL;
+    }
+
+    /**
+     * 不区分大小写的响应头取值，索引在第一次查找时构建
+     *
+     * @return 响应头的所有值，不存在返回 null
+     */
+    public List<String> headerValues(String name) {
+        if (headers == null || name == null) {
+            return null;
+        }
+        if (headerIndex == null || headerIndexSource != headers) {
+            Map<String, List<String>> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if (entry.getKey() != null) {
+                    index.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+            headerIndex = index;
+            headerIndexSource = headers;
+        }
+        return headerIndex.get(name);
+    }
+
+    /**
+     * 不区分大小写的响应头第一个值，不存在返回 null
+     */
+    public String firstHeader(String name) {
+        List<String> values = headerValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
 
     public void addHeader(String name, List<String> value) {
         if (headers == null) {
             return;
         }
+        headerIndex = null;
         if ("Easy-Content-Encoding".equalsIgnoreCase(name)) {
             headers.put("Content-Encoding", value);
             headers.remove("Easy-Content-Encoding");
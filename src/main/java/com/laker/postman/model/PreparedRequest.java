@@ -24,6 +24,10 @@ public class PreparedRequest {
     public boolean isMultipart;
     public boolean followRedirects = true; // 默认自动重定向
     public boolean logEvent = false; // 默认不记录事件日志
+    public boolean collectPhaseTimings = false; // 是否采集轻量的阶段耗时（压测使用）
+    public ResponseBodyMode bodyMode = ResponseBodyMode.FULL; // 响应体消费方式（压测高效模式按断言选择）
+    public List<String> bodyContains; // 流式断言模式下需要匹配的 Contains 内容
+    public String bodyJsonPath; // 流式断言模式下需要求值的 JSONPath
 
     public Headers okHttpHeaders; // OkHttp 特有的 Headers 对象
     public String okHttpRequestBody; // 真实OkHttp请求体内容
@@ -44,6 +48,10 @@ public class PreparedRequest {
         copy.isMultipart = this.isMultipart;
         copy.followRedirects = this.followRedirects;
         copy.logEvent = this.logEvent;
+        copy.collectPhaseTimings = this.collectPhaseTimings;
+        copy.bodyMode = this.bodyMode;
+        copy.bodyContains = this.bodyContains;
+        copy.bodyJsonPath = this.bodyJsonPath;
         copy.headersList = this.headersList;
         copy.formDataList = this.formDataList;
         copy.urlencodedList = this.urlencodedList;
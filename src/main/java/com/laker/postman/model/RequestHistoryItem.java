@@ -20,6 +20,16 @@ public class RequestHistoryItem {
         this.requestTime = requestTime;
     }
 
+    /**
+     * 只有摘要信息的历史项，请求和响应详情稍后按需加载
+     */
+    protected RequestHistoryItem(String method, String url, int responseCode, long requestTime) {
+        this.method = method;
+        this.url = url;
+        this.responseCode = responseCode;
+        this.requestTime = requestTime;
+    }
+
     @Override
     public String toString() {
         return String.format("[%s] %s", method, url);
@@ -0,0 +1,27 @@
+package com.laker.postman.model;
+
+/**
+ * 响应体消费方式
+ * <p>
+ * 默认完整读取为字符串；压测时根据请求节点的断言和脚本选择更省内存的方式，
+ * 非 {@link #FULL} 时 {@link HttpResponse#body} 只是一段说明文字。
+ * </p>
+ */
+public enum ResponseBodyMode {
+    /**
+     * 完整读取并解码为字符串
+     */
+    FULL,
+    /**
+     * 边读边丢弃，只统计字节数
+     */
+    DISCARD,
+    /**
+     * 边读边丢弃，统计字节数并计算 SHA-256 摘要
+     */
+    DIGEST,
+    /**
+     * 边读边匹配 Contains 断言并求值 JSONPath 断言，不保留内容
+     */
+    STREAMING_ASSERT
+}
@@ -9,7 +9,6 @@ import org.graalvm.polyglot.Value;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -229,13 +228,7 @@ public class PostmanApiContext {
         // 注意：这里不清空，而是覆盖同名的 Cookie
 
         // 从响应头中查找 Set-Cookie
-        List<String> setCookieHeaders = null;
-        for (Map.Entry<String, List<String>> entry : httpResponse.headers.entrySet()) {
-            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase("Set-Cookie")) {
-                setCookieHeaders = entry.getValue();
-                break;
-            }
-        }
+        List<String> setCookieHeaders = httpResponse.headerValues("Set-Cookie");
 
         if (setCookieHeaders == null || setCookieHeaders.isEmpty()) {
             return;
@@ -356,13 +349,7 @@ public class PostmanApiContext {
         }
 
         // 从响应头中查找 Set-Cookie
-        List<String> setCookieHeaders = null;
-        for (Map.Entry<String, List<String>> entry : httpResponse.headers.entrySet()) {
-            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase("Set-Cookie")) {
-                setCookieHeaders = entry.getValue();
-                break;
-            }
-        }
+        List<String> setCookieHeaders = httpResponse.headerValues("Set-Cookie");
 
         if (setCookieHeaders == null || setCookieHeaders.isEmpty()) {
             return null;
@@ -1,6 +1,5 @@
 package com.laker.postman.model.script;
 
-import cn.hutool.json.JSONUtil;
 import com.laker.postman.model.HttpResponse;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
@@ -166,14 +165,7 @@ public class ResponseAssertion {
         if (response == null || response.headers == null) {
             throw new AssertionError(I18nUtil.getMessage(MessageKeys.RESPONSE_ASSERTION_HEADER_NOT_FOUND));
         }
-        boolean found = false;
-        for (Map.Entry<String, List<String>> entry : response.headers.entrySet()) {
-            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)) {
-                found = true;
-                break;
-            }
-        }
-        if (!found) {
+        if (response.headerValues(name) == null) {
             throw new AssertionError(I18nUtil.getMessage(MessageKeys.RESPONSE_ASSERTION_HEADER_NOT_FOUND_WITH_NAME, name));
         }
     }
@@ -211,7 +203,7 @@ public class ResponseAssertion {
     public Object json() {
         try {
             if (response != null && response.body != null) {
-                return JSONUtil.parse(response.body);
+                return response.json(); // 同一响应只解析一次
             }
         } catch (Exception e) {
             throw new AssertionError(I18nUtil.getMessage(MessageKeys.RESPONSE_ASSERTION_INVALID_JSON, e.getMessage()));
@@ -237,16 +229,8 @@ public class ResponseAssertion {
      * @return 响应头值，不存在则返回 null
      */
     public String getHeader(String name) {
-        if (response == null || response.headers == null) return null;
-        for (Map.Entry<String, List<String>> entry : response.headers.entrySet()) {
-            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)) {
-                List<String> values = entry.getValue();
-                if (values != null && !values.isEmpty()) {
-                    return values.get(0);
-                }
-            }
-        }
-        return null;
+        if (response == null) return null;
+        return response.firstHeader(name);
     }
 
     /**
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 请求集合面板，展示所有请求分组和请求项
@@ -54,6 +55,17 @@ public class RequestCollectionsLeftPanel extends SingletonBasePanel {
     private DefaultTreeModel treeModel;
     @Getter
     private transient RequestsPersistence persistence;
+    // 接管的启动预读集合还没有读取完成时，等待它而不是重新读取
+    private transient CompletableFuture<Void> preloadedLoad;
+
+    /**
+     * 启动时在后台预读当前工作区的请求集合，面板创建时直接使用
+     */
+    public static void preloadCollections() {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode(ROOT);
+        String filePath = SystemUtil.getCollectionPathForWorkspace(WorkspaceService.getInstance().getCurrentWorkspace());
+        RequestsPersistence.preload(new RequestsPersistence(filePath, root, new DefaultTreeModel(root)));
+    }
 
     @Override
     protected void initUI() {
@@ -70,12 +82,21 @@ public class RequestCollectionsLeftPanel extends SingletonBasePanel {
 
     private JScrollPane getTreeScrollPane() {
         // 初始化请求树
-        rootTreeNode = new DefaultMutableTreeNode(ROOT);
-        treeModel = new DefaultTreeModel(rootTreeNode);
         Workspace currentWorkspace = WorkspaceService.getInstance().getCurrentWorkspace();
         String filePath = SystemUtil.getCollectionPathForWorkspace(currentWorkspace);
-        // 初始化持久化工具
-        persistence = new RequestsPersistence(filePath, rootTreeNode, treeModel);
+        RequestsPersistence.Preloaded preloaded = RequestsPersistence.takePreloaded(filePath);
+        if (preloaded != null) {
+            // 使用启动时预读的集合
+            persistence = preloaded.getPersistence();
+            rootTreeNode = persistence.getRootTreeNode();
+            treeModel = persistence.getTreeModel();
+            preloadedLoad = preloaded.getLoaded();
+        } else {
+            rootTreeNode = new DefaultMutableTreeNode(ROOT);
+            treeModel = new DefaultTreeModel(rootTreeNode);
+            // 初始化持久化工具
+            persistence = new RequestsPersistence(filePath, rootTreeNode, treeModel);
+        }
         // 创建树组件
         requestTree = new JTree(treeModel) {
             @Override
@@ -124,7 +145,13 @@ public class RequestCollectionsLeftPanel extends SingletonBasePanel {
         AsyncTaskExecutor.execute(
                 // 后台线程：执行耗时的IO操作
                 () -> {
-                    persistence.initRequestGroupsFromFile();
+                    CompletableFuture<Void> preload = preloadedLoad;
+                    preloadedLoad = null;
+                    if (preload != null) {
+                        preload.join();
+                    } else {
+                        persistence.initRequestGroupsFromFile();
+                    }
                     return RequestCollectionsService.getLastNonNewRequest();
                 },
                 // EDT线程：更新UI
@@ -237,7 +264,7 @@ public class RequestCollectionsLeftPanel extends SingletonBasePanel {
 
         userObj[1] = item;
         treeModel.nodeChanged(requestNode);
-        persistence.saveRequestGroups();
+        persistence.saveRequest(item);
         // 保存后去除Tab红点
         SwingUtilities.invokeLater(() -> {
             RequestEditPanel editPanel = SingletonFactory.getInstance(RequestEditPanel.class);
@@ -642,7 +642,7 @@ public class RequestEditSubPanel extends JPanel {
             @Override
             protected void done() {
                 if (resp != null) {
-                    SingletonFactory.getInstance(HistoryPanel.class).addRequestHistory(req, resp);
+                    HistoryPanel.recordRequest(req, resp);
                 }
             }
         };
@@ -788,7 +788,7 @@ public class RequestEditSubPanel extends JPanel {
             protected void done() {
                 // 只有当前有效连接才记录历史
                 if (connectionId.equals(currentWebSocketConnectionId)) {
-                    SingletonFactory.getInstance(HistoryPanel.class).addRequestHistory(req, resp);
+                    HistoryPanel.recordRequest(req, resp);
                 }
             }
         };
@@ -1223,7 +1223,7 @@ public class RequestEditSubPanel extends JPanel {
 
         // 单独处理历史记录保存，避免历史记录失败影响整个响应处理
         try {
-            SingletonFactory.getInstance(HistoryPanel.class).addRequestHistory(req, resp);
+            HistoryPanel.recordRequest(req, resp);
         } catch (Exception ex) {
             log.error("Error saving to history: {}", ex.getMessage(), ex);
             // 历史记录失败不应该中断用户流程，只记录日志
@@ -1427,8 +1427,8 @@ public class RequestEditSubPanel extends JPanel {
                 leftPanel.getTreeModel().reload(requestNode);
                 leftPanel.getRequestTree().expandPath(new TreePath(requestNode.getPath()));
 
-                // 保存到文件
-                leftPanel.getPersistence().saveRequestGroups();
+                // 保存到文件，只需写入该请求
+                leftPanel.getPersistence().saveRequest(treeRequestItem);
 
                 NotificationUtil.showSuccess(I18nUtil.getMessage(MessageKeys.RESPONSE_SAVE_SUCCESS, name));
             } else {
@@ -2,6 +2,7 @@ package com.laker.postman.panel.history;
 
 import com.formdev.flatlaf.extras.FlatSVGIcon;
 import com.laker.postman.common.SingletonBasePanel;
+import com.laker.postman.common.SingletonFactory;
 import com.laker.postman.common.constants.ModernColors;
 import com.laker.postman.ioc.BeanFactory;
 import com.laker.postman.model.HttpResponse;
@@ -203,6 +204,10 @@ public class HistoryPanel extends SingletonBasePanel {
             protected Map<String, String> doInBackground() {
                 Map<String, String> htmlMap = new HashMap<>();
                 try {
+                    // 从历史日志加载的记录只有摘要，查看时才读取详情
+                    if (!BeanFactory.getBean(HistoryPersistenceService.class).loadDetails(item)) {
+                        throw new IllegalStateException("history record is no longer available");
+                    }
                     htmlMap.put("request", HttpHtmlRenderer.renderRequest(item.request));
                     htmlMap.put("response", HttpHtmlRenderer.renderResponse(item.response));
                     htmlMap.put("timing", HttpHtmlRenderer.renderTimingInfo(item.response));
@@ -280,13 +285,24 @@ public class HistoryPanel extends SingletonBasePanel {
         });
     }
 
-    public void addRequestHistory(PreparedRequest req, HttpResponse resp) {
+    /**
+     * 记录一次请求：写入历史记录，历史面板已经打开过时同时更新列表
+     * 面板第一次打开时从历史记录加载，不需要为此提前创建面板
+     */
+    public static void recordRequest(PreparedRequest req, HttpResponse resp) {
         long requestTime = System.currentTimeMillis();
         // 添加到持久化管理器
         BeanFactory.getBean(HistoryPersistenceService.class).addHistory(req, resp, requestTime);
 
+        HistoryPanel panel = SingletonFactory.getInstanceIfPresent(HistoryPanel.class);
+        if (panel != null) {
+            panel.addHistoryItem(new RequestHistoryItem(req, resp, requestTime));
+        }
+    }
+
+    private void addHistoryItem(RequestHistoryItem newItem) {
+        long requestTime = newItem.requestTime;
         // 优化：增量更新UI，而不是完全重新加载
-        RequestHistoryItem newItem = new RequestHistoryItem(req, resp, requestTime);
         if (historyListModel != null) {
             isUpdating = true;
             try {
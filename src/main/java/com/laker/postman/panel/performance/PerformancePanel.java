@@ -9,6 +9,8 @@ import com.laker.postman.common.component.button.RefreshButton;
 import com.laker.postman.common.component.button.StartButton;
 import com.laker.postman.common.component.button.StopButton;
 import com.laker.postman.common.constants.ModernColors;
+import com.laker.postman.ioc.BeanFactory;
+import com.laker.postman.model.HttpPhaseTimings;
 import com.laker.postman.model.HttpRequestItem;
 import com.laker.postman.model.HttpResponse;
 import com.laker.postman.model.PreparedRequest;
@@ -21,7 +23,6 @@ import com.laker.postman.panel.performance.component.JMeterTreeCellRenderer;
 import com.laker.postman.panel.performance.component.TreeNodeTransferHandler;
 import com.laker.postman.panel.performance.model.JMeterTreeNode;
 import com.laker.postman.panel.performance.model.NodeType;
-import com.laker.postman.panel.performance.model.RequestResult;
 import com.laker.postman.panel.performance.model.ResultNodeInfo;
 import com.laker.postman.panel.performance.result.PerformanceReportPanel;
 import com.laker.postman.panel.performance.result.PerformanceResultTablePanel;
@@ -29,20 +30,35 @@ import com.laker.postman.panel.performance.result.PerformanceTrendPanel;
 import com.laker.postman.panel.performance.timer.TimerPropertyPanel;
 import com.laker.postman.panel.performance.threadgroup.ThreadGroupData;
 import com.laker.postman.panel.performance.threadgroup.ThreadGroupPropertyPanel;
+import com.laker.postman.performance.execution.ArrivalRateExecutor;
+import com.laker.postman.performance.execution.ArrivalRateProfile;
+import com.laker.postman.performance.execution.ResponseBodyPlan;
+import com.laker.postman.performance.execution.VirtualThreadSupport;
+import com.laker.postman.performance.stats.AllocationMeter;
 import com.laker.postman.performance.stats.PerformanceReportSnapshot;
 import com.laker.postman.performance.stats.PerformanceStatistics;
 import com.laker.postman.performance.stats.PerformanceTrendSnapshot;
 import com.laker.postman.service.PerformancePersistenceService;
 import com.laker.postman.service.collections.RequestCollectionsService;
 import com.laker.postman.service.EnvironmentService;
+import com.laker.postman.service.http.CookieService;
+import com.laker.postman.service.http.HttpService;
 import com.laker.postman.service.http.HttpSingleRequestExecutor;
-import com.laker.postman.service.http.PreparedRequestBuilder;
+import com.laker.postman.service.http.CompiledRequestTemplate;
+import com.laker.postman.service.http.okhttp.CachingDns;
+import com.laker.postman.service.http.okhttp.ConnectionPoolStats;
+import com.laker.postman.service.http.okhttp.ConnectionProfile;
 import com.laker.postman.service.http.okhttp.OkHttpClientManager;
+import com.laker.postman.service.http.okhttp.VirtualUserCookieJar;
+import com.laker.postman.service.js.JsScriptExecutor;
+import com.laker.postman.service.js.JsSourceCache;
+import com.laker.postman.service.js.PrecompiledScripts;
 import com.laker.postman.service.js.ScriptExecutionPipeline;
 import com.laker.postman.service.js.ScriptExecutionResult;
 import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.*;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
 import org.jfree.data.time.Second;
 
 import javax.swing.*;
@@ -55,6 +71,7 @@ import javax.swing.tree.TreeSelectionModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.lang.reflect.InvocationTargetException;
 
 import java.util.*;
 import java.util.List;
@@ -96,6 +113,21 @@ public class PerformancePanel extends SingletonBasePanel {
     private long startTime;
     private final PerformanceStatistics statistics = new PerformanceStatistics();
     private final Map<DefaultMutableTreeNode, List<DefaultMutableTreeNode>> cachedRequestNodes = new ConcurrentHashMap<>();
+    // 压测开始时为每个请求节点构建一次的前置/后置脚本
+    private final Map<DefaultMutableTreeNode, PrecompiledScripts> precompiledScripts = new ConcurrentHashMap<>();
+    // 高效模式下各请求节点的响应体消费方式，压测开始前按断言和后置脚本确定
+    private final Map<DefaultMutableTreeNode, ResponseBodyPlan> responseBodyPlans = new ConcurrentHashMap<>();
+    // 请求节点 -> 预编译的请求模板，压测期间每次迭代直接渲染
+    private final Map<DefaultMutableTreeNode, CompiledRequestTemplate> requestTemplates = new ConcurrentHashMap<>();
+    // 线程组 -> 独立连接设置，压测开始时为开启了独立连接设置的线程组创建
+    private final Map<DefaultMutableTreeNode, ConnectionProfile> connectionProfiles = new ConcurrentHashMap<>();
+    // 上一次采样时的累计新建/淘汰连接数，用于计算每个采样间隔的增量
+    private long lastCreatedConnections;
+    private long lastEvictedConnections;
+    /**
+     * 线程亲和模式下 JS Context 数量上限（预创建的不超过共享池容量，其余按需创建），超出的线程使用共享 Context 池
+     */
+    private static final int MAX_AFFINE_SCRIPT_CONTEXTS = 256;
     private int lastReportResultCount = 0;
 
     // 活跃线程计数器
@@ -104,6 +136,11 @@ public class PerformancePanel extends SingletonBasePanel {
     private final AtomicLong lastProgressUpdate = new AtomicLong(0L);
     private final AtomicReference<String> lastProgressText = new AtomicReference<>("");
 
+    // 虚拟线程：本次压测是否有线程组使用虚拟线程，以及最近一次采样的载体线程数
+    private volatile boolean virtualThreadsInUse = false;
+    private volatile int carrierThreadCount = 0;
+    private volatile int currentTotalThreads = 0;
+
     // 定时采样线程
     private transient Timer trendTimer;
 
@@ -142,7 +179,7 @@ public class PerformancePanel extends SingletonBasePanel {
         setLayout(new BorderLayout());
 
         // 初始化持久化服务
-        this.persistenceService = SingletonFactory.getInstance(PerformancePersistenceService.class);
+        this.persistenceService = BeanFactory.getBean(PerformancePersistenceService.class);
 
         // 1. 左侧树结构
         DefaultMutableTreeNode root = new DefaultMutableTreeNode(
@@ -638,63 +675,82 @@ public class PerformancePanel extends SingletonBasePanel {
         getPerformanceReportPanel().clearReport(); // 清空报表数据
         getPerformanceTrendPanel().clearTrendDataset(); // 清理趋势图历史数据
         statistics.reset();
+        JsSourceCache.resetStats();
         lastReportResultCount = 0;
         // CSV行索引重置
         csvRowIndex.set(0);
 
         prepareRequestNodes(rootNode);
-
-
-        // 启动趋势图定时采样
-        if (trendTimer != null) {
-            trendTimer.cancel();
-            trendTimer.purge(); // 清理已取消的任务，避免内存泄漏
-        }
-        trendTimer = new Timer();
-        // 从设置中读取采样间隔，默认1秒
-        int samplingIntervalSeconds = SettingManager.getTrendSamplingIntervalSeconds();
-        long samplingIntervalMs = samplingIntervalSeconds * 1000L;
-        startReportRefreshTimer();
-        trendTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                SwingUtilities.invokeLater(() -> sampleTrendData());
-            }
-        }, 0, samplingIntervalMs);
-
-        // 重要：更新开始时间，确保递增线程等模式正常工作
-        startTime = System.currentTimeMillis();
+        OkHttpClientManager.resetPoolStats();
+        lastCreatedConnections = 0;
+        lastEvictedConnections = 0;
 
         // 统计总用户数
         int totalThreads = getTotalThreads(rootNode);
+        currentTotalThreads = totalThreads;
+        virtualThreadsInUse = isVirtualThreadsRequested(rootNode);
+        carrierThreadCount = 0;
+        // 异步用户同一时刻最多一个请求在途，按异步用户总数放开在途上限
+        int asyncUsers = getAsyncUsers(rootNode);
+        if (asyncUsers > 0) {
+            HttpService.setAsyncMaxInFlight(asyncUsers);
+        }
         // 当前已启动线程数 = 0，启动后动态刷新
         progressLabel.setText(0 + "/" + totalThreads);
+        startTime = System.currentTimeMillis();
         runThread = new Thread(() -> {
+            // 压测期间 Cookie 变化不逐次刷新界面，结束后合并刷新一次
+            CookieService.beginBatch();
             try {
+                // 测量开始前预解析主机、准备好 JS Context，测量期间不再创建
+                prepareDnsCache();
+                prepareScriptContexts(totalThreads);
+                SwingUtilities.invokeAndWait(this::startMeasurement);
                 runJMeterTreeWithProgress(rootNode, progressLabel, totalThreads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException e) {
+                log.error("Failed to start measurement", e);
             } finally {
+                JsScriptExecutor.disableThreadAffinity();
                 SwingUtilities.invokeLater(() -> {
                     running = false;
                     cachedRequestNodes.clear();
+                    precompiledScripts.clear();
+                    responseBodyPlans.clear();
+                    requestTemplates.clear();
+                    connectionProfiles.values().forEach(profile -> OkHttpClientManager.releasePool(profile.getPool()));
+                    connectionProfiles.clear();
                     runBtn.setEnabled(true);
                     stopBtn.setEnabled(false);
 
                     refreshBtn.setEnabled(true); // 测试完成时重新启用刷新按钮
                     stopTrendTimer();
                     OkHttpClientManager.setDefaultConnectionPoolConfig();
+                    HttpService.setDefaultAsyncMaxInFlight();
+                    CookieService.endBatch();
 
                     PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
                     getPerformanceReportPanel().updateReport(
-                            snapshot.getApiCostMap(),
+                            snapshot.getApiLatencyMap(),
                             snapshot.getApiSuccessMap(),
                             snapshot.getApiFailMap(),
-                            snapshot.getRequestStartTimes(),
-                            snapshot.getRequestResults());
+                            snapshot.getApiCorrectedLatencyMap(),
+                            snapshot.getApiPhaseLatencyMap(),
+                            snapshot.getFirstStartTime(),
+                            snapshot.getLastEndTime());
+                    getPerformanceReportPanel().updateAllocationStats(statistics.getAllocatedBytesPerRequest());
+                    getPerformanceReportPanel().updateScriptCacheStats(JsSourceCache.getHits(), JsSourceCache.getMisses(),
+                            JsSourceCache.getPrecompiledReuses());
+                    if (CachingDns.INSTANCE.isEnabled()) {
+                        getPerformanceReportPanel().updateDnsCacheStats(CachingDns.INSTANCE.getHits(), CachingDns.INSTANCE.getMisses());
+                        CachingDns.INSTANCE.disable();
+                    }
 
                     // 显示执行完成提示
                     long totalTime = System.currentTimeMillis() - startTime;
-                    int totalRequests = snapshot.getRequestResults().size();
-                    long successCount = snapshot.getRequestResults().stream().filter(r -> r.success).count();
+                    int totalRequests = snapshot.getTotalCount();
+                    int successCount = snapshot.getSuccessCount();
                     String message = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_EXECUTION_COMPLETED,
                             totalRequests, successCount, totalTime / 1000.0);
                     NotificationUtil.showSuccess(message);
@@ -704,6 +760,36 @@ public class PerformancePanel extends SingletonBasePanel {
         runThread.start();
     }
 
+    /**
+     * 开始测量：启动趋势采样和报表刷新，并记录开始时间
+     */
+    private void startMeasurement() {
+        // 准备阶段被停止时不再启动定时器
+        if (!running) {
+            return;
+        }
+        progressLabel.setText(0 + "/" + currentTotalThreads);
+        // 启动趋势图定时采样
+        if (trendTimer != null) {
+            trendTimer.cancel();
+            trendTimer.purge(); // 清理已取消的任务，避免内存泄漏
+        }
+        trendTimer = new Timer();
+        // 从设置中读取采样间隔，默认1秒
+        int samplingIntervalSeconds = SettingManager.getTrendSamplingIntervalSeconds();
+        long samplingIntervalMs = samplingIntervalSeconds * 1000L;
+        startReportRefreshTimer();
+        trendTimer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                SwingUtilities.invokeLater(() -> sampleTrendData());
+            }
+        }, 0, samplingIntervalMs);
+
+        // 重要：更新开始时间，确保递增线程等模式正常工作
+        startTime = System.currentTimeMillis();
+    }
+
     /**
      * 遍历所有线程组，按各自模式计算总线程数
      */
@@ -723,12 +809,50 @@ public class PerformancePanel extends SingletonBasePanel {
                     case RAMP_UP -> total += tg.rampUpEndThreads;
                     case SPIKE -> total += tg.spikeMaxThreads;
                     case STAIRS -> total += tg.stairsEndThreads;
+                    case CONSTANT_ARRIVAL_RATE -> total += tg.constantRateMaxUsers;
+                    case RAMPING_ARRIVAL_RATE -> total += tg.rampingRateMaxUsers;
                 }
             }
         }
         return total;
     }
 
+    /**
+     * 已启用的固定模式线程组中开启了异步请求的用户总数
+     */
+    private int getAsyncUsers(DefaultMutableTreeNode rootNode) {
+        int users = 0;
+        for (int i = 0; i < rootNode.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) rootNode.getChildAt(i);
+            if (child.getUserObject() instanceof JMeterTreeNode jtNode && jtNode.type == NodeType.THREAD_GROUP
+                    && jtNode.enabled && jtNode.threadGroupData != null && jtNode.threadGroupData.asyncRequests
+                    && jtNode.threadGroupData.threadMode == ThreadGroupData.ThreadMode.FIXED) {
+                users += jtNode.threadGroupData.numThreads;
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 是否有已启用的线程组选择了虚拟线程（且当前 JDK 支持）
+     */
+    private boolean isVirtualThreadsRequested(DefaultMutableTreeNode rootNode) {
+        boolean requested = false;
+        for (int i = 0; i < rootNode.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) rootNode.getChildAt(i);
+            if (child.getUserObject() instanceof JMeterTreeNode jtNode && jtNode.type == NodeType.THREAD_GROUP
+                    && jtNode.enabled && jtNode.threadGroupData != null && jtNode.threadGroupData.useVirtualThreads) {
+                requested = true;
+                break;
+            }
+        }
+        if (requested && !VirtualThreadSupport.isSupported()) {
+            log.warn("虚拟线程需要 JDK 21+，当前 JDK {} 不支持，回退为平台线程", System.getProperty("java.version"));
+            return false;
+        }
+        return requested;
+    }
+
     /**
      * 估算总请求数，用于判断是否需要提示用户开启高效模式
      * 计算公式：所有线程组的 (线程数 × 循环次数 × 请求数) 之和
@@ -798,6 +922,10 @@ public class PerformancePanel extends SingletonBasePanel {
                         double requestsPerSecondPerThread = 1.0 / AVG_REQUEST_DURATION;
                         total += (long) (avgThreads * tg.stairsDuration * requestsPerSecondPerThread * enabledRequests);
                     }
+                    case CONSTANT_ARRIVAL_RATE, RAMPING_ARRIVAL_RATE -> {
+                        // 到达率模式：迭代数由速率曲线决定，与响应时间无关
+                        total += createArrivalRateProfile(tg).totalIterations() * enabledRequests;
+                    }
                 }
             }
         }
@@ -843,19 +971,23 @@ public class PerformancePanel extends SingletonBasePanel {
      */
     private void refreshReportOnce() {
         try {
-            PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
-            int currentCount = snapshot.getRequestResults().size();
+            int currentCount = statistics.getResultCount();
             if (currentCount == lastReportResultCount && currentCount > 0) {
                 return;
             }
             lastReportResultCount = currentCount;
+            PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
 
             getPerformanceReportPanel().updateReport(
-                    snapshot.getApiCostMap(),
+                    snapshot.getApiLatencyMap(),
                     snapshot.getApiSuccessMap(),
                     snapshot.getApiFailMap(),
-                    snapshot.getRequestStartTimes(),
-                    snapshot.getRequestResults());
+                    snapshot.getApiCorrectedLatencyMap(),
+                    snapshot.getApiPhaseLatencyMap(),
+                    snapshot.getFirstStartTime(),
+                    snapshot.getLastEndTime());
+            getPerformanceReportPanel().updateScriptCacheStats(JsSourceCache.getHits(), JsSourceCache.getMisses(),
+                    JsSourceCache.getPrecompiledReuses());
         } catch (Exception ex) {
             // 不要让 Timer 因异常中断
             log.warn("实时刷新报表失败: {}", ex.getMessage(), ex);
@@ -875,9 +1007,26 @@ public class PerformancePanel extends SingletonBasePanel {
 
         PerformanceTrendSnapshot snapshot = statistics.snapshotForTrend(windowStart, now, users, samplingIntervalSeconds);
         // 更新趋势图数据
-        log.debug("采样数据 {} - 用户数: {}, 平均响应时间: {} ms, QPS: {}, 错误率: {}%, 样本数: {}",
-                second, users, snapshot.getAvgResponseTime(), snapshot.getQps(), snapshot.getErrorPercent(), snapshot.getSampleCount());
-        getPerformanceTrendPanel().addOrUpdate(second, users, snapshot.getAvgResponseTime(), snapshot.getQps(), snapshot.getErrorPercent());
+        log.debug("采样数据 {} - 用户数: {}, 平均响应时间: {} ms, P99: {} ms, QPS: {}, 错误率: {}%, 样本数: {}",
+                second, users, snapshot.getAvgResponseTime(), snapshot.getP99ResponseTime(), snapshot.getQps(),
+                snapshot.getErrorPercent(), snapshot.getSampleCount());
+        if (virtualThreadsInUse && running) {
+            carrierThreadCount = VirtualThreadSupport.getCarrierThreadCount();
+            log.debug("虚拟线程 - 活跃用户: {}, 载体线程: {}", users, carrierThreadCount);
+            updateProgressLabel(progressLabel, currentTotalThreads);
+        }
+        getPerformanceTrendPanel().addOrUpdate(second, users, snapshot.getAvgResponseTime(),
+                snapshot.getP99ResponseTime(), snapshot.getCorrectedP99ResponseTime(),
+                snapshot.getQps(), snapshot.getErrorPercent());
+
+        ConnectionPoolStats poolStats = OkHttpClientManager.getPoolStats();
+        long created = poolStats.getCreatedConnections();
+        long evicted = poolStats.getEvictedConnections();
+        getPerformanceTrendPanel().addOrUpdateConnections(second, poolStats.getActiveConnections(),
+                poolStats.getIdleConnections(), Math.max(0, created - lastCreatedConnections),
+                Math.max(0, evicted - lastEvictedConnections));
+        lastCreatedConnections = created;
+        lastEvictedConnections = evicted;
     }
 
     private void updateProgressLabel(JLabel label, int totalThreads) {
@@ -887,6 +1036,13 @@ public class PerformancePanel extends SingletonBasePanel {
 
         int active = activeThreads.get();
         String text = active + "/" + totalThreads;
+        if (virtualThreadsInUse) {
+            text += " " + I18nUtil.getMessage(MessageKeys.PERFORMANCE_PROGRESS_CARRIER_THREADS, carrierThreadCount);
+        }
+        long dropped = statistics.getDroppedIterations();
+        if (dropped > 0) {
+            text += " " + I18nUtil.getMessage(MessageKeys.PERFORMANCE_PROGRESS_DROPPED_ITERATIONS, dropped);
+        }
         long now = System.currentTimeMillis();
         long lastUpdate = lastProgressUpdate.get();
         String previousText = lastProgressText.get();
@@ -898,7 +1054,8 @@ public class PerformancePanel extends SingletonBasePanel {
         lastProgressText.set(text);
         lastProgressUpdate.set(now);
 
-        Runnable update = () -> label.setText(text);
+        String labelText = text;
+        Runnable update = () -> label.setText(labelText);
         if (SwingUtilities.isEventDispatchThread()) {
             update.run();
         } else {
@@ -941,6 +1098,8 @@ public class PerformancePanel extends SingletonBasePanel {
                     case RAMP_UP -> runRampUpThreads(rootNode, tg, progressLabel, totalThreads);
                     case SPIKE -> runSpikeThreads(rootNode, tg, progressLabel, totalThreads);
                     case STAIRS -> runStairsThreads(rootNode, tg, progressLabel, totalThreads);
+                    case CONSTANT_ARRIVAL_RATE, RAMPING_ARRIVAL_RATE ->
+                            runArrivalRateThreads(rootNode, tg, progressLabel, totalThreads);
                 }
             } else {
                 log.warn("不支持的节点类型: {}", jtNode.type);
@@ -950,13 +1109,16 @@ public class PerformancePanel extends SingletonBasePanel {
 
     // 固定线程模式执行
     private void runFixedThreads(DefaultMutableTreeNode groupNode, ThreadGroupData tg, JLabel progressLabel, int totalThreads) {
+        if (tg.asyncRequests) {
+            runFixedAsyncUsers(groupNode, tg, progressLabel, totalThreads);
+            return;
+        }
         int numThreads = tg.numThreads;
         int loops = tg.loops;
         boolean useTime = tg.useTime;
         int durationSeconds = tg.duration;
 
-        ThreadPoolExecutor executor = createFixedExecutor(numThreads, "PerfFixed");
-        executor.prestartAllCoreThreads();
+        ExecutorService executor = createFixedExecutor(tg, numThreads, "PerfFixed");
 
         long startTime = System.currentTimeMillis();
         long endTime = useTime ? (startTime + (durationSeconds * 1000L)) : Long.MAX_VALUE;
@@ -968,6 +1130,7 @@ public class PerformancePanel extends SingletonBasePanel {
             }
             executor.submit(() -> {
                 activeThreads.incrementAndGet();
+                beginVirtualUser(groupNode);
                 updateProgressLabel(progressLabel, totalThreads);
                 try {
                     // 按时间执行或按循环次数执行
@@ -982,6 +1145,7 @@ public class PerformancePanel extends SingletonBasePanel {
                     }
                 } finally {
                     activeThreads.decrementAndGet();
+                    endVirtualUser();
                     updateProgressLabel(progressLabel, totalThreads);
                 }
             });
@@ -1026,6 +1190,119 @@ public class PerformancePanel extends SingletonBasePanel {
         }
     }
 
+    /**
+     * 固定模式的异步执行：虚拟用户不独占线程，请求在途时不占用工作线程，
+     * 前置脚本、断言和后置脚本在固定大小的工作线程池上作为续体执行
+     */
+    private void runFixedAsyncUsers(DefaultMutableTreeNode groupNode, ThreadGroupData tg, JLabel progressLabel, int totalThreads) {
+        int workerCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ExecutorService workers = new ThreadPoolExecutor(workerCount, workerCount, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), createThreadFactory("PerfAsyncWorker"));
+        long endTime = tg.useTime ? System.currentTimeMillis() + tg.duration * 1000L : Long.MAX_VALUE;
+
+        List<CompletableFuture<Void>> users = new ArrayList<>(tg.numThreads);
+        for (int i = 0; i < tg.numThreads && running; i++) {
+            users.add(new AsyncVirtualUser(groupNode, tg, endTime, workers, progressLabel, totalThreads).start());
+        }
+        try {
+            CompletableFuture<Void> all = CompletableFuture.allOf(users.toArray(new CompletableFuture<?>[0]));
+            if (tg.useTime) {
+                // 对于定时测试，额外等待时间 5 秒
+                all.get(tg.duration + 5L, TimeUnit.SECONDS);
+            } else {
+                all.get(1, TimeUnit.HOURS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("异步虚拟用户未能在预期时间内完成，取消剩余请求");
+            cancelAllHttpCalls();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAllHttpCalls();
+        } catch (ExecutionException e) {
+            log.error("异步虚拟用户执行异常", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 异步模式下的一个虚拟用户：按顺序执行线程组内的请求节点，同一时刻最多一个请求在途
+     */
+    private final class AsyncVirtualUser {
+        private final DefaultMutableTreeNode groupNode;
+        private final ThreadGroupData tg;
+        private final long endTime;
+        private final Executor workers;
+        private final JLabel progressLabel;
+        private final int totalThreads;
+        private final VirtualUserCookieJar cookieJar;
+        private final ConnectionProfile connections;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int completedLoops;
+
+        private AsyncVirtualUser(DefaultMutableTreeNode groupNode, ThreadGroupData tg, long endTime, Executor workers,
+                                 JLabel progressLabel, int totalThreads) {
+            this.groupNode = groupNode;
+            this.tg = tg;
+            this.endTime = endTime;
+            this.workers = workers;
+            this.progressLabel = progressLabel;
+            this.totalThreads = totalThreads;
+            this.cookieJar = tg.isolatedCookies ? new VirtualUserCookieJar() : null;
+            ConnectionProfile profile = connectionProfiles.get(groupNode);
+            this.connections = profile != null ? profile.newUserScope() : null;
+        }
+
+        private CompletableFuture<Void> start() {
+            activeThreads.incrementAndGet();
+            updateProgressLabel(progressLabel, totalThreads);
+            workers.execute(this::nextIteration);
+            return done;
+        }
+
+        private void nextIteration() {
+            boolean finished = tg.useTime ? System.currentTimeMillis() >= endTime : completedLoops >= tg.loops;
+            if (!running || finished) {
+                activeThreads.decrementAndGet();
+                updateProgressLabel(progressLabel, totalThreads);
+                releaseUserConnections(connections);
+                done.complete(null);
+                return;
+            }
+            if (connections != null && connections.isNewConnectionPerIteration()) {
+                connections.closeIdleConnections();
+            }
+            completedLoops++;
+            runNode(getCachedRequestNodes(groupNode), 0, getConfiguredExpectedInterval(groupNode));
+        }
+
+        private void runNode(List<DefaultMutableTreeNode> nodes, int index, long configuredInterval) {
+            if (index >= nodes.size() || !running) {
+                // 重新提交而不是直接调用，避免同步完成的迭代不断加深调用栈
+                workers.execute(this::nextIteration);
+                return;
+            }
+            CompletableFuture<Void> step;
+            VirtualUserCookieJar.bind(cookieJar);
+            ConnectionProfile.bind(connections);
+            try {
+                step = executeRequestNodeAsync(nodes.get(index), configuredInterval, workers, cookieJar, connections);
+            } catch (RuntimeException e) {
+                log.error("异步请求节点执行异常", e);
+                step = CompletableFuture.completedFuture(null);
+            } finally {
+                VirtualUserCookieJar.unbind();
+                ConnectionProfile.unbind();
+            }
+            step.whenCompleteAsync((v, ex) -> {
+                if (ex != null) {
+                    log.error("异步请求节点执行异常", ex);
+                }
+                runNode(nodes, index + 1, configuredInterval);
+            }, workers);
+        }
+    }
+
     // 递增线程模式执行
     private void runRampUpThreads(DefaultMutableTreeNode groupNode, ThreadGroupData tg, JLabel progressLabel, int totalThreads) {
         int startThreads = tg.rampUpStartThreads;
@@ -1038,7 +1315,7 @@ public class PerformancePanel extends SingletonBasePanel {
 
         // 创建调度线程池
         ScheduledThreadPoolExecutor scheduler = createScheduledExecutor("PerfRampUpScheduler");
-        ExecutorService executor = createCachedExecutor("PerfRampUpWorker");
+        ExecutorService executor = createCachedExecutor(tg, "PerfRampUpWorker");
 
 
         // 已启动的线程数
@@ -1069,6 +1346,7 @@ public class PerformancePanel extends SingletonBasePanel {
                     executor.submit(() -> {
                         startedThreads.incrementAndGet();
                         activeThreads.incrementAndGet();
+                        beginVirtualUser(groupNode);
                         updateProgressLabel(progressLabel, totalThreads);
                         try {
                             // 循环执行直到结束
@@ -1077,6 +1355,7 @@ public class PerformancePanel extends SingletonBasePanel {
                             }
                         } finally {
                             activeThreads.decrementAndGet();
+                            endVirtualUser();
                             updateProgressLabel(progressLabel, totalThreads);
                         }
                     });
@@ -1121,7 +1400,7 @@ public class PerformancePanel extends SingletonBasePanel {
 
         // 创建线程池
         ScheduledThreadPoolExecutor scheduler = createScheduledExecutor("PerfSpikeScheduler");
-        ExecutorService executor = createCachedExecutor("PerfSpikeWorker");
+        ExecutorService executor = createCachedExecutor(tg, "PerfSpikeWorker");
         AtomicInteger startedThreads = new AtomicInteger(0);
 
 
@@ -1236,7 +1515,7 @@ public class PerformancePanel extends SingletonBasePanel {
 
         // 创建线程池
         ScheduledThreadPoolExecutor scheduler = createScheduledExecutor("PerfStairsScheduler");
-        ExecutorService executor = createCachedExecutor("PerfStairsWorker");
+        ExecutorService executor = createCachedExecutor(tg, "PerfStairsWorker");
         AtomicInteger startedThreads = new AtomicInteger(0);
 
 
@@ -1327,6 +1606,62 @@ public class PerformancePanel extends SingletonBasePanel {
 
     }
 
+    // 到达率模式执行（开放模型）：按目标速率发起迭代，不受响应变慢影响
+    private void runArrivalRateThreads(DefaultMutableTreeNode groupNode, ThreadGroupData tg, JLabel progressLabel, int totalThreads) {
+        ArrivalRateProfile profile = createArrivalRateProfile(tg);
+        int maxUsers = tg.threadMode == ThreadGroupData.ThreadMode.CONSTANT_ARRIVAL_RATE
+                ? tg.constantRateMaxUsers : tg.rampingRateMaxUsers;
+        ExecutorService executor = createCachedExecutor(tg, "PerfArrivalWorker");
+
+        ArrivalRateExecutor arrivalExecutor = new ArrivalRateExecutor(profile, executor, maxUsers, () -> running)
+                .onDropped(() -> {
+                    statistics.recordDroppedIteration();
+                    updateProgressLabel(progressLabel, totalThreads);
+                });
+
+        // 调度在当前线程组线程上进行，迭代在用户池中执行
+        arrivalExecutor.run(scheduledNanos -> {
+            activeThreads.incrementAndGet();
+            beginVirtualUser(groupNode);
+            updateProgressLabel(progressLabel, totalThreads);
+            try {
+                runTaskIteration(groupNode);
+            } finally {
+                activeThreads.decrementAndGet();
+                endVirtualUser();
+                updateProgressLabel(progressLabel, totalThreads);
+            }
+        });
+        if (arrivalExecutor.getDroppedIterations() > 0) {
+            log.warn("到达率模式用户池（{}）已耗尽，已发起 {} 次迭代，丢弃 {} 次",
+                    maxUsers, arrivalExecutor.getStartedIterations(), arrivalExecutor.getDroppedIterations());
+        }
+
+        try {
+            executor.shutdown();
+            boolean executorTerminated = executor.awaitTermination(10, TimeUnit.SECONDS);
+            if (!executorTerminated || !running) {
+                log.warn("到达率模式执行器未能正常终止，强制关闭");
+                executor.shutdownNow();
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("到达率模式部分线程在强制关闭后仍未终止");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            log.error("到达率模式执行中断", e);
+        }
+    }
+
+    private ArrivalRateProfile createArrivalRateProfile(ThreadGroupData tg) {
+        if (tg.threadMode == ThreadGroupData.ThreadMode.CONSTANT_ARRIVAL_RATE) {
+            return ArrivalRateProfile.constant(tg.constantRate, tg.constantRateDuration);
+        }
+        return ArrivalRateProfile.ramping(tg.rampingRateStart, tg.rampingRateTarget,
+                tg.rampingRateRampTime, tg.rampingRateDuration);
+    }
+
     // 专用于尖刺模式的线程数调整方法
     private void adjustSpikeThreadCount(DefaultMutableTreeNode groupNode,
                                         AtomicInteger startedThreads, int targetThreads,
@@ -1409,6 +1744,7 @@ public class PerformancePanel extends SingletonBasePanel {
             threadEndTimes.put(currentThread, Long.MAX_VALUE);
             startedThreads.incrementAndGet();
             activeThreads.incrementAndGet();
+            beginVirtualUser(groupNode);
             updateProgressLabel(progressLabel, totalThreads);
             try {
                 while (running && System.currentTimeMillis() - startTime < totalTime * 1000L
@@ -1417,6 +1753,7 @@ public class PerformancePanel extends SingletonBasePanel {
                 }
             } finally {
                 activeThreads.decrementAndGet();
+                endVirtualUser();
                 startedThreads.decrementAndGet();
                 updateProgressLabel(progressLabel, totalThreads);
                 threadEndTimes.remove(currentThread);
@@ -1446,17 +1783,110 @@ public class PerformancePanel extends SingletonBasePanel {
 
     // 执行单次请求
     private void runTaskIteration(DefaultMutableTreeNode groupNode) {
+        // 每次迭代新建连接：关闭上一次迭代留下的空闲连接
+        ConnectionProfile connections = ConnectionProfile.current();
+        if (connections != null && connections.isNewConnectionPerIteration()) {
+            connections.closeIdleConnections();
+        }
         List<DefaultMutableTreeNode> requestNodes = getCachedRequestNodes(groupNode);
+        long configuredInterval = getConfiguredExpectedInterval(groupNode);
         for (DefaultMutableTreeNode child : requestNodes) {
             if (!running) {
                 break;
             }
-            executeRequestNode(child.getUserObject(), child);
+            executeRequestNode(child.getUserObject(), child, configuredInterval);
+        }
+    }
+
+    /**
+     * 虚拟用户开始：线程组开启独立 Cookie 时为当前线程绑定一个空的 Cookie 存储，
+     * 开启独立连接设置时绑定线程组的连接设置
+     */
+    private void beginVirtualUser(DefaultMutableTreeNode groupNode) {
+        if (groupNode.getUserObject() instanceof JMeterTreeNode jtNode && jtNode.threadGroupData != null
+                && jtNode.threadGroupData.isolatedCookies) {
+            VirtualUserCookieJar.bind();
+        }
+        ConnectionProfile profile = connectionProfiles.get(groupNode);
+        if (profile != null) {
+            ConnectionProfile.bind(profile.newUserScope());
+        }
+    }
+
+    /**
+     * 虚拟用户结束：解除 Cookie 存储和连接设置的绑定，线程被复用时下一个用户从空会话开始；
+     * 交还 JS 亲和 Context，供之后启动的用户使用
+     */
+    private void endVirtualUser() {
+        VirtualUserCookieJar.unbind();
+        JsScriptExecutor.releaseThreadAffinity();
+        releaseUserConnections(ConnectionProfile.current());
+        ConnectionProfile.unbind();
+    }
+
+    /**
+     * 每次迭代新建连接时，虚拟用户独占的连接池随用户结束关闭
+     */
+    private void releaseUserConnections(ConnectionProfile connections) {
+        if (connections != null && connections.isNewConnectionPerIteration()) {
+            OkHttpClientManager.releasePool(connections.getPool());
+        }
+    }
+
+    /**
+     * 线程组配置的协调遗漏修正间隔：未开启（或为到达率模式）返回 -1，0 表示按接口平均耗时估算
+     */
+    private long getConfiguredExpectedInterval(DefaultMutableTreeNode groupNode) {
+        if (groupNode.getUserObject() instanceof JMeterTreeNode jtNode && jtNode.threadGroupData != null) {
+            ThreadGroupData tg = jtNode.threadGroupData;
+            if (tg.correctCoordinatedOmission && !tg.threadMode.isArrivalRate()) {
+                return Math.max(0, tg.expectedIntervalMs);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 单个请求的预期间隔：请求后的定时器延迟 + 配置的间隔（未配置时用接口平均耗时）
+     */
+    private long resolveExpectedInterval(String apiName, DefaultMutableTreeNode requestNode, long configuredInterval) {
+        if (configuredInterval < 0) {
+            return 0;
+        }
+        long timerDelay = 0;
+        for (int j = 0; j < requestNode.getChildCount(); j++) {
+            Object subObj = ((DefaultMutableTreeNode) requestNode.getChildAt(j)).getUserObject();
+            if (subObj instanceof JMeterTreeNode subNode && subNode.type == NodeType.TIMER
+                    && subNode.enabled && subNode.timerData != null) {
+                timerDelay += subNode.timerData.delayMs;
+            }
+        }
+        long pacing = configuredInterval > 0 ? configuredInterval : statistics.getMeanLatency(apiName);
+        return timerDelay + pacing;
+    }
+
+    /**
+     * 记录本次请求的阶段耗时：高效模式读取轻量监听器随请求采集的时间戳，否则从完整事件信息转换
+     */
+    private void recordPhaseTimings(String apiName, HttpResponse resp) {
+        if (resp == null) {
+            return;
+        }
+        if (resp.phaseTimings != null) {
+            statistics.recordPhases(apiName, resp.phaseTimings);
+        } else if (resp.httpEventInfo != null) {
+            HttpPhaseTimings timings = new HttpPhaseTimings();
+            timings.copyFrom(resp.httpEventInfo);
+            statistics.recordPhases(apiName, timings);
         }
     }
 
     private void prepareRequestNodes(DefaultMutableTreeNode rootNode) {
         cachedRequestNodes.clear();
+        precompiledScripts.clear();
+        responseBodyPlans.clear();
+        requestTemplates.clear();
+        connectionProfiles.clear();
         if (rootNode == null) {
             return;
         }
@@ -1464,9 +1894,133 @@ public class PerformancePanel extends SingletonBasePanel {
             DefaultMutableTreeNode groupNode = (DefaultMutableTreeNode) rootNode.getChildAt(i);
             Object userObj = groupNode.getUserObject();
             if (userObj instanceof JMeterTreeNode jtNode && jtNode.type == NodeType.THREAD_GROUP && jtNode.enabled) {
-                cachedRequestNodes.put(groupNode, collectEnabledRequestNodes(groupNode));
+                List<DefaultMutableTreeNode> requestNodes = collectEnabledRequestNodes(groupNode);
+                cachedRequestNodes.put(groupNode, requestNodes);
+                registerApiStats(requestNodes);
+                precompileScripts(requestNodes);
+                requestNodes.forEach(this::getResponseBodyPlan);
+                requestNodes.forEach(this::getRequestTemplate);
+                ConnectionProfile profile = createConnectionProfile(jtNode.threadGroupData);
+                if (profile != null) {
+                    connectionProfiles.put(groupNode, profile);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按线程组配置创建独立连接设置，未开启时返回 null（使用全局的压测连接池）
+     */
+    private ConnectionProfile createConnectionProfile(ThreadGroupData tg) {
+        if (tg == null || !tg.customConnections) {
+            return null;
+        }
+        ConnectionProfile.Protocol protocol = switch (tg.httpProtocol) {
+            case HTTP_1_1 -> ConnectionProfile.Protocol.HTTP_1_1;
+            case HTTP_2 -> ConnectionProfile.Protocol.HTTP_2;
+            default -> ConnectionProfile.Protocol.AUTO;
+        };
+        return new ConnectionProfile(protocol, tg.maxIdleConnections, tg.keepAliveSeconds,
+                tg.maxRequestsPerHost, tg.newConnectionPerIteration);
+    }
+
+    /**
+     * 预注册接口统计，运行时记录结果无需再创建统计对象
+     */
+    private void registerApiStats(List<DefaultMutableTreeNode> requestNodes) {
+        for (DefaultMutableTreeNode node : requestNodes) {
+            if (node.getUserObject() instanceof JMeterTreeNode jtNode
+                    && jtNode.type == NodeType.REQUEST && jtNode.httpRequestItem != null) {
+                statistics.registerApi(jtNode.httpRequestItem.getName());
+            }
+        }
+    }
+
+    /**
+     * 预先构建前置/后置脚本的 Source，每次迭代直接复用
+     */
+    private void precompileScripts(List<DefaultMutableTreeNode> requestNodes) {
+        for (DefaultMutableTreeNode node : requestNodes) {
+            getPrecompiledScripts(node);
+        }
+    }
+
+    /**
+     * 有脚本时开启 JS Context 线程亲和模式，为工作线程预先创建不超过共享池容量的 Context；
+     * 设置了等待预热时，先等待启动预热完成，并在这些 Context 上执行预热脚本
+     */
+    private void prepareScriptContexts(int totalThreads) throws InterruptedException {
+        boolean hasScripts = precompiledScripts.values().stream()
+                .anyMatch(scripts -> scripts.preScript != null || scripts.postScript != null);
+        if (!hasScripts || totalThreads <= 0) {
+            return;
+        }
+        boolean waitForWarmUp = SettingManager.isPerformanceWaitForJsWarmUp();
+        if (waitForWarmUp) {
+            SwingUtilities.invokeLater(() ->
+                    progressLabel.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_JS_WARMING_UP)));
+            JsScriptExecutor.awaitWarmUp();
+        }
+        JsScriptExecutor.enableThreadAffinity(Math.min(totalThreads, MAX_AFFINE_SCRIPT_CONTEXTS), waitForWarmUp);
+    }
+
+    /**
+     * 开启压测 DNS 缓存并预解析各请求的主机（按当前环境变量替换 URL），测量阶段新建连接不再等待系统解析
+     */
+    private void prepareDnsCache() {
+        if (!SettingManager.isPerformanceDnsCacheEnabled()) {
+            return;
+        }
+        CachingDns.INSTANCE.enable(SettingManager.getPerformanceDnsCacheTtlSeconds() * 1000L,
+                SettingManager.getPerformanceDnsNegativeTtlSeconds() * 1000L,
+                CachingDns.parseHosts(SettingManager.getPerformanceDnsHosts()));
+        Set<String> hosts = new LinkedHashSet<>();
+        for (DefaultMutableTreeNode node : requestTemplates.keySet()) {
+            JMeterTreeNode jtNode = (JMeterTreeNode) node.getUserObject();
+            HttpUrl url = HttpUrl.parse(EnvironmentService.replaceVariables(jtNode.httpRequestItem.getUrl()));
+            if (url != null) {
+                hosts.add(url.host());
             }
         }
+        CachingDns.INSTANCE.prefetch(hosts);
+    }
+
+    private PrecompiledScripts getPrecompiledScripts(DefaultMutableTreeNode node) {
+        if (!(node.getUserObject() instanceof JMeterTreeNode jtNode)
+                || jtNode.type != NodeType.REQUEST || jtNode.httpRequestItem == null) {
+            return null;
+        }
+        return precompiledScripts.computeIfAbsent(node, n -> PrecompiledScripts.of(jtNode.httpRequestItem.getName(),
+                jtNode.httpRequestItem.getPrescript(), jtNode.httpRequestItem.getPostscript()));
+    }
+
+    /**
+     * 请求节点的预编译请求模板，测试开始时构建，之后修改请求需重新开始测试才生效
+     */
+    private CompiledRequestTemplate getRequestTemplate(DefaultMutableTreeNode node) {
+        if (!(node.getUserObject() instanceof JMeterTreeNode jtNode)
+                || jtNode.type != NodeType.REQUEST || jtNode.httpRequestItem == null) {
+            return null;
+        }
+        return requestTemplates.computeIfAbsent(node, n -> CompiledRequestTemplate.compile(jtNode.httpRequestItem));
+    }
+
+    /**
+     * 请求节点的响应体消费计划：有后置脚本或需要完整响应体的断言时完整读取，否则流式处理
+     */
+    private ResponseBodyPlan getResponseBodyPlan(DefaultMutableTreeNode node) {
+        return responseBodyPlans.computeIfAbsent(node, n -> {
+            List<AssertionData> assertions = new ArrayList<>();
+            for (int j = 0; j < n.getChildCount(); j++) {
+                Object subObj = ((DefaultMutableTreeNode) n.getChildAt(j)).getUserObject();
+                if (subObj instanceof JMeterTreeNode subNode && subNode.type == NodeType.ASSERTION
+                        && subNode.enabled && subNode.assertionData != null) {
+                    assertions.add(subNode.assertionData);
+                }
+            }
+            PrecompiledScripts scripts = getPrecompiledScripts(n);
+            return ResponseBodyPlan.of(assertions, scripts != null && scripts.postScript != null);
+        });
     }
 
     private List<DefaultMutableTreeNode> getCachedRequestNodes(DefaultMutableTreeNode groupNode) {
@@ -1485,7 +2039,11 @@ public class PerformancePanel extends SingletonBasePanel {
         return nodes;
     }
 
-    private ThreadPoolExecutor createFixedExecutor(int numThreads, String name) {
+    private ExecutorService createFixedExecutor(ThreadGroupData tg, int numThreads, String name) {
+        // 虚拟线程无需预创建和复用，每个虚拟用户一个虚拟线程
+        if (useVirtualThreads(tg)) {
+            return createCachedExecutor(tg, name);
+        }
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 numThreads,
                 numThreads,
@@ -1494,17 +2052,29 @@ public class PerformancePanel extends SingletonBasePanel {
                 new LinkedBlockingQueue<>(),
                 createThreadFactory(name));
         executor.allowCoreThreadTimeOut(true);
+        executor.prestartAllCoreThreads();
         return executor;
     }
 
-    private ExecutorService createCachedExecutor(String name) {
+    private ExecutorService createCachedExecutor(ThreadGroupData tg, String name) {
+        ThreadFactory threadFactory = null;
+        if (useVirtualThreads(tg)) {
+            threadFactory = VirtualThreadSupport.newThreadFactory(name);
+        }
+        if (threadFactory == null) {
+            threadFactory = createThreadFactory(name);
+        }
         return new ThreadPoolExecutor(
                 0,
                 Integer.MAX_VALUE,
                 30L,
                 TimeUnit.SECONDS,
                 new SynchronousQueue<>(),
-                createThreadFactory(name));
+                threadFactory);
+    }
+
+    private boolean useVirtualThreads(ThreadGroupData tg) {
+        return tg.useVirtualThreads && VirtualThreadSupport.isSupported();
     }
 
     private ScheduledThreadPoolExecutor createScheduledExecutor(String name) {
@@ -1565,186 +2135,36 @@ public class PerformancePanel extends SingletonBasePanel {
     }
 
     // 执行单个请求节点
-    private void executeRequestNode(Object userObj, DefaultMutableTreeNode child) {
+    private void executeRequestNode(Object userObj, DefaultMutableTreeNode child, long configuredInterval) {
         // 如果测试已停止，立即返回，不执行请求
         if (!running) {
             return;
         }
 
         if (userObj instanceof JMeterTreeNode jtNode && jtNode.type == NodeType.REQUEST && jtNode.httpRequestItem != null) {
-            String apiName = jtNode.httpRequestItem.getName();
-            boolean success = true;
-            PreparedRequest req;
-            HttpResponse resp = null;
-            String errorMsg = "";
-            List<TestResult> testResults = new ArrayList<>();
-
-            // 清理上次的临时变量
-            EnvironmentService.clearTemporaryVariables();
-
-            // ====== CSV变量注入 ======
-            Map<String, String> csvRow = null;
-            if (csvDataPanel != null && csvDataPanel.hasData()) {
-                int rowCount = csvDataPanel.getRowCount();
-                if (rowCount > 0) {
-                    int rowIdx = csvRowIndex.getAndIncrement() % rowCount;
-                    csvRow = csvDataPanel.getRowData(rowIdx);
-                }
-            }
-
-            // ====== 前置脚本 ======
-            req = PreparedRequestBuilder.build(jtNode.httpRequestItem);
-
-            // 创建脚本执行流水线
-            ScriptExecutionPipeline pipeline = ScriptExecutionPipeline.builder()
-                    .request(req)
-                    .preScript(jtNode.httpRequestItem.getPrescript())
-                    .postScript(jtNode.httpRequestItem.getPostscript())
-                    .build();
-
-            // 注入 CSV 变量
-            if (csvRow != null) {
-                pipeline.addCsvDataBindings(csvRow);
-            }
-
-            // 执行前置脚本
-            ScriptExecutionResult preResult = pipeline.executePreScript();
-            boolean preOk = preResult.isSuccess();
-            if (!preOk) {
-                log.error("前置脚本: {}", preResult.getErrorMessage());
-                errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_PRE_SCRIPT_FAILED, preResult.getErrorMessage());
-                success = false;
-            }
-
-            // 前置脚本执行完后再次检查是否已停止
-            if (!running) {
+            RequestExecution exec = beginRequest(jtNode, child);
+            if (exec == null) {
                 return;
             }
 
-            // 前置脚本执行完成后，进行变量替换
-            if (preOk) {
-                PreparedRequestBuilder.replaceVariablesAfterPreScript(req);
-            }
-
-            long startTime = System.currentTimeMillis();
-            statistics.recordStart(startTime); // 记录开始时间
-            long costMs = 0;
-            boolean interrupted = false; // 标记是否被中断
-
-            if (preOk && running) {  // 执行HTTP请求前再次检查running状态
+            if (exec.preOk && running) {  // 执行HTTP请求前再次检查running状态
+                long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
                 try {
-                    req.logEvent = !efficientMode; // 记录事件日志
-                    resp = HttpSingleRequestExecutor.executeHttp(req);
+                    exec.resp = HttpSingleRequestExecutor.executeHttp(exec.req);
                 } catch (Exception ex) {
-                    // 检查是否是被取消/中断的请求
-                    // 注意：cancelAllHttpCalls() 只在停止时调用，所以 Canceled 异常就是停止导致的
-                    boolean isCancelled = isCancelledOrInterrupted(ex);
-
-                    if (isCancelled) {
-                        // 被取消/中断的请求，不算作失败
-                        log.debug("请求被取消/中断（压测已停止）: {}", ex.getMessage());
-                        interrupted = true; // 标记为中断
-                    } else {
-                        // 真正的错误
-                        log.error("请求执行失败: {}", ex.getMessage(), ex);
-                        errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_REQUEST_FAILED, ex.getMessage());
-                        success = false;
-                    }
+                    handleRequestFailure(exec, ex);
                 } finally {
-                    costMs = System.currentTimeMillis() - startTime;
-                }
-                // 断言处理（JMeter树断言）
-                for (int j = 0; j < child.getChildCount() && resp != null && running; j++) {
-                    DefaultMutableTreeNode sub = (DefaultMutableTreeNode) child.getChildAt(j);
-                    Object subObj = sub.getUserObject();
-                    if (subObj instanceof JMeterTreeNode subNode && subNode.type == NodeType.ASSERTION && subNode.assertionData != null) {
-                        // 跳过已停用的断言
-                        if (!subNode.enabled) {
-                            continue;
-                        }
-                        AssertionData assertion = subNode.assertionData;
-                        String type = assertion.type;
-                        boolean pass = false;
-                        if ("Response Code".equals(type)) {
-                            String op = assertion.operator;
-                            String valStr = assertion.value;
-                            try {
-                                int expect = Integer.parseInt(valStr);
-                                if ("=".equals(op)) {
-                                    pass = (resp.code == expect);
-                                } else if (">".equals(op)) {
-                                    pass = (resp.code > expect);
-                                } else if ("<".equals(op)) {
-                                    pass = (resp.code < expect);
-                                }
-                            } catch (Exception ignored) {
-                                log.warn("断言响应码格式错误: {}", valStr);
-                            }
-                        } else if ("Response Time".equals(type)) {
-                            String op = assertion.operator;
-                            String valStr = assertion.value;
-                            long responseTime = resp.costMs > 0 ? resp.costMs : costMs;
-                            try {
-                                long expect = Long.parseLong(valStr);
-                                if ("=".equals(op)) {
-                                    pass = (responseTime == expect);
-                                } else if (">".equals(op)) {
-                                    pass = (responseTime > expect);
-                                } else if ("<".equals(op)) {
-                                    pass = (responseTime < expect);
-                                }
-                            } catch (Exception ignored) {
-                                log.warn("断言响应耗时格式错误: {}", valStr);
-                            }
-                        } else if ("Contains".equals(type)) {
-                            pass = resp.body.contains(assertion.content);
-                        } else if ("JSONPath".equals(type)) {
-                            String jsonPath = assertion.value;
-                            String expect = assertion.content;
-                            String actual = JsonPathUtil.extractJsonPath(resp.body, jsonPath);
-                            pass = Objects.equals(actual, expect);
-                        }
-
-                        if (!pass) {
-                            success = false;
-                            errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_ASSERTION_FAILED, type, assertion.content);
-                        }
-                        testResults.add(new TestResult(type, pass, pass ? null : "断言失败"));
-                    }
+                    exec.costMs = System.currentTimeMillis() - exec.startTime;
                 }
-                // ====== 后置脚本 ======
-                if (resp != null && running) {  // 执行后置脚本前检查是否已停止
-                    // 执行后置脚本（自动处理响应绑定和测试结果收集）
-                    ScriptExecutionResult postResult = pipeline.executePostScript(resp);
-                    if (postResult.hasTestResults()) {
-                        testResults.addAll(postResult.getTestResults());
-                    }
-                    if (!postResult.isSuccess()) {
-                        log.error("后置脚本执行失败: {}", postResult.getErrorMessage());
-                        errorMsg = postResult.getErrorMessage();
-                        success = false;
-                    }
+                applyAssertions(exec);
+                if (!exec.interrupted) {
+                    statistics.recordAllocation(AllocationMeter.allocatedSince(allocatedBefore));
                 }
             } else {
                 // 前置脚本失败的情况，也需要记录costMs
-                costMs = System.currentTimeMillis() - startTime;
-            }
-
-            // ====== 统计请求结果（断言和后置脚本后，sleep前） ======
-            long cost = resp == null ? costMs : resp.costMs;
-            long endTime = startTime + cost; // 如果响应时间有记录，则使用，否则使用计算的cost
-            if (resp != null) {
-                endTime = resp.endTime > 0 ? resp.endTime : startTime + cost;
-            }
-
-            // 如果请求被中断（压测停止），跳过统计，不计入成功或失败
-            if (!interrupted) {
-                statistics.recordResult(apiName, success, cost, endTime);
-                getPerformanceResultTablePanel().addResult(new ResultNodeInfo(jtNode.httpRequestItem.getName(), success, errorMsg, req, resp, testResults), efficientMode);
-            } else {
-                // 被中断的请求，记录日志但不计入统计
-                log.debug("跳过被中断请求的统计: {}", jtNode.httpRequestItem.getName());
+                exec.costMs = System.currentTimeMillis() - exec.startTime;
             }
+            completeRequest(exec, configuredInterval);
 
             // ====== 定时器延迟（sleep） ======
             // 如果测试已停止，跳过定时器延迟
@@ -1771,6 +2191,298 @@ public class PerformancePanel extends SingletonBasePanel {
         }
     }
 
+    /**
+     * 异步执行单个请求节点：前置脚本在当前工作线程执行，等待响应期间不占用线程，
+     * 断言、后置脚本和统计作为续体在工作线程池上执行，定时器延迟通过延迟调度实现
+     *
+     * @param cookieJar   虚拟用户的 Cookie 罐，续体中后置脚本发出的请求同样使用，可为 null
+     * @param connections 虚拟用户的连接设置，续体中同样绑定，可为 null
+     */
+    private CompletableFuture<Void> executeRequestNodeAsync(DefaultMutableTreeNode child, long configuredInterval,
+                                                            Executor workers, VirtualUserCookieJar cookieJar,
+                                                            ConnectionProfile connections) {
+        if (!running || !(child.getUserObject() instanceof JMeterTreeNode jtNode)
+                || jtNode.type != NodeType.REQUEST || jtNode.httpRequestItem == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        RequestExecution exec = beginRequest(jtNode, child);
+        if (exec == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!exec.preOk || !running) {
+            exec.costMs = System.currentTimeMillis() - exec.startTime;
+            completeRequest(exec, configuredInterval);
+            return delayTimers(child, workers);
+        }
+        // 临时变量、Cookie 罐和连接设置绑定在线程上，续体可能在其他工作线程执行，需要重新绑定；
+        // 否则后置脚本中 pm.sendRequest 发出的请求会使用全局 Cookie 和默认连接池
+        Map<String, String> temporaryVariables = EnvironmentService.detachTemporaryVariables();
+        return HttpSingleRequestExecutor.executeHttpAsync(exec.req)
+                .handleAsync((resp, ex) -> {
+                    EnvironmentService.attachTemporaryVariables(temporaryVariables);
+                    VirtualUserCookieJar.bind(cookieJar);
+                    ConnectionProfile.bind(connections);
+                    try {
+                        exec.costMs = System.currentTimeMillis() - exec.startTime;
+                        if (ex != null) {
+                            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                            handleRequestFailure(exec, cause instanceof Exception e ? e : new Exception(cause));
+                        } else {
+                            exec.resp = resp;
+                        }
+                        applyAssertions(exec);
+                        completeRequest(exec, configuredInterval);
+                    } finally {
+                        EnvironmentService.clearTemporaryVariables();
+                        VirtualUserCookieJar.unbind();
+                        ConnectionProfile.unbind();
+                    }
+                    return null;
+                }, workers)
+                .thenCompose(v -> running ? delayTimers(child, workers) : CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * 一次请求节点执行的上下文，同步执行和异步续体共用
+     */
+    private static final class RequestExecution {
+        private final JMeterTreeNode jtNode;
+        private final DefaultMutableTreeNode node;
+        private final String apiName;
+        private final PreparedRequest req;
+        private final ScriptExecutionPipeline pipeline;
+        private final List<TestResult> testResults = new ArrayList<>();
+        private final boolean preOk;
+        private final long startTime;
+        private boolean success;
+        private String errorMsg = "";
+        private boolean interrupted; // 标记是否被中断
+        private long costMs;
+        private HttpResponse resp;
+
+        private RequestExecution(JMeterTreeNode jtNode, DefaultMutableTreeNode node, PreparedRequest req,
+                                 ScriptExecutionPipeline pipeline, boolean preOk, long startTime) {
+            this.jtNode = jtNode;
+            this.node = node;
+            this.apiName = jtNode.httpRequestItem.getName();
+            this.req = req;
+            this.pipeline = pipeline;
+            this.preOk = preOk;
+            this.success = preOk;
+            this.startTime = startTime;
+        }
+    }
+
+    /**
+     * 准备请求：注入 CSV 变量、执行前置脚本并替换变量；前置脚本执行后测试已停止时返回 null
+     */
+    private RequestExecution beginRequest(JMeterTreeNode jtNode, DefaultMutableTreeNode child) {
+        // 清理上次的临时变量
+        EnvironmentService.clearTemporaryVariables();
+
+        // ====== CSV变量注入 ======
+        Map<String, String> csvRow = null;
+        if (csvDataPanel != null && csvDataPanel.hasData()) {
+            int rowCount = csvDataPanel.getRowCount();
+            if (rowCount > 0) {
+                int rowIdx = csvRowIndex.getAndIncrement() % rowCount;
+                csvRow = csvDataPanel.getRowData(rowIdx);
+            }
+        }
+
+        // ====== 前置脚本 ======
+        CompiledRequestTemplate template = getRequestTemplate(child);
+        PreparedRequest req = template.newRequest();
+
+        // 创建脚本执行流水线
+        ScriptExecutionPipeline pipeline = ScriptExecutionPipeline.builder()
+                .request(req)
+                .preScript(jtNode.httpRequestItem.getPrescript())
+                .postScript(jtNode.httpRequestItem.getPostscript())
+                .precompiled(getPrecompiledScripts(child))
+                .build();
+
+        // 注入 CSV 变量
+        if (csvRow != null) {
+            pipeline.addCsvDataBindings(csvRow);
+        }
+
+        // 执行前置脚本
+        ScriptExecutionResult preResult = pipeline.executePreScript();
+        boolean preOk = preResult.isSuccess();
+
+        // 前置脚本执行完后再次检查是否已停止
+        if (!running) {
+            return null;
+        }
+
+        // 前置脚本执行完成后，进行变量替换
+        if (preOk) {
+            template.render(req);
+        }
+
+        long startTime = System.currentTimeMillis();
+        statistics.recordStart(startTime); // 记录开始时间
+        RequestExecution exec = new RequestExecution(jtNode, child, req, pipeline, preOk, startTime);
+        if (!preOk) {
+            log.error("前置脚本: {}", preResult.getErrorMessage());
+            exec.errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_PRE_SCRIPT_FAILED, preResult.getErrorMessage());
+        }
+
+        req.logEvent = !efficientMode; // 记录事件日志
+        req.collectPhaseTimings = true; // 高效模式下用轻量监听器采集阶段耗时
+        if (efficientMode) {
+            // 高效模式不展示成功结果的响应体，按断言选择不物化响应体的读取方式
+            ResponseBodyPlan bodyPlan = getResponseBodyPlan(child);
+            req.bodyMode = bodyPlan.getMode();
+            req.bodyContains = bodyPlan.getContainsTexts();
+            req.bodyJsonPath = bodyPlan.getJsonPath();
+        }
+        return exec;
+    }
+
+    /**
+     * 请求异常：压测停止导致的取消/中断不计入统计，其余记为失败
+     */
+    private void handleRequestFailure(RequestExecution exec, Exception ex) {
+        // 检查是否是被取消/中断的请求
+        // 注意：cancelAllHttpCalls() 只在停止时调用，所以 Canceled 异常就是停止导致的
+        if (isCancelledOrInterrupted(ex)) {
+            // 被取消/中断的请求，不算作失败
+            log.debug("请求被取消/中断（压测已停止）: {}", ex.getMessage());
+            exec.interrupted = true;
+        } else {
+            // 真正的错误
+            log.error("请求执行失败: {}", ex.getMessage(), ex);
+            exec.errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_REQUEST_FAILED, ex.getMessage());
+            exec.success = false;
+        }
+    }
+
+    /**
+     * 断言处理（JMeter树断言）
+     */
+    private void applyAssertions(RequestExecution exec) {
+        HttpResponse resp = exec.resp;
+        DefaultMutableTreeNode child = exec.node;
+        for (int j = 0; j < child.getChildCount() && resp != null && running; j++) {
+            DefaultMutableTreeNode sub = (DefaultMutableTreeNode) child.getChildAt(j);
+            Object subObj = sub.getUserObject();
+            if (subObj instanceof JMeterTreeNode subNode && subNode.type == NodeType.ASSERTION && subNode.assertionData != null) {
+                // 跳过已停用的断言
+                if (!subNode.enabled) {
+                    continue;
+                }
+                AssertionData assertion = subNode.assertionData;
+                String type = assertion.type;
+                boolean pass = false;
+                if ("Response Code".equals(type)) {
+                    String op = assertion.operator;
+                    String valStr = assertion.value;
+                    try {
+                        int expect = Integer.parseInt(valStr);
+                        if ("=".equals(op)) {
+                            pass = (resp.code == expect);
+                        } else if (">".equals(op)) {
+                            pass = (resp.code > expect);
+                        } else if ("<".equals(op)) {
+                            pass = (resp.code < expect);
+                        }
+                    } catch (Exception ignored) {
+                        log.warn("断言响应码格式错误: {}", valStr);
+                    }
+                } else if ("Response Time".equals(type)) {
+                    String op = assertion.operator;
+                    String valStr = assertion.value;
+                    long responseTime = resp.costMs > 0 ? resp.costMs : exec.costMs;
+                    try {
+                        long expect = Long.parseLong(valStr);
+                        if ("=".equals(op)) {
+                            pass = (responseTime == expect);
+                        } else if (">".equals(op)) {
+                            pass = (responseTime > expect);
+                        } else if ("<".equals(op)) {
+                            pass = (responseTime < expect);
+                        }
+                    } catch (Exception ignored) {
+                        log.warn("断言响应耗时格式错误: {}", valStr);
+                    }
+                } else if ("Contains".equals(type)) {
+                    pass = resp.bodyContains(assertion.content);
+                } else if ("JSONPath".equals(type)) {
+                    String jsonPath = assertion.value;
+                    String expect = assertion.content;
+                    String actual = resp.jsonPath(jsonPath);
+                    pass = Objects.equals(actual, expect);
+                }
+
+                if (!pass) {
+                    exec.success = false;
+                    exec.errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_ASSERTION_FAILED, type, assertion.content);
+                }
+                exec.testResults.add(new TestResult(type, pass, pass ? null : "断言失败"));
+            }
+        }
+    }
+
+    /**
+     * 执行后置脚本并统计请求结果（断言和后置脚本后，定时器延迟前）
+     */
+    private void completeRequest(RequestExecution exec, long configuredInterval) {
+        HttpResponse resp = exec.resp;
+        // ====== 后置脚本 ======
+        if (exec.preOk && resp != null && running) {  // 执行后置脚本前检查是否已停止
+            // 执行后置脚本（自动处理响应绑定和测试结果收集）
+            ScriptExecutionResult postResult = exec.pipeline.executePostScript(resp);
+            if (postResult.hasTestResults()) {
+                exec.testResults.addAll(postResult.getTestResults());
+            }
+            if (!postResult.isSuccess()) {
+                log.error("后置脚本执行失败: {}", postResult.getErrorMessage());
+                exec.errorMsg = postResult.getErrorMessage();
+                exec.success = false;
+            }
+        }
+
+        // ====== 统计请求结果 ======
+        long cost = resp == null ? exec.costMs : resp.costMs;
+        long endTime = exec.startTime + cost; // 如果响应时间有记录，则使用，否则使用计算的cost
+        if (resp != null) {
+            endTime = resp.endTime > 0 ? resp.endTime : exec.startTime + cost;
+        }
+
+        // 如果请求被中断（压测停止），跳过统计，不计入成功或失败
+        if (!exec.interrupted) {
+            statistics.recordResult(exec.apiName, exec.success, cost, endTime,
+                    resolveExpectedInterval(exec.apiName, exec.node, configuredInterval));
+            recordPhaseTimings(exec.apiName, resp);
+            getPerformanceResultTablePanel().addResult(new ResultNodeInfo(exec.apiName, exec.success, exec.errorMsg,
+                    exec.req, resp, exec.testResults), efficientMode);
+        } else {
+            // 被中断的请求，记录日志但不计入统计
+            log.debug("跳过被中断请求的统计: {}", exec.jtNode.httpRequestItem.getName());
+        }
+    }
+
+    /**
+     * 异步模式的定时器延迟：不阻塞线程，到期后在工作线程池上继续
+     */
+    private CompletableFuture<Void> delayTimers(DefaultMutableTreeNode child, Executor workers) {
+        long delayMs = 0;
+        for (int j = 0; j < child.getChildCount(); j++) {
+            Object subObj = ((DefaultMutableTreeNode) child.getChildAt(j)).getUserObject();
+            if (subObj instanceof JMeterTreeNode subNode && subNode.type == NodeType.TIMER
+                    && subNode.enabled && subNode.timerData != null) {
+                delayMs += subNode.timerData.delayMs;
+            }
+        }
+        if (delayMs <= 0 || !running) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, workers));
+    }
+
     @Override
     protected void registerListeners() {
         // 节点选中切换属性区
@@ -0,0 +1,130 @@
+package com.laker.postman.panel.performance.model;
+
+import com.laker.postman.model.HttpHeader;
+import com.laker.postman.service.render.HttpHtmlRenderer;
+import com.laker.postman.util.I18nUtil;
+import com.laker.postman.util.MessageKeys;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 结果详情：详情页签的 HTML 和用于深度搜索的小写文本
+ * <p>
+ * 结果移出内存窗口时转换为该对象写入磁盘，不再持有请求/响应对象本身。
+ * </p>
+ */
+public class ResultDetail {
+
+    public final String requestHtml;
+    public final String responseHtml;
+    public final String testsHtml;
+    public final String timingHtml;
+    public final String eventHtml;
+    /**
+     * 请求 URL、请求头、请求体、响应头、响应体拼接后的小写文本
+     */
+    public final String searchText;
+
+    public ResultDetail(String requestHtml, String responseHtml, String testsHtml,
+                        String timingHtml, String eventHtml, String searchText) {
+        this.requestHtml = requestHtml;
+        this.responseHtml = responseHtml;
+        this.testsHtml = testsHtml;
+        this.timingHtml = timingHtml;
+        this.eventHtml = eventHtml;
+        this.searchText = searchText;
+    }
+
+    public static ResultDetail from(ResultNodeInfo info) {
+        return new ResultDetail(
+                HttpHtmlRenderer.renderRequest(info.req),
+                HttpHtmlRenderer.renderResponse(info.resp),
+                info.testResults == null || info.testResults.isEmpty()
+                        ? I18nUtil.getMessage(MessageKeys.PERFORMANCE_NO_ASSERTION_RESULTS)
+                        : HttpHtmlRenderer.renderTestResults(info.testResults),
+                HttpHtmlRenderer.renderTimingInfo(info.resp),
+                HttpHtmlRenderer.renderEventInfo(info.resp),
+                buildSearchText(info));
+    }
+
+    /**
+     * 等待写入磁盘的结果过多时未保留详情的结果，只显示提示
+     */
+    public static ResultDetail dropped() {
+        String message = I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_DETAIL_DROPPED);
+        return new ResultDetail(message, message, message, message, message, "");
+    }
+
+    private static String buildSearchText(ResultNodeInfo info) {
+        StringBuilder sb = new StringBuilder();
+        if (info.req != null) {
+            append(sb, info.req.url);
+            if (info.req.headersList != null) {
+                for (HttpHeader header : info.req.headersList) {
+                    if (header.isEnabled()) {
+                        append(sb, header.getKey() + ": " + header.getValue());
+                    }
+                }
+            }
+            append(sb, info.req.body);
+        }
+        if (info.resp != null) {
+            if (info.resp.headers != null) {
+                for (Map.Entry<String, List<String>> entry : info.resp.headers.entrySet()) {
+                    append(sb, entry.getKey() + ": " + String.join(", ", entry.getValue()));
+                }
+            }
+            append(sb, info.resp.body);
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    private static void append(StringBuilder sb, String text) {
+        if (text != null && !text.isEmpty()) {
+            // 换行分隔，避免关键字跨字段匹配
+            sb.append(text).append('\n');
+        }
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (String s : new String[]{requestHtml, responseHtml, testsHtml, timingHtml, eventHtml, searchText}) {
+                writeString(out, s);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ResultDetail fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return new ResultDetail(readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readString(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // writeUTF 限制 64KB，响应体可能更大，这里用长度前缀的 UTF-8
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] b = new byte[in.readInt()];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
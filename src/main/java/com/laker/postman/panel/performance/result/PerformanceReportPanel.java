@@ -1,6 +1,8 @@
 package com.laker.postman.panel.performance.result;
 
-import com.laker.postman.panel.performance.model.RequestResult;
+import com.laker.postman.performance.stats.HttpPhase;
+import com.laker.postman.performance.stats.LatencyHistogram;
+import com.laker.postman.util.FileSizeDisplayUtil;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
 import com.laker.postman.util.TimeDisplayUtil;
@@ -9,9 +11,6 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 public class PerformanceReportPanel extends JPanel {
@@ -19,17 +18,29 @@ public class PerformanceReportPanel extends JPanel {
     private static final int FAIL_COLUMN_INDEX = 3;
     private static final int SUCCESS_RATE_COLUMN_INDEX = 4;
 
-    // 百分位数常量
-    private static final double PERCENTILE_90 = 0.90;
-    private static final double PERCENTILE_95 = 0.95;
-    private static final double PERCENTILE_99 = 0.99;
-    private static final int MIN_SAMPLE_SIZE_FOR_INTERPOLATION = 10;
+    // 百分位数常量（0~100）
+    private static final double PERCENTILE_50 = 50.0;
+    private static final double PERCENTILE_90 = 90.0;
+    private static final double PERCENTILE_95 = 95.0;
+    private static final double PERCENTILE_99 = 99.0;
+    private static final double PERCENTILE_99_9 = 99.9;
 
     // 成功率阈值
     private static final double SUCCESS_RATE_EXCELLENT = 99.0;
     private static final double SUCCESS_RATE_GOOD = 90.0;
 
+    // 未开启协调遗漏修正时修正列显示的占位符
+    private static final String NOT_AVAILABLE = "-";
+
     private final DefaultTableModel reportTableModel;
+    /**
+     * 各接口的请求阶段耗时（DNS、连接、TLS、首字节、下载），没有采集到阶段耗时时隐藏
+     */
+    private final DefaultTableModel phaseTableModel;
+    private final JScrollPane phaseScroll;
+    private final JLabel scriptCacheLabel;
+    private final JLabel allocationLabel;
+    private final JLabel dnsCacheLabel;
     private final String[] columns;
     private final String totalRowName;
 
@@ -50,9 +61,13 @@ public class PerformanceReportPanel extends JPanel {
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_AVG),
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_MIN),
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_MAX),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P50),
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P90),
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P95),
-                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P99)
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P99),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P99_9),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P99_CORRECTED),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_P99_9_CORRECTED)
         };
         this.totalRowName = I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_TOTAL_ROW);
 
@@ -68,7 +83,33 @@ public class PerformanceReportPanel extends JPanel {
         JTable reportTable = createReportTable();
 
         JScrollPane tableScroll = new JScrollPane(reportTable);
-        add(tableScroll, BorderLayout.CENTER);
+
+        phaseTableModel = createPhaseTableModel();
+        phaseScroll = new JScrollPane(createPhaseTable());
+        phaseScroll.setBorder(BorderFactory.createTitledBorder(
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_PHASE_TITLE)));
+        phaseScroll.setPreferredSize(new Dimension(0, 160));
+        phaseScroll.setVisible(false);
+
+        JPanel tablesPanel = new JPanel(new BorderLayout(0, 8));
+        tablesPanel.add(tableScroll, BorderLayout.CENTER);
+        tablesPanel.add(phaseScroll, BorderLayout.SOUTH);
+        add(tablesPanel, BorderLayout.CENTER);
+
+        scriptCacheLabel = new JLabel();
+        scriptCacheLabel.setBorder(BorderFactory.createEmptyBorder(6, 2, 0, 0));
+        scriptCacheLabel.setVisible(false);
+        allocationLabel = new JLabel();
+        allocationLabel.setBorder(BorderFactory.createEmptyBorder(6, 2, 0, 0));
+        allocationLabel.setVisible(false);
+        dnsCacheLabel = new JLabel();
+        dnsCacheLabel.setBorder(BorderFactory.createEmptyBorder(6, 2, 0, 0));
+        dnsCacheLabel.setVisible(false);
+        JPanel summaryPanel = new JPanel(new GridLayout(0, 1));
+        summaryPanel.add(allocationLabel);
+        summaryPanel.add(scriptCacheLabel);
+        summaryPanel.add(dnsCacheLabel);
+        add(summaryPanel, BorderLayout.SOUTH);
     }
 
     private DefaultTableModel createTableModel() {
@@ -80,6 +121,37 @@ public class PerformanceReportPanel extends JPanel {
         };
     }
 
+    private DefaultTableModel createPhaseTableModel() {
+        String[] phaseColumns = {
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_API_NAME),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_DNS_P95),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_CONNECT_P95),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_TLS_P95),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_TTFB_P50),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_TTFB_P95),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_TTFB_P99),
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_COLUMN_DOWNLOAD_P95)
+        };
+        return new DefaultTableModel(phaseColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private JTable createPhaseTable() {
+        JTable table = new JTable(phaseTableModel);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
+        centerRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        for (int col = 1; col < phaseTableModel.getColumnCount(); col++) {
+            table.getColumnModel().getColumn(col).setCellRenderer(centerRenderer);
+        }
+        table.getTableHeader().setFont(table.getTableHeader().getFont().deriveFont(Font.BOLD));
+        return table;
+    }
+
     private JTable createReportTable() {
         JTable table = new JTable(reportTableModel);
         table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
@@ -217,6 +289,85 @@ public class PerformanceReportPanel extends JPanel {
 
     public void clearReport() {
         reportTableModel.setRowCount(0);
+        phaseTableModel.setRowCount(0);
+        phaseScroll.setVisible(false);
+        scriptCacheLabel.setVisible(false);
+        allocationLabel.setVisible(false);
+        dnsCacheLabel.setVisible(false);
+    }
+
+    /**
+     * 刷新请求阶段耗时表
+     *
+     * @param apiPhaseLatencyMap 各接口的阶段耗时直方图，单位微秒
+     */
+    private void updatePhaseReport(Map<String, Map<HttpPhase, LatencyHistogram>> apiPhaseLatencyMap) {
+        for (Map.Entry<String, Map<HttpPhase, LatencyHistogram>> entry : apiPhaseLatencyMap.entrySet()) {
+            Map<HttpPhase, LatencyHistogram> phases = entry.getValue();
+            phaseTableModel.addRow(new Object[]{
+                    entry.getKey(),
+                    formatPhase(phases.get(HttpPhase.DNS), PERCENTILE_95),
+                    formatPhase(phases.get(HttpPhase.CONNECT), PERCENTILE_95),
+                    formatPhase(phases.get(HttpPhase.TLS), PERCENTILE_95),
+                    formatPhase(phases.get(HttpPhase.TTFB), PERCENTILE_50),
+                    formatPhase(phases.get(HttpPhase.TTFB), PERCENTILE_95),
+                    formatPhase(phases.get(HttpPhase.TTFB), PERCENTILE_99),
+                    formatPhase(phases.get(HttpPhase.DOWNLOAD), PERCENTILE_95)
+            });
+        }
+        phaseScroll.setVisible(phaseTableModel.getRowCount() > 0);
+        revalidate();
+    }
+
+    /**
+     * 阶段耗时以微秒记录，1 秒以内保留两位小数的毫秒
+     */
+    private static String formatPhase(LatencyHistogram histogram, double percentile) {
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            return NOT_AVAILABLE;
+        }
+        long micros = histogram.getValueAtPercentile(percentile);
+        if (micros < 1_000_000) {
+            return String.format("%.2f ms", micros / 1000.0);
+        }
+        return TimeDisplayUtil.formatElapsedTime(micros / 1000);
+    }
+
+    /**
+     * 显示压测期间 DNS 缓存的命中统计，未开启缓存或没有新建连接时不显示
+     */
+    public void updateDnsCacheStats(long hits, long misses) {
+        long total = hits + misses;
+        dnsCacheLabel.setVisible(total > 0);
+        if (total > 0) {
+            dnsCacheLabel.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_DNS_CACHE,
+                    hits, misses, String.format("%.2f%%", hits * 100.0 / total)));
+        }
+    }
+
+    /**
+     * 显示脚本 Source 缓存的命中统计和预编译脚本的复用次数，没有执行过脚本时不显示
+     * 命中率只按缓存查找计算，预编译复用不经过缓存，不计入命中率
+     */
+    public void updateScriptCacheStats(long hits, long misses, long precompiledReuses) {
+        long total = hits + misses;
+        scriptCacheLabel.setVisible(total > 0 || precompiledReuses > 0);
+        if (total > 0 || precompiledReuses > 0) {
+            String hitRate = total > 0 ? String.format("%.2f%%", hits * 100.0 / total) : "-";
+            scriptCacheLabel.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_SCRIPT_CACHE,
+                    hits, misses, hitRate, precompiledReuses));
+        }
+    }
+
+    /**
+     * 显示平均每次请求分配的内存，无法统计（例如虚拟线程）时不显示
+     */
+    public void updateAllocationStats(long bytesPerRequest) {
+        allocationLabel.setVisible(bytesPerRequest >= 0);
+        if (bytesPerRequest >= 0) {
+            allocationLabel.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_ALLOCATION,
+                    FileSizeDisplayUtil.formatSize((int) Math.min(bytesPerRequest, Integer.MAX_VALUE))));
+        }
     }
 
     private void addReportRow(Object[] rowData) {
@@ -231,100 +382,72 @@ public class PerformanceReportPanel extends JPanel {
         reportTableModel.addRow(rowData);
     }
 
-    public void updateReport(Map<String, List<Long>> apiCostMap,
+    public void updateReport(Map<String, LatencyHistogram> apiLatencyMap,
                              Map<String, Integer> apiSuccessMap,
                              Map<String, Integer> apiFailMap,
-                             List<Long> allRequestStartTimes,
-                             List<RequestResult> allRequestResults) {
+                             Map<String, LatencyHistogram> apiCorrectedLatencyMap,
+                             Map<String, Map<HttpPhase, LatencyHistogram>> apiPhaseLatencyMap,
+                             long firstStartTime,
+                             long lastEndTime) {
         clearReport();
+        updatePhaseReport(apiPhaseLatencyMap);
 
         ReportStatistics stats = new ReportStatistics();
 
-        for (Map.Entry<String, List<Long>> entry : apiCostMap.entrySet()) {
+        for (Map.Entry<String, LatencyHistogram> entry : apiLatencyMap.entrySet()) {
             String api = entry.getKey();
-            List<Long> costs = entry.getValue();
+            LatencyHistogram histogram = entry.getValue();
+
+            LatencyHistogram corrected = apiCorrectedLatencyMap.get(api);
 
-            ApiMetrics metrics = calculateApiMetrics(api, costs, apiSuccessMap, apiFailMap,
-                    allRequestStartTimes, allRequestResults);
+            ApiMetrics metrics = calculateApiMetrics(api, histogram, corrected, apiSuccessMap, apiFailMap,
+                    firstStartTime, lastEndTime);
             addReportRow(metrics.toRowData());
-            stats.accumulate(metrics);
+            stats.accumulate(metrics, histogram, corrected);
         }
 
         if (stats.apiCount > 0) {
-            ApiMetrics totalMetrics = calculateTotalMetrics(stats, apiCostMap,
-                    allRequestStartTimes, allRequestResults);
+            ApiMetrics totalMetrics = calculateTotalMetrics(stats, firstStartTime, lastEndTime);
             addReportRow(totalMetrics.toRowData());
         }
     }
 
-    private ApiMetrics calculateApiMetrics(String api, List<Long> costs,
+    private ApiMetrics calculateApiMetrics(String api, LatencyHistogram histogram,
+                                           LatencyHistogram corrected,
                                            Map<String, Integer> apiSuccessMap,
                                            Map<String, Integer> apiFailMap,
-                                           List<Long> allRequestStartTimes,
-                                           List<RequestResult> allRequestResults) {
-        int total = costs.size();
+                                           long firstStartTime,
+                                           long lastEndTime) {
+        int total = (int) histogram.getTotalCount();
         int success = apiSuccessMap.getOrDefault(api, 0);
         int fail = apiFailMap.getOrDefault(api, 0);
 
-        // 优化：一次排序获取所有统计值，避免多次流操作
-        PerformanceStats perfStats = calculatePerformanceStats(costs);
-
-        double qps = calculateQps(total, allRequestStartTimes, allRequestResults);
+        double qps = calculateQps(total, firstStartTime, lastEndTime);
         double rate = total > 0 ? (success * 100.0 / total) : 0;
 
-        return new ApiMetrics(api, total, success, fail, rate, qps,
-                perfStats.avg, perfStats.min, perfStats.max,
-                perfStats.p90, perfStats.p95, perfStats.p99);
+        return new ApiMetrics(api, total, success, fail, rate, qps, PerformanceStats.of(histogram),
+                corrected == null ? null : PerformanceStats.of(corrected));
     }
 
+    /**
+     * 汇总行：合并所有接口的直方图，得到真实的整体百分位（而不是各接口百分位的平均值）
+     */
     private ApiMetrics calculateTotalMetrics(ReportStatistics stats,
-                                             Map<String, List<Long>> apiCostMap,
-                                             List<Long> allRequestStartTimes,
-                                             List<RequestResult> allRequestResults) {
-        // 避免除零错误
-        if (stats.apiCount == 0) {
-            return new ApiMetrics(totalRowName, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
-        }
-
-        long avgP90 = stats.totalP90 / stats.apiCount;
-        long avgP95 = stats.totalP95 / stats.apiCount;
-        long avgP99 = stats.totalP99 / stats.apiCount;
+                                             long firstStartTime,
+                                             long lastEndTime) {
         double avgRate = stats.totalRate / stats.apiCount;
-
-        long totalAvg = calculateTotalAverage(apiCostMap, stats.totalApi);
-        double totalQps = calculateQps(stats.totalApi, allRequestStartTimes, allRequestResults);
-        long totalMin = stats.totalMin == Long.MAX_VALUE ? 0 : stats.totalMin;
+        double totalQps = calculateQps(stats.totalApi, firstStartTime, lastEndTime);
 
         return new ApiMetrics(totalRowName, stats.totalApi, stats.totalSuccess, stats.totalFail,
-                avgRate, totalQps, totalAvg, totalMin, stats.totalMax,
-                avgP90, avgP95, avgP99);
+                avgRate, totalQps, PerformanceStats.of(stats.merged),
+                stats.mergedCorrected.getTotalCount() > 0 ? PerformanceStats.of(stats.mergedCorrected) : null);
     }
 
-
-    private long calculateTotalAverage(Map<String, List<Long>> apiCostMap, int totalApi) {
-        if (totalApi == 0) {
-            return 0;
-        }
-        long sum = apiCostMap.values().stream()
-                .flatMap(List::stream)
-                .mapToLong(Long::longValue)
-                .sum();
-        return sum / totalApi;
-    }
-
-    private double calculateQps(int totalRequests, List<Long> allRequestStartTimes,
-                                List<RequestResult> allRequestResults) {
-        if (allRequestStartTimes.isEmpty() || allRequestResults.isEmpty()) {
+    private double calculateQps(int totalRequests, long firstStartTime, long lastEndTime) {
+        if (totalRequests == 0 || firstStartTime <= 0) {
             return 0;
         }
-
-        long minStart = Collections.min(allRequestStartTimes);
-        long maxEnd = allRequestResults.stream()
-                .mapToLong(result -> result.endTime)
-                .max()
-                .orElse(minStart);
-        long spanMs = Math.max(1, maxEnd - minStart);
-
+        long spanMs = Math.max(1, lastEndTime - firstStartTime);
         return totalRequests * 1000.0 / spanMs;
     }
 
@@ -332,24 +455,20 @@ public class PerformanceReportPanel extends JPanel {
         int totalApi = 0;
         int totalSuccess = 0;
         int totalFail = 0;
-        long totalP90 = 0;
-        long totalP95 = 0;
-        long totalP99 = 0;
-        long totalMin = Long.MAX_VALUE;
-        long totalMax = 0;
         double totalRate = 0;
         int apiCount = 0;
+        final LatencyHistogram merged = new LatencyHistogram();
+        final LatencyHistogram mergedCorrected = new LatencyHistogram();
 
-        void accumulate(ApiMetrics metrics) {
+        void accumulate(ApiMetrics metrics, LatencyHistogram histogram, LatencyHistogram corrected) {
             totalApi += metrics.total;
             totalSuccess += metrics.success;
             totalFail += metrics.fail;
-            totalP90 += metrics.p90;
-            totalP95 += metrics.p95;
-            totalP99 += metrics.p99;
-            totalMin = Math.min(totalMin, metrics.min);
-            totalMax = Math.max(totalMax, metrics.max);
             totalRate += metrics.rate;
+            merged.add(histogram);
+            if (corrected != null) {
+                mergedCorrected.add(corrected);
+            }
             apiCount++;
         }
     }
@@ -361,27 +480,22 @@ public class PerformanceReportPanel extends JPanel {
         final int fail;
         final double rate;
         final double qps;
-        final long avg;
-        final long min;
-        final long max;
-        final long p90;
-        final long p95;
-        final long p99;
+        final PerformanceStats perfStats;
+        /**
+         * 协调遗漏修正后的统计，未开启修正时为 null
+         */
+        final PerformanceStats correctedStats;
 
         ApiMetrics(String name, int total, int success, int fail, double rate, double qps,
-                   long avg, long min, long max, long p90, long p95, long p99) {
+                   PerformanceStats perfStats, PerformanceStats correctedStats) {
             this.name = name;
             this.total = total;
             this.success = success;
             this.fail = fail;
             this.rate = rate;
             this.qps = qps;
-            this.avg = avg;
-            this.min = min;
-            this.max = max;
-            this.p90 = p90;
-            this.p95 = p95;
-            this.p99 = p99;
+            this.perfStats = perfStats;
+            this.correctedStats = correctedStats;
         }
 
         Object[] toRowData() {
@@ -392,95 +506,57 @@ public class PerformanceReportPanel extends JPanel {
                     fail,
                     String.format("%.2f%%", rate),
                     Math.round(qps),
-                    TimeDisplayUtil.formatElapsedTime(avg),
-                    TimeDisplayUtil.formatElapsedTime(min),
-                    TimeDisplayUtil.formatElapsedTime(max),
-                    TimeDisplayUtil.formatElapsedTime(p90),
-                    TimeDisplayUtil.formatElapsedTime(p95),
-                    TimeDisplayUtil.formatElapsedTime(p99)
+                    TimeDisplayUtil.formatElapsedTime(perfStats.avg),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.min),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.max),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.p50),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.p90),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.p95),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.p99),
+                    TimeDisplayUtil.formatElapsedTime(perfStats.p999),
+                    correctedStats == null ? NOT_AVAILABLE : TimeDisplayUtil.formatElapsedTime(correctedStats.p99),
+                    correctedStats == null ? NOT_AVAILABLE : TimeDisplayUtil.formatElapsedTime(correctedStats.p999)
             };
         }
     }
 
     /**
-     * 性能统计结果类
+     * 性能统计结果类，直接从直方图读取，耗时与样本数量无关
      */
     private static class PerformanceStats {
         final long avg;
         final long min;
         final long max;
+        final long p50;
         final long p90;
         final long p95;
         final long p99;
+        final long p999;
 
-        PerformanceStats(long avg, long min, long max, long p90, long p95, long p99) {
+        PerformanceStats(long avg, long min, long max, long p50, long p90, long p95, long p99, long p999) {
             this.avg = avg;
             this.min = min;
             this.max = max;
+            this.p50 = p50;
             this.p90 = p90;
             this.p95 = p95;
             this.p99 = p99;
+            this.p999 = p999;
         }
-    }
-
-    /**
-     * 优化的性能统计计算：一次排序获取所有统计值
-     */
-    private PerformanceStats calculatePerformanceStats(List<Long> costs) {
-        if (costs == null || costs.isEmpty()) {
-            return new PerformanceStats(0, 0, 0, 0, 0, 0);
-        }
-
-        // 一次排序获取所有值
-        List<Long> sorted = new ArrayList<>(costs);
-        Collections.sort(sorted);
-
-        int size = sorted.size();
-        // 优化：在遍历中同时计算sum和min/max，避免多次遍历
-        long sum = 0;
-        long min = sorted.get(0);
-        long max = sorted.get(size - 1);
-        for (Long cost : sorted) {
-            sum += cost;
-        }
-        long avg = sum / size;
-        long p90 = getPercentileFromSorted(sorted, PERCENTILE_90);
-        long p95 = getPercentileFromSorted(sorted, PERCENTILE_95);
-        long p99 = getPercentileFromSorted(sorted, PERCENTILE_99);
-
-        return new PerformanceStats(avg, min, max, p90, p95, p99);
-    }
-
-    /**
-     * 从已排序的列表中获取百分位数（修复边界情况）
-     */
-    private long getPercentileFromSorted(List<Long> sortedCosts, double percentile) {
-        int size = sortedCosts.size();
-        if (size == 0) {
-            return 0;
-        }
-        if (size == 1) {
-            return sortedCosts.get(0);
-        }
-        // 对于小样本（少于10个），直接取最接近的值，避免插值误导
-        if (size < MIN_SAMPLE_SIZE_FOR_INTERPOLATION) {
-            int index = Math.min((int) Math.ceil(percentile * size) - 1, size - 1);
-            return sortedCosts.get(Math.max(0, index));
-        }
-
-        // 使用更准确的百分位数计算方法（线性插值）
-        double index = percentile * (size - 1);
-        int lowerIndex = (int) Math.floor(index);
-        int upperIndex = (int) Math.ceil(index);
 
-        if (lowerIndex == upperIndex) {
-            return sortedCosts.get(lowerIndex);
+        static PerformanceStats of(LatencyHistogram histogram) {
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                return new PerformanceStats(0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            return new PerformanceStats(
+                    histogram.getMean(),
+                    histogram.getMin(),
+                    histogram.getMax(),
+                    histogram.getValueAtPercentile(PERCENTILE_50),
+                    histogram.getValueAtPercentile(PERCENTILE_90),
+                    histogram.getValueAtPercentile(PERCENTILE_95),
+                    histogram.getValueAtPercentile(PERCENTILE_99),
+                    histogram.getValueAtPercentile(PERCENTILE_99_9));
         }
-
-        // 线性插值
-        long lowerValue = sortedCosts.get(lowerIndex);
-        long upperValue = sortedCosts.get(upperIndex);
-        double fraction = index - lowerIndex;
-        return (long) (lowerValue + (upperValue - lowerValue) * fraction);
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,10 @@ package com.laker.postman.panel.performance.result;
 import com.laker.postman.common.component.SearchTextField;
 import com.laker.postman.common.constants.ModernColors;
 import com.laker.postman.model.HttpHeader;
+import com.laker.postman.panel.performance.model.ResultDetail;
 import com.laker.postman.panel.performance.model.ResultNodeInfo;
-import com.laker.postman.service.render.HttpHtmlRenderer;
+import com.laker.postman.performance.result.ResultSegmentStore;
+import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
 import lombok.extern.slf4j.Slf4j;
@@ -17,16 +19,29 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 /**
  * 性能测试结果表（DevTools Network 风格）
  * - 200ms 增量刷新机制
  * - 支持排序和深度搜索过滤
+ * - 列数据以原始类型数组保存，完整结果只在最近的内存窗口内保留，更早的结果写入磁盘，选中时再读取
+ * - 行数上限与成功结果采样（每 N 个成功保留 1 个，失败全部保留），长时间压测内存占用有界
  */
 @Slf4j
 public class PerformanceResultTablePanel extends JPanel {
@@ -37,19 +52,30 @@ public class PerformanceResultTablePanel extends JPanel {
     private TableRowSorter<ResultTableModel> rowSorter;
 
     private SearchTextField searchField;
+    private JLabel capLabel;
 
     private final Queue<ResultNodeInfo> pendingQueue = new ConcurrentLinkedQueue<>();
 
     private static final int BATCH_SIZE = 2000;
 
+    // 成功结果采样计数与采样率（每 N 个保留 1 个）
+    private final AtomicLong successCounter = new AtomicLong();
+    private volatile int successSampleRate = 1;
+    // 达到行数上限后未保留的结果数
+    private final AtomicLong droppedResults = new AtomicLong();
+    private long shownDropped;
+
     // 搜索防抖定时器（300ms）
     private Timer searchDebounceTimer;
+    // 正在后台搜索磁盘结果的任务
+    private SwingWorker<Boolean, Void> searchWorker;
 
     // UI 帧刷新定时器（200ms）
     private final Timer uiFrameTimer = new Timer(200, e -> {
 
         flushQueueOnEDT();
         tableModel.flushIfDirty();
+        updateCapLabel();
     });
 
     public PerformanceResultTablePanel() {
@@ -69,7 +95,23 @@ public class PerformanceResultTablePanel extends JPanel {
         }
 
         if (!batch.isEmpty()) {
-            tableModel.append(batch);
+            int dropped = tableModel.append(batch);
+            if (dropped > 0) {
+                droppedResults.addAndGet(dropped);
+            }
+        }
+    }
+
+    private void updateCapLabel() {
+        long dropped = droppedResults.get();
+        if (dropped == shownDropped) {
+            return;
+        }
+        shownDropped = dropped;
+        capLabel.setVisible(dropped > 0);
+        if (dropped > 0) {
+            capLabel.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_CAP_REACHED,
+                    tableModel.getRowCount(), dropped));
         }
     }
 
@@ -81,8 +123,13 @@ public class PerformanceResultTablePanel extends JPanel {
 
         JPanel searchPanel = new JPanel(new BorderLayout(6, 0));
         searchPanel.add(searchField, BorderLayout.CENTER);
+        capLabel = new JLabel();
+        capLabel.setForeground(ModernColors.WARNING_DARKER);
+        capLabel.setVisible(false);
+        searchPanel.add(capLabel, BorderLayout.SOUTH);
 
         tableModel = new ResultTableModel();
+        applyLimitSettings();
         table = new JTable(tableModel);
         table.setRowHeight(24);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -209,12 +256,48 @@ public class PerformanceResultTablePanel extends JPanel {
      * 执行过滤
      */
     private void doFilter() {
+        if (searchWorker != null) {
+            searchWorker.cancel(false);
+            searchWorker = null;
+        }
         String text = searchField.getText();
         if (text == null || text.trim().isEmpty()) {
             rowSorter.setRowFilter(null);
-        } else {
-            rowSorter.setRowFilter(new ResultRowFilter(text.trim().toLowerCase()));
+            return;
+        }
+        ResultRowFilter filter = new ResultRowFilter(text.trim().toLowerCase());
+        int spilledRows = tableModel.getSpilledRowCount();
+        if (spilledRows == 0) {
+            rowSorter.setRowFilter(filter);
+            return;
         }
+        // 已写入磁盘的行在后台搜索，完成后再安装过滤器，避免在 EDT 上读磁盘
+        ResultSpill spill = tableModel.getSpill();
+        SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Boolean doInBackground() {
+                return filter.searchSpilled(spill, spilledRows, this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (searchWorker != this || isCancelled()) {
+                    return;
+                }
+                searchWorker = null;
+                try {
+                    if (Boolean.TRUE.equals(get())) {
+                        rowSorter.setRowFilter(filter);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    log.warn("搜索结果失败: {}", e.getCause().getMessage());
+                }
+            }
+        };
+        searchWorker = worker;
+        worker.execute();
     }
 
     private void onRowSelected(ListSelectionEvent e) {
@@ -228,13 +311,25 @@ public class PerformanceResultTablePanel extends JPanel {
 
         // 转换视图索引到模型索引
         int modelRow = table.convertRowIndexToModel(row);
-        ResultNodeInfo info = tableModel.getRow(modelRow);
-        renderDetail(info);
+        ResultDetail detail = tableModel.getDetail(modelRow);
+        if (detail == null) {
+            clearDetailTabs();
+            return;
+        }
+        renderDetail(detail);
     }
 
     public void addResult(ResultNodeInfo info, boolean efficientMode) {
         if (info == null) return;
-        if (efficientMode && info.isActuallySuccessful()) return;
+        boolean success = info.isActuallySuccessful();
+        if (efficientMode && success) return;
+        // 成功结果按采样率保留，失败结果全部保留
+        int sampleRate = successSampleRate;
+        if (success && sampleRate > 1 && successCounter.getAndIncrement() % sampleRate != 0) return;
+        if (tableModel.isFull()) {
+            droppedResults.incrementAndGet();
+            return;
+        }
 
         pendingQueue.offer(info);
     }
@@ -243,19 +338,32 @@ public class PerformanceResultTablePanel extends JPanel {
         pendingQueue.clear();
         table.clearSelection();
         tableModel.clear();
+        applyLimitSettings();
+        if (searchWorker != null || rowSorter.getRowFilter() != null) {
+            // 行号会被下一次压测复用，丢弃按行缓存的搜索结果
+            doFilter();
+        }
+        successCounter.set(0);
+        droppedResults.set(0);
+        updateCapLabel();
         clearDetailTabs();
     }
 
-    private void renderDetail(ResultNodeInfo info) {
-        setTabHtml(0, HttpHtmlRenderer.renderRequest(info.req));
-        setTabHtml(1, HttpHtmlRenderer.renderResponse(info.resp));
-        setTabHtml(2,
-                info.testResults == null || info.testResults.isEmpty()
-                        ? I18nUtil.getMessage(MessageKeys.PERFORMANCE_NO_ASSERTION_RESULTS)
-                        : HttpHtmlRenderer.renderTestResults(info.testResults)
-        );
-        setTabHtml(3, HttpHtmlRenderer.renderTimingInfo(info.resp));
-        setTabHtml(4, HttpHtmlRenderer.renderEventInfo(info.resp));
+    /**
+     * 读取行数上限、内存窗口和采样率设置，每次压测开始清空结果时生效
+     */
+    private void applyLimitSettings() {
+        successSampleRate = SettingManager.getPerformanceResultSuccessSampleRate();
+        tableModel.configure(SettingManager.getPerformanceResultMaxRows(),
+                SettingManager.getPerformanceResultMemoryRows());
+    }
+
+    private void renderDetail(ResultDetail detail) {
+        setTabHtml(0, detail.requestHtml);
+        setTabHtml(1, detail.responseHtml);
+        setTabHtml(2, detail.testsHtml);
+        setTabHtml(3, detail.timingHtml);
+        setTabHtml(4, detail.eventHtml);
     }
 
     private void setTabHtml(int idx, String html) {
@@ -274,39 +382,76 @@ public class PerformanceResultTablePanel extends JPanel {
     // 资源清理
     public void dispose() {
         uiFrameTimer.stop();
+        if (searchWorker != null) {
+            searchWorker.cancel(false);
+        }
+        tableModel.clear();
         if (searchDebounceTimer != null) {
             searchDebounceTimer.stop();
         }
     }
 
     // 自定义 RowFilter - 支持深度搜索
+    // 内容匹配结果按行缓存：已写入磁盘的行由后台线程预先搜索，内存中的行在过滤时计算，移出内存窗口后无需再读磁盘
     static class ResultRowFilter extends RowFilter<ResultTableModel, Integer> {
         private final String keyword;
+        private final BitSet checked = new BitSet();
+        private final BitSet matched = new BitSet();
 
         public ResultRowFilter(String keyword) {
             this.keyword = keyword;
         }
 
+        /**
+         * 在后台线程中搜索已写入磁盘的行，只应在过滤器安装到表格之前调用
+         *
+         * @param rows 需要搜索的行数，即当时已移出内存窗口的行
+         * @return 是否搜索完成；被取消时返回 false
+         */
+        boolean searchSpilled(ResultSpill spill, int rows, BooleanSupplier cancelled) {
+            for (int row = 0; row < rows; row++) {
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+                // 尚未写完的结果还在内存中，过滤时再计算
+                if (spill.pending(row) != null) {
+                    continue;
+                }
+                ResultDetail detail = spill.load(row);
+                cache(row, detail != null && detail.searchText.contains(keyword));
+            }
+            return true;
+        }
+
+        private boolean cache(int row, boolean match) {
+            checked.set(row);
+            matched.set(row, match);
+            return match;
+        }
+
         @Override
         public boolean include(Entry<? extends ResultTableModel, ? extends Integer> entry) {
             ResultTableModel model = entry.getModel();
             int row = entry.getIdentifier();
-            ResultNodeInfo info = model.getRow(row);
-
-            if (info == null) return false;
 
             // 1. 检查接口名称
-            if (info.name != null && info.name.toLowerCase().contains(keyword)) {
+            String name = model.getName(row);
+            if (name != null && name.toLowerCase().contains(keyword)) {
                 return true;
             }
+            if (checked.get(row)) {
+                return matched.get(row);
+            }
 
-            // 2. 检查请求内容（URL、Headers、Body）
-            if (matchesRequest(info)) {
-                return true;
+            ResultNodeInfo info = model.getRow(row);
+            if (info == null) {
+                // 后台搜索之后才写入磁盘且从未在内存中过滤过的行，数量很少，直接读取
+                ResultDetail detail = model.getSpilledDetail(row);
+                return cache(row, detail != null && detail.searchText.contains(keyword));
             }
 
-            // 3. 检查响应内容（Headers、Body）
-            return matchesResponse(info);
+            // 2. 检查请求内容（URL、Headers、Body） 3. 检查响应内容（Headers、Body）
+            return cache(row, matchesRequest(info) || matchesResponse(info));
         }
 
         // 检查请求内容是否匹配关键字
@@ -363,15 +508,46 @@ public class PerformanceResultTablePanel extends JPanel {
         private static final int COL_COST = 2;
         private static final int COL_ASSERTION = 3;
 
-        private final List<ResultNodeInfo> dataList = new ArrayList<>(1024);
+        private static final byte ASSERTION_NONE = 0;
+        private static final byte ASSERTION_PASSED = 1;
+        private static final byte ASSERTION_FAILED = 2;
+
+        // 列数据：原始类型数组，每行十几个字节，不持有请求/响应对象
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> nameIds = new HashMap<>();
+        private int[] nameIndexes = new int[1024];
+        private int[] codes = new int[1024];
+        private int[] costs = new int[1024];
+        private byte[] assertions = new byte[1024];
+        private int size;
+
+        // 最近 window.length 行的完整结果，按行号取模存放
+        private ResultNodeInfo[] window = new ResultNodeInfo[1];
+        private int maxRows = Integer.MAX_VALUE;
+        private volatile boolean full;
+        private ResultSpill spill = new ResultSpill();
+
         private boolean dirty = false;
 
         // 追踪新增行的起始位置，用于增量刷新
         private int firstNewRow = -1;
 
+        /**
+         * 设置行数上限和内存窗口大小，只应在表为空时调用
+         */
+        void configure(int maxRows, int memoryRows) {
+            this.maxRows = Math.max(1, maxRows);
+            this.window = new ResultNodeInfo[Math.max(1, memoryRows)];
+            this.full = false;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
         @Override
         public int getRowCount() {
-            return dataList.size();
+            return size;
         }
 
         @Override
@@ -392,25 +568,22 @@ public class PerformanceResultTablePanel extends JPanel {
 
         @Override
         public Object getValueAt(int row, int col) {
-            ResultNodeInfo r = dataList.get(row);
             return switch (col) {
-                case COL_NAME -> r.name;
-                case COL_STATUS -> r.responseCode > 0 ? String.valueOf(r.responseCode) : "-";
-                case COL_COST -> r.costMs;
-                case COL_ASSERTION -> formatAssertion(r);
+                case COL_NAME -> names.get(nameIndexes[row]);
+                case COL_STATUS -> codes[row] > 0 ? String.valueOf(codes[row]) : "-";
+                case COL_COST -> costs[row];
+                case COL_ASSERTION -> formatAssertion(assertions[row]);
                 default -> "";
             };
         }
 
         // 格式化断言列：✅ 通过、❌ 失败、💨 无测试
-        private String formatAssertion(ResultNodeInfo r) {
-            // 1. 如果有断言结果
-            if (r.testResults != null && !r.testResults.isEmpty()) {
-                return r.hasAssertionFailed() ? "❌" : "✅";
-            }
-
-            // 2. 无断言测试
-            return "💨";
+        private String formatAssertion(byte assertion) {
+            return switch (assertion) {
+                case ASSERTION_PASSED -> "✅";
+                case ASSERTION_FAILED -> "❌";
+                default -> "💨";
+            };
         }
 
         @Override
@@ -424,24 +597,111 @@ public class PerformanceResultTablePanel extends JPanel {
             };
         }
 
+        String getName(int row) {
+            if (row < 0 || row >= size) {
+                return null;
+            }
+            return names.get(nameIndexes[row]);
+        }
+
+        /**
+         * 内存中的完整结果（窗口内或尚未写完磁盘），已写入磁盘的行返回 null
+         */
         ResultNodeInfo getRow(int row) {
-            if (row < 0 || row >= dataList.size()) {
+            if (row < 0 || row >= size) {
                 return null;
             }
-            return dataList.get(row);
+            if (row >= size - window.length) {
+                return window[row % window.length];
+            }
+            return spill.pending(row);
+        }
+
+        /**
+         * 已移出内存窗口的行数，这些行的详情在磁盘上（或正在写入）
+         */
+        int getSpilledRowCount() {
+            return Math.max(0, size - window.length);
+        }
+
+        ResultSpill getSpill() {
+            return spill;
+        }
+
+        ResultDetail getSpilledDetail(int row) {
+            if (row < 0 || row >= size) {
+                return null;
+            }
+            return spill.load(row);
+        }
+
+        ResultDetail getDetail(int row) {
+            ResultNodeInfo info = getRow(row);
+            return info != null ? ResultDetail.from(info) : getSpilledDetail(row);
         }
 
+        /**
+         * 追加一批结果
+         *
+         * @return 因达到行数上限而未保留的数量
+         */
+        int append(List<ResultNodeInfo> batch) {
+            if (batch.isEmpty()) return 0;
 
-        void append(List<ResultNodeInfo> batch) {
-            if (batch.isEmpty()) return;
+            int accepted = Math.min(batch.size(), maxRows - size);
+            if (accepted <= 0) {
+                full = true;
+                return batch.size();
+            }
 
             // 记录新增行的起始位置
             if (firstNewRow == -1) {
-                firstNewRow = dataList.size();
+                firstNewRow = size;
             }
 
-            dataList.addAll(batch);
+            ensureCapacity(size + accepted);
+            for (int i = 0; i < accepted; i++) {
+                addRow(batch.get(i));
+            }
+            if (size >= maxRows) {
+                full = true;
+            }
             dirty = true;
+            return batch.size() - accepted;
+        }
+
+        private void addRow(ResultNodeInfo info) {
+            int row = size++;
+            nameIndexes[row] = nameIds.computeIfAbsent(info.name == null ? "" : info.name, n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+            codes[row] = info.responseCode;
+            costs[row] = info.costMs;
+            if (info.testResults == null || info.testResults.isEmpty()) {
+                assertions[row] = ASSERTION_NONE;
+            } else {
+                assertions[row] = info.hasAssertionFailed() ? ASSERTION_FAILED : ASSERTION_PASSED;
+            }
+
+            // 挤出窗口的最旧一行交给后台写入磁盘
+            int slot = row % window.length;
+            ResultNodeInfo evicted = window[slot];
+            if (evicted != null) {
+                spill.spill(row - window.length, evicted);
+            }
+            window[slot] = info;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= codes.length) {
+                return;
+            }
+            int newLength = Math.max(required, codes.length * 2);
+            nameIndexes = Arrays.copyOf(nameIndexes, newLength);
+            codes = Arrays.copyOf(codes, newLength);
+            costs = Arrays.copyOf(costs, newLength);
+            assertions = Arrays.copyOf(assertions, newLength);
         }
 
         void flushIfDirty() {
@@ -449,21 +709,133 @@ public class PerformanceResultTablePanel extends JPanel {
             dirty = false;
 
             // 增量刷新：仅通知新增的行
-            if (firstNewRow != -1 && firstNewRow < dataList.size()) {
-                int lastRow = dataList.size() - 1;
+            if (firstNewRow != -1 && firstNewRow < size) {
+                int lastRow = size - 1;
                 fireTableRowsInserted(firstNewRow, lastRow);
                 firstNewRow = -1; // 重置
             }
         }
 
         void clear() {
-            dataList.clear();
+            size = 0;
+            names.clear();
+            nameIds.clear();
+            nameIndexes = new int[1024];
+            codes = new int[1024];
+            costs = new int[1024];
+            assertions = new byte[1024];
+            Arrays.fill(window, null);
+            full = false;
+            spill.close();
+            spill = new ResultSpill();
             dirty = false;
             firstNewRow = -1; // 重置
             fireTableDataChanged();
         }
     }
 
+    /**
+     * 一次压测的磁盘溢出状态
+     * 移出内存窗口的结果由后台线程按顺序渲染成 {@link ResultDetail} 写入段存储，records 记录行号对应的磁盘记录号；
+     * 写入完成前结果暂存在 pending 中，仍可查看和搜索。
+     * 等待写入的结果达到 {@link #MAX_PENDING} 时不再保留新移出结果的详情，只保留表格中的列数据，内存占用有界。
+     */
+    static class ResultSpill {
+        static final int MAX_PENDING = 2048;
+        private static final int DROPPED = -1;
+
+        private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "perf-result-spill");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final Map<Integer, ResultNodeInfo> pending = new ConcurrentHashMap<>();
+        // 行号 -> 磁盘记录号，DROPPED 表示未保留详情；只在 EDT 追加，后台搜索线程读取
+        private int[] records = new int[1024];
+        private int spilledRows;
+        private int nextRecord;
+        private long droppedDetails;
+        private ResultSegmentStore store;
+        // 写入失败后不再写入，之后的记录读取时返回 null
+        private volatile boolean failed;
+
+        void spill(int row, ResultNodeInfo info) {
+            boolean keep = pending.size() < MAX_PENDING;
+            synchronized (this) {
+                if (row >= records.length) {
+                    records = Arrays.copyOf(records, Math.max(row + 1, records.length * 2));
+                }
+                records[row] = keep ? nextRecord++ : DROPPED;
+                spilledRows = row + 1;
+            }
+            if (!keep) {
+                if (droppedDetails++ == 0) {
+                    log.warn("结果写入磁盘跟不上产生速度，之后部分历史结果将不保留详情");
+                }
+                return;
+            }
+            pending.put(row, info);
+            WRITER.execute(() -> {
+                try {
+                    if (!failed) {
+                        write(info);
+                    }
+                } catch (Exception e) {
+                    failed = true;
+                    log.warn("结果写入磁盘失败，之后的历史结果将不再保留详情: {}", e.getMessage());
+                } finally {
+                    pending.remove(row);
+                }
+            });
+        }
+
+        private void write(ResultNodeInfo info) throws IOException {
+            ResultSegmentStore target;
+            synchronized (this) {
+                if (store == null) {
+                    store = new ResultSegmentStore();
+                }
+                target = store;
+            }
+            target.append(ResultDetail.from(info).toBytes());
+        }
+
+        ResultNodeInfo pending(int row) {
+            return pending.get(row);
+        }
+
+        ResultDetail load(int row) {
+            ResultSegmentStore target;
+            int record;
+            synchronized (this) {
+                if (row < 0 || row >= spilledRows) {
+                    return null;
+                }
+                target = store;
+                record = records[row];
+            }
+            if (record == DROPPED) {
+                return ResultDetail.dropped();
+            }
+            byte[] data = target == null ? null : target.read(record);
+            return data == null ? null : ResultDetail.fromBytes(data);
+        }
+
+        /**
+         * 排在已提交的写入之后关闭并删除段文件
+         */
+        void close() {
+            WRITER.execute(() -> {
+                synchronized (this) {
+                    if (store != null) {
+                        store.close();
+                    }
+                }
+            });
+        }
+    }
+
     // 行渲染器 - 设置不同列的对齐方式和颜色
     static class ResultRowRenderer extends DefaultTableCellRenderer {
 
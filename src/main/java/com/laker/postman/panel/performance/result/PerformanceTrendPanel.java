@@ -11,6 +11,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.time.RegularTimePeriod;
 import org.jfree.data.time.TimeSeries;
@@ -25,15 +26,30 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
 
     private final TimeSeries userCountSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_THREADS));
     private final TimeSeries responseTimeSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_RESPONSE_TIME_MS));
+    private final TimeSeries p99Series = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_P99_MS));
+    // 协调遗漏修正后的 P99，只有开启修正的线程组才有数据
+    private final TimeSeries correctedP99Series = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_P99_CORRECTED_MS));
     private final TimeSeries qpsSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_QPS));
     private final TimeSeries errorPercentSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_ERROR_RATE_PERCENT));
-
-    private final TimeSeriesCollection userCountDataset = new TimeSeriesCollection(userCountSeries);
-    private final TimeSeriesCollection responseTimeDataset = new TimeSeriesCollection(responseTimeSeries);
+    // 连接池指标：活跃/空闲为当前值，新建/淘汰为每个采样间隔内的数量
+    private final TimeSeries activeConnectionSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_CONNECTIONS_ACTIVE));
+    private final TimeSeries idleConnectionSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_CONNECTIONS_IDLE));
+    private final TimeSeries createdConnectionSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_CONNECTIONS_CREATED));
+    private final TimeSeries evictedConnectionSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_CONNECTIONS_EVICTED));
+
+    private final TimeSeriesCollection userCountDataset = createUserCountDataset();
+    private final TimeSeriesCollection responseTimeDataset = createResponseTimeDataset();
     private final TimeSeriesCollection qpsDataset = new TimeSeriesCollection(qpsSeries);
     private final TimeSeriesCollection errorPercentDataset = new TimeSeriesCollection(errorPercentSeries);
 
 
+    private static final Color P99_COLOR = new Color(156, 39, 176);
+    private static final Color CORRECTED_P99_COLOR = new Color(121, 85, 72);
+    private static final Color ACTIVE_CONNECTION_COLOR = new Color(0, 150, 136);
+    private static final Color IDLE_CONNECTION_COLOR = new Color(96, 125, 139);
+    private static final Color CREATED_CONNECTION_COLOR = new Color(255, 152, 0);
+    private static final Color EVICTED_CONNECTION_COLOR = new Color(233, 30, 99);
+
     private boolean isCombinedView = false;
     private JPanel chartContainer;
     private JButton toggleButton;
@@ -47,10 +63,33 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
     private JCheckBox responseTimeCheckBox;
     private JCheckBox qpsCheckBox;
     private JCheckBox errorRateCheckBox;
+    private JCheckBox connectionsCheckBox;
 
     // 日期格式化器（实例变量，避免线程安全问题）
     private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
 
+    /**
+     * 响应时间图同时展示平均值、原始 P99 和修正后的 P99
+     */
+    private TimeSeriesCollection createResponseTimeDataset() {
+        TimeSeriesCollection dataset = new TimeSeriesCollection(responseTimeSeries);
+        dataset.addSeries(p99Series);
+        dataset.addSeries(correctedP99Series);
+        return dataset;
+    }
+
+    /**
+     * 用户数图同时展示连接池指标
+     */
+    private TimeSeriesCollection createUserCountDataset() {
+        TimeSeriesCollection dataset = new TimeSeriesCollection(userCountSeries);
+        dataset.addSeries(activeConnectionSeries);
+        dataset.addSeries(idleConnectionSeries);
+        dataset.addSeries(createdConnectionSeries);
+        dataset.addSeries(evictedConnectionSeries);
+        return dataset;
+    }
+
     /**
      * 检查当前是否为暗色主题
      */
@@ -104,6 +143,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         responseTimeCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_RESPONSE_TIME_MS), false);
         qpsCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_QPS), true);
         errorRateCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_ERROR_RATE_PERCENT), true);
+        connectionsCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_CONNECTIONS), false);
 
         // 预创建图表面板（避免切换时重复创建）
         separateChartsPanel = createSeparateChartsPanel();
@@ -114,6 +154,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         responseTimeCheckBox.addActionListener(e -> updateCombinedChart());
         qpsCheckBox.addActionListener(e -> updateCombinedChart());
         errorRateCheckBox.addActionListener(e -> updateCombinedChart());
+        connectionsCheckBox.addActionListener(e -> updateCombinedChart());
 
         // Create toggle button
         toggleButton = new JButton(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_COMBINED_CHART));
@@ -125,6 +166,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         topPanel.add(responseTimeCheckBox);
         topPanel.add(qpsCheckBox);
         topPanel.add(errorRateCheckBox);
+        topPanel.add(connectionsCheckBox);
         topPanel.add(new JSeparator(SwingConstants.VERTICAL));
         topPanel.add(toggleButton);
         add(topPanel, BorderLayout.NORTH);
@@ -134,6 +176,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         responseTimeCheckBox.setVisible(false);
         qpsCheckBox.setVisible(false);
         errorRateCheckBox.setVisible(false);
+        connectionsCheckBox.setVisible(false);
 
         // Create chart container
         chartContainer = new JPanel(new BorderLayout());
@@ -155,12 +198,13 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
     private ChartPanel createChartPanel(TimeSeriesCollection dataset, String titleKey, Color lineColor,
                                         boolean integerFormat, boolean percentFormat) {
         String title = I18nUtil.getMessage(titleKey);
+        boolean multiSeries = dataset.getSeriesCount() > 1;
         JFreeChart chart = ChartFactory.createTimeSeriesChart(
                 title,
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_TIME),
                 title,
                 dataset,
-                false,
+                multiSeries,
                 true,
                 false
         );
@@ -216,6 +260,11 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
 
         chart.getTitle().setFont(FontsUtil.getDefaultFontWithOffset(Font.BOLD, 0));
         chart.getTitle().setPaint(getTextColor());
+        if (multiSeries) {
+            chart.getLegend().setItemFont(FontsUtil.getDefaultFont(Font.PLAIN));
+            chart.getLegend().setItemPaint(getTextColor());
+            chart.getLegend().setBackgroundPaint(getChartBackgroundColor());
+        }
 
         return panel;
     }
@@ -292,16 +341,28 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         }
         if (responseTimeCheckBox.isSelected()) {
             renderer.setSeriesPaint(seriesIndex++, Color.ORANGE);
+            renderer.setSeriesPaint(seriesIndex++, P99_COLOR);
+            renderer.setSeriesPaint(seriesIndex++, CORRECTED_P99_COLOR);
         }
         if (qpsCheckBox.isSelected()) {
             renderer.setSeriesPaint(seriesIndex++, Color.GREEN.darker());
         }
         if (errorRateCheckBox.isSelected()) {
-            renderer.setSeriesPaint(seriesIndex, Color.RED);
+            renderer.setSeriesPaint(seriesIndex++, Color.RED);
+        }
+        if (connectionsCheckBox.isSelected()) {
+            setConnectionSeriesPaint(renderer, seriesIndex);
         }
         return renderer;
     }
 
+    private void setConnectionSeriesPaint(XYItemRenderer renderer, int firstIndex) {
+        renderer.setSeriesPaint(firstIndex, ACTIVE_CONNECTION_COLOR);
+        renderer.setSeriesPaint(firstIndex + 1, IDLE_CONNECTION_COLOR);
+        renderer.setSeriesPaint(firstIndex + 2, CREATED_CONNECTION_COLOR);
+        renderer.setSeriesPaint(firstIndex + 3, EVICTED_CONNECTION_COLOR);
+    }
+
     /**
      * 根据复选框状态创建动态数据集
      */
@@ -312,6 +373,8 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         }
         if (responseTimeCheckBox.isSelected()) {
             dataset.addSeries(responseTimeSeries);
+            dataset.addSeries(p99Series);
+            dataset.addSeries(correctedP99Series);
         }
         if (qpsCheckBox.isSelected()) {
             dataset.addSeries(qpsSeries);
@@ -319,6 +382,12 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
         if (errorRateCheckBox.isSelected()) {
             dataset.addSeries(errorPercentSeries);
         }
+        if (connectionsCheckBox.isSelected()) {
+            dataset.addSeries(activeConnectionSeries);
+            dataset.addSeries(idleConnectionSeries);
+            dataset.addSeries(createdConnectionSeries);
+            dataset.addSeries(evictedConnectionSeries);
+        }
         return dataset;
     }
 
@@ -354,8 +423,14 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
     private JPanel createSeparateChartsPanel() {
         JPanel panel = new JPanel(new GridLayout(2, 2, 10, 10));
 
-        panel.add(createChartPanel(userCountDataset, MessageKeys.PERFORMANCE_TREND_THREADS, Color.BLUE, true, false));
-        panel.add(createChartPanel(responseTimeDataset, MessageKeys.PERFORMANCE_TREND_RESPONSE_TIME_MS, Color.ORANGE, false, false));
+        ChartPanel userCountChart = createChartPanel(userCountDataset, MessageKeys.PERFORMANCE_TREND_THREADS_CONNECTIONS, Color.BLUE, true, false);
+        setConnectionSeriesPaint(userCountChart.getChart().getXYPlot().getRenderer(), 1);
+        panel.add(userCountChart);
+        ChartPanel responseTimeChart = createChartPanel(responseTimeDataset, MessageKeys.PERFORMANCE_TREND_RESPONSE_TIME_MS, Color.ORANGE, false, false);
+        XYItemRenderer responseTimeRenderer = responseTimeChart.getChart().getXYPlot().getRenderer();
+        responseTimeRenderer.setSeriesPaint(1, P99_COLOR);
+        responseTimeRenderer.setSeriesPaint(2, CORRECTED_P99_COLOR);
+        panel.add(responseTimeChart);
         panel.add(createChartPanel(qpsDataset, MessageKeys.PERFORMANCE_TREND_QPS, Color.GREEN.darker(), false, false));
         panel.add(createChartPanel(errorPercentDataset, MessageKeys.PERFORMANCE_TREND_ERROR_RATE_PERCENT, Color.RED, false, true));
 
@@ -374,6 +449,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
             responseTimeCheckBox.setVisible(true);
             qpsCheckBox.setVisible(true);
             errorRateCheckBox.setVisible(true);
+            connectionsCheckBox.setVisible(true);
 
             showCombinedChart();
             toggleButton.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_SEPARATE_CHARTS));
@@ -383,6 +459,7 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
             responseTimeCheckBox.setVisible(false);
             qpsCheckBox.setVisible(false);
             errorRateCheckBox.setVisible(false);
+        connectionsCheckBox.setVisible(false);
 
             showSeparateCharts();
             toggleButton.setText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_COMBINED_CHART));
@@ -419,8 +496,30 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
     public void clearTrendDataset() {
         userCountSeries.clear();
         responseTimeSeries.clear();
+        p99Series.clear();
+        correctedP99Series.clear();
         qpsSeries.clear();
         errorPercentSeries.clear();
+        activeConnectionSeries.clear();
+        idleConnectionSeries.clear();
+        createdConnectionSeries.clear();
+        evictedConnectionSeries.clear();
+    }
+
+    /**
+     * 增加或更新连接池指标
+     *
+     * @param active  活跃连接数
+     * @param idle    空闲连接数
+     * @param created 本采样间隔内新建的连接数
+     * @param evicted 本采样间隔内离开连接池的连接数
+     */
+    public void addOrUpdateConnections(RegularTimePeriod period, int active, int idle, long created, long evicted) {
+        if (period == null) return;
+        activeConnectionSeries.addOrUpdate(period, active);
+        idleConnectionSeries.addOrUpdate(period, idle);
+        createdConnectionSeries.addOrUpdate(period, created);
+        evictedConnectionSeries.addOrUpdate(period, evicted);
     }
 
     /**
@@ -429,28 +528,39 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
      * @param period       时间点
      * @param users        用户数
      * @param responseTime 响应时间
+     * @param p99          P99 响应时间
+     * @param correctedP99 协调遗漏修正后的 P99，小于 0 表示没有修正数据
      * @param qps          QPS
      * @param errorPercent 错误率
      */
     public void addOrUpdate(RegularTimePeriod period, double users,
-                            double responseTime, double qps, double errorPercent) {
+                            double responseTime, double p99, double correctedP99,
+                            double qps, double errorPercent) {
         if (period == null) return;
 
         // 批量更新：暂时禁用通知，避免每次 addOrUpdate 都触发重绘
         userCountSeries.setNotify(false);
         responseTimeSeries.setNotify(false);
+        p99Series.setNotify(false);
+        correctedP99Series.setNotify(false);
         qpsSeries.setNotify(false);
         errorPercentSeries.setNotify(false);
 
         try {
             userCountSeries.addOrUpdate(period, users);
             responseTimeSeries.addOrUpdate(period, responseTime);
+            p99Series.addOrUpdate(period, p99);
+            if (correctedP99 >= 0) {
+                correctedP99Series.addOrUpdate(period, correctedP99);
+            }
             qpsSeries.addOrUpdate(period, qps);
             errorPercentSeries.addOrUpdate(period, errorPercent);
         } finally {
             // 恢复通知
             userCountSeries.setNotify(true);
             responseTimeSeries.setNotify(true);
+            p99Series.setNotify(true);
+            correctedP99Series.setNotify(true);
             qpsSeries.setNotify(true);
             errorPercentSeries.setNotify(true);
 
@@ -458,6 +568,8 @@ public class PerformanceTrendPanel extends SingletonBasePanel {
             // 因为有4个独立的dataset，需要触发每个series的更新
             userCountSeries.fireSeriesChanged();
             responseTimeSeries.fireSeriesChanged();
+            p99Series.fireSeriesChanged();
+            correctedP99Series.fireSeriesChanged();
             qpsSeries.fireSeriesChanged();
             errorPercentSeries.fireSeriesChanged();
         }
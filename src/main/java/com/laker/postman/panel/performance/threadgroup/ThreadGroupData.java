@@ -12,10 +12,19 @@ public class ThreadGroupData {
         FIXED(MessageKeys.THREADGROUP_MODE_FIXED),           // 固定线程数
         RAMP_UP(MessageKeys.THREADGROUP_MODE_RAMP_UP),       // 递增线程数
         SPIKE(MessageKeys.THREADGROUP_MODE_SPIKE),           // 尖刺模式
-        STAIRS(MessageKeys.THREADGROUP_MODE_STAIRS);         // 阶梯模式
+        STAIRS(MessageKeys.THREADGROUP_MODE_STAIRS),         // 阶梯模式
+        CONSTANT_ARRIVAL_RATE(MessageKeys.THREADGROUP_MODE_CONSTANT_ARRIVAL_RATE), // 恒定到达率（开放模型）
+        RAMPING_ARRIVAL_RATE(MessageKeys.THREADGROUP_MODE_RAMPING_ARRIVAL_RATE);   // 递增到达率（开放模型）
 
         private final String messageKey;
 
+        /**
+         * 是否为开放模型：按到达率调度迭代，而不是由固定数量的用户循环执行
+         */
+        public boolean isArrivalRate() {
+            return this == CONSTANT_ARRIVAL_RATE || this == RAMPING_ARRIVAL_RATE;
+        }
+
         ThreadMode(String messageKey) {
             this.messageKey = messageKey;
         }
@@ -30,12 +39,45 @@ public class ThreadGroupData {
         }
     }
 
+    /**
+     * 连接协议，开启自定义连接设置时生效
+     */
+    public enum HttpProtocol {
+        AUTO(MessageKeys.THREADGROUP_PROTOCOL_AUTO),         // 自动协商
+        HTTP_1_1(MessageKeys.THREADGROUP_PROTOCOL_HTTP_1_1), // 仅 HTTP/1.1
+        HTTP_2(MessageKeys.THREADGROUP_PROTOCOL_HTTP_2);     // 优先 HTTP/2 多路复用
+
+        private final String messageKey;
+
+        HttpProtocol(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        @Override
+        public String toString() {
+            return I18nUtil.getMessage(messageKey);
+        }
+    }
+
     // 公共属性
     public ThreadMode threadMode = ThreadMode.FIXED;  // 默认固定线程数
     public int numThreads = 20;                        // 固定模式-默认用户数
     public int duration = 60;                         // 所有模式-默认持续时间(秒)
     public int loops = 1;                             // 固定模式-默认循环次数
     public boolean useTime = true;                   // 是否使用时间而不是循环次数
+    public boolean useVirtualThreads = false;        // 是否使用虚拟线程执行（JDK 21+）
+    public boolean asyncRequests = false;            // 是否异步发送请求（仅固定模式），用户不独占线程
+    public boolean isolatedCookies = false;          // 是否为每个虚拟用户使用独立的 Cookie 存储
+    public boolean correctCoordinatedOmission = false; // 是否统计协调遗漏修正后的耗时（仅闭环模式）
+    public int expectedIntervalMs = 0;               // 预期请求间隔(毫秒)，不含定时器延迟；0 表示使用接口平均耗时
+
+    // 连接设置：未开启时使用全局的压测连接池设置，与其他线程组共享连接
+    public boolean customConnections = false;        // 是否使用线程组独立的连接设置
+    public HttpProtocol httpProtocol = HttpProtocol.AUTO; // 连接协议
+    public int maxIdleConnections = 20;              // 连接池最大空闲连接数
+    public int keepAliveSeconds = 60;                // 空闲连接保活时间(秒)
+    public int maxRequestsPerHost = 0;               // 每 host 同时在途的请求上限，0 表示不限制
+    public boolean newConnectionPerIteration = false; // 每次迭代新建连接（模拟不保持连接的客户端）
 
     // 递增模式属性
     public int rampUpStartThreads = 1;                // 递增起始线程数
@@ -58,4 +100,16 @@ public class ThreadGroupData {
     public int stairsStep = 5;                        // 阶梯步长
     public int stairsHoldTime = 15;                   // 每阶段保持时间(秒)
     public int stairsDuration = 60;                  // 阶梯模式总测试持续时间(秒)
+
+    // 恒定到达率模式属性
+    public int constantRate = 10;                     // 每秒迭代次数
+    public int constantRateDuration = 60;             // 测试持续时间(秒)
+    public int constantRateMaxUsers = 50;             // 虚拟用户池大小，用尽时丢弃迭代
+
+    // 递增到达率模式属性
+    public int rampingRateStart = 1;                  // 起始每秒迭代次数
+    public int rampingRateTarget = 20;                // 目标每秒迭代次数
+    public int rampingRateRampTime = 30;              // 递增时间(秒)，之后保持目标速率
+    public int rampingRateDuration = 60;              // 测试持续时间(秒)
+    public int rampingRateMaxUsers = 50;              // 虚拟用户池大小，用尽时丢弃迭代
 }
\ No newline at end of file
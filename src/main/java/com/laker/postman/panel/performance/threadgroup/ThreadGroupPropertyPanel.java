@@ -2,6 +2,8 @@ package com.laker.postman.panel.performance.threadgroup;
 
 import com.laker.postman.common.component.EasyJSpinner;
 import com.laker.postman.panel.performance.model.JMeterTreeNode;
+import com.laker.postman.performance.execution.ArrivalRateProfile;
+import com.laker.postman.performance.execution.VirtualThreadSupport;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
 
@@ -15,8 +17,23 @@ import java.util.List;
 
 public class ThreadGroupPropertyPanel extends JPanel {
     private static final Dimension SPINNER_SIZE = new Dimension(96, 28);
+    // 平台线程模式下的最大用户数，虚拟线程模式下放开到更高的上限
+    private static final int MAX_PLATFORM_USERS = 1000;
+    private static final int MAX_VIRTUAL_USERS = 100000;
 
     private final JComboBox<ThreadGroupData.ThreadMode> modeComboBox;
+    private final JCheckBox virtualThreadsCheckBox;
+    private final JCheckBox asyncRequestsCheckBox;
+    private final JCheckBox isolatedCookiesCheckBox;
+    private final JCheckBox correctOmissionCheckBox;
+    private final EasyJSpinner expectedIntervalSpinner;
+    // 连接设置
+    private final JCheckBox customConnectionsCheckBox;
+    private final JComboBox<ThreadGroupData.HttpProtocol> protocolComboBox;
+    private final EasyJSpinner poolSizeSpinner;
+    private final EasyJSpinner keepAliveSpinner;
+    private final EasyJSpinner maxPerHostSpinner;
+    private final JCheckBox newConnectionPerIterationCheckBox;
     private final CardLayout cardLayout;
     private final JPanel cardPanel;
     private JMeterTreeNode currentNode;
@@ -52,6 +69,20 @@ public class ThreadGroupPropertyPanel extends JPanel {
     private final EasyJSpinner stairsHoldTimeSpinner;
     private final EasyJSpinner stairsDurationSpinner;
 
+    // 恒定到达率模式面板组件
+    private final JPanel constantRatePanel;
+    private final EasyJSpinner constantRateSpinner;
+    private final EasyJSpinner constantRateDurationSpinner;
+    private final EasyJSpinner constantRateMaxUsersSpinner;
+
+    // 递增到达率模式面板组件
+    private final JPanel rampingRatePanel;
+    private final EasyJSpinner rampingRateStartSpinner;
+    private final EasyJSpinner rampingRateTargetSpinner;
+    private final EasyJSpinner rampingRateRampTimeSpinner;
+    private final EasyJSpinner rampingRateDurationSpinner;
+    private final EasyJSpinner rampingRateMaxUsersSpinner;
+
     // 负载模式预览相关
     private final ThreadLoadPreviewPanel previewPanel;
 
@@ -65,6 +96,61 @@ public class ThreadGroupPropertyPanel extends JPanel {
         modeComboBox = new JComboBox<>(ThreadGroupData.ThreadMode.values());
         modeComboBox.setPreferredSize(new Dimension(150, 28));
         topPanel.add(modeComboBox);
+        virtualThreadsCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_VIRTUAL_THREADS));
+        if (VirtualThreadSupport.isSupported()) {
+            virtualThreadsCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_VIRTUAL_THREADS_TOOLTIP));
+        } else {
+            virtualThreadsCheckBox.setEnabled(false);
+            virtualThreadsCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_VIRTUAL_THREADS_UNSUPPORTED,
+                    System.getProperty("java.version")));
+        }
+        virtualThreadsCheckBox.addActionListener(e -> updateUserLimit());
+        topPanel.add(virtualThreadsCheckBox);
+        asyncRequestsCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_ASYNC_REQUESTS));
+        asyncRequestsCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ASYNC_REQUESTS_TOOLTIP));
+        asyncRequestsCheckBox.addActionListener(e -> updateUserLimit());
+        topPanel.add(asyncRequestsCheckBox);
+        isolatedCookiesCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_ISOLATED_COOKIES));
+        isolatedCookiesCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ISOLATED_COOKIES_TOOLTIP));
+        topPanel.add(isolatedCookiesCheckBox);
+        correctOmissionCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_CORRECT_OMISSION));
+        correctOmissionCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_CORRECT_OMISSION_TOOLTIP));
+        topPanel.add(correctOmissionCheckBox);
+        topPanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_EXPECTED_INTERVAL)));
+        expectedIntervalSpinner = new EasyJSpinner(new SpinnerNumberModel(0, 0, 3600000, 100));
+        expectedIntervalSpinner.setPreferredSize(SPINNER_SIZE);
+        expectedIntervalSpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_EXPECTED_INTERVAL_TOOLTIP));
+        topPanel.add(expectedIntervalSpinner);
+        correctOmissionCheckBox.addActionListener(e -> updateOmissionControls());
+
+        // 连接设置区域
+        JPanel connectionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 2));
+        customConnectionsCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_CUSTOM_CONNECTIONS));
+        customConnectionsCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_CUSTOM_CONNECTIONS_TOOLTIP));
+        customConnectionsCheckBox.addActionListener(e -> updateConnectionControls());
+        connectionPanel.add(customConnectionsCheckBox);
+        connectionPanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_PROTOCOL)));
+        protocolComboBox = new JComboBox<>(ThreadGroupData.HttpProtocol.values());
+        protocolComboBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_PROTOCOL_TOOLTIP));
+        connectionPanel.add(protocolComboBox);
+        connectionPanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_POOL_SIZE)));
+        poolSizeSpinner = new EasyJSpinner(new SpinnerNumberModel(20, 1, 10000, 1));
+        poolSizeSpinner.setPreferredSize(SPINNER_SIZE);
+        poolSizeSpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_POOL_SIZE_TOOLTIP));
+        connectionPanel.add(poolSizeSpinner);
+        connectionPanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_KEEP_ALIVE)));
+        keepAliveSpinner = new EasyJSpinner(new SpinnerNumberModel(60, 1, 3600, 10));
+        keepAliveSpinner.setPreferredSize(SPINNER_SIZE);
+        connectionPanel.add(keepAliveSpinner);
+        connectionPanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_MAX_PER_HOST)));
+        maxPerHostSpinner = new EasyJSpinner(new SpinnerNumberModel(0, 0, 100000, 1));
+        maxPerHostSpinner.setPreferredSize(SPINNER_SIZE);
+        maxPerHostSpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_MAX_PER_HOST_TOOLTIP));
+        connectionPanel.add(maxPerHostSpinner);
+        newConnectionPerIterationCheckBox = new JCheckBox(I18nUtil.getMessage(MessageKeys.THREADGROUP_NEW_CONNECTION_PER_ITERATION));
+        newConnectionPerIterationCheckBox.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_NEW_CONNECTION_PER_ITERATION_TOOLTIP));
+        connectionPanel.add(newConnectionPerIterationCheckBox);
+        updateConnectionControls();
 
         // 中间部分：左侧配置面板，右侧预览图
         JPanel mainPanel = new JPanel(new BorderLayout(10, 0));
@@ -130,17 +216,45 @@ public class ThreadGroupPropertyPanel extends JPanel {
         stairsDurationSpinner = new EasyJSpinner(new SpinnerNumberModel(240, 1, 86400, 10));
         stairsDurationSpinner.setPreferredSize(SPINNER_SIZE);
 
+        // 5. 恒定到达率模式面板
+        constantRatePanel = new JPanel(new GridBagLayout());
+        constantRatePanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        constantRateSpinner = new EasyJSpinner(new SpinnerNumberModel(10, 1, 100000, 1));
+        constantRateSpinner.setPreferredSize(SPINNER_SIZE);
+        constantRateDurationSpinner = new EasyJSpinner(new SpinnerNumberModel(60, 1, 86400, 10));
+        constantRateDurationSpinner.setPreferredSize(SPINNER_SIZE);
+        constantRateMaxUsersSpinner = new EasyJSpinner(new SpinnerNumberModel(50, 1, 1000, 1));
+        constantRateMaxUsersSpinner.setPreferredSize(SPINNER_SIZE);
+
+        // 6. 递增到达率模式面板
+        rampingRatePanel = new JPanel(new GridBagLayout());
+        rampingRatePanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        rampingRateStartSpinner = new EasyJSpinner(new SpinnerNumberModel(1, 0, 100000, 1));
+        rampingRateStartSpinner.setPreferredSize(SPINNER_SIZE);
+        rampingRateTargetSpinner = new EasyJSpinner(new SpinnerNumberModel(20, 1, 100000, 1));
+        rampingRateTargetSpinner.setPreferredSize(SPINNER_SIZE);
+        rampingRateRampTimeSpinner = new EasyJSpinner(new SpinnerNumberModel(30, 0, 3600, 5));
+        rampingRateRampTimeSpinner.setPreferredSize(SPINNER_SIZE);
+        rampingRateDurationSpinner = new EasyJSpinner(new SpinnerNumberModel(60, 1, 86400, 10));
+        rampingRateDurationSpinner.setPreferredSize(SPINNER_SIZE);
+        rampingRateMaxUsersSpinner = new EasyJSpinner(new SpinnerNumberModel(50, 1, 1000, 1));
+        rampingRateMaxUsersSpinner.setPreferredSize(SPINNER_SIZE);
+
         // 设置各个面板的布局
         setupFixedPanel();
         setupRampUpPanel();
         setupSpikePanel();
         setupStairsPanel();
+        setupConstantRatePanel();
+        setupRampingRatePanel();
 
         // 添加所有面板到卡片布局
         cardPanel.add(fixedPanel, ThreadGroupData.ThreadMode.FIXED.name());
         cardPanel.add(rampUpPanel, ThreadGroupData.ThreadMode.RAMP_UP.name());
         cardPanel.add(spikePanel, ThreadGroupData.ThreadMode.SPIKE.name());
         cardPanel.add(stairsPanel, ThreadGroupData.ThreadMode.STAIRS.name());
+        cardPanel.add(constantRatePanel, ThreadGroupData.ThreadMode.CONSTANT_ARRIVAL_RATE.name());
+        cardPanel.add(rampingRatePanel, ThreadGroupData.ThreadMode.RAMPING_ARRIVAL_RATE.name());
 
         // 默认显示固定模式面板
         cardLayout.show(cardPanel, ThreadGroupData.ThreadMode.FIXED.name());
@@ -150,6 +264,8 @@ public class ThreadGroupPropertyPanel extends JPanel {
             ThreadGroupData.ThreadMode selectedMode = (ThreadGroupData.ThreadMode) modeComboBox.getSelectedItem();
             if (selectedMode != null) {
                 cardLayout.show(cardPanel, selectedMode.name());
+                updateOmissionControls();
+                updateUserLimit();
                 updatePreview();
             }
         });
@@ -184,7 +300,10 @@ public class ThreadGroupPropertyPanel extends JPanel {
         mainPanel.add(previewPanel, BorderLayout.CENTER);
 
         // 整体布局
-        add(topPanel, BorderLayout.NORTH);
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(topPanel, BorderLayout.NORTH);
+        northPanel.add(connectionPanel, BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
         add(mainPanel, BorderLayout.CENTER);
 
         // 为所有输入组件添加变化监听，刷新预览图
@@ -358,6 +477,117 @@ public class ThreadGroupPropertyPanel extends JPanel {
         stairsPanel.add(stairsDurationSpinner, gbc);
     }
 
+    // 设置恒定到达率模式面板
+    private void setupConstantRatePanel() {
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 第一行
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        constantRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_RATE), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 1;
+        constantRatePanel.add(constantRateSpinner, gbc);
+
+        gbc.gridx = 2;
+        constantRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_TEST_DURATION), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 3;
+        constantRatePanel.add(constantRateDurationSpinner, gbc);
+
+        // 第二行
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        JLabel maxUsersLabel = new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS), SwingConstants.RIGHT);
+        maxUsersLabel.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS_TOOLTIP));
+        constantRatePanel.add(maxUsersLabel, gbc);
+
+        gbc.gridx = 1;
+        constantRateMaxUsersSpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS_TOOLTIP));
+        constantRatePanel.add(constantRateMaxUsersSpinner, gbc);
+    }
+
+    // 设置递增到达率模式面板
+    private void setupRampingRatePanel() {
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 第一行
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        rampingRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_START_RATE), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 1;
+        rampingRatePanel.add(rampingRateStartSpinner, gbc);
+
+        gbc.gridx = 2;
+        rampingRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_TARGET_RATE), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 3;
+        rampingRatePanel.add(rampingRateTargetSpinner, gbc);
+
+        // 第二行
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        rampingRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_RAMP_TIME), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 1;
+        rampingRatePanel.add(rampingRateRampTimeSpinner, gbc);
+
+        gbc.gridx = 2;
+        rampingRatePanel.add(new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_TEST_DURATION), SwingConstants.RIGHT), gbc);
+
+        gbc.gridx = 3;
+        rampingRatePanel.add(rampingRateDurationSpinner, gbc);
+
+        // 第三行
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        JLabel maxUsersLabel = new JLabel(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS), SwingConstants.RIGHT);
+        maxUsersLabel.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS_TOOLTIP));
+        rampingRatePanel.add(maxUsersLabel, gbc);
+
+        gbc.gridx = 1;
+        rampingRateMaxUsersSpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.THREADGROUP_ARRIVAL_MAX_USERS_TOOLTIP));
+        rampingRatePanel.add(rampingRateMaxUsersSpinner, gbc);
+    }
+
+    /**
+     * 虚拟线程或异步请求模式下用户不占用平台线程，放开用户数上限
+     */
+    private void updateUserLimit() {
+        ThreadGroupData.ThreadMode mode = (ThreadGroupData.ThreadMode) modeComboBox.getSelectedItem();
+        boolean asyncAvailable = mode == ThreadGroupData.ThreadMode.FIXED;
+        asyncRequestsCheckBox.setEnabled(asyncAvailable);
+        applyUserLimit(virtualThreadsCheckBox.isSelected() || (asyncAvailable && asyncRequestsCheckBox.isSelected()));
+    }
+
+    /**
+     * 根据是否使用虚拟线程调整所有用户数输入框的上限
+     */
+    private void applyUserLimit(boolean virtualThreads) {
+        int max = virtualThreads ? MAX_VIRTUAL_USERS : MAX_PLATFORM_USERS;
+        List<EasyJSpinner> userSpinners = Arrays.asList(
+                fixedNumThreadsSpinner,
+                rampUpStartThreadsSpinner, rampUpEndThreadsSpinner,
+                spikeMinThreadsSpinner, spikeMaxThreadsSpinner,
+                stairsStartThreadsSpinner, stairsEndThreadsSpinner,
+                constantRateMaxUsersSpinner, rampingRateMaxUsersSpinner
+        );
+        for (EasyJSpinner spinner : userSpinners) {
+            SpinnerNumberModel model = (SpinnerNumberModel) spinner.getModel();
+            model.setMaximum(max);
+            if ((Integer) model.getValue() > max) {
+                model.setValue(max);
+            }
+        }
+    }
+
     private void addPreviewUpdateListeners() {
         // 模式选择变化监听
         modeComboBox.addActionListener(e -> updatePreview());
@@ -388,6 +618,14 @@ public class ThreadGroupPropertyPanel extends JPanel {
         stairsStepSpinner.addChangeListener(e -> updatePreview());
         stairsHoldTimeSpinner.addChangeListener(e -> updatePreview());
         stairsDurationSpinner.addChangeListener(e -> updatePreview());
+
+        // 到达率模式参数变化监听
+        constantRateSpinner.addChangeListener(e -> updatePreview());
+        constantRateDurationSpinner.addChangeListener(e -> updatePreview());
+        rampingRateStartSpinner.addChangeListener(e -> updatePreview());
+        rampingRateTargetSpinner.addChangeListener(e -> updatePreview());
+        rampingRateRampTimeSpinner.addChangeListener(e -> updatePreview());
+        rampingRateDurationSpinner.addChangeListener(e -> updatePreview());
     }
 
     private void updatePreview() {
@@ -428,6 +666,26 @@ public class ThreadGroupPropertyPanel extends JPanel {
                 previewData.stairsHoldTime = (Integer) stairsHoldTimeSpinner.getValue();
                 previewData.stairsDuration = (Integer) stairsDurationSpinner.getValue();
                 break;
+
+            case CONSTANT_ARRIVAL_RATE:
+                previewData.arrivalProfile = ArrivalRateProfile.constant(
+                        (Integer) constantRateSpinner.getValue(),
+                        (Integer) constantRateDurationSpinner.getValue());
+                previewData.arrivalMaxRate = (Integer) constantRateSpinner.getValue();
+                previewData.arrivalDuration = (Integer) constantRateDurationSpinner.getValue();
+                break;
+
+            case RAMPING_ARRIVAL_RATE:
+                previewData.arrivalProfile = ArrivalRateProfile.ramping(
+                        (Integer) rampingRateStartSpinner.getValue(),
+                        (Integer) rampingRateTargetSpinner.getValue(),
+                        (Integer) rampingRateRampTimeSpinner.getValue(),
+                        (Integer) rampingRateDurationSpinner.getValue());
+                previewData.arrivalMaxRate = Math.max((Integer) rampingRateStartSpinner.getValue(),
+                        (Integer) rampingRateTargetSpinner.getValue());
+                previewData.arrivalRampTime = (Integer) rampingRateRampTimeSpinner.getValue();
+                previewData.arrivalDuration = (Integer) rampingRateDurationSpinner.getValue();
+                break;
         }
 
         previewPanel.setPreviewData(previewData);
@@ -447,6 +705,26 @@ public class ThreadGroupPropertyPanel extends JPanel {
         modeComboBox.setSelectedItem(data.threadMode);
         cardLayout.show(cardPanel, data.threadMode.name());
 
+        // 先放开上限再回填用户数，避免超过平台线程上限的值被截断
+        boolean useVirtualThreads = data.useVirtualThreads && VirtualThreadSupport.isSupported();
+        virtualThreadsCheckBox.setSelected(useVirtualThreads);
+        asyncRequestsCheckBox.setSelected(data.asyncRequests);
+        updateUserLimit();
+
+        isolatedCookiesCheckBox.setSelected(data.isolatedCookies);
+        correctOmissionCheckBox.setSelected(data.correctCoordinatedOmission);
+        expectedIntervalSpinner.setValue(data.expectedIntervalMs);
+        updateOmissionControls();
+
+        // 设置连接参数
+        customConnectionsCheckBox.setSelected(data.customConnections);
+        protocolComboBox.setSelectedItem(data.httpProtocol);
+        poolSizeSpinner.setValue(data.maxIdleConnections);
+        keepAliveSpinner.setValue(data.keepAliveSeconds);
+        maxPerHostSpinner.setValue(data.maxRequestsPerHost);
+        newConnectionPerIterationCheckBox.setSelected(data.newConnectionPerIteration);
+        updateConnectionControls();
+
         // 设置固定模式参数
         fixedNumThreadsSpinner.setValue(data.numThreads);
         fixedLoopsSpinner.setValue(data.loops);
@@ -478,10 +756,42 @@ public class ThreadGroupPropertyPanel extends JPanel {
         stairsHoldTimeSpinner.setValue(data.stairsHoldTime);
         stairsDurationSpinner.setValue(data.stairsDuration);
 
+        // 设置到达率模式参数
+        constantRateSpinner.setValue(data.constantRate);
+        constantRateDurationSpinner.setValue(data.constantRateDuration);
+        constantRateMaxUsersSpinner.setValue(data.constantRateMaxUsers);
+        rampingRateStartSpinner.setValue(data.rampingRateStart);
+        rampingRateTargetSpinner.setValue(data.rampingRateTarget);
+        rampingRateRampTimeSpinner.setValue(data.rampingRateRampTime);
+        rampingRateDurationSpinner.setValue(data.rampingRateDuration);
+        rampingRateMaxUsersSpinner.setValue(data.rampingRateMaxUsers);
+
         // 更新预览图
         updatePreview();
     }
 
+    /**
+     * 到达率模式按计划时刻发起迭代，本身不存在协调遗漏，因此禁用修正选项
+     */
+    private void updateOmissionControls() {
+        ThreadGroupData.ThreadMode mode = (ThreadGroupData.ThreadMode) modeComboBox.getSelectedItem();
+        boolean closedModel = mode == null || !mode.isArrivalRate();
+        correctOmissionCheckBox.setEnabled(closedModel);
+        expectedIntervalSpinner.setEnabled(closedModel && correctOmissionCheckBox.isSelected());
+    }
+
+    /**
+     * 未开启独立连接设置时禁用各项连接参数
+     */
+    private void updateConnectionControls() {
+        boolean custom = customConnectionsCheckBox.isSelected();
+        protocolComboBox.setEnabled(custom);
+        poolSizeSpinner.setEnabled(custom);
+        keepAliveSpinner.setEnabled(custom);
+        maxPerHostSpinner.setEnabled(custom);
+        newConnectionPerIterationCheckBox.setEnabled(custom);
+    }
+
     /**
      * 强制提交所有 EasyJSpinner 的值
      * 用于 Ctrl/Cmd+S 保存时，确保所有输入都已提交
@@ -495,7 +805,12 @@ public class ThreadGroupPropertyPanel extends JPanel {
                 spikeRampUpTimeSpinner, spikeHoldTimeSpinner,
                 spikeRampDownTimeSpinner, spikeDurationSpinner,
                 stairsStartThreadsSpinner, stairsEndThreadsSpinner,
-                stairsStepSpinner, stairsHoldTimeSpinner, stairsDurationSpinner
+                stairsStepSpinner, stairsHoldTimeSpinner, stairsDurationSpinner,
+                constantRateSpinner, constantRateDurationSpinner, constantRateMaxUsersSpinner,
+                rampingRateStartSpinner, rampingRateTargetSpinner, rampingRateRampTimeSpinner,
+                rampingRateDurationSpinner, rampingRateMaxUsersSpinner,
+                expectedIntervalSpinner,
+                poolSizeSpinner, keepAliveSpinner, maxPerHostSpinner
         );
 
         allSpinners.forEach(EasyJSpinner::forceCommit);
@@ -511,6 +826,19 @@ public class ThreadGroupPropertyPanel extends JPanel {
 
         // 保存模式
         data.threadMode = (ThreadGroupData.ThreadMode) modeComboBox.getSelectedItem();
+        data.useVirtualThreads = virtualThreadsCheckBox.isSelected();
+        data.asyncRequests = asyncRequestsCheckBox.isSelected();
+        data.isolatedCookies = isolatedCookiesCheckBox.isSelected();
+        data.correctCoordinatedOmission = correctOmissionCheckBox.isSelected();
+        data.expectedIntervalMs = (Integer) expectedIntervalSpinner.getValue();
+
+        // 保存连接参数
+        data.customConnections = customConnectionsCheckBox.isSelected();
+        data.httpProtocol = (ThreadGroupData.HttpProtocol) protocolComboBox.getSelectedItem();
+        data.maxIdleConnections = (Integer) poolSizeSpinner.getValue();
+        data.keepAliveSeconds = (Integer) keepAliveSpinner.getValue();
+        data.maxRequestsPerHost = (Integer) maxPerHostSpinner.getValue();
+        data.newConnectionPerIteration = newConnectionPerIterationCheckBox.isSelected();
 
         // 保存固定模式参数
         data.numThreads = (Integer) fixedNumThreadsSpinner.getValue();
@@ -538,6 +866,16 @@ public class ThreadGroupPropertyPanel extends JPanel {
         data.stairsStep = (Integer) stairsStepSpinner.getValue();
         data.stairsHoldTime = (Integer) stairsHoldTimeSpinner.getValue();
         data.stairsDuration = (Integer) stairsDurationSpinner.getValue();
+
+        // 保存到达率模式参数
+        data.constantRate = (Integer) constantRateSpinner.getValue();
+        data.constantRateDuration = (Integer) constantRateDurationSpinner.getValue();
+        data.constantRateMaxUsers = (Integer) constantRateMaxUsersSpinner.getValue();
+        data.rampingRateStart = (Integer) rampingRateStartSpinner.getValue();
+        data.rampingRateTarget = (Integer) rampingRateTargetSpinner.getValue();
+        data.rampingRateRampTime = (Integer) rampingRateRampTimeSpinner.getValue();
+        data.rampingRateDuration = (Integer) rampingRateDurationSpinner.getValue();
+        data.rampingRateMaxUsers = (Integer) rampingRateMaxUsersSpinner.getValue();
     }
 
     // 预览数据模型
@@ -566,6 +904,11 @@ public class ThreadGroupPropertyPanel extends JPanel {
         int stairsStep;
         int stairsHoldTime;
         int stairsDuration;
+        // 到达率模式：预览绘制的是每秒迭代数而不是用户数
+        ArrivalRateProfile arrivalProfile;
+        int arrivalMaxRate;
+        int arrivalRampTime;
+        int arrivalDuration;
     }
 
     // 预览面板实现
@@ -709,6 +1052,10 @@ public class ThreadGroupPropertyPanel extends JPanel {
                 case STAIRS:
                     actualMax = previewData.stairsEndThreads;
                     break;
+                case CONSTANT_ARRIVAL_RATE:
+                case RAMPING_ARRIVAL_RATE:
+                    actualMax = Math.max(1, previewData.arrivalMaxRate);
+                    break;
                 default:
                     actualMax = 20; // 默认值
             }
@@ -727,6 +1074,9 @@ public class ThreadGroupPropertyPanel extends JPanel {
                     return previewData.spikeDuration;
                 case STAIRS:
                     return previewData.stairsDuration;
+                case CONSTANT_ARRIVAL_RATE:
+                case RAMPING_ARRIVAL_RATE:
+                    return previewData.arrivalDuration;
                 default:
                     return 60;
             }
@@ -752,6 +1102,10 @@ public class ThreadGroupPropertyPanel extends JPanel {
                 case STAIRS:
                     drawStairsCurve(points, width, height);
                     break;
+                case CONSTANT_ARRIVAL_RATE:
+                case RAMPING_ARRIVAL_RATE:
+                    drawArrivalRateCurve(points, width, height);
+                    break;
             }
 
             // 绘制线段
@@ -837,6 +1191,23 @@ public class ThreadGroupPropertyPanel extends JPanel {
             points.add(new Point(PADDING + width, yMin));
         }
 
+        private void drawArrivalRateCurve(List<Point> points, int width, int height) {
+            int maxRate = getMaxThreads();
+            int duration = getDuration();
+            ArrivalRateProfile profile = previewData.arrivalProfile;
+            if (profile == null || duration <= 0) {
+                return;
+            }
+            // 速率曲线是分段线性的，取起点、递增结束点和终点即可
+            double[] times = {0, Math.min(previewData.arrivalRampTime, duration), duration};
+            for (double t : times) {
+                int x = PADDING + (int) (width * t / duration);
+                int y = PADDING + height - (int) (height * profile.rateAt(t) / maxRate);
+                if (y < PADDING) y = PADDING + 5;
+                points.add(new Point(x, y));
+            }
+        }
+
         private void drawStairsCurve(List<Point> points, int width, int height) {
             int maxThreads = getMaxThreads();
             int duration = previewData.stairsDuration; // 总持续时间
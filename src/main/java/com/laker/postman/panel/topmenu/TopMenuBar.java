@@ -8,6 +8,7 @@ import com.laker.postman.common.SingletonFactory;
 import com.laker.postman.common.component.combobox.EnvironmentComboBox;
 import com.laker.postman.common.component.combobox.WorkspaceComboBox;
 import com.laker.postman.common.constants.ModernColors;
+import com.laker.postman.common.startup.StartupPipeline;
 import com.laker.postman.common.themes.SimpleThemeManager;
 import com.laker.postman.ioc.BeanFactory;
 import com.laker.postman.model.GitOperation;
@@ -38,6 +39,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import static com.laker.postman.util.SystemUtil.getCurrentVersion;
 
@@ -301,10 +303,31 @@ public class TopMenuBar extends SingletonBaseMenuBar {
         JMenuItem feedbackMenuItem = new JMenuItem(I18nUtil.getMessage(MessageKeys.MENU_HELP_FEEDBACK));
         feedbackMenuItem.addActionListener(e -> showFeedbackDialog());
         helpMenu.add(feedbackMenuItem);
+        JMenuItem startupTimingsMenuItem = new JMenuItem(I18nUtil.getMessage(MessageKeys.MENU_HELP_STARTUP_TIMINGS));
+        startupTimingsMenuItem.addActionListener(e -> showStartupTimingsDialog());
+        helpMenu.add(startupTimingsMenuItem);
 
         add(helpMenu);
     }
 
+    /**
+     * 显示最近一次启动各阶段的耗时，便于发现启动变慢
+     */
+    private void showStartupTimingsDialog() {
+        List<StartupPipeline.StageTiming> timings = StartupPipeline.getLastTimings();
+        if (timings.isEmpty()) {
+            JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(this),
+                    I18nUtil.getMessage(MessageKeys.STARTUP_TIMINGS_EMPTY),
+                    I18nUtil.getMessage(MessageKeys.STARTUP_TIMINGS_TITLE), JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        JTextArea textArea = new JTextArea(StartupPipeline.format(timings));
+        textArea.setEditable(false);
+        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, FontsUtil.getDefaultFont(Font.PLAIN).getSize()));
+        JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(this), new JScrollPane(textArea),
+                I18nUtil.getMessage(MessageKeys.STARTUP_TIMINGS_TITLE), JOptionPane.PLAIN_MESSAGE);
+    }
+
     private void showFeedbackDialog() {
         JOptionPane.showMessageDialog(null, I18nUtil.getMessage(MessageKeys.FEEDBACK_MESSAGE),
                 I18nUtil.getMessage(MessageKeys.FEEDBACK_TITLE), JOptionPane.INFORMATION_MESSAGE);
@@ -18,6 +18,14 @@ public class PerformanceSettingsPanelModern extends ModernSettingsPanel {
     private JTextField jmeterMaxIdleField;
     private JTextField jmeterKeepAliveField;
     private JTextField trendSamplingField;
+    private JTextField resultMaxRowsField;
+    private JTextField resultMemoryRowsField;
+    private JTextField resultSampleRateField;
+    private JCheckBox waitForJsWarmUpCheckBox;
+    private JCheckBox dnsCacheCheckBox;
+    private JTextField dnsTtlField;
+    private JTextField dnsNegativeTtlField;
+    private JTextField dnsHostsField;
 
     @Override
     protected void buildContent(JPanel contentPanel) {
@@ -58,6 +66,86 @@ public class PerformanceSettingsPanelModern extends ModernSettingsPanel {
                 trendSamplingField
         );
         jmeterSection.add(trendSamplingRow);
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        // 结果表行数上限
+        resultMaxRowsField = new JTextField(10);
+        resultMaxRowsField.setText(String.valueOf(SettingManager.getPerformanceResultMaxRows()));
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_MAX_ROWS),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_MAX_ROWS_TOOLTIP),
+                resultMaxRowsField
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        // 内存中保留完整结果的行数
+        resultMemoryRowsField = new JTextField(10);
+        resultMemoryRowsField.setText(String.valueOf(SettingManager.getPerformanceResultMemoryRows()));
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_MEMORY_ROWS),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_MEMORY_ROWS_TOOLTIP),
+                resultMemoryRowsField
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        // 成功结果采样率
+        resultSampleRateField = new JTextField(10);
+        resultSampleRateField.setText(String.valueOf(SettingManager.getPerformanceResultSuccessSampleRate()));
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_SAMPLE_RATE),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_RESULT_SAMPLE_RATE_TOOLTIP),
+                resultSampleRateField
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        // 等待 JS 预热后再开始测量
+        waitForJsWarmUpCheckBox = new JCheckBox(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_WAIT_JS_WARM_UP),
+                SettingManager.isPerformanceWaitForJsWarmUp()
+        );
+        jmeterSection.add(createCheckBoxRow(
+                waitForJsWarmUpCheckBox,
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_WAIT_JS_WARM_UP_TOOLTIP)
+        ));
+
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        // 压测 DNS 缓存
+        dnsCacheCheckBox = new JCheckBox(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_CACHE),
+                SettingManager.isPerformanceDnsCacheEnabled()
+        );
+        jmeterSection.add(createCheckBoxRow(
+                dnsCacheCheckBox,
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_CACHE_TOOLTIP)
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        dnsTtlField = new JTextField(10);
+        dnsTtlField.setText(String.valueOf(SettingManager.getPerformanceDnsCacheTtlSeconds()));
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_TTL),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_TTL_TOOLTIP),
+                dnsTtlField
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        dnsNegativeTtlField = new JTextField(10);
+        dnsNegativeTtlField.setText(String.valueOf(SettingManager.getPerformanceDnsNegativeTtlSeconds()));
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_NEGATIVE_TTL),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_NEGATIVE_TTL_TOOLTIP),
+                dnsNegativeTtlField
+        ));
+        jmeterSection.add(createVerticalSpace(FIELD_SPACING));
+
+        dnsHostsField = new JTextField(20);
+        dnsHostsField.setText(SettingManager.getPerformanceDnsHosts());
+        jmeterSection.add(createFieldRow(
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_HOSTS),
+                I18nUtil.getMessage(MessageKeys.SETTINGS_JMETER_DNS_HOSTS_TOOLTIP),
+                dnsHostsField
+        ));
 
         contentPanel.add(jmeterSection);
         contentPanel.add(createVerticalSpace(SECTION_SPACING));
@@ -68,6 +156,14 @@ public class PerformanceSettingsPanelModern extends ModernSettingsPanel {
         trackComponentValue(jmeterMaxIdleField);
         trackComponentValue(jmeterKeepAliveField);
         trackComponentValue(trendSamplingField);
+        trackComponentValue(resultMaxRowsField);
+        trackComponentValue(resultMemoryRowsField);
+        trackComponentValue(resultSampleRateField);
+        trackComponentValue(waitForJsWarmUpCheckBox);
+        trackComponentValue(dnsCacheCheckBox);
+        trackComponentValue(dnsTtlField);
+        trackComponentValue(dnsNegativeTtlField);
+        trackComponentValue(dnsHostsField);
     }
 
     private void setupValidators() {
@@ -86,6 +182,14 @@ public class PerformanceSettingsPanelModern extends ModernSettingsPanel {
                 this::isValidTrendSamplingInterval,
                 I18nUtil.getMessage(MessageKeys.SETTINGS_VALIDATION_TREND_SAMPLING_ERROR)
         );
+        for (JTextField field : new JTextField[]{resultMaxRowsField, resultMemoryRowsField, resultSampleRateField,
+                dnsTtlField, dnsNegativeTtlField}) {
+            setupValidator(
+                    field,
+                    this::isPositiveInteger,
+                    I18nUtil.getMessage(MessageKeys.SETTINGS_VALIDATION_POSITIVE_INTEGER_ERROR)
+            );
+        }
     }
 
     private boolean isValidTrendSamplingInterval(String value) {
@@ -144,12 +248,28 @@ public class PerformanceSettingsPanelModern extends ModernSettingsPanel {
             SettingManager.setJmeterMaxIdleConnections(Integer.parseInt(jmeterMaxIdleField.getText().trim()));
             SettingManager.setJmeterKeepAliveSeconds(Integer.parseInt(jmeterKeepAliveField.getText().trim()));
             SettingManager.setTrendSamplingIntervalSeconds(Integer.parseInt(trendSamplingField.getText().trim()));
+            SettingManager.setPerformanceResultMaxRows(Integer.parseInt(resultMaxRowsField.getText().trim()));
+            SettingManager.setPerformanceResultMemoryRows(Integer.parseInt(resultMemoryRowsField.getText().trim()));
+            SettingManager.setPerformanceResultSuccessSampleRate(Integer.parseInt(resultSampleRateField.getText().trim()));
+            SettingManager.setPerformanceWaitForJsWarmUp(waitForJsWarmUpCheckBox.isSelected());
+            SettingManager.setPerformanceDnsCacheEnabled(dnsCacheCheckBox.isSelected());
+            SettingManager.setPerformanceDnsCacheTtlSeconds(Integer.parseInt(dnsTtlField.getText().trim()));
+            SettingManager.setPerformanceDnsNegativeTtlSeconds(Integer.parseInt(dnsNegativeTtlField.getText().trim()));
+            SettingManager.setPerformanceDnsHosts(dnsHostsField.getText());
 
             // 重新跟踪当前值
             originalValues.clear();
             trackComponentValue(jmeterMaxIdleField);
             trackComponentValue(jmeterKeepAliveField);
             trackComponentValue(trendSamplingField);
+            trackComponentValue(resultMaxRowsField);
+            trackComponentValue(resultMemoryRowsField);
+            trackComponentValue(resultSampleRateField);
+            trackComponentValue(waitForJsWarmUpCheckBox);
+            trackComponentValue(dnsCacheCheckBox);
+            trackComponentValue(dnsTtlField);
+            trackComponentValue(dnsNegativeTtlField);
+            trackComponentValue(dnsHostsField);
             setHasUnsavedChanges(false);
 
             NotificationUtil.showSuccess(I18nUtil.getMessage(MessageKeys.SETTINGS_SAVE_SUCCESS_MESSAGE));
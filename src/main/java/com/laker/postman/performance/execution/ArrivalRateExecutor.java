@@ -0,0 +1,123 @@
+package com.laker.postman.performance.execution;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 开放模型执行器：按 {@link ArrivalRateProfile} 的计划时刻触发迭代
+ * <p>
+ * 调度由调用线程完成，基于 {@link System#nanoTime()} 和 {@link LockSupport#parkNanos(long)}，
+ * 每次迭代的计划时刻由曲线直接算出，不会因为调度延迟而累积漂移。
+ * 迭代交给有界的虚拟用户池执行：服务端变慢时不会降低发起速率；
+ * 用户池耗尽时该次迭代被丢弃并计入 dropped，而不是排队延后（避免协调遗漏）。
+ * </p>
+ */
+@Slf4j
+public class ArrivalRateExecutor {
+
+    private final ArrivalRateProfile profile;
+    private final ExecutorService workers;
+    private final Semaphore users;
+    private final BooleanSupplier running;
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private Runnable onDropped = () -> {
+    };
+
+    /**
+     * @param profile  到达率曲线
+     * @param workers  执行迭代的线程池（可以是虚拟线程）
+     * @param maxUsers 同时执行中的最大迭代数（虚拟用户池大小）
+     * @param running  返回 false 时停止调度
+     */
+    public ArrivalRateExecutor(ArrivalRateProfile profile, ExecutorService workers, int maxUsers, BooleanSupplier running) {
+        this.profile = profile;
+        this.workers = workers;
+        this.users = new Semaphore(Math.max(1, maxUsers));
+        this.running = running;
+    }
+
+    /**
+     * 每丢弃一次迭代时回调，例如用于累计统计
+     */
+    public ArrivalRateExecutor onDropped(Runnable onDropped) {
+        this.onDropped = onDropped;
+        return this;
+    }
+
+    /**
+     * 在当前线程上执行调度，直到测试持续时间结束或 running 返回 false
+     * 返回时已不再触发新的迭代，但已触发的迭代可能仍在执行
+     *
+     * @param iteration 一次迭代的内容，参数为该迭代的计划触发时刻（System.nanoTime 基准）
+     */
+    public void run(IterationTask iteration) {
+        long startNanos = System.nanoTime();
+        for (long n = 0; running.getAsBoolean(); n++) {
+            long offset = profile.fireOffsetNanos(n);
+            if (offset < 0) {
+                break;
+            }
+            long scheduledNanos = startNanos + offset;
+            if (!parkUntil(scheduledNanos)) {
+                break;
+            }
+            if (!users.tryAcquire()) {
+                dropped.incrementAndGet();
+                onDropped.run();
+                continue;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        iteration.run(scheduledNanos);
+                    } finally {
+                        users.release();
+                    }
+                });
+                started.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                // 线程池已关闭（例如用户点击了停止）
+                users.release();
+                log.debug("到达率调度已停止: {}", e.getMessage());
+                break;
+            }
+        }
+    }
+
+    /**
+     * 休眠到指定时刻；期间 running 变为 false 或线程被中断时返回 false
+     */
+    private boolean parkUntil(long deadlineNanos) {
+        while (true) {
+            if (!running.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return true;
+            }
+            // 分段休眠，保证停止时能及时响应
+            LockSupport.parkNanos(Math.min(remaining, 100_000_000L));
+        }
+    }
+
+    public long getStartedIterations() {
+        return started.get();
+    }
+
+    public long getDroppedIterations() {
+        return dropped.get();
+    }
+
+    @FunctionalInterface
+    public interface IterationTask {
+        void run(long scheduledNanos);
+    }
+}
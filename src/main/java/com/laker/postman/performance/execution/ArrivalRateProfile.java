@@ -0,0 +1,84 @@
+package com.laker.postman.performance.execution;
+
+/**
+ * 到达率曲线：在 rampSeconds 内从 startRate 线性变化到 targetRate，之后保持 targetRate，直到 durationSeconds 结束
+ * <p>
+ * 恒定到达率即 startRate == targetRate 且 rampSeconds == 0 的特例。
+ * 第 n 次迭代（从 0 开始）的计划触发时间是累计迭代数 N(t) 首次达到 n 的时刻，
+ * 直接解析求解，不随运行时间累积误差。
+ * </p>
+ */
+public class ArrivalRateProfile {
+
+    private final double startRate;
+    private final double targetRate;
+    private final double rampSeconds;
+    private final double durationSeconds;
+    /**
+     * 递增阶段结束时的累计迭代数 N(T)
+     */
+    private final double rampIterations;
+
+    public ArrivalRateProfile(double startRate, double targetRate, int rampSeconds, int durationSeconds) {
+        this.startRate = Math.max(0, startRate);
+        this.targetRate = Math.max(0, targetRate);
+        this.durationSeconds = Math.max(0, durationSeconds);
+        this.rampSeconds = Math.min(Math.max(0, rampSeconds), this.durationSeconds);
+        this.rampIterations = (this.startRate + this.targetRate) * this.rampSeconds / 2;
+    }
+
+    public static ArrivalRateProfile constant(int rate, int durationSeconds) {
+        return new ArrivalRateProfile(rate, rate, 0, durationSeconds);
+    }
+
+    public static ArrivalRateProfile ramping(int startRate, int targetRate, int rampSeconds, int durationSeconds) {
+        return new ArrivalRateProfile(startRate, targetRate, rampSeconds, durationSeconds);
+    }
+
+    /**
+     * 第 n 次迭代相对开始时间的计划触发时刻（纳秒）
+     *
+     * @return 计划时刻；超出测试持续时间或速率为 0 永远不会触发时返回 -1
+     */
+    public long fireOffsetNanos(long n) {
+        double seconds = fireOffsetSeconds(n);
+        if (Double.isNaN(seconds) || seconds >= durationSeconds) {
+            return -1;
+        }
+        return (long) (seconds * 1_000_000_000L);
+    }
+
+    private double fireOffsetSeconds(long n) {
+        if (n <= rampIterations && rampSeconds > 0) {
+            // N(t) = s*t + a*t^2/2，a = (e - s) / T
+            double a = (targetRate - startRate) / rampSeconds;
+            if (Math.abs(a) < 1e-12) {
+                return startRate > 0 ? n / startRate : Double.NaN;
+            }
+            double discriminant = startRate * startRate + 2 * a * n;
+            return (-startRate + Math.sqrt(Math.max(0, discriminant))) / a;
+        }
+        if (targetRate <= 0) {
+            return Double.NaN;
+        }
+        return rampSeconds + (n - rampIterations) / targetRate;
+    }
+
+    /**
+     * 整个测试期间计划的迭代总数
+     */
+    public long totalIterations() {
+        double holdSeconds = durationSeconds - rampSeconds;
+        return (long) Math.ceil(rampIterations + targetRate * holdSeconds);
+    }
+
+    /**
+     * 指定时刻的目标速率（次/秒），用于预览
+     */
+    public double rateAt(double seconds) {
+        if (seconds < rampSeconds) {
+            return startRate + (targetRate - startRate) * seconds / rampSeconds;
+        }
+        return targetRate;
+    }
+}
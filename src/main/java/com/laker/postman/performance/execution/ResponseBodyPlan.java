@@ -0,0 +1,71 @@
+package com.laker.postman.performance.execution;
+
+import com.laker.postman.model.ResponseBodyMode;
+import com.laker.postman.panel.performance.assertion.AssertionData;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 压测请求节点的响应体消费计划，压测开始前按节点的断言和脚本确定一次
+ * <ul>
+ *     <li>有后置脚本，或 JSONPath 断言用到多个不同路径：需要完整响应体</li>
+ *     <li>有 Contains 断言或只用到一个路径的 JSONPath 断言：流式匹配</li>
+ *     <li>只有响应码/耗时断言：只保留长度和摘要，失败结果仍可区分不同的响应</li>
+ *     <li>没有断言和后置脚本：读取后直接丢弃</li>
+ * </ul>
+ */
+@Getter
+public final class ResponseBodyPlan {
+
+    public static final ResponseBodyPlan FULL = new ResponseBodyPlan(ResponseBodyMode.FULL, List.of(), null);
+
+    private static final String TYPE_CONTAINS = "Contains";
+    private static final String TYPE_JSON_PATH = "JSONPath";
+
+    private final ResponseBodyMode mode;
+    /**
+     * 流式匹配的 Contains 断言内容
+     */
+    private final List<String> containsTexts;
+    /**
+     * 流式求值的 JSONPath，没有 JSONPath 断言时为 null
+     */
+    private final String jsonPath;
+
+    private ResponseBodyPlan(ResponseBodyMode mode, List<String> containsTexts, String jsonPath) {
+        this.mode = mode;
+        this.containsTexts = containsTexts;
+        this.jsonPath = jsonPath;
+    }
+
+    /**
+     * @param assertions    节点下已启用的断言
+     * @param hasPostScript 是否有后置脚本
+     */
+    public static ResponseBodyPlan of(Collection<AssertionData> assertions, boolean hasPostScript) {
+        if (hasPostScript) {
+            return FULL;
+        }
+        List<String> containsTexts = new ArrayList<>();
+        String jsonPath = null;
+        for (AssertionData assertion : assertions) {
+            if (TYPE_JSON_PATH.equals(assertion.type)) {
+                // 流式匹配一次只能求值一个路径，多个路径时解析一次节点树供所有断言复用
+                if (jsonPath != null && !jsonPath.equals(assertion.value)) {
+                    return FULL;
+                }
+                jsonPath = assertion.value;
+            }
+            if (TYPE_CONTAINS.equals(assertion.type) && assertion.content != null) {
+                containsTexts.add(assertion.content);
+            }
+        }
+        if (!containsTexts.isEmpty() || jsonPath != null) {
+            return new ResponseBodyPlan(ResponseBodyMode.STREAMING_ASSERT, List.copyOf(containsTexts), jsonPath);
+        }
+        return new ResponseBodyPlan(assertions.isEmpty() ? ResponseBodyMode.DISCARD : ResponseBodyMode.DIGEST, List.of(), null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.laker.postman.performance.execution;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持（JDK 21+）
+ * <p>
+ * 项目以 Java 17 为编译目标，因此通过反射调用 {@code Thread.ofVirtual()}。
+ * 运行时 JDK 不支持虚拟线程时 {@link #isSupported()} 返回 false，调用方应回退到平台线程。
+ * </p>
+ */
+@Slf4j
+public final class VirtualThreadSupport {
+
+    /**
+     * 虚拟线程的载体线程类名（ForkJoinPool 中承载虚拟线程的平台线程）
+     */
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Virtual threads are not available on this JVM: {}", e.getMessage());
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+    }
+
+    private VirtualThreadSupport() {
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 创建虚拟线程工厂，线程名为 prefix-1、prefix-2 ...
+     *
+     * @return 虚拟线程工厂；不支持时返回 null
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix + "-", 1L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Failed to create virtual thread factory, falling back to platform threads: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 统计当前存活的载体线程数（即实际承载虚拟线程的平台线程数）
+     * 只枚举平台线程，不会抓取线程栈，可在采样定时器中调用
+     */
+    public static int getCarrierThreadCount() {
+        if (!isSupported()) {
+            return 0;
+        }
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count = root.enumerate(threads, true);
+        int carriers = 0;
+        for (int i = 0; i < count; i++) {
+            if (CARRIER_THREAD_CLASS.equals(threads[i].getClass().getName())) {
+                carriers++;
+            }
+        }
+        return carriers;
+    }
+}
@@ -0,0 +1,268 @@
+package com.laker.postman.performance.result;
+
+import com.laker.postman.util.SystemUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 只追加的磁盘记录存储，用于保存压测结果表中移出内存窗口的历史结果
+ * <p>
+ * 记录依次写入固定大小的内存映射段文件（长度 + 字节），按记录号随机读取，
+ * 内存中只保留每条记录的位置（8 字节）。段文件位于应用数据目录下的 perf-results 中，每个存储一个子目录，
+ * close 时解除映射并删除；异常退出遗留的目录由下次启动时的 {@link #deleteStaleStores()} 清理。
+ * 写入和读取可以来自不同线程，方法内部同步。
+ * </p>
+ */
+@Slf4j
+public class ResultSegmentStore implements Closeable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 32 * 1024 * 1024;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final Path ROOT_DIR = Paths.get(SystemUtil.getUserHomeEasyPostmanPath(), "perf-results");
+    private static final String STORE_DIR_PREFIX = "results-";
+    /**
+     * 存储使用期间持有该文件的锁，清理时跳过仍被其他进程使用的目录
+     */
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path dir;
+    private final int segmentSize;
+    private FileChannel lockChannel;
+    private final List<Segment> segments = new ArrayList<>();
+    /**
+     * 记录位置：高 32 位为段序号，低 32 位为段内偏移
+     */
+    private long[] positions = new long[1024];
+    private int count;
+    private boolean closed;
+
+    public ResultSegmentStore() throws IOException {
+        this(Files.createTempDirectory(Files.createDirectories(ROOT_DIR), STORE_DIR_PREFIX), DEFAULT_SEGMENT_SIZE);
+    }
+
+    ResultSegmentStore(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lockChannel.lock();
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 删除之前异常退出时遗留的存储目录，仍被其他进程锁定的目录保留（启动时调用）
+     *
+     * @return 删除的目录数量
+     */
+    public static int deleteStaleStores() {
+        return deleteStaleStores(ROOT_DIR);
+    }
+
+    static int deleteStaleStores(Path root) {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, STORE_DIR_PREFIX + "*")) {
+            for (Path storeDir : dirs) {
+                if (Files.isDirectory(storeDir) && deleteIfUnlocked(storeDir)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理遗留的结果缓存目录失败: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("已清理 {} 个遗留的结果缓存目录", deleted);
+        }
+        return deleted;
+    }
+
+    private static boolean deleteIfUnlocked(Path storeDir) {
+        try (FileChannel channel = FileChannel.open(storeDir.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                return false;
+            }
+            if (lock == null) {
+                return false;
+            }
+            try {
+                deleteFiles(storeDir, true);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            log.debug("清理结果缓存目录失败: {}", storeDir, e);
+            return false;
+        }
+        // 锁文件要在通道关闭后才能在 Windows 上删除
+        try {
+            Files.deleteIfExists(storeDir.resolve(LOCK_FILE));
+            Files.deleteIfExists(storeDir);
+            return true;
+        } catch (IOException e) {
+            log.debug("删除结果缓存目录失败: {}", storeDir, e);
+            return false;
+        }
+    }
+
+    /**
+     * 删除目录下的文件，keepLock 为 true 时保留锁文件
+     */
+    private static void deleteFiles(Path storeDir, boolean keepLock) throws IOException {
+        try (Stream<Path> files = Files.list(storeDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!keepLock || !LOCK_FILE.equals(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @return 记录号，从 0 开始连续递增
+     */
+    public synchronized int append(byte[] data) throws IOException {
+        if (closed) {
+            throw new IOException("Store is closed");
+        }
+        int required = LENGTH_BYTES + data.length;
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < required) {
+            segment = newSegment(Math.max(segmentSize, required));
+        }
+        int offset = segment.writePos;
+        segment.buffer.putInt(offset, data.length);
+        segment.buffer.put(offset + LENGTH_BYTES, data);
+        segment.writePos += required;
+
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[count] = ((long) (segments.size() - 1) << 32) | (offset & 0xFFFFFFFFL);
+        return count++;
+    }
+
+    /**
+     * 读取指定记录
+     *
+     * @return 记录内容；记录号不存在或存储已关闭时返回 null
+     */
+    public synchronized byte[] read(int index) {
+        if (closed || index < 0 || index >= count) {
+            return null;
+        }
+        long position = positions[index];
+        Segment segment = segments.get((int) (position >>> 32));
+        int offset = (int) position;
+        int length = segment.buffer.getInt(offset);
+        byte[] data = new byte[length];
+        segment.buffer.get(offset + LENGTH_BYTES, data);
+        return data;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    private Segment newSegment(int size) throws IOException {
+        Path file = dir.resolve("segment-" + segments.size() + ".dat");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 映射在通道关闭后依然有效
+            Segment segment = new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+    /**
+     * 解除映射并删除段文件和目录
+     * <p>
+     * 先去掉对映射缓冲区的引用并显式解除映射，Windows 上映射中的文件无法删除；
+     * 仍然删除失败的目录由下次启动时的 {@link #deleteStaleStores()} 清理。
+     * </p>
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<Segment> mapped = new ArrayList<>(segments);
+        segments.clear();
+        positions = new long[0];
+        count = 0;
+        for (Segment segment : mapped) {
+            unmap(segment.buffer);
+        }
+        mapped.clear();
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.debug("释放结果缓存目录锁失败: {}", dir, e);
+        }
+        try {
+            deleteFiles(dir, false);
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.debug("删除结果缓存目录失败，下次启动时清理: {}", dir, e);
+        }
+    }
+
+    /**
+     * 立即解除映射（Unsafe.invokeCleaner），不可用时只能等 GC 回收缓冲区
+     * 调用后不能再访问该缓冲区，close 已在同步块内把所有读写关闭
+     */
+    private static void unmap(ByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(field.get(null), buffer);
+        } catch (Exception e) {
+            log.debug("解除结果缓存映射失败: {}", e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private int writePos;
+
+        Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.capacity() - writePos;
+        }
+    }
+}
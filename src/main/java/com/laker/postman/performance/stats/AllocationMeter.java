@@ -0,0 +1,49 @@
+package com.laker.postman.performance.stats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 当前线程已分配内存的读取工具，用于统计每次请求分配的内存
+ * <p>
+ * 依赖 HotSpot 的 {@link com.sun.management.ThreadMXBean}；不支持或虚拟线程上返回 -1，调用方应跳过统计。
+ * </p>
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = resolveThreadBean();
+
+    private AllocationMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean resolveThreadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean hotspotBean
+                && hotspotBean.isThreadAllocatedMemorySupported()
+                && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+            return hotspotBean;
+        }
+        return null;
+    }
+
+    /**
+     * 当前线程累计分配的字节数，不可用时返回 -1
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 自 {@code before} 以来当前线程分配的字节数，任一读数不可用时返回 -1
+     */
+    public static long allocatedSince(long before) {
+        if (before < 0) {
+            return -1;
+        }
+        long now = currentThreadAllocatedBytes();
+        return now < 0 ? -1 : now - before;
+    }
+}
@@ -0,0 +1,27 @@
+package com.laker.postman.performance.stats;
+
+import com.laker.postman.model.HttpPhaseTimings;
+
+/**
+ * 压测报表统计的 HTTP 请求阶段
+ */
+public enum HttpPhase {
+    DNS,
+    CONNECT,
+    TLS,
+    TTFB,
+    DOWNLOAD;
+
+    /**
+     * 该阶段的耗时（纳秒），本次请求未经历该阶段时为 -1
+     */
+    public long nanos(HttpPhaseTimings timings) {
+        return switch (this) {
+            case DNS -> timings.dnsNanos();
+            case CONNECT -> timings.connectNanos();
+            case TLS -> timings.tlsNanos();
+            case TTFB -> timings.ttfbNanos();
+            case DOWNLOAD -> timings.downloadNanos();
+        };
+    }
+}
@@ -0,0 +1,203 @@
+package com.laker.postman.performance.stats;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定内存的高动态范围（HDR）延迟直方图，单位毫秒
+ * <p>
+ * 采用对数-线性分桶：每个 2 的幂区间再均分为 {@link #SUB_BUCKET_HALF_COUNT} 个子桶，
+ * 0~255ms 精确记录，更大的值相对误差不超过 1/128（约 0.8%）。
+ * 无论记录多少样本，内存固定为 {@link #COUNTS_LENGTH} 个 long，百分位查询为常数时间。
+ * </p>
+ * 本类不是线程安全的，并发记录请使用 {@link LatencyRecorder}，本类作为其合并后的快照。
+ */
+public class LatencyHistogram {
+
+    /**
+     * 可记录的最大值（1 小时），超出的值按最大值记录
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = 3_600_000L;
+
+    static final int SUB_BUCKET_COUNT = 256;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1L;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+    static final int COUNTS_LENGTH = computeCountsLength();
+
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[COUNTS_LENGTH];
+    }
+
+    LatencyHistogram(long[] counts, long totalCount, long sum, long min, long max) {
+        this.counts = counts;
+        this.totalCount = totalCount;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    private static int computeCountsLength() {
+        long smallestUntrackableValue = SUB_BUCKET_COUNT;
+        int bucketsNeeded = 1;
+        while (smallestUntrackableValue <= HIGHEST_TRACKABLE_VALUE) {
+            smallestUntrackableValue <<= 1;
+            bucketsNeeded++;
+        }
+        return (bucketsNeeded + 1) * SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * 把值规整到可记录范围内
+     */
+    static long clamp(long value) {
+        if (value < 0) {
+            return 0;
+        }
+        return Math.min(value, HIGHEST_TRACKABLE_VALUE);
+    }
+
+    /**
+     * 计算值对应的计数数组下标
+     */
+    static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        int bucketBaseIndex = (bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+        return bucketBaseIndex + subBucketIndex - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * 计数数组下标对应桶的最小值
+     */
+    static long valueFromIndex(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    /**
+     * 计数数组下标对应桶的最大值（桶内所有值视为等价）
+     */
+    static long highestEquivalentValue(int index) {
+        long lowest = valueFromIndex(index);
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(lowest | SUB_BUCKET_MASK);
+        return lowest + (1L << bucketIndex) - 1;
+    }
+
+    public void recordValue(long value) {
+        recordValues(value, 1);
+    }
+
+    /**
+     * 记录同一个值多次
+     */
+    public void recordValues(long value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long v = clamp(value);
+        counts[countsIndex(v)] += count;
+        totalCount += count;
+        sum += v * count;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * 把另一个直方图合并到当前直方图
+     */
+    public void add(LatencyHistogram other) {
+        if (other == null || other.totalCount == 0) {
+            return;
+        }
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * 把并发记录中的原子计数直接累加到当前直方图，不经过中间副本
+     * 总数按实际读到的计数累加，使其与各桶之和保持一致
+     */
+    void addCounts(AtomicLongArray otherCounts, long otherSum, long otherMin, long otherMax) {
+        long added = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            long c = otherCounts.get(i);
+            if (c != 0) {
+                counts[i] += c;
+                added += c;
+            }
+        }
+        if (added == 0) {
+            return;
+        }
+        totalCount += added;
+        sum += otherSum;
+        min = Math.min(min, otherMin);
+        max = Math.max(max, otherMax);
+    }
+
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(Arrays.copyOf(counts, COUNTS_LENGTH), totalCount, sum, min, max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /**
+     * 获取指定百分位的值
+     *
+     * @param percentile 百分位，取值 0~100，例如 50、99、99.9、99.99
+     * @return 该百分位对应桶的最大值（不超过实际记录的最大值）
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0.0), 100.0);
+        // 减去极小量，避免 0.999 * 10000 这类浮点误差导致多取一个样本
+        long countAtPercentile = (long) Math.ceil(requested / 100.0 * totalCount - 1e-9);
+        countAtPercentile = Math.max(countAtPercentile, 1);
+        long running = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            running += counts[i];
+            if (running >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+}
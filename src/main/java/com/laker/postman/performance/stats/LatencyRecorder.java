@@ -0,0 +1,138 @@
+package com.laker.postman.performance.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 并发安全的延迟记录器
+ * <p>
+ * 内部按线程分条（stripe），每条是一份独立的原子计数直方图，记录时只对所在条做 CAS 自增，
+ * 不加锁；快照时再把各条直接累加到一个 {@link LatencyHistogram}。
+ * 分条数按 CPU 核数取 2 的幂并且不超过 {@link #MAX_STRIPES}，分条在第一次有线程写入时才创建，
+ * 因此只有少量线程记录的接口只占用一两条的内存，即使是数万个虚拟线程，内存上限也是固定的。
+ * </p>
+ */
+public class LatencyRecorder {
+
+    /**
+     * 分条数上限，超过 8 条后争用的减少已不明显，而每条都要占用一份完整的计数数组
+     */
+    static final int MAX_STRIPES = 8;
+
+    private static final int STRIPE_COUNT = stripeCount();
+
+    private final AtomicReferenceArray<Stripe> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+    private static int stripeCount() {
+        int n = Math.max(1, Runtime.getRuntime().availableProcessors());
+        int pow = Integer.highestOneBit(n);
+        if (pow < n) {
+            pow <<= 1;
+        }
+        return Math.min(pow, MAX_STRIPES);
+    }
+
+    public void record(long valueMs) {
+        stripe().record(LatencyHistogram.clamp(valueMs));
+    }
+
+    /**
+     * 记录一个样本，并按预期请求间隔补齐因协调遗漏而缺失的样本（与 HdrHistogram 的同名方法一致）
+     * <p>
+     * 闭环模型下一个用户在慢请求期间不会发出后续请求，这些请求本应经历的等待时间从未被记录。
+     * 当 value 大于 expectedIntervalMs 时，额外记录 value - interval、value - 2*interval …（不小于 interval 为止）。
+     * </p>
+     *
+     * @param expectedIntervalMs 该用户预期的请求间隔，小于等于 0 时等同于 {@link #record(long)}
+     */
+    public void recordWithExpectedInterval(long valueMs, long expectedIntervalMs) {
+        Stripe stripe = stripe();
+        long value = LatencyHistogram.clamp(valueMs);
+        stripe.record(value);
+        if (expectedIntervalMs <= 0) {
+            return;
+        }
+        for (long missing = value - expectedIntervalMs; missing >= expectedIntervalMs; missing -= expectedIntervalMs) {
+            stripe.record(missing);
+        }
+    }
+
+    /**
+     * 当前线程所在的分条，第一次使用时创建
+     */
+    private Stripe stripe() {
+        int index = stripeIndex();
+        Stripe stripe = stripes.get(index);
+        if (stripe == null) {
+            Stripe created = new Stripe();
+            stripe = stripes.compareAndExchange(index, null, created);
+            if (stripe == null) {
+                stripe = created;
+            }
+        }
+        return stripe;
+    }
+
+    private static int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32));
+        h ^= (h >>> 16);
+        return h & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * 合并所有分条，生成当前时刻的直方图快照
+     * 与记录并发执行时，快照可能只包含部分正在写入的样本，这对统计报表是可接受的
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            Stripe stripe = stripes.get(i);
+            if (stripe != null) {
+                stripe.addTo(merged);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 已创建的分条数
+     */
+    int allocatedStripes() {
+        int n = 0;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            if (stripes.get(i) != null) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static final class Stripe {
+        private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.COUNTS_LENGTH);
+        private final AtomicLong totalCount = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long value) {
+            counts.incrementAndGet(LatencyHistogram.countsIndex(value));
+            sum.addAndGet(value);
+            totalCount.incrementAndGet();
+            if (value < min.get()) {
+                min.accumulateAndGet(value, Math::min);
+            }
+            if (value > max.get()) {
+                max.accumulateAndGet(value, Math::max);
+            }
+        }
+
+        void addTo(LatencyHistogram target) {
+            if (totalCount.get() == 0) {
+                return;
+            }
+            target.addCounts(counts, sum.get(), min.get(), max.get());
+        }
+    }
+}
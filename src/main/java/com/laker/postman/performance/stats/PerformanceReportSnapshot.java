@@ -1,31 +1,40 @@
 package com.laker.postman.performance.stats;
 
-import com.laker.postman.panel.performance.model.RequestResult;
-
-import java.util.List;
 import java.util.Map;
 
 public class PerformanceReportSnapshot {
-    private final Map<String, List<Long>> apiCostMap;
+    private final Map<String, LatencyHistogram> apiLatencyMap;
     private final Map<String, Integer> apiSuccessMap;
     private final Map<String, Integer> apiFailMap;
-    private final List<Long> requestStartTimes;
-    private final List<RequestResult> requestResults;
+    private final Map<String, LatencyHistogram> apiCorrectedLatencyMap;
+    private final Map<String, Map<HttpPhase, LatencyHistogram>> apiPhaseLatencyMap;
+    private final int totalCount;
+    private final int successCount;
+    private final long firstStartTime;
+    private final long lastEndTime;
 
-    public PerformanceReportSnapshot(Map<String, List<Long>> apiCostMap,
+    public PerformanceReportSnapshot(Map<String, LatencyHistogram> apiLatencyMap,
                                     Map<String, Integer> apiSuccessMap,
                                     Map<String, Integer> apiFailMap,
-                                    List<Long> requestStartTimes,
-                                    List<RequestResult> requestResults) {
-        this.apiCostMap = apiCostMap;
+                                    Map<String, LatencyHistogram> apiCorrectedLatencyMap,
+                                    Map<String, Map<HttpPhase, LatencyHistogram>> apiPhaseLatencyMap,
+                                    int totalCount,
+                                    int successCount,
+                                    long firstStartTime,
+                                    long lastEndTime) {
+        this.apiLatencyMap = apiLatencyMap;
         this.apiSuccessMap = apiSuccessMap;
         this.apiFailMap = apiFailMap;
-        this.requestStartTimes = requestStartTimes;
-        this.requestResults = requestResults;
+        this.apiCorrectedLatencyMap = apiCorrectedLatencyMap;
+        this.apiPhaseLatencyMap = apiPhaseLatencyMap;
+        this.totalCount = totalCount;
+        this.successCount = successCount;
+        this.firstStartTime = firstStartTime;
+        this.lastEndTime = lastEndTime;
     }
 
-    public Map<String, List<Long>> getApiCostMap() {
-        return apiCostMap;
+    public Map<String, LatencyHistogram> getApiLatencyMap() {
+        return apiLatencyMap;
     }
 
     public Map<String, Integer> getApiSuccessMap() {
@@ -36,11 +45,39 @@ public class PerformanceReportSnapshot {
         return apiFailMap;
     }
 
-    public List<Long> getRequestStartTimes() {
-        return requestStartTimes;
+    /**
+     * 开启协调遗漏修正的接口的修正后耗时直方图，未开启的接口不在其中
+     */
+    public Map<String, LatencyHistogram> getApiCorrectedLatencyMap() {
+        return apiCorrectedLatencyMap;
+    }
+
+    /**
+     * 采集了阶段耗时的接口的各阶段耗时直方图，单位微秒
+     */
+    public Map<String, Map<HttpPhase, LatencyHistogram>> getApiPhaseLatencyMap() {
+        return apiPhaseLatencyMap;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * 最早的请求开始时间，没有请求时为 0
+     */
+    public long getFirstStartTime() {
+        return firstStartTime;
     }
 
-    public List<RequestResult> getRequestResults() {
-        return requestResults;
+    /**
+     * 最晚的请求结束时间，没有请求时为 0
+     */
+    public long getLastEndTime() {
+        return lastEndTime;
     }
 }
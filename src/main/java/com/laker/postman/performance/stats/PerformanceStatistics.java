@@ -1,105 +1,284 @@
 package com.laker.postman.performance.stats;
 
-import com.laker.postman.panel.performance.model.RequestResult;
+import com.laker.postman.model.HttpPhaseTimings;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 压测统计
+ * <p>
+ * 记录路径完全无锁：接口计数使用 LongAdder，耗时写入分条直方图，趋势数据写入按秒分桶的环形缓冲区。
+ * 不再保存每个请求的明细，内存占用与压测时长无关。
+ * 只有 reset 和报表快照需要加锁，保证快照期间不会被清空。
+ * </p>
+ */
 public class PerformanceStatistics {
-    private final List<Long> requestStartTimes = Collections.synchronizedList(new ArrayList<>());
-    private final List<RequestResult> requestResults = Collections.synchronizedList(new ArrayList<>());
-    private final Map<String, List<Long>> apiCostMap = new ConcurrentHashMap<>();
-    private final Map<String, Integer> apiSuccessMap = new ConcurrentHashMap<>();
-    private final Map<String, Integer> apiFailMap = new ConcurrentHashMap<>();
+    private static final HttpPhase[] PHASES = HttpPhase.values();
+    private final AtomicLong firstStartTime = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndTime = new AtomicLong();
+    private final LongAdder resultCount = new LongAdder();
+    private final LongAdder droppedIterations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationSamples = new LongAdder();
+    private final TrendRingBuffer trendBuffer = new TrendRingBuffer();
+    /**
+     * 协调遗漏修正后的趋势数据，只用到其中的耗时直方图；未开启修正时保持为空
+     */
+    private final TrendRingBuffer correctedTrendBuffer = new TrendRingBuffer();
+    /**
+     * 每个接口一份统计，记录路径只做 LongAdder / 分条直方图的无锁累加
+     */
+    private final Map<String, ApiStats> apiStatsMap = new ConcurrentHashMap<>();
     private final Object statsLock = new Object();
 
     public void reset() {
         synchronized (statsLock) {
-            requestStartTimes.clear();
-            requestResults.clear();
-            apiCostMap.clear();
-            apiSuccessMap.clear();
-            apiFailMap.clear();
+            firstStartTime.set(Long.MAX_VALUE);
+            lastEndTime.set(0);
+            resultCount.reset();
+            droppedIterations.reset();
+            allocatedBytes.reset();
+            allocationSamples.reset();
+            trendBuffer.reset();
+            correctedTrendBuffer.reset();
+            apiStatsMap.clear();
+        }
+    }
+
+    /**
+     * 压测开始前预注册接口，使记录路径只需一次无锁的 get
+     */
+    public void registerApi(String apiName) {
+        if (apiName != null) {
+            apiStatsMap.computeIfAbsent(apiName, k -> new ApiStats());
         }
     }
 
     public void recordStart(long startTime) {
-        requestStartTimes.add(startTime);
+        if (startTime < firstStartTime.get()) {
+            firstStartTime.accumulateAndGet(startTime, Math::min);
+        }
     }
 
     public void recordResult(String apiName, boolean success, long cost, long endTime) {
-        synchronized (statsLock) {
-            requestResults.add(new RequestResult(endTime, success, cost));
-            apiCostMap.computeIfAbsent(apiName, k -> Collections.synchronizedList(new ArrayList<>())).add(cost);
-            if (success) {
-                apiSuccessMap.merge(apiName, 1, Integer::sum);
-            } else {
-                apiFailMap.merge(apiName, 1, Integer::sum);
+        recordResult(apiName, success, cost, endTime, 0);
+    }
+
+    /**
+     * 记录一次请求结果
+     *
+     * @param expectedIntervalMs 该虚拟用户预期的请求间隔；大于 0 时额外按此间隔补齐协调遗漏的样本，
+     *                           写入修正后的直方图，原始统计不受影响
+     */
+    public void recordResult(String apiName, boolean success, long cost, long endTime, long expectedIntervalMs) {
+        resultCount.increment();
+        if (endTime > lastEndTime.get()) {
+            lastEndTime.accumulateAndGet(endTime, Math::max);
+        }
+        trendBuffer.record(endTime, success, cost);
+        ApiStats stats = apiStatsMap.get(apiName);
+        if (stats == null) {
+            // 未预注册的接口（例如运行中修改了树）才走 computeIfAbsent
+            stats = apiStatsMap.computeIfAbsent(apiName, k -> new ApiStats());
+        }
+        stats.record(success, cost);
+        if (expectedIntervalMs > 0) {
+            stats.correctedRecorder().recordWithExpectedInterval(cost, expectedIntervalMs);
+            // 与 LatencyRecorder.recordWithExpectedInterval 一致：先记录真实耗时，再补齐缺失的样本
+            correctedTrendBuffer.record(endTime, success, cost);
+            for (long missing = cost - expectedIntervalMs; missing >= expectedIntervalMs; missing -= expectedIntervalMs) {
+                correctedTrendBuffer.record(endTime, success, missing);
             }
         }
     }
 
-    public int getResultCount() {
-        synchronized (statsLock) {
-            return requestResults.size();
+    /**
+     * 记录一次请求各阶段的耗时（微秒），未经历的阶段（如复用连接时的 DNS/连接/TLS）不记录
+     * 直方图上限按微秒计为 3.6 秒，更长的阶段按上限记录
+     */
+    public void recordPhases(String apiName, HttpPhaseTimings timings) {
+        ApiStats stats = apiStatsMap.get(apiName);
+        if (stats == null) {
+            stats = apiStatsMap.computeIfAbsent(apiName, k -> new ApiStats());
+        }
+        LatencyRecorder[] recorders = stats.phaseRecorders();
+        for (HttpPhase phase : PHASES) {
+            long nanos = phase.nanos(timings);
+            if (nanos >= 0) {
+                recorders[phase.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
         }
     }
 
-    public PerformanceReportSnapshot snapshotForReport() {
-        synchronized (statsLock) {
-            List<Long> startTimesCopy = new ArrayList<>(requestStartTimes);
-            List<RequestResult> resultsCopy = new ArrayList<>(requestResults);
-            Map<String, List<Long>> apiCostMapCopy = new HashMap<>();
-            for (Map.Entry<String, List<Long>> entry : apiCostMap.entrySet()) {
-                apiCostMapCopy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
-            }
-            Map<String, Integer> apiSuccessMapCopy = new HashMap<>(apiSuccessMap);
-            Map<String, Integer> apiFailMapCopy = new HashMap<>(apiFailMap);
-            return new PerformanceReportSnapshot(apiCostMapCopy, apiSuccessMapCopy, apiFailMapCopy, startTimesCopy, resultsCopy);
+    /**
+     * 接口当前的平均耗时（毫秒），尚无结果时为 0
+     * 用于未配置预期间隔时估算协调遗漏修正的间隔
+     */
+    public long getMeanLatency(String apiName) {
+        ApiStats stats = apiStatsMap.get(apiName);
+        return stats == null ? 0 : stats.mean();
+    }
+
+    public int getResultCount() {
+        return resultCount.intValue();
+    }
+
+    /**
+     * 到达率模式下用户池耗尽而未能发起的迭代
+     */
+    public void recordDroppedIteration() {
+        droppedIterations.increment();
+    }
+
+    public long getDroppedIterations() {
+        return droppedIterations.sum();
+    }
+
+    /**
+     * 记录一次请求在执行线程上分配的内存（字节）
+     */
+    public void recordAllocation(long bytes) {
+        if (bytes >= 0) {
+            allocatedBytes.add(bytes);
+            allocationSamples.increment();
         }
     }
 
-    public PerformanceTrendSnapshot snapshotForTrend(long windowStart, long windowEnd, int activeUsers, int samplingIntervalSeconds) {
-        int totalReq = 0;
-        int errorReq = 0;
-        long totalRespTime = 0;
-        long actualMinTime = Long.MAX_VALUE;
-        long actualMaxTime = 0;
+    /**
+     * 平均每次请求分配的内存（字节），没有样本（例如虚拟线程不支持统计）时为 -1
+     */
+    public long getAllocatedBytesPerRequest() {
+        long samples = allocationSamples.sum();
+        return samples == 0 ? -1 : allocatedBytes.sum() / samples;
+    }
+
+    public PerformanceReportSnapshot snapshotForReport() {
         synchronized (statsLock) {
-            for (RequestResult result : requestResults) {
-                if (result.endTime >= windowStart && result.endTime <= windowEnd) {
-                    totalReq++;
-                    if (!result.success) {
-                        errorReq++;
+            Map<String, LatencyHistogram> apiLatencyMapCopy = new LinkedHashMap<>();
+            Map<String, Integer> apiSuccessMapCopy = new HashMap<>();
+            Map<String, Integer> apiFailMapCopy = new HashMap<>();
+            Map<String, LatencyHistogram> apiCorrectedLatencyMapCopy = new HashMap<>();
+            Map<String, Map<HttpPhase, LatencyHistogram>> apiPhaseLatencyMapCopy = new LinkedHashMap<>();
+            int successCount = 0;
+            for (Map.Entry<String, ApiStats> entry : apiStatsMap.entrySet()) {
+                ApiStats stats = entry.getValue();
+                LatencyHistogram histogram = stats.latency.snapshot();
+                // 预注册但还没有结果的接口不出现在报表中
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                int success = (int) stats.success.sum();
+                apiLatencyMapCopy.put(entry.getKey(), histogram);
+                apiSuccessMapCopy.put(entry.getKey(), success);
+                apiFailMapCopy.put(entry.getKey(), (int) stats.fail.sum());
+                LatencyRecorder corrected = stats.corrected;
+                if (corrected != null) {
+                    apiCorrectedLatencyMapCopy.put(entry.getKey(), corrected.snapshot());
+                }
+                LatencyRecorder[] phases = stats.phases;
+                if (phases != null) {
+                    Map<HttpPhase, LatencyHistogram> phaseMap = new EnumMap<>(HttpPhase.class);
+                    for (HttpPhase phase : PHASES) {
+                        phaseMap.put(phase, phases[phase.ordinal()].snapshot());
                     }
-                    totalRespTime += result.responseTime;
-                    actualMinTime = Math.min(actualMinTime, result.endTime);
-                    actualMaxTime = Math.max(actualMaxTime, result.endTime);
+                    apiPhaseLatencyMapCopy.put(entry.getKey(), phaseMap);
                 }
+                successCount += success;
             }
+            long firstStart = firstStartTime.get();
+            return new PerformanceReportSnapshot(apiLatencyMapCopy, apiSuccessMapCopy, apiFailMapCopy,
+                    apiCorrectedLatencyMapCopy, apiPhaseLatencyMapCopy, resultCount.intValue(), successCount,
+                    firstStart == Long.MAX_VALUE ? 0 : firstStart, lastEndTime.get());
         }
+    }
+
+    /**
+     * 采样窗口 [windowStart, windowEnd) 内的趋势数据，只读取窗口覆盖的秒桶
+     */
+    public PerformanceTrendSnapshot snapshotForTrend(long windowStart, long windowEnd, int activeUsers, int samplingIntervalSeconds) {
+        TrendRingBuffer.Aggregate window = trendBuffer.aggregate(windowStart, windowEnd);
+        long totalReq = window.count;
 
         double avgRespTime = totalReq > 0
-                ? BigDecimal.valueOf((double) totalRespTime / totalReq)
+                ? BigDecimal.valueOf((double) window.sum / totalReq)
                 .setScale(2, RoundingMode.HALF_UP)
                 .doubleValue()
                 : 0;
+        double qps = totalReq > 0 ? totalReq / (double) samplingIntervalSeconds : 0;
+        double errorPercent = totalReq > 0 ? (double) window.errors / totalReq * 100 : 0;
+        long p99 = window.histogram.getValueAtPercentile(99);
+        TrendRingBuffer.Aggregate corrected = correctedTrendBuffer.aggregate(windowStart, windowEnd);
+        long correctedP99 = corrected.count > 0 ? corrected.histogram.getValueAtPercentile(99) : -1;
+        return new PerformanceTrendSnapshot(activeUsers, avgRespTime, qps, errorPercent, (int) totalReq, p99, correctedP99);
+    }
+
+    private static final class ApiStats {
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final LongAdder success = new LongAdder();
+        private final LongAdder fail = new LongAdder();
+        private final LongAdder costSum = new LongAdder();
+        /**
+         * 协调遗漏修正后的耗时，首次需要时才创建
+         */
+        private volatile LatencyRecorder corrected;
+        /**
+         * 各阶段耗时（微秒），按 {@link HttpPhase#ordinal()} 索引，首次采集到阶段耗时时才创建
+         */
+        private volatile LatencyRecorder[] phases;
 
-        double qps = 0;
-        if (totalReq > 0 && actualMaxTime > actualMinTime) {
-            long actualSpanMs = actualMaxTime - actualMinTime;
-            qps = totalReq * 1000.0 / actualSpanMs;
-        } else if (totalReq > 0) {
-            qps = totalReq / (double) samplingIntervalSeconds;
+        void record(boolean ok, long cost) {
+            latency.record(cost);
+            costSum.add(cost);
+            if (ok) {
+                success.increment();
+            } else {
+                fail.increment();
+            }
+        }
+
+        LatencyRecorder correctedRecorder() {
+            LatencyRecorder recorder = corrected;
+            if (recorder == null) {
+                synchronized (this) {
+                    recorder = corrected;
+                    if (recorder == null) {
+                        recorder = new LatencyRecorder();
+                        corrected = recorder;
+                    }
+                }
+            }
+            return recorder;
         }
 
-        double errorPercent = totalReq > 0 ? (double) errorReq / totalReq * 100 : 0;
-        return new PerformanceTrendSnapshot(activeUsers, avgRespTime, qps, errorPercent, totalReq);
+        LatencyRecorder[] phaseRecorders() {
+            LatencyRecorder[] recorders = phases;
+            if (recorders == null) {
+                synchronized (this) {
+                    recorders = phases;
+                    if (recorders == null) {
+                        recorders = new LatencyRecorder[PHASES.length];
+                        for (int i = 0; i < recorders.length; i++) {
+                            recorders[i] = new LatencyRecorder();
+                        }
+                        phases = recorders;
+                    }
+                }
+            }
+            return recorders;
+        }
+
+        long mean() {
+            long count = success.sum() + fail.sum();
+            return count == 0 ? 0 : costSum.sum() / count;
+        }
     }
 }
@@ -6,13 +6,23 @@ public class PerformanceTrendSnapshot {
     private final double qps;
     private final double errorPercent;
     private final int sampleCount;
+    private final long p99ResponseTime;
+    private final long correctedP99ResponseTime;
 
-    public PerformanceTrendSnapshot(int activeUsers, double avgResponseTime, double qps, double errorPercent, int sampleCount) {
+    public PerformanceTrendSnapshot(int activeUsers, double avgResponseTime, double qps, double errorPercent,
+                                    int sampleCount, long p99ResponseTime) {
+        this(activeUsers, avgResponseTime, qps, errorPercent, sampleCount, p99ResponseTime, -1);
+    }
+
+    public PerformanceTrendSnapshot(int activeUsers, double avgResponseTime, double qps, double errorPercent,
+                                    int sampleCount, long p99ResponseTime, long correctedP99ResponseTime) {
         this.activeUsers = activeUsers;
         this.avgResponseTime = avgResponseTime;
         this.qps = qps;
         this.errorPercent = errorPercent;
         this.sampleCount = sampleCount;
+        this.p99ResponseTime = p99ResponseTime;
+        this.correctedP99ResponseTime = correctedP99ResponseTime;
     }
 
     public int getActiveUsers() {
@@ -34,4 +44,15 @@ public class PerformanceTrendSnapshot {
     public int getSampleCount() {
         return sampleCount;
     }
+
+    public long getP99ResponseTime() {
+        return p99ResponseTime;
+    }
+
+    /**
+     * 协调遗漏修正后的 P99，窗口内没有修正数据时为 -1
+     */
+    public long getCorrectedP99ResponseTime() {
+        return correctedP99ResponseTime;
+    }
 }
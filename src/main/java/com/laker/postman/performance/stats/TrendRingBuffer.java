@@ -0,0 +1,156 @@
+package com.laker.postman.performance.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 趋势图采样用的按秒分桶环形缓冲区
+ * <p>
+ * 每个桶聚合一秒内结束的请求：数量、错误数、耗时总和、最小/最大耗时以及耗时直方图。
+ * 记录为 O(1) 无锁累加（仅在桶切换到新的一秒时短暂加锁一次），
+ * 查询只遍历采样窗口内的桶，与压测已运行的时长无关。
+ * </p>
+ */
+public class TrendRingBuffer {
+
+    /**
+     * 桶数量，需大于最大采样间隔（60 秒），取 2 的幂便于取模
+     */
+    static final int CAPACITY = 128;
+    private static final int MASK = CAPACITY - 1;
+
+    private final Bucket[] buckets = new Bucket[CAPACITY];
+
+    public TrendRingBuffer() {
+        for (int i = 0; i < CAPACITY; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    public void record(long endTimeMs, boolean success, long costMs) {
+        long second = Math.floorDiv(endTimeMs, 1000L);
+        Bucket bucket = buckets[(int) (second & MASK)];
+        if (bucket.second != second && !bucket.rotate(second)) {
+            // 比环形缓冲区还旧的结果，丢弃
+            return;
+        }
+        bucket.record(success, LatencyHistogram.clamp(costMs));
+    }
+
+    public void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * 汇总 [fromMs, toMs) 内已完整结束的秒桶
+     * 只统计完整的秒，相邻两次采样不会重复或遗漏同一个桶
+     */
+    public Aggregate aggregate(long fromMs, long toMs) {
+        Aggregate result = new Aggregate();
+        long firstSecond = Math.floorDiv(fromMs, 1000L);
+        long lastSecond = Math.floorDiv(toMs, 1000L) - 1;
+        // 窗口超出缓冲区容量时只取最近的部分
+        firstSecond = Math.max(firstSecond, lastSecond - CAPACITY + 1);
+        for (long s = firstSecond; s <= lastSecond; s++) {
+            Bucket bucket = buckets[(int) (s & MASK)];
+            if (bucket.second == s) {
+                bucket.addTo(result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一个采样窗口的汇总结果
+     */
+    public static class Aggregate {
+        public long count;
+        public long errors;
+        public long sum;
+        public long min = Long.MAX_VALUE;
+        public long max;
+        public final LatencyHistogram histogram = new LatencyHistogram();
+
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+    }
+
+    private static final class Bucket {
+        private volatile long second = -1;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.COUNTS_LENGTH);
+
+        /**
+         * 把桶切换到新的一秒；目标秒比当前桶更旧时返回 false
+         */
+        synchronized boolean rotate(long newSecond) {
+            if (second == newSecond) {
+                return true;
+            }
+            if (second > newSecond) {
+                return false;
+            }
+            resetCounters();
+            second = newSecond;
+            return true;
+        }
+
+        synchronized void clear() {
+            resetCounters();
+            second = -1;
+        }
+
+        private void resetCounters() {
+            count.reset();
+            errors.reset();
+            sum.reset();
+            min.set(Long.MAX_VALUE);
+            max.set(0);
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+        }
+
+        void record(boolean success, long cost) {
+            counts.incrementAndGet(LatencyHistogram.countsIndex(cost));
+            count.increment();
+            sum.add(cost);
+            if (!success) {
+                errors.increment();
+            }
+            if (cost < min.get()) {
+                min.accumulateAndGet(cost, Math::min);
+            }
+            if (cost > max.get()) {
+                max.accumulateAndGet(cost, Math::max);
+            }
+        }
+
+        void addTo(Aggregate target) {
+            long c = count.sum();
+            if (c == 0) {
+                return;
+            }
+            target.count += c;
+            target.errors += errors.sum();
+            target.sum += sum.sum();
+            target.min = Math.min(target.min, min.get());
+            target.max = Math.max(target.max, max.get());
+            long[] copy = new long[LatencyHistogram.COUNTS_LENGTH];
+            long copiedCount = 0;
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = counts.get(i);
+                copiedCount += copy[i];
+            }
+            target.histogram.add(new LatencyHistogram(copy, copiedCount, sum.sum(), min.get(), max.get()));
+        }
+    }
+}
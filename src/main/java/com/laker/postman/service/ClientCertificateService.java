@@ -4,7 +4,6 @@ import cn.hutool.core.io.FileUtil;
 import cn.hutool.json.JSONArray;
 import cn.hutool.json.JSONUtil;
 import com.laker.postman.ioc.Component;
-import com.laker.postman.ioc.PostConstruct;
 import com.laker.postman.model.ClientCertificate;
 import com.laker.postman.panel.sidebar.ConsolePanel;
 import com.laker.postman.util.I18nUtil;
@@ -28,12 +27,26 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class ClientCertificateService {
     private static final String CERT_CONFIG_FILE = SystemUtil.getUserHomeEasyPostmanPath() + "client_certificates.json";
     private static final List<ClientCertificate> certificates = new CopyOnWriteArrayList<>();
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
 
+    /**
+     * 首次使用前加载证书配置，启动时由后台阶段调用，Bean 创建本身不读文件
+     */
+    public void ensureLoaded() {
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
 
     /**
      * 从文件加载证书配置
      */
-    @PostConstruct
     public void load() {
         File file = new File(CERT_CONFIG_FILE);
         if (!file.exists()) {
@@ -80,6 +93,7 @@ public class ClientCertificateService {
      * 获取所有证书配置
      */
     public List<ClientCertificate> getAllCertificates() {
+        ensureLoaded();
         return new ArrayList<>(certificates);
     }
 
@@ -87,6 +101,7 @@ public class ClientCertificateService {
      * 添加证书配置
      */
     public void addCertificate(ClientCertificate cert) {
+        ensureLoaded();
         String id = cert.getId();
         if (id == null || id.isEmpty()) {
             cert.setId(UUID.randomUUID().toString());
@@ -102,6 +117,7 @@ public class ClientCertificateService {
      * 更新证书配置
      */
     public void updateCertificate(ClientCertificate cert) {
+        ensureLoaded();
         for (int i = 0; i < certificates.size(); i++) {
             if (certificates.get(i).getId().equals(cert.getId())) {
                 cert.setUpdatedAt(System.currentTimeMillis());
@@ -117,6 +133,7 @@ public class ClientCertificateService {
      * 删除证书配置
      */
     public void deleteCertificate(String id) {
+        ensureLoaded();
         certificates.removeIf(cert -> cert.getId().equals(id));
         save();
         log.info("Deleted client certificate: {}", id);
@@ -127,6 +144,7 @@ public class ClientCertificateService {
      * 返回第一个匹配的启用证书
      */
     public ClientCertificate findMatchingCertificate(String host, int port) {
+        ensureLoaded();
         for (ClientCertificate cert : certificates) {
             if (cert.matches(host, port)) {
                 log.debug("Found matching certificate for {}:{} - {}", host, port, cert.getName());
@@ -8,7 +8,6 @@ import com.laker.postman.model.Environment;
 import com.laker.postman.model.Workspace;
 import com.laker.postman.util.VariableUtil;
 import com.laker.postman.util.SystemUtil;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -29,11 +28,6 @@ public class EnvironmentService {
     }
 
     private static final Map<String, Environment> environments = Collections.synchronizedMap(new LinkedHashMap<>());
-    /**
-     * -- GETTER --
-     * 获取当前激活的环境
-     */
-    @Getter
     private static Environment activeEnvironment = null;
 
     private static final Pattern VAR_PATTERN = Pattern.compile("\\{\\{(.+?)}}");
@@ -46,8 +40,29 @@ public class EnvironmentService {
     // 当前数据文件路径
     private static String currentDataFilePath;
 
-    static {
-        loadEnvironments();
+    // 首次使用前加载一次，之后切换工作区或数据文件时显式重新加载
+    private static volatile boolean loaded;
+    private static final Object LOAD_LOCK = new Object();
+
+    /**
+     * 首次使用前加载环境变量，启动时由后台阶段调用，避免首次使用时在界面线程读取文件
+     */
+    public static void ensureLoaded() {
+        if (!loaded) {
+            synchronized (LOAD_LOCK) {
+                if (!loaded) {
+                    loadEnvironments();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取当前激活的环境
+     */
+    public static Environment getActiveEnvironment() {
+        ensureLoaded();
+        return activeEnvironment;
     }
 
     public static void setTemporaryVariable(String key, String value) {
@@ -67,6 +82,24 @@ public class EnvironmentService {
         temporaryVariables.remove();
     }
 
+    /**
+     * 取出当前线程的临时变量并解除绑定，异步执行时在线程间交接本次请求的临时变量
+     */
+    public static Map<String, String> detachTemporaryVariables() {
+        Map<String, String> variables = temporaryVariables.get();
+        temporaryVariables.remove();
+        return variables;
+    }
+
+    /**
+     * 把 {@link #detachTemporaryVariables()} 取出的临时变量绑定到当前线程
+     */
+    public static void attachTemporaryVariables(Map<String, String> variables) {
+        if (variables != null) {
+            temporaryVariables.set(variables);
+        }
+    }
+
     /**
      * 获取当前数据文件路径
      */
@@ -84,8 +117,11 @@ public class EnvironmentService {
      */
     public static void setDataFilePath(String path) {
         if (path == null || path.isBlank()) return;
-        currentDataFilePath = path;
-        loadEnvironmentsFromPath(path);
+        synchronized (LOAD_LOCK) {
+            currentDataFilePath = path;
+            loadEnvironmentsFromPath(path);
+            loaded = true;
+        }
     }
 
     /**
@@ -115,7 +151,7 @@ public class EnvironmentService {
                 Environment firstEnv = environments.values().iterator().next();
                 firstEnv.setActive(true);
                 activeEnvironment = firstEnv;
-                saveEnvironments();
+                writeEnvironments();
             }
         } catch (Exception e) {
             log.error("加载环境变量失败: {}", filePath, e);
@@ -127,12 +163,15 @@ public class EnvironmentService {
      * 加载所有环境变量
      */
     public static void loadEnvironments() {
-        if (currentDataFilePath != null) {
-            loadEnvironmentsFromPath(currentDataFilePath);
-        } else {
-            Workspace currentWorkspace = WorkspaceService.getInstance().getCurrentWorkspace();
-            String filePath = SystemUtil.getEnvPathForWorkspace(currentWorkspace);
-            loadEnvironmentsFromPath(filePath);
+        synchronized (LOAD_LOCK) {
+            if (currentDataFilePath != null) {
+                loadEnvironmentsFromPath(currentDataFilePath);
+            } else {
+                Workspace currentWorkspace = WorkspaceService.getInstance().getCurrentWorkspace();
+                String filePath = SystemUtil.getEnvPathForWorkspace(currentWorkspace);
+                loadEnvironmentsFromPath(filePath);
+            }
+            loaded = true;
         }
     }
 
@@ -151,13 +190,18 @@ public class EnvironmentService {
         environments.put(defaultEnv.getId(), defaultEnv);
         activeEnvironment = defaultEnv;
 
-        saveEnvironments();
+        writeEnvironments();
     }
 
     /**
      * 保存所有环境变量
      */
     public static void saveEnvironments() {
+        ensureLoaded();
+        writeEnvironments();
+    }
+
+    private static void writeEnvironments() {
         try {
             String filePath;
             if (currentDataFilePath != null) {
@@ -262,6 +306,7 @@ public class EnvironmentService {
      * 添加或更新环境
      */
     public static void saveEnvironment(Environment environment) {
+        ensureLoaded();
         environments.put(environment.getId(), environment);
         saveEnvironments();
     }
@@ -270,6 +315,7 @@ public class EnvironmentService {
      * 删除环境
      */
     public static void deleteEnvironment(String id) {
+        ensureLoaded();
         Environment env = environments.remove(id);
         if (env != null && env.isActive() && !environments.isEmpty()) {
             // 如果删除的是当前激活的环境，激活第一个环境
@@ -288,6 +334,7 @@ public class EnvironmentService {
      * 获取所有环境
      */
     public static List<Environment> getAllEnvironments() {
+        ensureLoaded();
         return new ArrayList<>(environments.values());
     }
 
@@ -295,6 +342,7 @@ public class EnvironmentService {
      * 设置激活的环境
      */
     public static void setActiveEnvironment(String id) {
+        ensureLoaded();
         if (activeEnvironment != null) {
             activeEnvironment.setActive(false);
         }
@@ -321,15 +369,7 @@ public class EnvironmentService {
         StringBuilder result = new StringBuilder();
 
         while (matcher.find()) {
-            String varName = matcher.group(1);
-            String value = temporaryVariables.get().get(varName); // 优先查临时变量
-            if (value == null && activeEnvironment != null) {
-                value = activeEnvironment.getVariable(varName);
-            }
-            // 检查是否是内置函数
-            if (value == null && VariableUtil.isBuiltInFunction(varName)) {
-                value = VariableUtil.generateBuiltInFunctionValue(varName);
-            }
+            String value = resolveVariable(matcher.group(1));
             // 如果变量不存在，保留原样
             if (value == null) {
                 matcher.appendReplacement(result, Matcher.quoteReplacement(matcher.group(0)));
@@ -343,10 +383,28 @@ public class EnvironmentService {
         return result.toString();
     }
 
+    /**
+     * 解析单个变量名（不含花括号），不存在时返回 null
+     * 优先级: 临时变量 > 环境变量 > 内置函数
+     */
+    public static String resolveVariable(String varName) {
+        ensureLoaded();
+        String value = temporaryVariables.get().get(varName); // 优先查临时变量
+        if (value == null && activeEnvironment != null) {
+            value = activeEnvironment.getVariable(varName);
+        }
+        // 检查是否是内置函数
+        if (value == null && VariableUtil.isBuiltInFunction(varName)) {
+            value = VariableUtil.generateBuiltInFunctionValue(varName);
+        }
+        return value;
+    }
+
     /**
      * 根据指定的id顺序重排environments并持久化
      */
     public static void saveEnvironmentOrder(List<String> idOrder) {
+        ensureLoaded();
         synchronized (environments) {
             LinkedHashMap<String, Environment> newOrder = new LinkedHashMap<>();
             for (String id : idOrder) {
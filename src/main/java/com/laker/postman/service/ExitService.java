@@ -25,10 +25,12 @@ public class ExitService {
             return;
         }
 
-        // 保存性能测试配置
+        // 保存性能测试配置（没有打开过性能面板时没有需要保存的修改）
         try {
-            PerformancePanel performancePanel = SingletonFactory.getInstance(PerformancePanel.class);
-            performancePanel.save();
+            PerformancePanel performancePanel = SingletonFactory.getInstanceIfPresent(PerformancePanel.class);
+            if (performancePanel != null) {
+                performancePanel.save();
+            }
         } catch (Exception e) {
             log.error("Failed to save performance test config on exit", e);
         }
@@ -4,69 +4,74 @@ import cn.hutool.json.JSONArray;
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
 import com.laker.postman.ioc.Component;
-import com.laker.postman.ioc.PostConstruct;
 import com.laker.postman.model.HttpResponse;
 import com.laker.postman.model.PreparedRequest;
 import com.laker.postman.model.RequestHistoryItem;
+import com.laker.postman.service.history.HistoryLog;
 import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.SystemUtil;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.*;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * 历史记录持久化管理器
+ * <p>
+ * 历史保存在 {@link HistoryLog} 分段追加日志中：每条请求追加一条紧凑记录和一条索引，
+ * 启动时只读取索引中最近的记录，请求和响应详情在查看时通过 {@link #loadDetails} 按需读取。
+ * </p>
  */
 @Slf4j
 @Component
 public class HistoryPersistenceService {
-    private static final String HISTORY_FILE = SystemUtil.getUserHomeEasyPostmanPath() + "request_history.json";
+    private static final String HISTORY_DIR = SystemUtil.getUserHomeEasyPostmanPath() + "history";
+    // 旧版本整体保存的历史文件，启动时迁移到分段日志后删除
+    private static final String LEGACY_HISTORY_FILE = SystemUtil.getUserHomeEasyPostmanPath() + "request_history.json";
 
     // 限制单个响应体保存的最大字符数 (10KB)
     private static final int MAX_BODY_SIZE = 10 * 1024;
     // 限制单个请求体保存的最大字符数 (10KB)
     private static final int MAX_REQUEST_BODY_SIZE = 10 * 1024;
-    // 限制文件大小 (50MB)
+    // 限制旧版历史文件大小 (50MB)
     private static final long MAX_FILE_SIZE = 50L * 1024 * 1024;
-    private static final long SAVE_DEBOUNCE_MS = 500L;
 
-    private final List<RequestHistoryItem> historyItems = new CopyOnWriteArrayList<>();
-    private final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+    // 从新到旧，访问时对自身加锁
+    private final Deque<RequestHistoryItem> historyItems = new ArrayDeque<>();
+    private final HistoryLog historyLog = new HistoryLog(Paths.get(HISTORY_DIR));
+    // 追加、清空和过期都在同一个线程上按提交顺序执行
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(r -> {
         Thread thread = new Thread(r, "HistorySave");
         thread.setDaemon(true);
         return thread;
     });
-    private final AtomicReference<ScheduledFuture<?>> pendingSave = new AtomicReference<>();
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
 
-
-    @PostConstruct
-    public void init() {
-        ensureHistoryDirExists();
-        loadHistory();
-    }
-
-    private void ensureHistoryDirExists() {
-        try {
-            Path historyDir = Paths.get(SystemUtil.getUserHomeEasyPostmanPath());
-            if (!Files.exists(historyDir)) {
-                Files.createDirectories(historyDir);
+    /**
+     * 历史索引还没有加载时从磁盘加载
+     * 启动阶段在后台线程调用；不放在 @PostConstruct 中，避免在创建 Bean 的全局锁内读文件，
+     * 读写历史的方法第一次使用时兜底调用
+     */
+    public void ensureLoaded() {
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    loadHistory();
+                    loaded = true;
+                }
             }
-        } catch (IOException e) {
-            log.error("Failed to create history directory: {}", e.getMessage());
         }
     }
 
@@ -74,66 +79,80 @@ public class HistoryPersistenceService {
      * 添加历史记录
      */
     public void addHistory(PreparedRequest request, HttpResponse response, long requestTime) {
+        ensureLoaded();
         RequestHistoryItem item = new RequestHistoryItem(request, response, requestTime);
-        historyItems.add(0, item); // 添加到开头
-
-        // 限制历史记录数量
         int maxCount = SettingManager.getMaxHistoryCount();
-        while (historyItems.size() > maxCount) {
-            historyItems.remove(historyItems.size() - 1);
+        synchronized (historyItems) {
+            historyItems.addFirst(item); // 添加到开头
+            // 限制历史记录数量
+            while (historyItems.size() > maxCount) {
+                historyItems.removeLast();
+            }
         }
 
-        // 异步保存
-        saveHistoryAsync();
+        // 异步追加，记录在调用线程上序列化，避免请求对象之后被修改
+        String record;
+        try {
+            record = convertToJson(item).toString();
+        } catch (Exception e) {
+            log.warn("Failed to serialize history item: {}", e.getMessage());
+            return;
+        }
+        saveExecutor.execute(() -> {
+            try {
+                historyLog.append(record, item.method, item.url, item.responseCode, item.requestTime);
+                historyLog.expire(maxCount);
+            } catch (IOException e) {
+                log.error("Failed to append history: {}", e.getMessage());
+            }
+        });
     }
 
     /**
-     * 获取所有历史记录
+     * 获取所有历史记录，从日志加载的记录只有摘要信息，详情需要 {@link #loadDetails}
      */
     public List<RequestHistoryItem> getHistory() {
-        return new ArrayList<>(historyItems);
+        ensureLoaded();
+        synchronized (historyItems) {
+            return new ArrayList<>(historyItems);
+        }
     }
 
     /**
      * 清空历史记录
      */
     public void clearHistory() {
-        historyItems.clear();
-        saveHistoryAsync();
+        ensureLoaded();
+        synchronized (historyItems) {
+            historyItems.clear();
+        }
+        saveExecutor.execute(historyLog::clear);
     }
 
     /**
-     * 同步保存历史记录
+     * 按需读取历史项的请求和响应详情，会读取文件，不要在 EDT 上调用
+     *
+     * @return 详情可用返回 true；记录已过期被删除或无法解析时返回 false
      */
-    public void saveHistory() {
+    public boolean loadDetails(RequestHistoryItem item) {
+        if (item.request != null && item.response != null) {
+            return true;
+        }
+        if (!(item instanceof HistoryLog.Entry entry)) {
+            return false;
+        }
         try {
-            // 只保存有限的历史记录
-            int maxCount = SettingManager.getMaxHistoryCount();
-            JSONArray jsonArray = new JSONArray();
-
-            int count = Math.min(historyItems.size(), maxCount);
-            for (int i = 0; i < count; i++) {
-                RequestHistoryItem item = historyItems.get(i);
-                JSONObject jsonItem = convertToJson(item);
-                jsonArray.add(jsonItem);
+            String record = historyLog.read(entry);
+            if (record == null) {
+                return false;
             }
-
-            // 写入文件
-            String jsonString = JSONUtil.toJsonPrettyStr(jsonArray);
-            Files.writeString(Paths.get(HISTORY_FILE), jsonString, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            log.error("Failed to save history: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * 异步保存历史记录
-     */
-    private void saveHistoryAsync() {
-        ScheduledFuture<?> previous = pendingSave.getAndSet(
-                saveExecutor.schedule(this::saveHistory, SAVE_DEBOUNCE_MS, TimeUnit.MILLISECONDS));
-        if (previous != null) {
-            previous.cancel(false);
+            RequestHistoryItem full = convertFromJson(JSONUtil.parseObj(record));
+            item.request = full.request;
+            item.response = full.response;
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to load history details: {}", e.getMessage());
+            return false;
         }
     }
 
@@ -153,104 +172,72 @@ public class HistoryPersistenceService {
     }
 
     /**
-     * 加载历史记录 - 使用流式读取避免内存溢出
+     * 加载历史记录 - 只读取索引，不解析记录内容
      */
     private void loadHistory() {
-        File file = new File(HISTORY_FILE);
-        if (!file.exists()) {
-            return;
-        }
-
+        int maxCount = SettingManager.getMaxHistoryCount();
         try {
-            // 检查文件大小，如果超过限制则删除文件并重新开始
-            long fileSizeInBytes = file.length();
-
-            if (fileSizeInBytes > MAX_FILE_SIZE) {
-                log.warn("History file is too large ({} bytes, max: {} bytes), deleting and starting fresh",
-                        fileSizeInBytes, MAX_FILE_SIZE);
-                deleteHistoryFile(file);
-                return;
-            }
-
-            // 如果文件为空，直接返回
-            if (fileSizeInBytes == 0) {
-                return;
-            }
-
-            // 使用流式读取，避免一次性加载整个文件到内存
-            String jsonString = loadFileContent(file);
-            if (jsonString.trim().isEmpty()) {
-                return;
+            List<HistoryLog.Entry> entries = historyLog.open(maxCount);
+            if (migrateLegacyHistory()) {
+                entries = historyLog.open(maxCount);
             }
-
-            JSONArray jsonArray = JSONUtil.parseArray(jsonString);
-            historyItems.clear();
-
-            // 限制加载的历史记录数量
-            int maxCount = SettingManager.getMaxHistoryCount();
-            int loadCount = Math.min(jsonArray.size(), maxCount);
-
-            for (int i = 0; i < loadCount; i++) {
-                try {
-                    JSONObject jsonItem = jsonArray.getJSONObject(i);
-                    RequestHistoryItem item = convertFromJson(jsonItem);
-                    historyItems.add(item);
-                } catch (Exception e) {
-                    // 忽略无法恢复的历史记录项
-                    log.warn("Failed to restore history item at index {}: {}", i, e.getMessage());
-                }
+            synchronized (historyItems) {
+                historyItems.clear();
+                historyItems.addAll(entries);
             }
-
-            log.info("Successfully loaded {} history items from file", historyItems.size());
-
-        } catch (OutOfMemoryError e) {
-            log.error("Out of memory while loading history file, deleting and starting fresh", e);
-            // 内存溢出，删除文件并重新开始
-            deleteHistoryFile(file);
-            historyItems.clear();
-        } catch (Exception e) {
+            log.info("Successfully loaded {} history items from index", entries.size());
+        } catch (IOException e) {
             log.error("Failed to load history: {}", e.getMessage(), e);
-            // 加载失败，删除损坏的文件
-            deleteHistoryFile(file);
-            historyItems.clear();
         }
+        // 超出保留条数的旧分段在后台删除
+        saveExecutor.execute(() -> historyLog.expire(maxCount));
     }
 
     /**
-     * 使用流式方式读取文件内容，更节省内存
+     * 把旧版本的 request_history.json 追加到分段日志，成功后删除旧文件
+     *
+     * @return 是否存在旧文件
      */
-    private String loadFileContent(File file) throws IOException {
-        StringBuilder content = new StringBuilder((int) Math.min(file.length(), MAX_FILE_SIZE));
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-
-            char[] buffer = new char[8192]; // 8KB buffer
-            int charsRead;
-            long totalCharsRead = 0;
-            long maxChars = MAX_FILE_SIZE / 2; // 限制读取字符数，防止超大文件
-
-            while ((charsRead = reader.read(buffer)) != -1) {
-                totalCharsRead += charsRead;
-                if (totalCharsRead > maxChars) {
-                    log.warn("History file content too large, truncating at {} chars", totalCharsRead);
-                    break;
+    private boolean migrateLegacyHistory() {
+        Path file = Paths.get(LEGACY_HISTORY_FILE);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            long fileSizeInBytes = Files.size(file);
+            if (fileSizeInBytes > MAX_FILE_SIZE) {
+                log.warn("Legacy history file is too large ({} bytes, max: {} bytes), discarding",
+                        fileSizeInBytes, MAX_FILE_SIZE);
+            } else if (fileSizeInBytes > 0) {
+                JSONArray jsonArray = JSONUtil.parseArray(Files.readString(file, StandardCharsets.UTF_8));
+                int count = Math.min(jsonArray.size(), SettingManager.getMaxHistoryCount());
+                // 旧文件从新到旧排列，按时间顺序追加
+                for (int i = count - 1; i >= 0; i--) {
+                    try {
+                        JSONObject jsonItem = jsonArray.getJSONObject(i);
+                        historyLog.append(jsonItem.toString(), jsonItem.getStr("method"), jsonItem.getStr("url"),
+                                jsonItem.getInt("responseCode", 0), jsonItem.getLong("requestTime", 0L));
+                    } catch (IOException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // 忽略无法恢复的历史记录项
+                        log.warn("Failed to migrate history item at index {}: {}", i, e.getMessage());
+                    }
                 }
-                content.append(buffer, 0, charsRead);
+                log.info("Migrated {} history items from {}", count, file);
             }
+        } catch (IOException e) {
+            log.error("Failed to migrate legacy history: {}", e.getMessage());
+            return true;
+        } catch (Exception e) {
+            log.error("Legacy history file is damaged, discarding: {}", e.getMessage());
         }
-        return content.toString();
-    }
-
-    /**
-     * 删除历史文件
-     */
-    private void deleteHistoryFile(File file) {
         try {
-            Files.delete(file.toPath());
-            log.info("Deleted history file: {}", file.getPath());
+            Files.delete(file);
         } catch (IOException e) {
-            log.error("Failed to delete history file: {}", file.getPath(), e);
+            log.error("Failed to delete legacy history file: {}", file, e);
         }
+        return true;
     }
 
     /**
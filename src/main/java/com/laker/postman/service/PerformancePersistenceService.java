@@ -48,7 +48,20 @@ public class PerformancePersistenceService {
         return thread;
     });
     private final AtomicReference<ScheduledFuture<?>> pendingSave = new AtomicReference<>();
-
+    // 启动时预读的配置，只使用一次
+    private volatile PreloadedConfig preloadedConfig;
+
+    private static final class PreloadedConfig {
+        private final long lastModified;
+        private final long length;
+        private final JSONObject json;
+
+        private PreloadedConfig(long lastModified, long length, JSONObject json) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.json = json;
+        }
+    }
 
     @PostConstruct
     public void init() {
@@ -66,6 +79,42 @@ public class PerformancePersistenceService {
         }
     }
 
+    /**
+     * 启动时在后台预读配置文件，性能面板第一次打开时直接使用解析结果
+     * 解析出错时不处理，面板加载时重新读取并按原有方式处理
+     */
+    public void preload() {
+        File file = new File(FILE_PATH);
+        long length = file.length();
+        if (!file.isFile() || length == 0 || length > MAX_FILE_SIZE) {
+            return;
+        }
+        try {
+            long lastModified = file.lastModified();
+            JSONObject json = JSONUtil.parseObj(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+            preloadedConfig = new PreloadedConfig(lastModified, length, json);
+        } catch (Exception e) {
+            log.warn("Failed to preload performance test config: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 读取配置文件，文件在预读之后没有变化时使用预读结果
+     *
+     * @return 文件内容为空时返回 null
+     */
+    private JSONObject readConfig(File file) throws IOException {
+        PreloadedConfig preloaded = preloadedConfig;
+        if (preloaded != null && preloaded.lastModified == file.lastModified() && preloaded.length == file.length()) {
+            return preloaded.json;
+        }
+        String jsonString = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        if (jsonString.trim().isEmpty()) {
+            return null;
+        }
+        return JSONUtil.parseObj(jsonString);
+    }
+
     /**
      * 保存性能测试配置树结构
      * 只保存请求ID引用，不保存完整请求配置，确保与集合中的请求保持同步
@@ -88,6 +137,7 @@ public class PerformancePersistenceService {
             jsonRoot.set("tree", serializeTreeNode(rootNode));
 
             // 写入文件
+            preloadedConfig = null;
             String jsonString = JSONUtil.toJsonPrettyStr(jsonRoot);
             Files.writeString(Paths.get(FILE_PATH), jsonString, StandardCharsets.UTF_8);
 
@@ -183,6 +233,17 @@ public class PerformancePersistenceService {
         json.set("duration", data.duration);
         json.set("loops", data.loops);
         json.set("useTime", data.useTime);
+        json.set("useVirtualThreads", data.useVirtualThreads);
+        json.set("asyncRequests", data.asyncRequests);
+        json.set("isolatedCookies", data.isolatedCookies);
+        json.set("correctCoordinatedOmission", data.correctCoordinatedOmission);
+        json.set("expectedIntervalMs", data.expectedIntervalMs);
+        json.set("customConnections", data.customConnections);
+        json.set("httpProtocol", data.httpProtocol.name());
+        json.set("maxIdleConnections", data.maxIdleConnections);
+        json.set("keepAliveSeconds", data.keepAliveSeconds);
+        json.set("maxRequestsPerHost", data.maxRequestsPerHost);
+        json.set("newConnectionPerIteration", data.newConnectionPerIteration);
         json.set("rampUpStartThreads", data.rampUpStartThreads);
         json.set("rampUpEndThreads", data.rampUpEndThreads);
         json.set("rampUpTime", data.rampUpTime);
@@ -198,6 +259,14 @@ public class PerformancePersistenceService {
         json.set("stairsStep", data.stairsStep);
         json.set("stairsHoldTime", data.stairsHoldTime);
         json.set("stairsDuration", data.stairsDuration);
+        json.set("constantRate", data.constantRate);
+        json.set("constantRateDuration", data.constantRateDuration);
+        json.set("constantRateMaxUsers", data.constantRateMaxUsers);
+        json.set("rampingRateStart", data.rampingRateStart);
+        json.set("rampingRateTarget", data.rampingRateTarget);
+        json.set("rampingRateRampTime", data.rampingRateRampTime);
+        json.set("rampingRateDuration", data.rampingRateDuration);
+        json.set("rampingRateMaxUsers", data.rampingRateMaxUsers);
         return json;
     }
 
@@ -247,13 +316,13 @@ public class PerformancePersistenceService {
                 return null;
             }
 
-            // 读取文件
-            String jsonString = Files.readString(Paths.get(FILE_PATH), StandardCharsets.UTF_8);
-            if (jsonString.trim().isEmpty()) {
+            // 读取文件，预读结果用过之后释放
+            JSONObject jsonRoot = readConfig(file);
+            preloadedConfig = null;
+            if (jsonRoot == null) {
                 return null;
             }
 
-            JSONObject jsonRoot = JSONUtil.parseObj(jsonString);
             JSONObject treeJson = jsonRoot.getJSONObject("tree");
 
             if (treeJson == null) {
@@ -299,12 +368,11 @@ public class PerformancePersistenceService {
                 return true;
             }
 
-            String jsonString = Files.readString(Paths.get(FILE_PATH), StandardCharsets.UTF_8);
-            if (jsonString.trim().isEmpty()) {
+            JSONObject jsonRoot = readConfig(file);
+            if (jsonRoot == null) {
                 return true;
             }
 
-            JSONObject jsonRoot = JSONUtil.parseObj(jsonString);
             Boolean efficientMode = jsonRoot.getBool("efficientMode", true);
 
             log.debug("Loaded efficientMode: {}", efficientMode);
@@ -402,6 +470,25 @@ public class PerformancePersistenceService {
             data.duration = json.getInt("duration", 60);
             data.loops = json.getInt("loops", 1);
             data.useTime = json.getBool("useTime", true);
+            data.useVirtualThreads = json.getBool("useVirtualThreads", false);
+            data.asyncRequests = json.getBool("asyncRequests", false);
+            data.isolatedCookies = json.getBool("isolatedCookies", false);
+            data.correctCoordinatedOmission = json.getBool("correctCoordinatedOmission", false);
+            data.expectedIntervalMs = json.getInt("expectedIntervalMs", 0);
+            data.customConnections = json.getBool("customConnections", false);
+            String httpProtocol = json.getStr("httpProtocol");
+            if (httpProtocol != null) {
+                try {
+                    data.httpProtocol = ThreadGroupData.HttpProtocol.valueOf(httpProtocol);
+                } catch (IllegalArgumentException e) {
+                    // 未知或已改名的协议保留默认值，不影响后面字段的读取
+                    log.warn("Unknown http protocol in thread group: {}", httpProtocol);
+                }
+            }
+            data.maxIdleConnections = json.getInt("maxIdleConnections", 20);
+            data.keepAliveSeconds = json.getInt("keepAliveSeconds", 60);
+            data.maxRequestsPerHost = json.getInt("maxRequestsPerHost", 0);
+            data.newConnectionPerIteration = json.getBool("newConnectionPerIteration", false);
             data.rampUpStartThreads = json.getInt("rampUpStartThreads", 1);
             data.rampUpEndThreads = json.getInt("rampUpEndThreads", 20);
             data.rampUpTime = json.getInt("rampUpTime", 30);
@@ -417,6 +504,14 @@ public class PerformancePersistenceService {
             data.stairsStep = json.getInt("stairsStep", 5);
             data.stairsHoldTime = json.getInt("stairsHoldTime", 15);
             data.stairsDuration = json.getInt("stairsDuration", 60);
+            data.constantRate = json.getInt("constantRate", 10);
+            data.constantRateDuration = json.getInt("constantRateDuration", 60);
+            data.constantRateMaxUsers = json.getInt("constantRateMaxUsers", 50);
+            data.rampingRateStart = json.getInt("rampingRateStart", 1);
+            data.rampingRateTarget = json.getInt("rampingRateTarget", 20);
+            data.rampingRateRampTime = json.getInt("rampingRateRampTime", 30);
+            data.rampingRateDuration = json.getInt("rampingRateDuration", 60);
+            data.rampingRateMaxUsers = json.getInt("rampingRateMaxUsers", 50);
         } catch (Exception e) {
             log.warn("Failed to deserialize thread group data: {}", e.getMessage());
         }
@@ -509,6 +604,7 @@ public class PerformancePersistenceService {
      * 删除配置文件
      */
     private void deleteFile(File file) {
+        preloadedConfig = null;
         try {
             if (file.exists() && !file.delete()) {
                 log.warn("Failed to delete config file: {}", file.getAbsolutePath());
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.NoHeadException;
 import org.eclipse.jgit.api.errors.RefNotAdvertisedException;
 import org.eclipse.jgit.diff.DiffEntry;
@@ -248,12 +249,24 @@ public class WorkspaceService {
                 workspace.getDescription() != null ? workspace.getDescription() : "EasyPostman Workspace").getBytes());
 
         // 添加并提交
-        git.add().addFilepattern(".").call();
+        stageAllChanges(git);
         git.commit().setMessage("Initial commit").call();
 
         workspace.setLastCommitId(getLastCommitId(git));
     }
 
+    /**
+     * 暂存工作区的全部变更，包括已删除的文件
+     * <p>
+     * 请求集合按请求分文件保存，删除请求会删除对应文件。{@code add(".")} 是否暂存删除取决于 JGit 的默认设置，
+     * 再用 {@code setUpdate(true)} 显式暂存删除，否则已删除的文件会留在仓库中，clone/pull 后又会出现。
+     * </p>
+     */
+    static void stageAllChanges(Git git) throws GitAPIException {
+        git.add().addFilepattern(".").call();
+        git.add().setUpdate(true).addFilepattern(".").call();
+    }
+
     /**
      * 获取最后一次提交ID
      */
@@ -1110,7 +1123,7 @@ public class WorkspaceService {
                 }
             }
 
-            git.add().addFilepattern(".").call();
+            stageAllChanges(git);
             var commitResult = git.commit().setMessage(message).call();
 
             workspace.setLastCommitId(getLastCommitId(git));
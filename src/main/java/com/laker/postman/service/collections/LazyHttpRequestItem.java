@@ -0,0 +1,290 @@
+package com.laker.postman.service.collections;
+
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.model.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 启动时只带有树上显示和搜索所需信息（ID、名称、方法、协议、URL）的请求
+ * <p>
+ * 请求头、请求体、参数、认证、脚本和保存的响应在第一次读取或修改时才从请求文件加载，
+ * 通常发生在打开标签页、复制或导出时；之后与普通的 {@link HttpRequestItem} 没有区别。
+ * 保存的响应在加载前是清单摘要构建的 {@link LazySavedResponse}，树上的响应子节点直接引用它们，加载时就地填充。
+ * 只有私有的 transient 字段和非 getter 方法，序列化结果与 {@link HttpRequestItem} 相同。
+ * </p>
+ */
+@Slf4j
+public class LazyHttpRequestItem extends HttpRequestItem {
+    private static final long serialVersionUID = 1L;
+
+    private transient Supplier<HttpRequestItem> loader;
+    private transient volatile boolean loaded;
+    private transient boolean loadFailed;
+    /**
+     * 加载失败时详情为默认值，记录此时的序列化结果，用来判断之后是否被用户修改过
+     */
+    private transient String failedLoadContent;
+
+    LazyHttpRequestItem(Supplier<HttpRequestItem> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * 设置清单摘要构建的保存响应，不触发加载
+     */
+    void initResponses(List<SavedResponse> summaries) {
+        super.setResponse(summaries);
+    }
+
+    /**
+     * 当前的保存响应列表，未加载时为清单中的摘要，读取不触发加载
+     */
+    List<SavedResponse> responsesWithoutLoading() {
+        return super.getResponse();
+    }
+
+    /**
+     * 详情是否已经加载（或已尝试加载）
+     */
+    public boolean hasLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 请求文件缺失或无法解析，此时详情为默认值，未修改前不能用它覆盖请求文件
+     */
+    public boolean hasLoadFailed() {
+        return loadFailed;
+    }
+
+    /**
+     * 加载失败后是否被修改过（包括直接修改保存的响应列表），修改过的内容需要写入请求文件
+     */
+    public boolean isModifiedAfterLoadFailure() {
+        return loadFailed && !JSONUtil.parseObj(this).toStringPretty().equals(failedLoadContent);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            HttpRequestItem full = null;
+            try {
+                full = loader.get();
+            } catch (Exception e) {
+                log.error("Failed to load request {}", getId(), e);
+            }
+            loader = null;
+            List<SavedResponse> summaries = super.getResponse();
+            if (full == null) {
+                loadFailed = true;
+                fillResponses(summaries, null);
+            } else {
+                super.setHeadersList(full.getHeadersList());
+                super.setBodyType(full.getBodyType());
+                super.setBody(full.getBody());
+                super.setParamsList(full.getParamsList());
+                super.setFormDataList(full.getFormDataList());
+                super.setUrlencodedList(full.getUrlencodedList());
+                super.setAuthType(full.getAuthType());
+                super.setAuthUsername(full.getAuthUsername());
+                super.setAuthPassword(full.getAuthPassword());
+                super.setAuthToken(full.getAuthToken());
+                super.setPrescript(full.getPrescript());
+                super.setPostscript(full.getPostscript());
+                super.setResponse(fillResponses(summaries, full.getResponse()));
+            }
+            loaded = true;
+            if (loadFailed) {
+                failedLoadContent = JSONUtil.parseObj(this).toStringPretty();
+            }
+        }
+    }
+
+    /**
+     * 把请求文件中的响应按位置填入摘要对象，ID 不一致时摘要保持原样；文件中多出的响应追加在后面
+     */
+    private static List<SavedResponse> fillResponses(List<SavedResponse> summaries, List<SavedResponse> responses) {
+        if (summaries == null || summaries.isEmpty()) {
+            return responses;
+        }
+        List<SavedResponse> merged = new ArrayList<>(summaries);
+        for (int i = 0; i < summaries.size(); i++) {
+            SavedResponse full = responses != null && i < responses.size() ? responses.get(i) : null;
+            if (summaries.get(i) instanceof LazySavedResponse summary) {
+                summary.fill(full != null && Objects.equals(full.getId(), summary.getId()) ? full : null);
+            }
+        }
+        if (responses != null && responses.size() > summaries.size()) {
+            merged.addAll(responses.subList(summaries.size(), responses.size()));
+        }
+        return merged;
+    }
+
+    // 名称、方法、协议和 URL 来自清单，读写不触发加载；其余属性先加载
+
+    @Override
+    public List<HttpHeader> getHeadersList() {
+        ensureLoaded();
+        return super.getHeadersList();
+    }
+
+    @Override
+    public void setHeadersList(List<HttpHeader> headersList) {
+        ensureLoaded();
+        super.setHeadersList(headersList);
+    }
+
+    @Override
+    public String getBodyType() {
+        ensureLoaded();
+        return super.getBodyType();
+    }
+
+    @Override
+    public void setBodyType(String bodyType) {
+        ensureLoaded();
+        super.setBodyType(bodyType);
+    }
+
+    @Override
+    public String getBody() {
+        ensureLoaded();
+        return super.getBody();
+    }
+
+    @Override
+    public void setBody(String body) {
+        ensureLoaded();
+        super.setBody(body);
+    }
+
+    @Override
+    public List<HttpParam> getParamsList() {
+        ensureLoaded();
+        return super.getParamsList();
+    }
+
+    @Override
+    public void setParamsList(List<HttpParam> paramsList) {
+        ensureLoaded();
+        super.setParamsList(paramsList);
+    }
+
+    @Override
+    public List<HttpFormData> getFormDataList() {
+        ensureLoaded();
+        return super.getFormDataList();
+    }
+
+    @Override
+    public void setFormDataList(List<HttpFormData> formDataList) {
+        ensureLoaded();
+        super.setFormDataList(formDataList);
+    }
+
+    @Override
+    public List<HttpFormUrlencoded> getUrlencodedList() {
+        ensureLoaded();
+        return super.getUrlencodedList();
+    }
+
+    @Override
+    public void setUrlencodedList(List<HttpFormUrlencoded> urlencodedList) {
+        ensureLoaded();
+        super.setUrlencodedList(urlencodedList);
+    }
+
+    @Override
+    public String getAuthType() {
+        ensureLoaded();
+        return super.getAuthType();
+    }
+
+    @Override
+    public void setAuthType(String authType) {
+        ensureLoaded();
+        super.setAuthType(authType);
+    }
+
+    @Override
+    public String getAuthUsername() {
+        ensureLoaded();
+        return super.getAuthUsername();
+    }
+
+    @Override
+    public void setAuthUsername(String authUsername) {
+        ensureLoaded();
+        super.setAuthUsername(authUsername);
+    }
+
+    @Override
+    public String getAuthPassword() {
+        ensureLoaded();
+        return super.getAuthPassword();
+    }
+
+    @Override
+    public void setAuthPassword(String authPassword) {
+        ensureLoaded();
+        super.setAuthPassword(authPassword);
+    }
+
+    @Override
+    public String getAuthToken() {
+        ensureLoaded();
+        return super.getAuthToken();
+    }
+
+    @Override
+    public void setAuthToken(String authToken) {
+        ensureLoaded();
+        super.setAuthToken(authToken);
+    }
+
+    @Override
+    public String getPrescript() {
+        ensureLoaded();
+        return super.getPrescript();
+    }
+
+    @Override
+    public void setPrescript(String prescript) {
+        ensureLoaded();
+        super.setPrescript(prescript);
+    }
+
+    @Override
+    public String getPostscript() {
+        ensureLoaded();
+        return super.getPostscript();
+    }
+
+    @Override
+    public void setPostscript(String postscript) {
+        ensureLoaded();
+        super.setPostscript(postscript);
+    }
+
+    @Override
+    public List<SavedResponse> getResponse() {
+        ensureLoaded();
+        return super.getResponse();
+    }
+
+    @Override
+    public void setResponse(List<SavedResponse> response) {
+        ensureLoaded();
+        super.setResponse(response);
+    }
+}
@@ -0,0 +1,191 @@
+package com.laker.postman.service.collections;
+
+import com.laker.postman.model.CookieInfo;
+import com.laker.postman.model.HttpHeader;
+import com.laker.postman.model.SavedResponse;
+
+import java.util.List;
+
+/**
+ * 启动时只带有树上显示所需信息（ID、名称、状态码、保存时间）的保存响应，来自清单中的响应摘要
+ * <p>
+ * 其余属性在第一次读取或任何修改时加载所属的 {@link LazyHttpRequestItem}，由它把请求文件中的响应填入本对象，
+ * 树节点、请求的响应列表和已打开的标签页始终引用同一个实例。
+ * </p>
+ */
+class LazySavedResponse extends SavedResponse {
+    private static final long serialVersionUID = 1L;
+
+    private transient LazyHttpRequestItem owner;
+    private transient volatile boolean loaded;
+
+    LazySavedResponse(LazyHttpRequestItem owner, String id, String name, int code, long timestamp) {
+        this.owner = owner;
+        super.setId(id);
+        super.setName(name);
+        super.setCode(code);
+        super.setTimestamp(timestamp);
+    }
+
+    private void ensureLoaded() {
+        LazyHttpRequestItem item = owner;
+        if (!loaded && item != null) {
+            item.getResponse();
+        }
+    }
+
+    /**
+     * 所属请求加载时调用，full 为请求文件中对应的响应，加载失败或找不到时为 null（保留摘要）
+     */
+    void fill(SavedResponse full) {
+        if (full != null) {
+            super.setTimestamp(full.getTimestamp());
+            super.setOriginalRequest(full.getOriginalRequest());
+            super.setCode(full.getCode());
+            super.setStatus(full.getStatus());
+            super.setHeaders(full.getHeaders());
+            super.setCookies(full.getCookies());
+            super.setBody(full.getBody());
+            super.setPreviewLanguage(full.getPreviewLanguage());
+            super.setCostMs(full.getCostMs());
+            super.setBodySize(full.getBodySize());
+            super.setHeadersSize(full.getHeadersSize());
+        }
+        owner = null;
+        loaded = true;
+    }
+
+    // ID、名称、状态码和保存时间来自清单，读取不触发加载；其余属性先加载
+
+    @Override
+    public void setId(String id) {
+        ensureLoaded();
+        super.setId(id);
+    }
+
+    @Override
+    public void setName(String name) {
+        ensureLoaded();
+        super.setName(name);
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        ensureLoaded();
+        super.setTimestamp(timestamp);
+    }
+
+    @Override
+    public OriginalRequest getOriginalRequest() {
+        ensureLoaded();
+        return super.getOriginalRequest();
+    }
+
+    @Override
+    public void setOriginalRequest(OriginalRequest originalRequest) {
+        ensureLoaded();
+        super.setOriginalRequest(originalRequest);
+    }
+
+    @Override
+    public void setCode(int code) {
+        ensureLoaded();
+        super.setCode(code);
+    }
+
+    @Override
+    public String getStatus() {
+        ensureLoaded();
+        return super.getStatus();
+    }
+
+    @Override
+    public void setStatus(String status) {
+        ensureLoaded();
+        super.setStatus(status);
+    }
+
+    @Override
+    public List<HttpHeader> getHeaders() {
+        ensureLoaded();
+        return super.getHeaders();
+    }
+
+    @Override
+    public void setHeaders(List<HttpHeader> headers) {
+        ensureLoaded();
+        super.setHeaders(headers);
+    }
+
+    @Override
+    public List<CookieInfo> getCookies() {
+        ensureLoaded();
+        return super.getCookies();
+    }
+
+    @Override
+    public void setCookies(List<CookieInfo> cookies) {
+        ensureLoaded();
+        super.setCookies(cookies);
+    }
+
+    @Override
+    public String getBody() {
+        ensureLoaded();
+        return super.getBody();
+    }
+
+    @Override
+    public void setBody(String body) {
+        ensureLoaded();
+        super.setBody(body);
+    }
+
+    @Override
+    public String getPreviewLanguage() {
+        ensureLoaded();
+        return super.getPreviewLanguage();
+    }
+
+    @Override
+    public void setPreviewLanguage(String previewLanguage) {
+        ensureLoaded();
+        super.setPreviewLanguage(previewLanguage);
+    }
+
+    @Override
+    public long getCostMs() {
+        ensureLoaded();
+        return super.getCostMs();
+    }
+
+    @Override
+    public void setCostMs(long costMs) {
+        ensureLoaded();
+        super.setCostMs(costMs);
+    }
+
+    @Override
+    public long getBodySize() {
+        ensureLoaded();
+        return super.getBodySize();
+    }
+
+    @Override
+    public void setBodySize(long bodySize) {
+        ensureLoaded();
+        super.setBodySize(bodySize);
+    }
+
+    @Override
+    public long getHeadersSize() {
+        ensureLoaded();
+        return super.getHeadersSize();
+    }
+
+    @Override
+    public void setHeadersSize(long headersSize) {
+        ensureLoaded();
+        super.setHeadersSize(headersSize);
+    }
+}
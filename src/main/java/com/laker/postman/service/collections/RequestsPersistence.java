@@ -5,28 +5,65 @@ import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
 import com.laker.postman.model.HttpRequestItem;
 import com.laker.postman.model.RequestGroup;
+import com.laker.postman.model.RequestItemProtocolEnum;
 import com.laker.postman.model.SavedResponse;
 import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
+/**
+ * 请求集合的持久化
+ * <p>
+ * 集合文件（如 collections.json）只保存分组结构和分组属性，作为清单；每个请求单独保存在同名目录下
+ * （collections.json 对应 collections/）的 {@code <请求ID>.json} 中，清单里的请求只记录文件名和树上显示的摘要。
+ * 启动时流式读取清单，请求以 {@link LazyHttpRequestItem} 的形式出现在树上，详情在第一次使用时才读取请求文件。
+ * 保存时只写入内容有变化的请求文件，单个请求保存（Ctrl+S）通过 {@link #saveRequest} 只写一个文件，
+ * Git 工作区的差异也只涉及改动的请求。请求内联在集合文件中的旧格式仍可读取，下次保存时转换为新格式；
+ * 导入导出继续使用内联的单文件格式。
+ * </p>
+ */
 @Slf4j
 public class RequestsPersistence {
+    // 可直接作为文件名的请求ID，其它ID使用摘要作为文件名
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+    // 只读取解析器当前所在的子树（旧格式内联的请求），后面还有内容
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .build();
+
     // 静态锁映射：每个文件路径对应一个锁对象，确保不同实例操作同一文件时使用同一个锁
     private static final ConcurrentHashMap<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
     // 静态加载状态映射：记录每个文件是否正在加载
     private static final ConcurrentHashMap<String, Boolean> LOADING_STATUS = new ConcurrentHashMap<>();
 
+    // 启动时在后台预读的请求集合，集合面板创建时接管；接管过（或面板先创建）之后不再预读
+    private static final AtomicReference<Preloaded> PRELOADED = new AtomicReference<>();
+    private static final Preloaded PRELOAD_CLOSED = new Preloaded(null, null);
+
     private String filePath;
     private final DefaultMutableTreeNode rootTreeNode;
     private final DefaultTreeModel treeModel;
+    // 请求ID -> 最近一次写入（或加载）的请求文件内容，用于跳过没有变化的请求
+    // 值为 null 表示请求文件存在但内容还没有读取（LazyHttpRequestItem 未加载）
+    private final Map<String, String> writtenRequests = new HashMap<>();
+    // 按需加载时读到的请求文件内容，下次保存时并入 writtenRequests
+    private final Map<String, String> loadedRequests = new ConcurrentHashMap<>();
+    // 请求ID -> 清单中最近写入的摘要
+    private final Map<String, String> writtenSummaries = new HashMap<>();
 
     public RequestsPersistence(String filePath, DefaultMutableTreeNode rootTreeNode, DefaultTreeModel treeModel) {
         this.filePath = filePath;
@@ -34,6 +71,65 @@ public class RequestsPersistence {
         this.treeModel = treeModel;
     }
 
+    /**
+     * 启动时预读的请求集合：持久化对象（带树根节点和树模型）及其加载完成的 Future
+     */
+    public static final class Preloaded {
+        private final RequestsPersistence persistence;
+        private final CompletableFuture<Void> loaded;
+
+        private Preloaded(RequestsPersistence persistence, CompletableFuture<Void> loaded) {
+            this.persistence = persistence;
+            this.loaded = loaded;
+        }
+
+        public RequestsPersistence getPersistence() {
+            return persistence;
+        }
+
+        public CompletableFuture<Void> getLoaded() {
+            return loaded;
+        }
+    }
+
+    /**
+     * 在当前线程读取请求集合，供集合面板通过 {@link #takePreloaded} 接管
+     * 面板已经创建（已调用过 takePreloaded）时不读取
+     */
+    public static void preload(RequestsPersistence persistence) {
+        Preloaded preloaded = new Preloaded(persistence, new CompletableFuture<>());
+        if (!PRELOADED.compareAndSet(null, preloaded)) {
+            return;
+        }
+        try {
+            persistence.initRequestGroupsFromFile();
+            preloaded.loaded.complete(null);
+        } catch (RuntimeException e) {
+            preloaded.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 接管启动时预读的请求集合，只能接管一次；没有预读或文件路径不同时返回 null
+     * 返回的集合可能还在读取，需要等待 {@link Preloaded#getLoaded()} 完成
+     */
+    public static Preloaded takePreloaded(String filePath) {
+        Preloaded preloaded = PRELOADED.getAndSet(PRELOAD_CLOSED);
+        if (preloaded == null || preloaded == PRELOAD_CLOSED || !preloaded.persistence.filePath.equals(filePath)) {
+            return null;
+        }
+        return preloaded;
+    }
+
+    public DefaultMutableTreeNode getRootTreeNode() {
+        return rootTreeNode;
+    }
+
+    public DefaultTreeModel getTreeModel() {
+        return treeModel;
+    }
+
     /**
      * 获取文件对应的锁对象
      * 使用 computeIfAbsent 确保同一文件路径始终返回同一个锁对象
@@ -77,14 +173,47 @@ public class RequestsPersistence {
      * 内部保存方法，绕过加载状态检查，仅在初始化时使用
      */
     private void saveRequestGroupsInternal() {
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)) {
+        try {
             JSONArray array = new JSONArray();
+            // 请求ID -> 文件内容，null 表示文件没有变化
+            Map<String, String> requestFiles = new LinkedHashMap<>();
+            Map<String, String> summaries = new HashMap<>();
+            Set<String> seenIds = new HashSet<>();
             for (int i = 0; i < rootTreeNode.getChildCount(); i++) {
                 DefaultMutableTreeNode groupNode = (DefaultMutableTreeNode) rootTreeNode.getChildAt(i);
-                array.add(buildGroupJson(groupNode));
+                array.add(buildManifestGroupJson(groupNode, requestFiles, summaries, seenIds));
+            }
+
+            // 先写请求文件，再写清单，最后删除不再引用的请求文件，中途退出时清单引用的文件总是存在
+            Path requestDir = getRequestDir();
+            int written = 0;
+            for (Map.Entry<String, String> entry : requestFiles.entrySet()) {
+                String content = entry.getValue();
+                String loaded = loadedRequests.remove(entry.getKey());
+                if (loaded != null && writtenRequests.get(entry.getKey()) == null) {
+                    writtenRequests.put(entry.getKey(), loaded);
+                }
+                if (content != null && !content.equals(writtenRequests.get(entry.getKey()))) {
+                    writeFileAtomically(requestDir.resolve(toRequestFileName(entry.getKey())), content);
+                    writtenRequests.put(entry.getKey(), content);
+                    written++;
+                } else if (content == null) {
+                    writtenRequests.putIfAbsent(entry.getKey(), null);
+                }
+            }
+            writeFileAtomically(Paths.get(filePath), array.toStringPretty());
+
+            Iterator<String> it = writtenRequests.keySet().iterator();
+            while (it.hasNext()) {
+                String id = it.next();
+                if (!requestFiles.containsKey(id)) {
+                    Files.deleteIfExists(requestDir.resolve(toRequestFileName(id)));
+                    it.remove();
+                }
             }
-            writer.write(array.toStringPretty());
-            log.debug("Saved request groups to: {}", filePath);
+            writtenSummaries.clear();
+            writtenSummaries.putAll(summaries);
+            log.debug("Saved request groups to: {} ({} request files written)", filePath, written);
         } catch (Exception ex) {
             log.error("Error saving request groups to file: {}", filePath, ex);
         }
@@ -96,6 +225,9 @@ public class RequestsPersistence {
             setFileLoading(true); // 设置加载状态
             try {
                 File file = new File(filePath);
+                writtenRequests.clear();
+                writtenSummaries.clear();
+                loadedRequests.clear();
                 if (!file.exists()) { // 如果文件不存在，则创建默认请求组
                     DefaultRequestsFactory.create(rootTreeNode, treeModel); // 创建默认请求组
                     saveRequestGroupsInternal(); // 使用内部方法保存，绕过加载状态检查
@@ -103,14 +235,7 @@ public class RequestsPersistence {
                     return;
                 }
                 try {
-
-                    JSONArray array = JSONUtil.readJSONArray(file, StandardCharsets.UTF_8);
-                    List<DefaultMutableTreeNode> groupNodeList = new ArrayList<>();
-                    for (Object o : array) {
-                        JSONObject groupJson = (JSONObject) o;
-                        DefaultMutableTreeNode groupNode = parseGroupNode(groupJson);
-                        groupNodeList.add(groupNode);
-                    }
+                    List<DefaultMutableTreeNode> groupNodeList = readCollectionFile(file);
                     groupNodeList.forEach(rootTreeNode::add);
                     treeModel.reload(rootTreeNode);
                     log.info("Loaded request groups from file: {}", filePath);
@@ -138,21 +263,68 @@ public class RequestsPersistence {
                 return;
             }
 
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)) {
-                JSONArray array = new JSONArray();
-                for (int i = 0; i < rootTreeNode.getChildCount(); i++) {
-                    DefaultMutableTreeNode groupNode = (DefaultMutableTreeNode) rootTreeNode.getChildAt(i);
-                    array.add(buildGroupJson(groupNode));
+            saveRequestGroupsInternal();
+        }
+    }
+
+    /**
+     * 只保存一个请求的文件；请求还没有写入过（新请求或结构有变化）时退回到完整保存
+     */
+    public void saveRequest(HttpRequestItem item) {
+        if (item == null || item.getId() == null || item.getId().isEmpty()) {
+            saveRequestGroups();
+            return;
+        }
+        if (isFileLoading()) {
+            log.warn("Skipping save operation for file '{}' because it is being loaded", filePath);
+            return;
+        }
+
+        synchronized (getFileLock()) {
+            // 新请求，或名称、方法、URL 等清单中的摘要有变化时需要重写清单
+            if (isFileLoading() || !writtenRequests.containsKey(item.getId())
+                    || !buildRequestSummary(item).equals(writtenSummaries.get(item.getId()))) {
+                saveRequestGroupsInternal();
+                return;
+            }
+            try {
+                String content = JSONUtil.parseObj(item).toStringPretty();
+                String loaded = loadedRequests.remove(item.getId());
+                if (loaded != null && writtenRequests.get(item.getId()) == null) {
+                    writtenRequests.put(item.getId(), loaded);
                 }
-                writer.write(array.toStringPretty());
-                log.debug("Saved request groups to: {}", filePath);
+                if (!content.equals(writtenRequests.get(item.getId()))) {
+                    writeFileAtomically(getRequestDir().resolve(toRequestFileName(item.getId())), content);
+                    writtenRequests.put(item.getId(), content);
+                }
+                log.debug("Saved request {} to: {}", item.getId(), getRequestDir());
             } catch (Exception ex) {
-                log.error("Error saving request groups to file: {}", filePath, ex);
+                log.error("Error saving request {} to: {}", item.getId(), getRequestDir(), ex);
             }
         }
     }
 
+    /**
+     * 解析请求内联的分组（导入使用）
+     */
     public DefaultMutableTreeNode parseGroupNode(JSONObject groupJson) {
+        DefaultMutableTreeNode groupNode = new DefaultMutableTreeNode(new Object[]{"group", toRequestGroup(groupJson)});
+        JSONArray children = groupJson.getJSONArray("children");
+        if (children != null) {
+            for (Object child : children) {
+                JSONObject childJson = (JSONObject) child;
+                String type = childJson.getStr("type");
+                if ("group".equals(type)) {
+                    groupNode.add(parseGroupNode(childJson));
+                } else if ("request".equals(type)) {
+                    groupNode.add(createRequestNode(toRequestItem(childJson.getJSONObject("data"))));
+                }
+            }
+        }
+        return groupNode;
+    }
+
+    private static RequestGroup toRequestGroup(JSONObject groupJson) {
         String name = groupJson.getStr("name");
 
         // 创建RequestGroup对象
@@ -181,50 +353,201 @@ public class RequestsPersistence {
         if (groupJson.containsKey("postscript")) {
             group.setPostscript(groupJson.getStr("postscript", ""));
         }
+        return group;
+    }
 
-        DefaultMutableTreeNode groupNode = new DefaultMutableTreeNode(new Object[]{"group", group});
-        JSONArray children = groupJson.getJSONArray("children");
-        if (children != null) {
-            for (Object child : children) {
-                JSONObject childJson = (JSONObject) child;
-                String type = childJson.getStr("type");
-                if ("group".equals(type)) {
-                    groupNode.add(parseGroupNode(childJson));
-                } else if ("request".equals(type)) {
-                    JSONObject dataJson = childJson.getJSONObject("data");
-                    HttpRequestItem item = JSONUtil.toBean(dataJson, HttpRequestItem.class);
-                    // 确保请求体不为 null
-                    item.setBody(item.getBody() != null ? item.getBody() : "");
-                    if (item.getId() == null || item.getId().isEmpty()) {
-                        String id = dataJson.getStr("id");
-                        if (id == null || id.isEmpty()) {
-                            item.setId(UUID.randomUUID().toString());
-                        } else {
-                            item.setId(id);
-                        }
-                    }
+    private static HttpRequestItem toRequestItem(JSONObject dataJson) {
+        HttpRequestItem item = JSONUtil.toBean(dataJson, HttpRequestItem.class);
+        // 确保请求体不为 null
+        item.setBody(item.getBody() != null ? item.getBody() : "");
+        if (item.getId() == null || item.getId().isEmpty()) {
+            String id = dataJson.getStr("id");
+            if (id == null || id.isEmpty()) {
+                item.setId(UUID.randomUUID().toString());
+            } else {
+                item.setId(id);
+            }
+        }
+        return item;
+    }
 
-                    // 创建请求节点
-                    DefaultMutableTreeNode requestNode = new DefaultMutableTreeNode(new Object[]{"request", item});
-
-                    // 为 response 创建子节点
-                    if (item.getResponse() != null && !item.getResponse().isEmpty()) {
-                        for (SavedResponse savedResp : item.getResponse()) {
-                            DefaultMutableTreeNode responseNode = new DefaultMutableTreeNode(
-                                    new Object[]{"response", savedResp}
-                            );
-                            requestNode.add(responseNode);
-                        }
+    private static DefaultMutableTreeNode createRequestNode(HttpRequestItem item) {
+        return createRequestNode(item, item.getResponse());
+    }
+
+    private static DefaultMutableTreeNode createRequestNode(HttpRequestItem item, List<SavedResponse> responses) {
+        // 创建请求节点
+        DefaultMutableTreeNode requestNode = new DefaultMutableTreeNode(new Object[]{"request", item});
+
+        // 为 response 创建子节点
+        if (responses != null && !responses.isEmpty()) {
+            for (SavedResponse savedResp : responses) {
+                DefaultMutableTreeNode responseNode = new DefaultMutableTreeNode(
+                        new Object[]{"response", savedResp}
+                );
+                requestNode.add(responseNode);
+            }
+        }
+        return requestNode;
+    }
+
+    // ==================== 流式加载 ====================
+
+    /**
+     * 用流式解析器读取集合文件，不构建整个文件的 DOM。
+     * 清单中带摘要的请求只创建 {@link LazyHttpRequestItem}，保存的响应按摘要创建子节点，不读取请求文件；
+     * 缺少摘要（包括没有响应摘要的旧清单）或请求内联的旧格式则立即解析
+     */
+    private List<DefaultMutableTreeNode> readCollectionFile(File file) {
+        Path requestDir = getRequestDir();
+        List<DefaultMutableTreeNode> groupNodeList = new ArrayList<>();
+        try (JsonParser parser = MAPPER.createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Collection file is not a JSON array: " + file);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                DefaultMutableTreeNode node = readNode(parser, requestDir, true);
+                if (node != null) {
+                    groupNodeList.add(node);
+                }
+            }
+        }
+        return groupNodeList;
+    }
+
+    /**
+     * 读取一个分组或请求，解析器位于对象的 START_OBJECT，读完后停在对应的 END_OBJECT
+     */
+    private DefaultMutableTreeNode readNode(JsonParser parser, Path requestDir, boolean topLevel) {
+        JSONObject properties = new JSONObject();
+        List<DefaultMutableTreeNode> children = new ArrayList<>();
+        JsonNode data = null;
+        JsonNode savedResponses = null;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("children".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    DefaultMutableTreeNode child = readNode(parser, requestDir, false);
+                    if (child != null) {
+                        children.add(child);
                     }
+                }
+            } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                data = MAPPER.readTree(parser);
+            } else if ("savedResponses".equals(field) && value == JsonToken.START_ARRAY) {
+                savedResponses = MAPPER.readTree(parser);
+            } else if (value.isScalarValue()) {
+                properties.set(field, parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        String type = properties.getStr("type");
+        if (topLevel || "group".equals(type)) {
+            DefaultMutableTreeNode groupNode = new DefaultMutableTreeNode(new Object[]{"group", toRequestGroup(properties)});
+            children.forEach(groupNode::add);
+            return groupNode;
+        }
+        if (!"request".equals(type)) {
+            return null;
+        }
+        if (data != null) {
+            // 旧格式：请求内联在集合文件中
+            return createRequestNode(toRequestItem(JSONUtil.parseObj(data.toString())));
+        }
+        return readStoredRequest(properties, savedResponses, requestDir);
+    }
 
-                    groupNode.add(requestNode);
+    private DefaultMutableTreeNode readStoredRequest(JSONObject entry, JsonNode savedResponses, Path requestDir) {
+        String ref = entry.getStr("ref");
+        String id = entry.getStr("id");
+        if (ref == null) {
+            return null;
+        }
+        int responses = entry.getInt("responses", 0);
+        if (id != null && !id.isEmpty() && entry.containsKey("name") && toRequestFileName(id).equals(ref)
+                && (responses == 0 || savedResponses != null && savedResponses.size() == responses)) {
+            LazyHttpRequestItem item = new LazyHttpRequestItem(() -> loadStoredRequest(requestDir, ref, id));
+            item.setId(id);
+            item.setName(entry.getStr("name", ""));
+            item.setMethod(entry.getStr("method", "GET"));
+            item.setUrl(entry.getStr("url", ""));
+            try {
+                item.setProtocol(RequestItemProtocolEnum.valueOf(entry.getStr("protocol", "HTTP")));
+            } catch (IllegalArgumentException e) {
+                item.setProtocol(RequestItemProtocolEnum.HTTP);
+            }
+            if (responses > 0) {
+                List<SavedResponse> summaries = new ArrayList<>(responses);
+                for (JsonNode response : savedResponses) {
+                    summaries.add(new LazySavedResponse(item, response.path("id").asString(null),
+                            response.path("name").asString(""), response.path("code").asInt(0),
+                            response.path("timestamp").asLong(0)));
                 }
+                item.initResponses(summaries);
             }
+            // 文件内容未读取，保存时视为未修改
+            writtenRequests.put(id, null);
+            writtenSummaries.put(id, buildRequestSummary(item));
+            return createRequestNode(item, item.responsesWithoutLoading());
         }
-        return groupNode;
+
+        String content = readRequestFile(requestDir, ref);
+        if (content == null) {
+            return null;
+        }
+        HttpRequestItem item = toRequestItem(JSONUtil.parseObj(content));
+        // 文件名和ID对应时记录为已写入，保存时未修改的请求不再重写
+        if (toRequestFileName(item.getId()).equals(ref)) {
+            writtenRequests.put(item.getId(), content);
+        }
+        return createRequestNode(item);
+    }
+
+    /**
+     * 第一次访问 {@link LazyHttpRequestItem} 的详情时调用
+     */
+    private HttpRequestItem loadStoredRequest(Path requestDir, String ref, String id) {
+        String content = readRequestFile(requestDir, ref);
+        if (content == null) {
+            return null;
+        }
+        // 不在这里加文件锁：保存时可能在持有文件锁的同时等待请求加载
+        if (requestDir.equals(getRequestDir())) {
+            loadedRequests.put(id, content);
+        }
+        log.debug("Loaded request {} on demand", id);
+        return toRequestItem(JSONUtil.parseObj(content));
     }
 
     public JSONObject buildGroupJson(DefaultMutableTreeNode node) {
+        JSONObject groupJson = buildGroupPropertiesJson(node);
+
+        JSONArray children = new JSONArray();
+        for (int i = 0; i < node.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) node.getChildAt(i);
+            Object[] childObj = (Object[]) child.getUserObject();
+            if ("group".equals(childObj[0])) {
+                children.add(buildGroupJson(child));
+            } else if ("request".equals(childObj[0])) {
+                JSONObject reqJson = new JSONObject();
+                reqJson.set("type", "request");
+                HttpRequestItem requestItem = (HttpRequestItem) childObj[1];
+                JSONObject itemJson = JSONUtil.parseObj(requestItem);
+                reqJson.set("data", itemJson);
+                children.add(reqJson);
+            }
+        }
+        groupJson.set("children", children);
+        return groupJson;
+    }
+
+    /**
+     * 分组自身的属性，不含子节点
+     */
+    private JSONObject buildGroupPropertiesJson(DefaultMutableTreeNode node) {
         JSONObject groupJson = new JSONObject();
         Object[] obj = (Object[]) node.getUserObject();
         groupJson.set("type", "group");
@@ -245,26 +568,137 @@ public class RequestsPersistence {
             // 旧格式兼容：字符串名称
             groupJson.set("name", name);
         }
+        return groupJson;
+    }
 
+    /**
+     * 构建清单中的分组：请求只记录文件名，请求内容放入 {@code requestFiles}（请求ID -> 文件内容）。
+     * 重复的请求ID会导致两个请求写入同一个文件，遇到时为后出现的请求重新生成ID
+     */
+    private JSONObject buildManifestGroupJson(DefaultMutableTreeNode node, Map<String, String> requestFiles,
+                                              Map<String, String> summaries, Set<String> seenIds) {
+        JSONObject groupJson = buildGroupPropertiesJson(node);
         JSONArray children = new JSONArray();
         for (int i = 0; i < node.getChildCount(); i++) {
             DefaultMutableTreeNode child = (DefaultMutableTreeNode) node.getChildAt(i);
             Object[] childObj = (Object[]) child.getUserObject();
             if ("group".equals(childObj[0])) {
-                children.add(buildGroupJson(child));
+                children.add(buildManifestGroupJson(child, requestFiles, summaries, seenIds));
             } else if ("request".equals(childObj[0])) {
+                HttpRequestItem requestItem = (HttpRequestItem) childObj[1];
+                if (requestItem.getId() == null || requestItem.getId().isEmpty() || !seenIds.add(requestItem.getId())) {
+                    log.warn("Request '{}' has a missing or duplicate id, assigning a new one", requestItem.getName());
+                    requestItem.setId(UUID.randomUUID().toString());
+                    seenIds.add(requestItem.getId());
+                }
+                // 还没有加载详情的请求文件没有变化，不读取也不重写；
+                // 加载失败的请求在用户修改之前只有默认值，也不写入，修改之后按正常请求写入
+                boolean unchanged = requestItem instanceof LazyHttpRequestItem lazy
+                        && (!lazy.hasLoaded() || lazy.hasLoadFailed() && !lazy.isModifiedAfterLoadFailure());
+                requestFiles.put(requestItem.getId(), unchanged ? null : JSONUtil.parseObj(requestItem).toStringPretty());
                 JSONObject reqJson = new JSONObject();
                 reqJson.set("type", "request");
-                HttpRequestItem requestItem = (HttpRequestItem) childObj[1];
-                JSONObject itemJson = JSONUtil.parseObj(requestItem);
-                reqJson.set("data", itemJson);
+                reqJson.set("ref", toRequestFileName(requestItem.getId()));
+                // 摘要用于启动时构建树，不读取请求文件
+                reqJson.set("id", requestItem.getId());
+                reqJson.set("name", requestItem.getName());
+                reqJson.set("method", requestItem.getMethod());
+                reqJson.set("protocol", requestItem.getProtocol() != null ? requestItem.getProtocol().name() : null);
+                reqJson.set("url", requestItem.getUrl());
+                List<SavedResponse> responses = savedResponsesOf(requestItem);
+                reqJson.set("responses", responses.size());
+                if (!responses.isEmpty()) {
+                    // 响应摘要用于启动时构建响应子节点，响应内容仍只在请求文件中
+                    JSONArray responseSummaries = new JSONArray();
+                    for (SavedResponse response : responses) {
+                        JSONObject summary = new JSONObject();
+                        summary.set("id", response.getId());
+                        summary.set("name", response.getName());
+                        summary.set("code", response.getCode());
+                        summary.set("timestamp", response.getTimestamp());
+                        responseSummaries.add(summary);
+                    }
+                    reqJson.set("savedResponses", responseSummaries);
+                }
                 children.add(reqJson);
+                summaries.put(requestItem.getId(), buildRequestSummary(requestItem));
             }
         }
         groupJson.set("children", children);
         return groupJson;
     }
 
+    /**
+     * 清单中请求摘要的比较键，变化时单个请求的保存需要同时重写清单
+     */
+    private static String buildRequestSummary(HttpRequestItem item) {
+        StringBuilder summary = new StringBuilder()
+                .append(item.getName()).append('\n').append(item.getMethod()).append('\n')
+                .append(item.getProtocol()).append('\n').append(item.getUrl());
+        for (SavedResponse response : savedResponsesOf(item)) {
+            summary.append('\n').append(response.getId()).append('\t').append(response.getName())
+                    .append('\t').append(response.getCode()).append('\t').append(response.getTimestamp());
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 请求的保存响应，未加载的请求返回清单中的摘要，不读取请求文件
+     */
+    private static List<SavedResponse> savedResponsesOf(HttpRequestItem item) {
+        List<SavedResponse> responses = item instanceof LazyHttpRequestItem lazy && !lazy.hasLoaded()
+                ? lazy.responsesWithoutLoading() : item.getResponse();
+        return responses != null ? responses : List.of();
+    }
+
+    /**
+     * 请求文件所在目录：集合文件同名目录，如 collections.json 对应 collections/
+     */
+    private Path getRequestDir() {
+        Path file = Paths.get(filePath);
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return file.resolveSibling(dot > 0 ? name.substring(0, dot) : name + ".d");
+    }
+
+    private static String toRequestFileName(String id) {
+        String base = SAFE_FILE_NAME.matcher(id).matches() ? id : UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)).toString();
+        return base + ".json";
+    }
+
+    private static String readRequestFile(Path requestDir, String fileName) {
+        Path file = requestDir.resolve(fileName).normalize();
+        if (!file.startsWith(requestDir) || !Files.exists(file)) {
+            log.warn("Request file not found: {}", file);
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Error reading request file: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * 先写临时文件再替换，避免写到一半时退出留下损坏的文件
+     */
+    private static void writeFileAtomically(Path target, String content) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * 切换数据文件路径并重新加载集合
      */
@@ -0,0 +1,389 @@
+package com.laker.postman.service.history;
+
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.model.RequestHistoryItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 请求历史的分段追加日志
+ * <p>
+ * 每个分段由两个文件组成：{@code NNNNNN.log} 每行一条紧凑的 JSON 记录，只追加不改写；
+ * {@code NNNNNN.idx} 是对应的索引，每条记录保存偏移、长度、请求时间、状态码、方法和 URL。
+ * 启动时只读索引即可列出最近的历史，详情在查看时按偏移读取单条记录。
+ * 当前分段超过大小或条数上限后切换到新分段，超出保留条数的整段旧分段直接删除。
+ * 异常退出导致的残缺尾部在打开时截掉，索引落后于日志时从日志补齐。
+ * </p>
+ * 方法都是同步的，由调用方在后台线程调用。
+ */
+@Slf4j
+public class HistoryLog {
+    static final long MAX_SEGMENT_BYTES = 4L * 1024 * 1024;
+    static final int MAX_SEGMENT_RECORDS = 256;
+    // 索引中 URL 的最大长度，完整 URL 仍在记录里
+    private static final int MAX_INDEX_URL_LENGTH = 2048;
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private final int maxSegmentRecords;
+    // 分段序号 -> 记录数，按从旧到新排序
+    private final TreeMap<Integer, Integer> segments = new TreeMap<>();
+    private int currentSegment;
+    private long currentSize;
+    private OutputStream logOut;
+    private DataOutputStream indexOut;
+
+    public HistoryLog(Path dir) {
+        this(dir, MAX_SEGMENT_BYTES, MAX_SEGMENT_RECORDS);
+    }
+
+    HistoryLog(Path dir, long maxSegmentBytes, int maxSegmentRecords) {
+        this.dir = dir;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentRecords = maxSegmentRecords;
+    }
+
+    /**
+     * 索引中的一条历史，只有摘要信息，详情通过 {@link #read} 读取
+     */
+    public static final class Entry extends RequestHistoryItem {
+        final int segment;
+        final long offset;
+        final int length;
+
+        Entry(int segment, long offset, int length, String method, String url, int responseCode, long requestTime) {
+            super(method, url, responseCode, requestTime);
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 打开日志目录，修复残缺尾部，返回最近的 {@code maxEntries} 条历史（从新到旧）
+     */
+    public synchronized List<Entry> open(int maxEntries) throws IOException {
+        closeWriters();
+        segments.clear();
+        Files.createDirectories(dir);
+        for (int seq : listSegments()) {
+            segments.put(seq, 0);
+        }
+
+        Deque<Entry> recent = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> segment : segments.entrySet()) {
+            List<Entry> entries = recoverSegment(segment.getKey());
+            segment.setValue(entries.size());
+            for (Entry entry : entries) {
+                recent.addFirst(entry);
+                if (recent.size() > maxEntries) {
+                    recent.removeLast();
+                }
+            }
+        }
+
+        currentSegment = segments.isEmpty() ? 1 : segments.lastKey();
+        segments.putIfAbsent(currentSegment, 0);
+        currentSize = Files.exists(logFile(currentSegment)) ? Files.size(logFile(currentSegment)) : 0;
+        return new ArrayList<>(recent);
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param record 单条记录的 JSON，不能包含换行
+     */
+    public synchronized Entry append(String record, String method, String url, int responseCode, long requestTime)
+            throws IOException {
+        int count = segments.getOrDefault(currentSegment, 0);
+        if (count > 0 && (count >= maxSegmentRecords || currentSize >= maxSegmentBytes)) {
+            closeWriters();
+            currentSegment++;
+            currentSize = 0;
+            count = 0;
+        }
+        ensureWriters();
+
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        Entry entry = new Entry(currentSegment, currentSize, bytes.length, method, url, responseCode, requestTime);
+        logOut.write(bytes);
+        logOut.write('\n');
+        logOut.flush();
+        writeIndex(indexOut, entry);
+        indexOut.flush();
+
+        currentSize += bytes.length + 1;
+        segments.put(currentSegment, count + 1);
+        return entry;
+    }
+
+    /**
+     * 读取一条记录的 JSON，所在分段已被删除时返回 null
+     */
+    public synchronized String read(Entry entry) throws IOException {
+        Path file = logFile(entry.segment);
+        if (!segments.containsKey(entry.segment) || !Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                    return null;
+                }
+            }
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 删除超出保留条数的旧分段，只删除整段，当前分段始终保留
+     */
+    public synchronized void expire(int retainEntries) {
+        int total = 0;
+        for (int count : segments.values()) {
+            total += count;
+        }
+        while (segments.size() > 1) {
+            Map.Entry<Integer, Integer> oldest = segments.firstEntry();
+            if (total - oldest.getValue() < retainEntries) {
+                break;
+            }
+            total -= oldest.getValue();
+            segments.remove(oldest.getKey());
+            deleteSegment(oldest.getKey());
+        }
+    }
+
+    /**
+     * 删除全部分段，之后从新分段开始追加
+     */
+    public synchronized void clear() {
+        closeWriters();
+        for (int seq : segments.keySet()) {
+            deleteSegment(seq);
+        }
+        segments.clear();
+        currentSegment++;
+        currentSize = 0;
+        segments.put(currentSegment, 0);
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized void close() {
+        closeWriters();
+    }
+
+    /**
+     * 读取一个分段的索引；索引尾部残缺时截掉，落后于日志时从日志补齐，日志末尾没有换行的半条记录被截掉
+     */
+    private List<Entry> recoverSegment(int seq) throws IOException {
+        Path logFile = logFile(seq);
+        Path indexFile = indexFile(seq);
+        long logSize = Files.exists(logFile) ? Files.size(logFile) : 0;
+        List<Entry> entries = new ArrayList<>();
+        long validIndexBytes = 0;
+
+        if (Files.exists(indexFile)) {
+            try (CountingInputStream counter = new CountingInputStream(
+                    new BufferedInputStream(Files.newInputStream(indexFile)));
+                 DataInputStream in = new DataInputStream(counter)) {
+                while (true) {
+                    Entry entry;
+                    try {
+                        entry = readIndex(in, seq);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    // 索引指向日志之外说明日志被截断过，之后的索引都不可信
+                    if (entry.offset + entry.length + 1 > logSize) {
+                        break;
+                    }
+                    entries.add(entry);
+                    validIndexBytes = counter.count;
+                }
+            }
+            if (Files.size(indexFile) != validIndexBytes) {
+                log.warn("Truncating damaged history index {} at {} bytes", indexFile, validIndexBytes);
+                truncate(indexFile, validIndexBytes);
+            }
+        }
+
+        long indexedEnd = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).offset + entries.get(entries.size() - 1).length + 1;
+        if (logSize > indexedEnd) {
+            long validLogEnd = rebuildIndexTail(seq, indexedEnd, entries);
+            if (validLogEnd < logSize) {
+                log.warn("Truncating incomplete history record in {} at {} bytes", logFile, validLogEnd);
+                truncate(logFile, validLogEnd);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 从日志的 {@code start} 处逐行补齐索引，返回最后一条完整记录之后的位置
+     */
+    private long rebuildIndexTail(int seq, long start, List<Entry> entries) throws IOException {
+        long position = start;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logFile(seq)));
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(
+                     Files.newOutputStream(indexFile(seq), StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            in.skipNBytes(start);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                byte[] bytes = line.toByteArray();
+                line.reset();
+                try {
+                    JSONObject json = JSONUtil.parseObj(new String(bytes, StandardCharsets.UTF_8));
+                    Entry entry = new Entry(seq, position, bytes.length, json.getStr("method"), json.getStr("url"),
+                            json.getInt("responseCode", 0), json.getLong("requestTime", 0L));
+                    writeIndex(index, entry);
+                    entries.add(entry);
+                } catch (Exception e) {
+                    log.warn("Skip unreadable history record in segment {} at {}", seq, position);
+                }
+                position += bytes.length + 1;
+            }
+        }
+        return position;
+    }
+
+    private void ensureWriters() throws IOException {
+        if (logOut == null) {
+            Files.createDirectories(dir);
+            logOut = new BufferedOutputStream(Files.newOutputStream(logFile(currentSegment),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile(currentSegment),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        }
+    }
+
+    private void closeWriters() {
+        closeQuietly(logOut);
+        closeQuietly(indexOut);
+        logOut = null;
+        indexOut = null;
+    }
+
+    private static void writeIndex(DataOutputStream out, Entry entry) throws IOException {
+        String url = entry.url != null ? entry.url : "";
+        if (url.length() > MAX_INDEX_URL_LENGTH) {
+            url = url.substring(0, MAX_INDEX_URL_LENGTH);
+        }
+        out.writeLong(entry.offset);
+        out.writeInt(entry.length);
+        out.writeLong(entry.requestTime);
+        out.writeInt(entry.responseCode);
+        out.writeUTF(entry.method != null ? entry.method : "");
+        out.writeUTF(url);
+    }
+
+    private static Entry readIndex(DataInputStream in, int seq) throws IOException {
+        long offset = in.readLong();
+        int length = in.readInt();
+        long requestTime = in.readLong();
+        int responseCode = in.readInt();
+        String method = in.readUTF();
+        String url = in.readUTF();
+        return new Entry(seq, offset, length, method, url, responseCode, requestTime);
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(LOG_SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            result.add(Integer.parseInt(name.substring(0, name.length() - LOG_SUFFIX.length())));
+                        } catch (NumberFormatException ignored) {
+                            // 不是分段文件
+                        }
+                    });
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private void deleteSegment(int seq) {
+        try {
+            Files.deleteIfExists(logFile(seq));
+            Files.deleteIfExists(indexFile(seq));
+        } catch (IOException e) {
+            log.warn("Failed to delete history segment {}: {}", seq, e.getMessage());
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("Failed to close history log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Path logFile(int seq) {
+        return dir.resolve(String.format("%06d%s", seq, LOG_SUFFIX));
+    }
+
+    private Path indexFile(int seq) {
+        return dir.resolve(String.format("%06d%s", seq, INDEX_SUFFIX));
+    }
+
+    /**
+     * 记录已读取的字节数，用于定位最后一条完整索引的结束位置
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
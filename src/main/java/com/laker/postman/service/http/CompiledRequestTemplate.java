@@ -0,0 +1,319 @@
+package com.laker.postman.service.http;
+
+import com.laker.postman.model.*;
+import com.laker.postman.service.EnvironmentService;
+import com.laker.postman.service.setting.SettingManager;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.laker.postman.panel.collections.right.request.sub.AuthTabPanel.AUTH_TYPE_BASIC;
+import static com.laker.postman.panel.collections.right.request.sub.AuthTabPanel.AUTH_TYPE_BEARER;
+
+/**
+ * 预编译的请求模板，压测开始时每个请求节点构建一次
+ * <p>
+ * URL（含已编码的 params）、Body 以及每个 Header、Param、表单字段都预先拆分成字面量和变量段，
+ * 每次迭代只需按段拼接并查找变量，不再运行 {@code {{...}}} 正则，也不再重新编码 URL 参数。
+ * {@link #newRequest()} 为每次迭代复制一份条目，前置脚本和变量替换只修改副本，
+ * 不会改动 {@link HttpRequestItem} 中共享的 Header/表单对象。
+ * </p>
+ * 与 {@link PreparedRequestBuilder#build} + {@link PreparedRequestBuilder#replaceVariablesAfterPreScript} 的结果一致；
+ * 前置脚本改动过的字段回退为按当前值临时解析。
+ */
+public final class CompiledRequestTemplate {
+
+    private final String id;
+    private final String method;
+    private final String bodyType;
+    private final boolean multipart;
+    private final Text url;
+    private final Text body;
+    private final List<Entry> headers;
+    private final List<Entry> params;
+    private final List<Entry> formData;
+    private final List<String> formDataTypes;
+    private final List<Entry> urlencoded;
+    private final String authType;
+    private final Text authUsername;
+    private final Text authPassword;
+    private final Text authToken;
+
+    private CompiledRequestTemplate(HttpRequestItem item) {
+        this.id = item.getId();
+        this.method = item.getMethod();
+        this.bodyType = item.getBodyType();
+
+        // params 拼接到 URL 并编码，只在编译时做一次
+        Map<String, String> enabledParams = new LinkedHashMap<>();
+        if (item.getParamsList() != null) {
+            for (HttpParam param : item.getParamsList()) {
+                if (param.isEnabled()) {
+                    enabledParams.put(param.getKey(), param.getValue());
+                }
+            }
+        }
+        this.url = Text.parse(HttpRequestUtil.encodeUrlParams(
+                HttpRequestUtil.buildUrlWithParams(item.getUrl(), enabledParams)));
+        this.body = Text.parse(item.getBody());
+
+        boolean hasForm = false;
+        if (item.getFormDataList() != null) {
+            for (HttpFormData data : item.getFormDataList()) {
+                if (data.isEnabled() && (data.isText() || data.isFile())) {
+                    hasForm = true;
+                    break;
+                }
+            }
+        }
+        this.multipart = hasForm;
+
+        this.headers = compileEntries(item.getHeadersList(), HttpHeader::isEnabled, HttpHeader::getKey, HttpHeader::getValue);
+        this.params = compileEntries(item.getParamsList(), HttpParam::isEnabled, HttpParam::getKey, HttpParam::getValue);
+        this.formData = compileEntries(item.getFormDataList(), HttpFormData::isEnabled, HttpFormData::getKey, HttpFormData::getValue);
+        this.formDataTypes = new ArrayList<>();
+        if (item.getFormDataList() != null) {
+            item.getFormDataList().forEach(data -> formDataTypes.add(data.getType()));
+        }
+        this.urlencoded = compileEntries(item.getUrlencodedList(), HttpFormUrlencoded::isEnabled,
+                HttpFormUrlencoded::getKey, HttpFormUrlencoded::getValue);
+
+        // 已有启用的 Authorization 头时不再根据认证配置补充
+        boolean hasAuthHeader = false;
+        if (item.getHeadersList() != null) {
+            for (HttpHeader header : item.getHeadersList()) {
+                if (header.isEnabled() && "Authorization".equalsIgnoreCase(header.getKey())) {
+                    hasAuthHeader = true;
+                    break;
+                }
+            }
+        }
+        this.authType = hasAuthHeader ? null : item.getAuthType();
+        this.authUsername = Text.parse(item.getAuthUsername());
+        this.authPassword = Text.parse(item.getAuthPassword());
+        this.authToken = Text.parse(item.getAuthToken());
+    }
+
+    public static CompiledRequestTemplate compile(HttpRequestItem item) {
+        return new CompiledRequestTemplate(item);
+    }
+
+    /**
+     * 创建本次迭代的请求，变量尚未替换（对应 {@link PreparedRequestBuilder#build}）
+     */
+    public PreparedRequest newRequest() {
+        PreparedRequest req = new PreparedRequest();
+        req.id = id;
+        req.method = method;
+        req.url = url.source;
+        req.body = body.source;
+        req.bodyType = bodyType;
+        req.isMultipart = multipart;
+        req.followRedirects = SettingManager.isFollowRedirects();
+
+        req.headersList = new ArrayList<>(headers.size() + 1);
+        for (Entry entry : headers) {
+            req.headersList.add(new HttpHeader(entry.enabled, entry.key.source, entry.value.source));
+        }
+        HttpHeader authHeader = buildAuthHeader();
+        if (authHeader != null) {
+            req.headersList.add(authHeader);
+        }
+        req.paramsList = new ArrayList<>(params.size());
+        for (Entry entry : params) {
+            req.paramsList.add(new HttpParam(entry.enabled, entry.key.source, entry.value.source));
+        }
+        req.formDataList = new ArrayList<>(formData.size());
+        for (int i = 0; i < formData.size(); i++) {
+            Entry entry = formData.get(i);
+            req.formDataList.add(new HttpFormData(entry.enabled, entry.key.source, formDataTypes.get(i), entry.value.source));
+        }
+        req.urlencodedList = new ArrayList<>(urlencoded.size());
+        for (Entry entry : urlencoded) {
+            req.urlencodedList.add(new HttpFormUrlencoded(entry.enabled, entry.key.source, entry.value.source));
+        }
+        return req;
+    }
+
+    /**
+     * 前置脚本执行后替换变量（对应 {@link PreparedRequestBuilder#replaceVariablesAfterPreScript}）
+     */
+    public void render(PreparedRequest req) {
+        // 脚本改动了 URL 或 params 时才需要重新拼接 params
+        boolean rebuildUrl = req.url != url.source || entriesChanged(req.paramsList, params,
+                HttpParam::isEnabled, HttpParam::getKey, HttpParam::getValue);
+
+        renderEntries(req.headersList, headers, HttpHeader::isEnabled, HttpHeader::getKey, HttpHeader::getValue,
+                HttpHeader::setKey, HttpHeader::setValue);
+        renderEntries(req.formDataList, formData, HttpFormData::isEnabled, HttpFormData::getKey, HttpFormData::getValue,
+                HttpFormData::setKey, HttpFormData::setValue);
+        renderEntries(req.urlencodedList, urlencoded, HttpFormUrlencoded::isEnabled, HttpFormUrlencoded::getKey,
+                HttpFormUrlencoded::getValue, HttpFormUrlencoded::setKey, HttpFormUrlencoded::setValue);
+        renderEntries(req.paramsList, params, HttpParam::isEnabled, HttpParam::getKey, HttpParam::getValue,
+                HttpParam::setKey, HttpParam::setValue);
+
+        if (rebuildUrl && req.paramsList != null && !req.paramsList.isEmpty()) {
+            Map<String, String> enabledParams = new LinkedHashMap<>();
+            for (HttpParam param : req.paramsList) {
+                if (param.isEnabled()) {
+                    enabledParams.put(param.getKey(), param.getValue());
+                }
+            }
+            if (!enabledParams.isEmpty()) {
+                req.url = HttpRequestUtil.buildUrlWithParams(req.url, enabledParams);
+            }
+        }
+        req.url = url.render(req.url);
+        req.body = body.render(req.body);
+    }
+
+    private HttpHeader buildAuthHeader() {
+        if (AUTH_TYPE_BASIC.equals(authType)) {
+            String username = authUsername.render();
+            String password = authPassword.render();
+            if (username != null) {
+                String token = Base64.getEncoder().encodeToString(
+                        (username + ":" + (password == null ? "" : password)).getBytes());
+                return new HttpHeader(true, "Authorization", "Basic " + token);
+            }
+        } else if (AUTH_TYPE_BEARER.equals(authType)) {
+            String token = authToken.render();
+            if (token != null && !token.isEmpty()) {
+                return new HttpHeader(true, "Authorization", "Bearer " + token);
+            }
+        }
+        return null;
+    }
+
+    private static <T> List<Entry> compileEntries(List<T> list, Predicate<T> enabled,
+                                                  Function<T, String> key, Function<T, String> value) {
+        List<Entry> entries = new ArrayList<>();
+        if (list != null) {
+            for (T item : list) {
+                entries.add(new Entry(enabled.test(item), Text.parse(key.apply(item)), Text.parse(value.apply(item))));
+            }
+        }
+        return entries;
+    }
+
+    private static <T> boolean entriesChanged(List<T> list, List<Entry> entries, Predicate<T> enabled,
+                                              Function<T, String> key, Function<T, String> value) {
+        if (list == null || list.size() != entries.size()) {
+            return true;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            Entry entry = entries.get(i);
+            if (enabled.test(item) != entry.enabled
+                    || key.apply(item) != entry.key.source || value.apply(item) != entry.value.source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> void renderEntries(List<T> list, List<Entry> entries, Predicate<T> enabled,
+                                          Function<T, String> key, Function<T, String> value,
+                                          BiConsumer<T, String> setKey, BiConsumer<T, String> setValue) {
+        if (list == null) return;
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            if (!enabled.test(item)) {
+                continue;
+            }
+            Entry entry = i < entries.size() ? entries.get(i) : null;
+            setKey.accept(item, entry != null ? entry.key.render(key.apply(item)) : Text.parse(key.apply(item)).render());
+            setValue.accept(item, entry != null ? entry.value.render(value.apply(item)) : Text.parse(value.apply(item)).render());
+        }
+    }
+
+    private record Entry(boolean enabled, Text key, Text value) {
+    }
+
+    /**
+     * 拆分为字面量和变量段的文本，语义与 {@link EnvironmentService#replaceVariables} 的 {@code \{\{(.+?)}}} 一致：
+     * 变量名至少一个字符且不跨行，未定义的变量保留原样
+     */
+    static final class Text {
+        private final String source;
+        private final String[] literals; // 长度比 names 多 1
+        private final String[] names;
+
+        private Text(String source, String[] literals, String[] names) {
+            this.source = source;
+            this.literals = literals;
+            this.names = names;
+        }
+
+        static Text parse(String source) {
+            if (source == null || source.indexOf("{{") < 0) {
+                return new Text(source, null, null);
+            }
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            int literalStart = 0;
+            int pos = 0;
+            while (true) {
+                int start = source.indexOf("{{", pos);
+                if (start < 0) break;
+                int end = source.indexOf("}}", start + 3);
+                if (end < 0) break;
+                String name = source.substring(start + 2, end);
+                if (containsLineTerminator(name)) {
+                    pos = start + 1;
+                    continue;
+                }
+                literals.add(source.substring(literalStart, start));
+                names.add(name);
+                literalStart = end + 2;
+                pos = literalStart;
+            }
+            if (names.isEmpty()) {
+                return new Text(source, null, null);
+            }
+            literals.add(source.substring(literalStart));
+            return new Text(source, literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+
+        /**
+         * 当前值仍是模板原值时按预拆分的段渲染，否则（被前置脚本修改过）临时解析当前值
+         */
+        String render(String current) {
+            // 字符串引用相同说明字段未被脚本重新赋值
+            return current == source ? render() : parse(current).render();
+        }
+
+        String render() {
+            if (names == null) {
+                return source;
+            }
+            StringBuilder sb = new StringBuilder(source.length() + 16);
+            for (int i = 0; i < names.length; i++) {
+                sb.append(literals[i]);
+                String value = EnvironmentService.resolveVariable(names[i]);
+                if (value == null) {
+                    sb.append("{{").append(names[i]).append("}}");
+                } else {
+                    sb.append(value);
+                }
+            }
+            return sb.append(literals[names.length]).toString();
+        }
+
+        private static boolean containsLineTerminator(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
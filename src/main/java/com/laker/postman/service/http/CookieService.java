@@ -8,13 +8,19 @@ import java.net.CookieStore;
 import java.net.HttpCookie;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Cookie 管理相关工具类，负责监听、获取、设置 Cookie
  */
 public class CookieService {
-    // 监听器列表
-    private static final List<Runnable> listeners = new ArrayList<>();
+    // 监听器列表（请求线程和界面线程都会访问）
+    private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    // 批量模式嵌套计数，大于 0 时只记录变化，结束时合并通知一次
+    private static final AtomicInteger batchDepth = new AtomicInteger();
+    private static final AtomicBoolean pendingNotify = new AtomicBoolean();
     // 全局 CookieManager
     private static final CookieManager GLOBAL_COOKIE_MANAGER = OkHttpClientManager.getGlobalCookieManager();
 
@@ -67,7 +73,34 @@ public class CookieService {
         notifyCookieChanged();
     }
 
+    /**
+     * 进入批量模式（如压测运行期间），期间的 Cookie 变化不逐次通知监听器
+     */
+    public static void beginBatch() {
+        batchDepth.incrementAndGet();
+    }
+
+    /**
+     * 退出批量模式，期间有变化时合并通知一次
+     */
+    public static void endBatch() {
+        if (batchDepth.decrementAndGet() <= 0) {
+            batchDepth.set(0);
+            if (pendingNotify.getAndSet(false)) {
+                fireCookieChanged();
+            }
+        }
+    }
+
     public static void notifyCookieChanged() {
+        if (batchDepth.get() > 0) {
+            pendingNotify.set(true);
+            return;
+        }
+        fireCookieChanged();
+    }
+
+    private static void fireCookieChanged() {
         for (Runnable r : listeners) {
             try {
                 r.run();
@@ -1,6 +1,7 @@
 package com.laker.postman.service.http;
 
 import com.laker.postman.model.HttpEventInfo;
+import com.laker.postman.model.HttpPhaseTimings;
 import com.laker.postman.model.HttpResponse;
 import com.laker.postman.model.PreparedRequest;
 import com.laker.postman.service.http.okhttp.*;
@@ -13,8 +14,11 @@ import okhttp3.sse.EventSource;
 import okhttp3.sse.EventSourceListener;
 import okhttp3.sse.EventSources;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 import static com.laker.postman.service.http.HttpRequestUtil.extractBaseUri;
 
@@ -26,34 +30,9 @@ import static com.laker.postman.service.http.HttpRequestUtil.extractBaseUri;
 public class HttpService {
 
     /**
-     * 构建支持动态 eventListenerFactory 和超时的 OkHttpClient
-     * <p>
-     * 拦截器执行顺序说明：
-     * 1. addNetworkInterceptor(CompressionSizeInterceptor)：网络层，最先执行，记录压缩前体积。
-     * 2. addInterceptor(BrotliInterceptor.INSTANCE)：应用层，自动解压 br 响应。
-     * 3. addInterceptor(DeflateDecompressInterceptor)：应用层，自动解压 deflate 响应。
-     * 4. BridgeInterceptor（OkHttp 内部）：自动解压 gzip 响应。
-     * 5. 其他自定义拦截器（如日志、超时等）。
-     * <p>
-     * 推荐顺序保证：
-     * - 压缩前体积先被记录。
-     * - br/deflate/gzip 都能自动解压。
-     * - 业务逻辑拦截器可安全处理解压后的响应体。
+     * 异步请求的背压：在途（执行中和排队中）请求达到上限时，发起方阻塞等待
      */
-    private static OkHttpClient buildDynamicClient(OkHttpClient baseClient, PreparedRequest preparedRequest, int timeoutMs) {
-        OkHttpClient.Builder builder = baseClient.newBuilder();
-        // 添加自动解压拦截器
-        builder.addNetworkInterceptor(new CompressionDecompressNetworkInterceptor());
-        if (preparedRequest.logEvent) {
-            builder.eventListenerFactory(call -> new EasyConsoleEventListener(preparedRequest));
-        }
-        if (timeoutMs > 0) {
-            builder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                    .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                    .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        }
-        return builder.build();
-    }
+    private static volatile Semaphore asyncPermits = new Semaphore(OkHttpClientManager.DEFAULT_ASYNC_MAX_REQUESTS);
 
     /**
      * 发送 HTTP 请求，支持环境变量替换
@@ -66,6 +45,98 @@ public class HttpService {
         return executeRequest(req, request, callback);
     }
 
+    /**
+     * 异步发送 HTTP 请求，不占用发起线程等待响应
+     * <p>
+     * 基于 {@link Call#enqueue}，在异步专用调度器上执行；响应体在调度器线程上按请求的消费方式读取完后完成 Future。
+     * 在途请求达到 {@link #setAsyncMaxInFlight(int)} 设置的上限时，本方法阻塞直到有请求完成。
+     * 当前线程绑定了虚拟用户 Cookie 存储时随请求传递，在调度器线程上继续使用。
+     * 当前线程绑定了线程组连接设置时使用其连接池，并在发起前等待每 host 的并发许可。
+     * </p>
+     */
+    public static CompletableFuture<HttpResponse> sendRequestAsync(PreparedRequest req) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        Request request = buildRequestByType(req);
+        VirtualUserCookieJar cookieJar = VirtualUserCookieJar.current();
+        if (cookieJar != null) {
+            request = request.newBuilder().tag(VirtualUserCookieJar.class, cookieJar).build();
+        }
+        String baseUri = extractBaseUri(req.url);
+        ConnectionProfile profile = ConnectionProfile.current();
+        OkHttpClient client = OkHttpClientManager.getAsyncClient(baseUri, req.followRedirects,
+                SettingManager.getRequestTimeout(), req.logEvent, req.collectPhaseTimings, profile);
+
+        Semaphore hostPermit = profile != null ? profile.hostPermit(baseUri) : null;
+        Semaphore asyncPermit = asyncPermits;
+        try {
+            if (hostPermit != null) {
+                hostPermit.acquire();
+            }
+            try {
+                asyncPermit.acquire();
+            } catch (InterruptedException e) {
+                if (hostPermit != null) {
+                    hostPermit.release();
+                }
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+        // 请求结束（成功或失败）时归还许可
+        Runnable releasePermits = () -> {
+            asyncPermit.release();
+            if (hostPermit != null) {
+                hostPermit.release();
+            }
+        };
+        long startTime = System.currentTimeMillis();
+        HttpResponse httpResponse = newHttpResponse(client);
+        Call newCall = client.newCall(request);
+        // 完整事件监听器在 newCall 时于当前线程创建，回调在调度器线程上执行，这里先取出本次请求的事件信息
+        HttpEventInfo eventInfo = EasyConsoleEventListener.getAndRemove();
+        newCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                fillHttpEventInfo(httpResponse, eventInfo, startTime);
+                releasePermits.run();
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                try {
+                    fillHttpEventInfo(httpResponse, eventInfo, startTime);
+                    completeResponse(response, httpResponse, startTime, null);
+                    httpResponse.phaseTimings = call.request().tag(HttpPhaseTimings.class);
+                } catch (Exception e) {
+                    response.close();
+                    releasePermits.run();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                releasePermits.run();
+                future.complete(httpResponse);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 设置异步请求的最大在途数，同时调整异步调度器的并发上限；已在途的请求仍归还到原来的许可
+     */
+    public static void setAsyncMaxInFlight(int maxInFlight) {
+        int max = Math.max(1, maxInFlight);
+        OkHttpClientManager.setAsyncMaxRequests(max);
+        asyncPermits = new Semaphore(max);
+    }
+
+    public static void setDefaultAsyncMaxInFlight() {
+        setAsyncMaxInFlight(OkHttpClientManager.DEFAULT_ASYNC_MAX_REQUESTS);
+    }
+
     /**
      * 根据请求类型构建 Request
      */
@@ -80,22 +151,36 @@ public class HttpService {
     }
 
     /**
-     * 构建自定义 OkHttpClient
+     * 获取请求对应的 OkHttpClient（带自动解压、超时和事件监听），同一配置复用同一个客户端；
+     * 当前线程绑定了线程组连接设置时使用其连接池和协议
      */
     private static OkHttpClient buildCustomClient(PreparedRequest req) {
         String baseUri = extractBaseUri(req.url);
         int timeoutMs = SettingManager.getRequestTimeout();
-        OkHttpClient baseClient = OkHttpClientManager.getClient(baseUri, req.followRedirects);
-        return buildDynamicClient(baseClient, req, timeoutMs);
+        return OkHttpClientManager.getDerivedClient(baseUri, req.followRedirects, timeoutMs,
+                req.logEvent, req.collectPhaseTimings, ConnectionProfile.current());
     }
 
     /**
      * 执行 HTTP 请求的通用方法
+     * <p>
+     * 同步调用不经过 Dispatcher 的并发限制，线程组设置了每 host 并发上限时，
+     * 在整个请求（含读取响应体）期间持有该 host 的许可。
+     * </p>
      */
     private static HttpResponse executeRequest(PreparedRequest req, Request request, SseResEventListener callback) throws Exception {
         OkHttpClient client = buildCustomClient(req);
-        Call call = client.newCall(request);
-        return callWithRequest(call, client, callback);
+        ConnectionProfile profile = ConnectionProfile.current();
+        Semaphore hostPermit = profile != null ? profile.hostPermit(extractBaseUri(req.url)) : null;
+        if (hostPermit == null) {
+            return callWithRequest(client.newCall(request), client, callback);
+        }
+        hostPermit.acquire();
+        try {
+            return callWithRequest(client.newCall(request), client, callback);
+        } finally {
+            hostPermit.release();
+        }
     }
 
     /**
@@ -119,16 +204,27 @@ public class HttpService {
 
     private static HttpResponse callWithRequest(Call call, OkHttpClient client, SseResEventListener callback) throws IOException {
         long startTime = System.currentTimeMillis();
-        HttpResponse httpResponse = new HttpResponse();
-        ConnectionPool pool = client.connectionPool();
-        httpResponse.idleConnectionCount = pool.idleConnectionCount();
-        httpResponse.connectionCount = pool.connectionCount();
+        HttpResponse httpResponse = newHttpResponse(client);
         Response okResponse;
         try {
             okResponse = call.execute();
         } finally {
-            fillHttpEventInfo(httpResponse, startTime);
+            fillHttpEventInfo(httpResponse, EasyConsoleEventListener.getAndRemove(), startTime);
         }
+        httpResponse.phaseTimings = call.request().tag(HttpPhaseTimings.class);
+        return completeResponse(okResponse, httpResponse, startTime, callback);
+    }
+
+    private static HttpResponse newHttpResponse(OkHttpClient client) {
+        HttpResponse httpResponse = new HttpResponse();
+        ConnectionPool pool = client.connectionPool();
+        httpResponse.idleConnectionCount = pool.idleConnectionCount();
+        httpResponse.connectionCount = pool.connectionCount();
+        return httpResponse;
+    }
+
+    private static HttpResponse completeResponse(Response okResponse, HttpResponse httpResponse, long startTime,
+                                                 SseResEventListener callback) throws IOException {
         OkHttpResponseHandler.handleResponse(okResponse, httpResponse, callback);
         httpResponse.endTime = System.currentTimeMillis();
         httpResponse.costMs = httpResponse.endTime - startTime;
@@ -138,8 +234,7 @@ public class HttpService {
     }
 
 
-    private static void fillHttpEventInfo(HttpResponse httpResponse, long startTime) {
-        HttpEventInfo httpEventInfo = EasyConsoleEventListener.getAndRemove();
+    private static void fillHttpEventInfo(HttpResponse httpResponse, HttpEventInfo httpEventInfo, long startTime) {
         if (httpEventInfo != null) {
             httpEventInfo.setQueueStart(startTime);
             // 计算排队耗时
@@ -9,6 +9,8 @@ import okhttp3.WebSocketListener;
 import okhttp3.sse.EventSource;
 import okhttp3.sse.EventSourceListener;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @UtilityClass
 public class HttpSingleRequestExecutor {
@@ -21,6 +23,13 @@ public class HttpSingleRequestExecutor {
         return HttpService.sendRequest(req, callback);
     }
 
+    /**
+     * 异步发送 HTTP 请求，响应在 OkHttp 调度器线程上读取完成后完成 Future
+     */
+    public static CompletableFuture<HttpResponse> executeHttpAsync(PreparedRequest req) {
+        return HttpService.sendRequestAsync(req);
+    }
+
     public static EventSource executeSSE(PreparedRequest req, EventSourceListener listener) {
         return HttpService.sendSseRequest(req, listener);
     }
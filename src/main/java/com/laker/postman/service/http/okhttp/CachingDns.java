@@ -0,0 +1,273 @@
+package com.laker.postman.service.http.okhttp;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Dns;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内 DNS 缓存，安装在所有客户端上
+ * <p>
+ * 默认直接使用系统解析；压测期间通过 {@link #enable} 开启：解析结果按 TTL 缓存，解析失败按较短的 TTL 负缓存，
+ * 多个地址时每次查找轮换顺序，把新建连接分散到各个地址；静态 hosts 覆盖优先于解析。
+ * 同一主机并发未命中时只解析一次，其余调用等待同一个结果。
+ * 压测开始前用 {@link #prefetch} 预先解析测试计划中的主机，测量阶段的连接不再包含系统 DNS 耗时。
+ * </p>
+ */
+@Slf4j
+public final class CachingDns implements Dns {
+
+    public static final CachingDns INSTANCE = new CachingDns(Dns.SYSTEM);
+
+    /**
+     * 最近一次查找的来源，在调用线程上记录，供事件监听器在 dnsEnd 中读取
+     */
+    public enum Source {SYSTEM, CACHE_HIT, CACHE_MISS, HOSTS}
+
+    private static final ThreadLocal<Source> LAST_SOURCE = new ThreadLocal<>();
+
+    private final Dns delegate;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean enabled;
+    private volatile long ttlNanos;
+    private volatile long negativeTtlNanos;
+    private volatile Map<String, List<InetAddress>> staticHosts = Map.of();
+
+    CachingDns(Dns delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 开启缓存并清空旧结果和统计
+     *
+     * @param ttlMillis         解析成功的缓存时间
+     * @param negativeTtlMillis 解析失败的缓存时间，小于等于 0 表示不缓存失败
+     * @param hosts             静态 hosts 覆盖（主机名不区分大小写）
+     */
+    public void enable(long ttlMillis, long negativeTtlMillis, Map<String, List<InetAddress>> hosts) {
+        this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000L;
+        this.negativeTtlNanos = Math.max(0, negativeTtlMillis) * 1_000_000L;
+        Map<String, List<InetAddress>> normalized = new HashMap<>();
+        if (hosts != null) {
+            hosts.forEach((host, addresses) -> normalized.put(host.toLowerCase(Locale.ROOT), List.copyOf(addresses)));
+        }
+        this.staticHosts = normalized;
+        cache.clear();
+        resetStats();
+        this.enabled = true;
+    }
+
+    /**
+     * 关闭缓存，恢复系统解析，统计保留到下次开启
+     */
+    public void disable() {
+        enabled = false;
+        staticHosts = Map.of();
+        cache.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @NotNull
+    @Override
+    public List<InetAddress> lookup(@NotNull String hostname) throws UnknownHostException {
+        if (!enabled) {
+            LAST_SOURCE.set(Source.SYSTEM);
+            return delegate.lookup(hostname);
+        }
+        String host = hostname.toLowerCase(Locale.ROOT);
+        List<InetAddress> fixed = staticHosts.get(host);
+        if (fixed != null) {
+            LAST_SOURCE.set(Source.HOSTS);
+            return fixed;
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            Entry entry = cache.get(host);
+            if (entry != null && !entry.isExpired(now)) {
+                hits.increment();
+                LAST_SOURCE.set(Source.CACHE_HIT);
+                return entry.await(hostname);
+            }
+            Entry fresh = new Entry();
+            boolean owner = entry == null ? cache.putIfAbsent(host, fresh) == null : cache.replace(host, entry, fresh);
+            if (owner) {
+                misses.increment();
+                LAST_SOURCE.set(Source.CACHE_MISS);
+                return resolve(host, hostname, fresh);
+            }
+            // 其他线程刚刚开始解析，重新读取并等待它的结果
+        }
+    }
+
+    private List<InetAddress> resolve(String host, String hostname, Entry entry) throws UnknownHostException {
+        try {
+            List<InetAddress> addresses = List.copyOf(delegate.lookup(hostname));
+            entry.expiresAt = System.nanoTime() + ttlNanos;
+            entry.result.complete(addresses);
+            return addresses;
+        } catch (UnknownHostException | RuntimeException e) {
+            entry.expiresAt = System.nanoTime() + negativeTtlNanos;
+            entry.result.completeExceptionally(e);
+            if (negativeTtlNanos <= 0) {
+                cache.remove(host, entry);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 预先解析主机，解析失败只记录日志（失败结果按负缓存处理）
+     */
+    public void prefetch(Collection<String> hostnames) {
+        if (!enabled || hostnames == null) {
+            return;
+        }
+        for (String hostname : new LinkedHashSet<>(hostnames)) {
+            try {
+                List<InetAddress> addresses = lookup(hostname);
+                log.debug("DNS prefetch {} -> {}", hostname, addresses);
+            } catch (UnknownHostException e) {
+                log.warn("DNS prefetch failed for {}: {}", hostname, e.getMessage());
+            }
+        }
+        // 预解析不计入测量阶段的命中统计
+        resetStats();
+    }
+
+    /**
+     * 当前线程最近一次查找的来源，未查找过返回 null
+     */
+    public static Source lastLookupSource() {
+        return LAST_SOURCE.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * 解析静态 hosts 文本：每项形如 {@code host=ip1,ip2}，项之间用换行或分号分隔，{@code #} 开头为注释。
+     * 只接受 IP 字面量，不会触发 DNS 查询；格式不正确的项被忽略
+     */
+    public static Map<String, List<InetAddress>> parseHosts(String text) {
+        Map<String, List<InetAddress>> hosts = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return hosts;
+        }
+        for (String line : text.split("[;\\n]")) {
+            String item = line.trim();
+            int eq = item.indexOf('=');
+            if (item.isEmpty() || item.startsWith("#") || eq <= 0) {
+                continue;
+            }
+            String host = item.substring(0, eq).trim();
+            List<InetAddress> addresses = new ArrayList<>();
+            for (String ip : item.substring(eq + 1).split(",")) {
+                String literal = ip.trim();
+                if (!isIpLiteral(literal)) {
+                    log.warn("Ignore invalid hosts entry: {}", item);
+                    addresses.clear();
+                    break;
+                }
+                try {
+                    addresses.add(InetAddress.getByAddress(host, InetAddress.getByName(literal).getAddress()));
+                } catch (UnknownHostException e) {
+                    log.warn("Ignore invalid hosts entry: {}", item);
+                    addresses.clear();
+                    break;
+                }
+            }
+            if (!addresses.isEmpty()) {
+                hosts.put(host, addresses);
+            }
+        }
+        return hosts;
+    }
+
+    private static boolean isIpLiteral(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        if (s.indexOf(':') >= 0) {
+            // IPv6：只包含十六进制数字、冒号和点
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c != ':' && c != '.' && Character.digit(c, 16) < 0) return false;
+            }
+            return true;
+        }
+        String[] parts = s.split("\\.", -1);
+        if (parts.length != 4) {
+            return false;
+        }
+        for (String part : parts) {
+            if (part.isEmpty() || part.length() > 3) return false;
+            for (int i = 0; i < part.length(); i++) {
+                if (!Character.isDigit(part.charAt(i))) return false;
+            }
+            if (Integer.parseInt(part) > 255) return false;
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<List<InetAddress>> result = new CompletableFuture<>();
+        private final AtomicInteger cursor = new AtomicInteger();
+        // 解析完成前不过期
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+
+        /**
+         * 等待解析结果；多个地址时按轮换顺序返回，首个地址依次变化
+         */
+        List<InetAddress> await(String hostname) throws UnknownHostException {
+            List<InetAddress> addresses;
+            try {
+                addresses = result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnknownHostException(hostname + ": interrupted");
+            } catch (ExecutionException e) {
+                UnknownHostException failure = new UnknownHostException(hostname + ": " + e.getCause().getMessage());
+                failure.initCause(e.getCause());
+                throw failure;
+            }
+            int size = addresses.size();
+            if (size <= 1) {
+                return addresses;
+            }
+            int start = Math.floorMod(cursor.getAndIncrement(), size);
+            List<InetAddress> rotated = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rotated.add(addresses.get((start + i) % size));
+            }
+            return rotated;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.laker.postman.service.http.okhttp;
+
+/**
+ * 连接池指标快照，汇总所有在用连接池
+ */
+public class ConnectionPoolStats {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final long createdConnections;
+    private final long evictedConnections;
+
+    public ConnectionPoolStats(int activeConnections, int idleConnections, long createdConnections,
+                               long evictedConnections) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.createdConnections = createdConnections;
+        this.evictedConnections = evictedConnections;
+    }
+
+    /**
+     * 正在承载请求的连接数
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * 统计开始以来新建的连接数（累计）
+     */
+    public long getCreatedConnections() {
+        return createdConnections;
+    }
+
+    /**
+     * 统计开始以来离开连接池的连接数（累计）：空闲超时或超出空闲上限被淘汰、被服务端关闭、按迭代关闭
+     */
+    public long getEvictedConnections() {
+        return evictedConnections;
+    }
+}
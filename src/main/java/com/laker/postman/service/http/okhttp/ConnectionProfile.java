@@ -0,0 +1,134 @@
+package com.laker.postman.service.http.okhttp;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压测线程组的连接设置：协议、连接池大小、每 host 并发上限，以及是否每次迭代新建连接
+ * <p>
+ * 开启自定义连接设置的线程组在运行开始时创建一个实例，拥有独立的连接池和客户端缓存，
+ * 不与其他线程组或界面请求共享连接。虚拟用户在自己的线程上 {@link #bind} 后，
+ * 通过 HttpService 发送的请求都使用该设置，绑定方式与 {@link VirtualUserCookieJar} 相同。
+ * 每次迭代新建连接时，每个虚拟用户通过 {@link #newUserScope()} 获得独占的连接池，
+ * 迭代之间调用 {@link #closeIdleConnections()}，模拟不保持连接的客户端。
+ * </p>
+ */
+public final class ConnectionProfile {
+
+    /**
+     * 协议选择
+     */
+    public enum Protocol {
+        AUTO,      // HTTPS 通过 ALPN 协商 HTTP/2，明文使用 HTTP/1.1
+        HTTP_1_1,  // 只使用 HTTP/1.1，每个连接同时只承载一个请求
+        HTTP_2     // 尽量使用 HTTP/2 多路复用：HTTPS 优先协商 h2，明文使用 h2c（prior knowledge）
+    }
+
+    private static final ThreadLocal<ConnectionProfile> CURRENT = new ThreadLocal<>();
+
+    private final Protocol protocol;
+    private final int maxIdleConnections;
+    private final long keepAliveSeconds;
+    private final int maxRequestsPerHost;
+    private final boolean newConnectionPerIteration;
+    private final ConnectionPool pool;
+    // 每 host 并发许可，同一线程组的所有虚拟用户共享
+    private final Map<String, Semaphore> hostPermits;
+    // 使用本连接池的客户端，按 OkHttpClientManager 的派生客户端 key 缓存
+    final Map<OkHttpClientManager.DerivedClientKey, OkHttpClient> derivedClients = new ConcurrentHashMap<>();
+    final Map<OkHttpClientManager.DerivedClientKey, OkHttpClient> asyncClients = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxIdleConnections        连接池最大空闲连接数
+     * @param keepAliveSeconds          空闲连接保活时间（秒）
+     * @param maxRequestsPerHost        每 host 同时在途的请求上限，小于等于 0 表示不限制
+     * @param newConnectionPerIteration 是否每次迭代新建连接
+     */
+    public ConnectionProfile(Protocol protocol, int maxIdleConnections, long keepAliveSeconds,
+                             int maxRequestsPerHost, boolean newConnectionPerIteration) {
+        this.protocol = protocol != null ? protocol : Protocol.AUTO;
+        this.maxIdleConnections = Math.max(1, maxIdleConnections);
+        this.keepAliveSeconds = Math.max(1, keepAliveSeconds);
+        this.maxRequestsPerHost = Math.max(0, maxRequestsPerHost);
+        this.newConnectionPerIteration = newConnectionPerIteration;
+        this.pool = new ConnectionPool(this.maxIdleConnections, this.keepAliveSeconds, TimeUnit.SECONDS);
+        this.hostPermits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 虚拟用户独占的副本：设置和每 host 并发许可与线程组共享，连接池和客户端缓存独立
+     */
+    private ConnectionProfile(ConnectionProfile parent) {
+        this.protocol = parent.protocol;
+        this.maxIdleConnections = parent.maxIdleConnections;
+        this.keepAliveSeconds = parent.keepAliveSeconds;
+        this.maxRequestsPerHost = parent.maxRequestsPerHost;
+        this.newConnectionPerIteration = parent.newConnectionPerIteration;
+        this.pool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+        this.hostPermits = parent.hostPermits;
+    }
+
+    /**
+     * 为一个虚拟用户取得使用的设置：每次迭代新建连接时返回独占连接池的副本，否则返回自身
+     */
+    public ConnectionProfile newUserScope() {
+        return newConnectionPerIteration ? new ConnectionProfile(this) : this;
+    }
+
+    /**
+     * 关闭连接池中的空闲连接，每次迭代新建连接时在迭代之间调用
+     */
+    public void closeIdleConnections() {
+        pool.evictAll();
+    }
+
+    /**
+     * 每 host 的并发许可，不限制时返回 null
+     */
+    public Semaphore hostPermit(String baseUri) {
+        if (maxRequestsPerHost <= 0) {
+            return null;
+        }
+        return hostPermits.computeIfAbsent(baseUri, k -> new Semaphore(maxRequestsPerHost));
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    public boolean isNewConnectionPerIteration() {
+        return newConnectionPerIteration;
+    }
+
+    /**
+     * 为当前线程绑定连接设置，null 表示使用默认客户端
+     */
+    public static void bind(ConnectionProfile profile) {
+        if (profile != null) {
+            CURRENT.set(profile);
+        }
+    }
+
+    /**
+     * 解除当前线程的绑定，虚拟用户结束时调用
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程绑定的连接设置，未绑定时返回 null
+     */
+    public static ConnectionProfile current() {
+        return CURRENT.get();
+    }
+}
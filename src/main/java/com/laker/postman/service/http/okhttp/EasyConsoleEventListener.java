@@ -136,7 +136,10 @@ public class EasyConsoleEventListener extends EventListener {
     @Override
     public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
         info.setDnsEnd(System.currentTimeMillis());
-        log("dnsEnd", domainName + " -> " + inetAddressList);
+        // 开启 DNS 缓存时标注本次解析的来源（命中/未命中/静态 hosts）
+        CachingDns.Source source = CachingDns.lastLookupSource();
+        String sourceText = source == null || source == CachingDns.Source.SYSTEM ? "" : " [" + source + "]";
+        log("dnsEnd", domainName + " -> " + inetAddressList + sourceText);
     }
 
     @Override
@@ -290,6 +293,7 @@ public class EasyConsoleEventListener extends EventListener {
     public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
         info.setConnectEnd(System.currentTimeMillis());
         info.setProtocol(protocol);
+        OkHttpClientManager.recordConnectionCreated();
         log("connectEnd", inetSocketAddress + " via " + proxy.type() + ", protocol=" + protocol);
     }
 
@@ -1,5 +1,8 @@
 package com.laker.postman.service.http.okhttp;
 
+import com.laker.postman.model.PreparedRequest;
+import com.laker.postman.performance.execution.VirtualThreadSupport;
+import com.laker.postman.service.http.CompressionDecompressNetworkInterceptor;
 import com.laker.postman.service.http.ssl.SSLConfigurationUtil;
 import com.laker.postman.service.setting.SettingManager;
 import lombok.extern.slf4j.Slf4j;
@@ -7,9 +10,16 @@ import okhttp3.*;
 import okhttp3.Authenticator;
 
 import java.net.*;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * OkHttpClient 管理器，按 baseUri（协议+host+port）分配连接池和 OkHttpClient
@@ -19,6 +29,26 @@ import java.util.concurrent.TimeUnit;
 public class OkHttpClientManager {
     // 每个 baseUri 一个连接池和 OkHttpClient
     private static final Map<String, OkHttpClient> clientMap = new ConcurrentHashMap<>();
+    // 在基础客户端上追加解压拦截器、超时和事件监听后的派生客户端，与基础客户端共享连接池和调度器
+    private static final Map<DerivedClientKey, OkHttpClient> derivedClientMap = new ConcurrentHashMap<>();
+    // 异步请求使用的客户端：派生客户端替换为异步专用调度器，仍共享连接池
+    private static final Map<DerivedClientKey, OkHttpClient> asyncClientMap = new ConcurrentHashMap<>();
+    // 最近一次计算的代理配置键及对应的设置版本
+    private static volatile ProxyConfigKey proxyConfigKey;
+    // 异步调度器默认的最大并发请求数（OkHttp 默认总数 64、每 host 5，不适合压测）
+    public static final int DEFAULT_ASYNC_MAX_REQUESTS = 256;
+    private static final Dispatcher ASYNC_DISPATCHER = createAsyncDispatcher();
+    // 解压拦截器无状态，所有派生客户端共用
+    private static final Interceptor DECOMPRESS_INTERCEPTOR = new CompressionDecompressNetworkInterceptor();
+    // 从请求的 tag 取出 PreparedRequest，为每次调用创建事件监听器
+    private static final EventListener.Factory CONSOLE_EVENT_LISTENER_FACTORY = call -> {
+        PreparedRequest preparedRequest = call.request().tag(PreparedRequest.class);
+        return preparedRequest != null ? new EasyConsoleEventListener(preparedRequest) : EventListener.NONE;
+    };
+    // 所有在用的连接池（基础客户端和线程组连接设置的连接池），用于汇总连接池指标
+    private static final Set<ConnectionPool> activePools = ConcurrentHashMap.newKeySet();
+    // 新建连接计数，由事件监听器在 connectEnd 时累加
+    private static final LongAdder createdConnections = new LongAdder();
     // 连接池参数
     private static final int MAX_IDLE_CONNECTIONS = 6;
     private static final long KEEP_ALIVE_DURATION = 90L;
@@ -30,6 +60,8 @@ public class OkHttpClientManager {
     // 全局 CookieManager，支持标准 CookiePolicy
     private static final CookieManager GLOBAL_COOKIE_MANAGER = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
     private static final JavaNetCookieJar GLOBAL_COOKIE_JAR = new JavaNetCookieJar(GLOBAL_COOKIE_MANAGER);
+    // 压测线程绑定了虚拟用户 Cookie 存储时使用独立存储，否则使用全局 Cookie
+    private static final CookieJar CLIENT_COOKIE_JAR = VirtualUserCookieJar.routing(GLOBAL_COOKIE_JAR);
 
     /**
      * 动态设置连接池参数（压测时可调大）
@@ -57,6 +89,49 @@ public class OkHttpClientManager {
             client.connectionPool().evictAll();
         }
         clientMap.clear();
+        derivedClientMap.clear();
+        asyncClientMap.clear();
+        activePools.clear();
+    }
+
+    /**
+     * 记录一次新建连接，由事件监听器在 connectEnd 时调用
+     */
+    public static void recordConnectionCreated() {
+        createdConnections.increment();
+    }
+
+    /**
+     * 重置连接池指标：清空已记录的连接池和新建连接计数，压测开始时调用
+     */
+    public static void resetPoolStats() {
+        activePools.clear();
+        for (OkHttpClient client : clientMap.values()) {
+            activePools.add(client.connectionPool());
+        }
+        createdConnections.reset();
+    }
+
+    /**
+     * 关闭连接池中的空闲连接并不再统计它，线程组或虚拟用户独占的连接池用完时调用
+     */
+    public static void releasePool(ConnectionPool pool) {
+        pool.evictAll();
+        activePools.remove(pool);
+    }
+
+    /**
+     * 汇总所有在用连接池的指标；淘汰数按累计新建数减去当前连接数估算
+     */
+    public static ConnectionPoolStats getPoolStats() {
+        int total = 0;
+        int idle = 0;
+        for (ConnectionPool pool : activePools) {
+            total += pool.connectionCount();
+            idle += pool.idleConnectionCount();
+        }
+        long created = createdConnections.sum();
+        return new ConnectionPoolStats(Math.max(0, total - idle), idle, created, Math.max(0, created - total));
     }
 
     /**
@@ -98,6 +173,13 @@ public class OkHttpClientManager {
             totalQueuedCount += clientQueuedCount;
         }
 
+        // 异步调度器独立于各基础客户端
+        int asyncRunningCount = ASYNC_DISPATCHER.runningCallsCount();
+        int asyncQueuedCount = ASYNC_DISPATCHER.queuedCallsCount();
+        ASYNC_DISPATCHER.cancelAll();
+        totalRunningCount += asyncRunningCount;
+        totalQueuedCount += asyncQueuedCount;
+
         log.info("总共取消了 {} 个正在执行的请求和 {} 个排队的请求", totalRunningCount, totalQueuedCount);
     }
 
@@ -126,8 +208,11 @@ public class OkHttpClientManager {
                     .cache(null)
                     .pingInterval(30, TimeUnit.SECONDS);
 
-            // 使用全局 JavaNetCookieJar
-            builder.cookieJar(GLOBAL_COOKIE_JAR);
+            // 使用全局 JavaNetCookieJar（压测虚拟用户可按线程切换为独立存储）
+            builder.cookieJar(CLIENT_COOKIE_JAR);
+
+            // 未开启缓存时等同于系统 DNS，压测期间开启缓存和预解析
+            builder.dns(CachingDns.INSTANCE);
 
             // 配置网络代理
             configureProxy(builder);
@@ -135,10 +220,176 @@ public class OkHttpClientManager {
             // 配置SSL设置
             configureSSLSettings(builder, baseUri);
 
+            OkHttpClient client = builder.build();
+            activePools.add(client.connectionPool());
+            return client;
+        });
+    }
+
+    /**
+     * 获取带自动解压、超时和事件监听的派生客户端，按 (baseUri, 重定向, 代理, 超时, 监听器类型) 缓存
+     * <p>
+     * 拦截器执行顺序说明：
+     * 1. addNetworkInterceptor(CompressionDecompressNetworkInterceptor)：网络层，记录压缩前体积并自动解压 gzip/deflate/br。
+     * 2. BridgeInterceptor（OkHttp 内部）：请求未显式声明 Accept-Encoding 时自动解压 gzip 响应。
+     * 3. 其他自定义拦截器（如日志、超时等）。
+     * <p>
+     * 事件监听器从请求 tag 中的 {@link PreparedRequest} 创建，因此请求需由 {@link OkHttpRequestBuilder} 构建。
+     * 派生客户端随 {@link #clearClientCache()} 一起失效。
+     *
+     * @param timeoutMs 连接/读/写超时，小于等于 0 表示不超时
+     * @param logEvent            是否记录完整的连接事件日志
+     * @param collectPhaseTimings 未记录完整日志时，是否用 {@link PhaseTimingEventListener} 采集阶段耗时
+     */
+    public static OkHttpClient getDerivedClient(String baseUri, boolean followRedirects, int timeoutMs,
+                                                boolean logEvent, boolean collectPhaseTimings) {
+        return getDerivedClient(baseUri, followRedirects, timeoutMs, logEvent, collectPhaseTimings, null);
+    }
+
+    /**
+     * 获取派生客户端；指定了线程组连接设置时，改用该设置的连接池和协议，并缓存在设置内
+     */
+    public static OkHttpClient getDerivedClient(String baseUri, boolean followRedirects, int timeoutMs,
+                                                boolean logEvent, boolean collectPhaseTimings,
+                                                ConnectionProfile profile) {
+        DerivedClientKey key = new DerivedClientKey(baseUri, followRedirects, getProxyConfigKey(), timeoutMs,
+                logEvent, collectPhaseTimings);
+        Map<DerivedClientKey, OkHttpClient> cache = profile != null ? profile.derivedClients : derivedClientMap;
+        OkHttpClient client = cache.get(key);
+        if (client != null) {
+            return client;
+        }
+        return cache.computeIfAbsent(key, k -> {
+            OkHttpClient.Builder builder = getClient(baseUri, followRedirects).newBuilder();
+            if (profile != null) {
+                applyProfile(builder, profile, baseUri);
+            }
+            builder.addNetworkInterceptor(DECOMPRESS_INTERCEPTOR);
+            if (logEvent) {
+                builder.eventListenerFactory(CONSOLE_EVENT_LISTENER_FACTORY);
+            } else if (collectPhaseTimings) {
+                builder.eventListenerFactory(PhaseTimingEventListener.FACTORY);
+            }
+            if (timeoutMs > 0) {
+                builder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                        .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+            }
             return builder.build();
         });
     }
 
+    /**
+     * 获取异步请求使用的客户端：在派生客户端上替换为异步专用调度器，
+     * 并绑定请求 tag 中的虚拟用户 Cookie 存储（回调和拦截器在调度器线程上执行）
+     */
+    public static OkHttpClient getAsyncClient(String baseUri, boolean followRedirects, int timeoutMs,
+                                              boolean logEvent, boolean collectPhaseTimings,
+                                              ConnectionProfile profile) {
+        DerivedClientKey key = new DerivedClientKey(baseUri, followRedirects, getProxyConfigKey(), timeoutMs,
+                logEvent, collectPhaseTimings);
+        Map<DerivedClientKey, OkHttpClient> cache = profile != null ? profile.asyncClients : asyncClientMap;
+        OkHttpClient client = cache.get(key);
+        if (client != null) {
+            return client;
+        }
+        return cache.computeIfAbsent(key, k -> getDerivedClient(baseUri, followRedirects, timeoutMs,
+                logEvent, collectPhaseTimings, profile).newBuilder()
+                .dispatcher(ASYNC_DISPATCHER)
+                .addInterceptor(VirtualUserCookieJar.BINDING_INTERCEPTOR)
+                .build());
+    }
+
+    /**
+     * 应用线程组连接设置：独立连接池和协议选择
+     */
+    private static void applyProfile(OkHttpClient.Builder builder, ConnectionProfile profile, String baseUri) {
+        builder.connectionPool(profile.getPool());
+        activePools.add(profile.getPool());
+        switch (profile.getProtocol()) {
+            case HTTP_1_1 -> builder.protocols(List.of(Protocol.HTTP_1_1));
+            case HTTP_2 -> builder.protocols(baseUri.startsWith("https:")
+                    ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                    : List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+            default -> {
+                // AUTO：保持 OkHttp 默认的协商方式
+            }
+        }
+    }
+
+    /**
+     * 派生客户端的缓存键，每个请求都会创建，只保存字段引用，不拼接字符串
+     */
+    static final class DerivedClientKey {
+        private final String baseUri;
+        private final boolean followRedirects;
+        private final String proxyKey;
+        private final int timeoutMs;
+        // 0：无监听器，1：阶段耗时，2：完整事件日志
+        private final int listener;
+
+        DerivedClientKey(String baseUri, boolean followRedirects, String proxyKey, int timeoutMs,
+                         boolean logEvent, boolean collectPhaseTimings) {
+            this.baseUri = baseUri;
+            this.followRedirects = followRedirects;
+            this.proxyKey = proxyKey;
+            this.timeoutMs = timeoutMs;
+            this.listener = logEvent ? 2 : collectPhaseTimings ? 1 : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DerivedClientKey other
+                    && followRedirects == other.followRedirects
+                    && timeoutMs == other.timeoutMs
+                    && listener == other.listener
+                    && baseUri.equals(other.baseUri)
+                    && proxyKey.equals(other.proxyKey);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = baseUri.hashCode();
+            h = 31 * h + proxyKey.hashCode();
+            h = 31 * h + timeoutMs;
+            h = 31 * h + listener;
+            return 31 * h + (followRedirects ? 1 : 0);
+        }
+    }
+
+    /**
+     * 设置异步调度器的最大并发请求数（压测时按用户数调大），总数与每 host 上限相同
+     */
+    public static void setAsyncMaxRequests(int maxRequests) {
+        int max = Math.max(1, maxRequests);
+        ASYNC_DISPATCHER.setMaxRequests(max);
+        ASYNC_DISPATCHER.setMaxRequestsPerHost(max);
+    }
+
+    public static void setDefaultAsyncMaxRequests() {
+        setAsyncMaxRequests(DEFAULT_ASYNC_MAX_REQUESTS);
+    }
+
+    /**
+     * 异步调度器：JDK 21+ 时每个在途请求运行在虚拟线程上，阻塞读写不占用平台线程
+     */
+    private static Dispatcher createAsyncDispatcher() {
+        ThreadFactory threadFactory = VirtualThreadSupport.newThreadFactory("OkHttp-Async");
+        if (threadFactory == null) {
+            AtomicInteger counter = new AtomicInteger(1);
+            threadFactory = r -> {
+                Thread thread = new Thread(r, "OkHttp-Async-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        Dispatcher dispatcher = new Dispatcher(new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory));
+        dispatcher.setMaxRequests(DEFAULT_ASYNC_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_ASYNC_MAX_REQUESTS);
+        return dispatcher;
+    }
+
     /**
      * 配置网络代理
      */
@@ -229,9 +480,20 @@ public class OkHttpClientManager {
     }
 
     /**
-     * 生成代理配置的key，用于客户端缓存
+     * 代理配置键，按设置版本缓存，设置未变化时不再重新格式化
      */
     private static String getProxyConfigKey() {
+        int version = SettingManager.getVersion();
+        ProxyConfigKey cached = proxyConfigKey;
+        if (cached != null && cached.version == version) {
+            return cached.key;
+        }
+        String key = buildProxyConfigKey();
+        proxyConfigKey = new ProxyConfigKey(version, key);
+        return key;
+    }
+
+    private static String buildProxyConfigKey() {
         if (!SettingManager.isProxyEnabled()) {
             return "no-proxy";
         }
@@ -245,6 +507,16 @@ public class OkHttpClientManager {
                 SettingManager.isRequestSslVerificationDisabled());
     }
 
+    private static final class ProxyConfigKey {
+        private final int version;
+        private final String key;
+
+        private ProxyConfigKey(int version, String key) {
+            this.version = version;
+            this.key = key;
+        }
+    }
+
     public static CookieManager getGlobalCookieManager() {
         return GLOBAL_COOKIE_MANAGER;
     }
@@ -3,6 +3,7 @@ package com.laker.postman.service.http.okhttp;
 import com.laker.postman.model.HttpFormData;
 import com.laker.postman.model.HttpFormUrlencoded;
 import com.laker.postman.model.HttpHeader;
+import com.laker.postman.model.HttpPhaseTimings;
 import com.laker.postman.model.PreparedRequest;
 import com.laker.postman.util.JsonUtil;
 import lombok.experimental.UtilityClass;
@@ -38,7 +39,9 @@ public class OkHttpRequestBuilder {
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(methodUpper, requestBody);
+                .method(methodUpper, requestBody)
+                .tag(PreparedRequest.class, req);
+        tagPhaseTimings(builder, req);
 
         addHeadersFromList(builder, req.headersList);
 
@@ -55,7 +58,9 @@ public class OkHttpRequestBuilder {
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(req.method, multipartBuilder.build());
+                .method(req.method, multipartBuilder.build())
+                .tag(PreparedRequest.class, req);
+        tagPhaseTimings(builder, req);
 
         addHeadersFromList(builder, req.headersList);
 
@@ -72,7 +77,9 @@ public class OkHttpRequestBuilder {
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(req.method, formBuilder.build());
+                .method(req.method, formBuilder.build())
+                .tag(PreparedRequest.class, req);
+        tagPhaseTimings(builder, req);
 
         boolean hasContentType = addHeadersFromList(builder, req.headersList);
 
@@ -83,6 +90,15 @@ public class OkHttpRequestBuilder {
         return builder.build();
     }
 
+    /**
+     * 需要采集阶段耗时的请求携带一份自己的 {@link HttpPhaseTimings}，由 {@link PhaseTimingEventListener} 写入
+     */
+    private static void tagPhaseTimings(Request.Builder builder, PreparedRequest req) {
+        if (req.collectPhaseTimings && !req.logEvent) {
+            builder.tag(HttpPhaseTimings.class, new HttpPhaseTimings());
+        }
+    }
+
     /**
      * 从 headersList 中提取 Content-Type
      */
@@ -2,6 +2,8 @@ package com.laker.postman.service.http.okhttp;
 
 import com.laker.postman.common.component.DownloadProgressDialog;
 import com.laker.postman.model.HttpResponse;
+import com.laker.postman.model.PreparedRequest;
+import com.laker.postman.model.ResponseBodyMode;
 import com.laker.postman.service.http.sse.SseResEventListener;
 import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.FileExtensionUtil;
@@ -96,6 +98,9 @@ public class OkHttpResponseHandler {
                     while (reader.processNextEvent()) ;
                 }
             }
+        } else if (bodyModeOf(okResponse) != ResponseBodyMode.FULL) {
+            PreparedRequest req = okResponse.request().tag(PreparedRequest.class);
+            ResponseBodyConsumer.consume(okResponse.body(), response, req.bodyMode, req.bodyContains, req.bodyJsonPath);
         } else if (FileExtensionUtil.isBinaryType(contentType)) {
             handleBinaryResponse(okResponse, response);
         } else {
@@ -107,6 +112,14 @@ public class OkHttpResponseHandler {
         okResponse.close();
     }
 
+    /**
+     * 请求指定的响应体消费方式，未指定时完整读取
+     */
+    private static ResponseBodyMode bodyModeOf(Response okResponse) {
+        PreparedRequest req = okResponse.request().tag(PreparedRequest.class);
+        return req != null && req.bodyMode != null ? req.bodyMode : ResponseBodyMode.FULL;
+    }
+
     /**
      * 处理 SSE（Server-Sent Events）类型的响应
      * SSE 是流式响应，不读取完整内容
@@ -0,0 +1,105 @@
+package com.laker.postman.service.http.okhttp;
+
+import com.laker.postman.model.HttpPhaseTimings;
+import okhttp3.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * 轻量的阶段耗时监听器，压测高效模式下替代 {@link EasyConsoleEventListener}
+ * <p>
+ * 每个请求创建一个实例，只把 {@link System#nanoTime()} 写入请求 tag 中的 {@link HttpPhaseTimings}，
+ * 不拼接字符串、不记录日志、不访问界面。
+ * 时间戳跟随请求而不是线程：异步请求的事件分散在发起线程和调度器线程上，调度器线程还会被其它请求复用。
+ * 请求由 {@link OkHttpRequestBuilder} 构建时会携带该 tag，请求结束后通过 {@code request.tag(HttpPhaseTimings.class)} 读取。
+ * </p>
+ */
+public final class PhaseTimingEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> {
+        HttpPhaseTimings timings = call.request().tag(HttpPhaseTimings.class);
+        // 未携带 tag 的请求仍需统计新建连接数，时间戳写入临时实例
+        return new PhaseTimingEventListener(timings != null ? timings : new HttpPhaseTimings());
+    };
+
+    private final HttpPhaseTimings timings;
+
+    private PhaseTimingEventListener(HttpPhaseTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        timings.callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        timings.dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        timings.dnsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        timings.connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        timings.secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        timings.secureConnectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        timings.connectEnd = System.nanoTime();
+        OkHttpClientManager.recordConnectionCreated();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        timings.connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        timings.requestHeadersStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timings.responseHeadersStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        timings.responseHeadersEnd = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        timings.responseBodyEnd = System.nanoTime();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        timings.callEnd = System.nanoTime();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        timings.callEnd = System.nanoTime();
+    }
+}
@@ -0,0 +1,213 @@
+package com.laker.postman.service.http.okhttp;
+
+import cn.hutool.core.util.HexUtil;
+import com.laker.postman.model.HttpResponse;
+import com.laker.postman.model.ResponseBodyMode;
+import com.laker.postman.util.CompiledJsonPath;
+import com.laker.postman.util.I18nUtil;
+import com.laker.postman.util.JsonPathUtil;
+import com.laker.postman.util.MessageKeys;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不物化响应体的消费方式（{@link ResponseBodyMode#DISCARD}、{@link ResponseBodyMode#DIGEST}、
+ * {@link ResponseBodyMode#STREAMING_ASSERT}）
+ * <p>
+ * 用固定大小的缓冲区循环读取 {@link BufferedSource}，不再 {@code body.bytes()} 后再解码成字符串，
+ * 大响应每次请求的临时内存从“字节数组 + 字符串”降为一个读缓冲区。
+ * JSONPath 断言由 {@link CompiledJsonPath} 在同一个流上边读边求值。
+ * </p>
+ */
+final class ResponseBodyConsumer {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private ResponseBodyConsumer() {
+    }
+
+    static void consume(ResponseBody body, HttpResponse response, ResponseBodyMode mode,
+                        List<String> containsTexts, String jsonPath) throws IOException {
+        response.bodyMode = mode;
+        response.filePath = null;
+        if (body == null) {
+            response.bodySize = 0;
+            response.body = I18nUtil.getMessage(MessageKeys.NO_RESPONSE_BODY);
+            return;
+        }
+        MessageDigest digest = mode == ResponseBodyMode.DIGEST ? sha256() : null;
+        Charset charset = charsetOf(body);
+        ContainsMatcher[] matchers = null;
+        if (mode == ResponseBodyMode.STREAMING_ASSERT && containsTexts != null) {
+            matchers = new ContainsMatcher[containsTexts.size()];
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i] = new ContainsMatcher(containsTexts.get(i).getBytes(charset));
+            }
+        }
+
+        ObservingStream stream = new ObservingStream(body.source(), digest, matchers);
+        if (mode == ResponseBodyMode.STREAMING_ASSERT && jsonPath != null) {
+            // JSONPath 在同一个字节流上求值，找到第一个匹配后剩余内容由下面的 drain 读完
+            Map<String, String> results = new HashMap<>(2);
+            results.put(jsonPath, evaluate(jsonPath, new InputStreamReader(stream, charset)));
+            response.streamedJsonPaths = results;
+        }
+        stream.drain();
+
+        long total = stream.total;
+        response.bodySize = total;
+        if (digest != null) {
+            response.bodyDigest = HexUtil.encodeHexStr(digest.digest());
+            response.body = I18nUtil.getMessage(MessageKeys.RESPONSE_BODY_DIGEST, total, response.bodyDigest);
+            return;
+        }
+        if (matchers != null) {
+            Map<String, Boolean> results = new LinkedHashMap<>();
+            for (int i = 0; i < matchers.length; i++) {
+                results.merge(containsTexts.get(i), matchers[i].isMatched(), Boolean::logicalOr);
+            }
+            response.streamedContains = results;
+        }
+        response.body = I18nUtil.getMessage(MessageKeys.RESPONSE_BODY_DISCARDED, total);
+    }
+
+    private static String evaluate(String jsonPath, Reader reader) {
+        CompiledJsonPath compiled;
+        try {
+            compiled = JsonPathUtil.compile(jsonPath);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return compiled.findFirst(reader);
+    }
+
+    private static Charset charsetOf(ResponseBody body) {
+        MediaType mediaType = body.contentType();
+        Charset charset = mediaType != null ? mediaType.charset() : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 读取响应体的输入流，读到的每段字节同时计数、更新摘要和 Contains 匹配
+     */
+    private static final class ObservingStream extends InputStream {
+        private final BufferedSource source;
+        private final MessageDigest digest;
+        private final ContainsMatcher[] matchers;
+        private long total;
+
+        private ObservingStream(BufferedSource source, MessageDigest digest, ContainsMatcher[] matchers) {
+            this.source = source;
+            this.digest = digest;
+            this.matchers = matchers;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = source.read(b, off, len);
+            if (n > 0) {
+                total += n;
+                if (digest != null) {
+                    digest.update(b, off, n);
+                }
+                if (matchers != null) {
+                    for (ContainsMatcher matcher : matchers) {
+                        matcher.update(b, off, n);
+                    }
+                }
+            }
+            return n;
+        }
+
+        /**
+         * 读完剩余内容
+         */
+        void drain() throws IOException {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            while (read(chunk, 0, chunk.length) != -1) {
+                // 只需要计数和匹配
+            }
+        }
+    }
+
+    /**
+     * 跨缓冲区边界的字节子串匹配（KMP），匹配成功后不再处理后续数据
+     */
+    static final class ContainsMatcher {
+        private final byte[] pattern;
+        private final int[] failure;
+        private int matchedLength;
+        private boolean matched;
+
+        ContainsMatcher(byte[] pattern) {
+            this.pattern = pattern;
+            this.failure = new int[pattern.length];
+            for (int i = 1, k = 0; i < pattern.length; i++) {
+                while (k > 0 && pattern[i] != pattern[k]) {
+                    k = failure[k - 1];
+                }
+                if (pattern[i] == pattern[k]) {
+                    k++;
+                }
+                failure[i] = k;
+            }
+            this.matched = pattern.length == 0;
+        }
+
+        void update(byte[] data, int length) {
+            update(data, 0, length);
+        }
+
+        void update(byte[] data, int offset, int length) {
+            if (matched) {
+                return;
+            }
+            int k = matchedLength;
+            for (int i = offset; i < offset + length; i++) {
+                while (k > 0 && data[i] != pattern[k]) {
+                    k = failure[k - 1];
+                }
+                if (data[i] == pattern[k]) {
+                    k++;
+                    if (k == pattern.length) {
+                        matched = true;
+                        return;
+                    }
+                }
+            }
+            matchedLength = k;
+        }
+
+        boolean isMatched() {
+            return matched;
+        }
+    }
+}
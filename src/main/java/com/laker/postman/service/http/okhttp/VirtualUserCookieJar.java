@@ -0,0 +1,143 @@
+package com.laker.postman.service.http.okhttp;
+
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 压测虚拟用户独立的 Cookie 存储
+ * <p>
+ * 每个虚拟用户在自己的线程上绑定一个实例，同步请求的 Cookie 读写都发生在该线程上，
+ * 因此内部直接使用 {@link ArrayList}，不加锁，也不与其他用户或界面的全局 Cookie 共享会话。
+ * 客户端上安装的是 {@link #routing(CookieJar)} 返回的路由 Jar：当前线程绑定了用户 Jar 时使用它，
+ * 否则回退到全局 Jar，因此无需为每个用户单独构建客户端。
+ * 同一用户同一时刻最多一个请求在途，异步请求时存储会在线程间交接，但不会被并发访问。
+ * </p>
+ */
+public final class VirtualUserCookieJar implements CookieJar {
+
+    private static final ThreadLocal<VirtualUserCookieJar> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 异步请求在调度器线程上执行：从请求 tag 取出发起方的 Cookie 存储，在调用期间绑定到调度器线程
+     */
+    public static final Interceptor BINDING_INTERCEPTOR = chain -> {
+        VirtualUserCookieJar jar = chain.request().tag(VirtualUserCookieJar.class);
+        if (jar == null) {
+            return chain.proceed(chain.request());
+        }
+        CURRENT.set(jar);
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            CURRENT.remove();
+        }
+    };
+
+    private final List<Cookie> cookies = new ArrayList<>();
+
+    /**
+     * 为当前线程绑定一个新的空 Cookie 存储，虚拟用户开始时调用
+     */
+    public static VirtualUserCookieJar bind() {
+        VirtualUserCookieJar jar = new VirtualUserCookieJar();
+        CURRENT.set(jar);
+        return jar;
+    }
+
+    /**
+     * 把已有的 Cookie 存储绑定到当前线程，异步虚拟用户在不同工作线程上继续执行时使用
+     */
+    public static void bind(VirtualUserCookieJar jar) {
+        if (jar != null) {
+            CURRENT.set(jar);
+        }
+    }
+
+    /**
+     * 解除当前线程的绑定，虚拟用户结束时调用，避免线程复用时把会话带给下一个用户
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程绑定的 Cookie 存储，未绑定时返回 null
+     */
+    public static VirtualUserCookieJar current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 按当前线程路由的 Cookie Jar：绑定了虚拟用户存储时使用它，否则使用 fallback
+     */
+    public static CookieJar routing(CookieJar fallback) {
+        return new CookieJar() {
+            @Override
+            public void saveFromResponse(@NotNull HttpUrl url, @NotNull List<Cookie> list) {
+                VirtualUserCookieJar jar = CURRENT.get();
+                (jar != null ? jar : fallback).saveFromResponse(url, list);
+            }
+
+            @NotNull
+            @Override
+            public List<Cookie> loadForRequest(@NotNull HttpUrl url) {
+                VirtualUserCookieJar jar = CURRENT.get();
+                return (jar != null ? jar : fallback).loadForRequest(url);
+            }
+        };
+    }
+
+    @Override
+    public void saveFromResponse(@NotNull HttpUrl url, @NotNull List<Cookie> list) {
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : list) {
+            // 同名、同域、同路径的 Cookie 被新值覆盖；已过期的新值表示删除
+            cookies.removeIf(existing -> sameIdentity(existing, cookie));
+            if (cookie.expiresAt() > now) {
+                cookies.add(cookie);
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<Cookie> loadForRequest(@NotNull HttpUrl url) {
+        if (cookies.isEmpty()) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        List<Cookie> result = new ArrayList<>();
+        Iterator<Cookie> iterator = cookies.iterator();
+        while (iterator.hasNext()) {
+            Cookie cookie = iterator.next();
+            if (cookie.expiresAt() <= now) {
+                iterator.remove();
+            } else if (cookie.matches(url)) {
+                result.add(cookie);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return cookies.size();
+    }
+
+    public void clear() {
+        cookies.clear();
+    }
+
+    private static boolean sameIdentity(Cookie a, Cookie b) {
+        return a.name().equals(b.name())
+                && a.domain().equals(b.domain())
+                && a.path().equals(b.path())
+                && a.hostOnly() == b.hostOnly();
+    }
+}
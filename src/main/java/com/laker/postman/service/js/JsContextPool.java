@@ -3,9 +3,21 @@ package com.laker.postman.service.js;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -16,6 +28,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 用于复用 GraalVM Context 对象，避免在高并发场景下频繁创建和销毁 Context 导致的内存溢出。
  * Context 的创建成本较高（需要加载 JS 库、初始化环境等），通过对象池可以显著提升性能。
  * </p>
+ * <p>
+ * 压测时可开启线程亲和模式：每个工作线程（虚拟用户）独占一个预先创建好的 Context，
+ * 借还都不经过共享队列；虚拟用户结束时 Context 交还备用队列，供之后的用户领取；
+ * 亲和 Context 都被占用时，其余线程回退到共享池。
+ * </p>
  *
  * @author laker
  */
@@ -26,11 +43,53 @@ public class JsContextPool {
             .option("engine.WarnInterpreterOnly", "false")
             .build();
 
+    /**
+     * 归还时需要清理的全局变量（可能被脚本修改或由绑定注入）
+     */
+    private static final List<String> RESET_GLOBALS = List.of(
+            "pm", "request", "environment", "globals", "responseBody", "tests");
+
+    /**
+     * 预热脚本：覆盖前置/后置脚本的常见操作（JSON、字符串、内置库），让共享 Engine 提前编译热点代码
+     */
+    private static final Source WARM_UP_SOURCE = JsSourceCache.build("warm-up.js", """
+            (function () {
+                var body = JSON.stringify({code: 0, message: 'ok', data: {id: 1, items: [1, 2, 3], token: 'abc'}});
+                var json = JSON.parse(body);
+                var tests = {};
+                tests['status is 0'] = json.code === 0;
+                var sign = btoa(json.data.token + ':' + Date.now());
+                if (typeof CryptoJS !== 'undefined') {
+                    sign = CryptoJS.HmacSHA256(sign, 'secret').toString();
+                    CryptoJS.MD5(body).toString();
+                }
+                if (typeof _ !== 'undefined') {
+                    _.map(_.get(json, 'data.items', []), function (n) { return n * 2; });
+                }
+                if (typeof moment !== 'undefined') {
+                    moment().format('YYYY-MM-DD HH:mm:ss');
+                }
+                return encodeURIComponent(sign).replace(/%[0-9A-F]{2}/g, '').length + Object.keys(tests).length;
+            })();
+            """);
+    private static final int WARM_UP_ITERATIONS = 20;
+
     private final BlockingQueue<PooledContext> pool;
     private final int maxSize;
     private final AtomicInteger currentSize = new AtomicInteger(0);
     private volatile boolean closed = false;
 
+    // 线程亲和模式
+    private volatile boolean threadAffinity = false;
+    private volatile int affinityLimit = 0;
+    /**
+     * 每次开启/关闭亲和模式递增，使线程上残留的旧 Context 失效
+     */
+    private volatile int affinityGeneration = 0;
+    private final ThreadLocal<PooledContext> affineContext = new ThreadLocal<>();
+    private final Set<PooledContext> affineContexts = ConcurrentHashMap.newKeySet();
+    private final Queue<PooledContext> spareAffineContexts = new ConcurrentLinkedQueue<>();
+
     /**
      * 包装的 Context 对象，带有创建时间和使用计数
      */
@@ -38,6 +97,15 @@ public class JsContextPool {
         final Context context;
         final long createdTime;
         final AtomicInteger useCount = new AtomicInteger(0);
+        /**
+         * 亲和 Context 所属的亲和代数，-1 表示属于共享池
+         */
+        volatile int affinityGeneration = -1;
+        /**
+         * 亲和 Context 是否正在被所属线程使用，以及是否已被关闭亲和模式淘汰，均由 this 保护
+         */
+        private boolean affineInUse;
+        private boolean retired;
 
         PooledContext(Context context) {
             this.context = context;
@@ -50,22 +118,32 @@ public class JsContextPool {
         }
 
         public void reset() {
-            // 清理全局变量（保留内置库和 polyfill）
+            // 直接在绑定对象上移除全局变量（保留内置库和 polyfill），不需要执行脚本
             try {
-                context.eval("js", """
-                        // 清理可能被脚本修改的全局变量
-                        if (typeof pm !== 'undefined') delete globalThis.pm;
-                        if (typeof request !== 'undefined') delete globalThis.request;
-                        if (typeof environment !== 'undefined') delete globalThis.environment;
-                        if (typeof globals !== 'undefined') delete globalThis.globals;
-                        if (typeof responseBody !== 'undefined') delete globalThis.responseBody;
-                        if (typeof tests !== 'undefined') delete globalThis.tests;
-                        """);
+                Value globals = context.getBindings("js");
+                for (String name : RESET_GLOBALS) {
+                    if (globals.hasMember(name)) {
+                        globals.removeMember(name);
+                    }
+                }
             } catch (Exception e) {
                 log.warn("Failed to reset context: {}", e.getMessage());
             }
         }
 
+        /**
+         * 多次执行预热脚本，预热失败不影响 Context 使用
+         */
+        void warmUp() {
+            try {
+                for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                    context.eval(WARM_UP_SOURCE);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to warm up context: {}", e.getMessage());
+            }
+        }
+
         public void close() {
             try {
                 context.close();
@@ -73,6 +151,42 @@ public class JsContextPool {
                 log.warn("Failed to close context: {}", e.getMessage());
             }
         }
+
+        /**
+         * 所属线程开始使用亲和 Context，已被淘汰时返回 false
+         */
+        synchronized boolean acquireAffine() {
+            if (retired) {
+                return false;
+            }
+            affineInUse = true;
+            return true;
+        }
+
+        /**
+         * 所属线程用完亲和 Context：已被淘汰则在这里关闭，否则清理全局变量留给下次使用
+         */
+        synchronized void releaseAffine() {
+            affineInUse = false;
+            if (retired) {
+                close();
+            } else {
+                reset();
+            }
+        }
+
+        /**
+         * 淘汰亲和 Context：空闲时立即关闭，正在执行脚本时由所属线程归还时关闭
+         */
+        synchronized void retire() {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (!affineInUse) {
+                close();
+            }
+        }
     }
 
     /**
@@ -94,6 +208,13 @@ public class JsContextPool {
      * @return Context 对象
      */
     public PooledContext borrowContext(long timeoutMs) throws InterruptedException {
+        if (threadAffinity) {
+            PooledContext affine = borrowAffineContext();
+            if (affine != null) {
+                return affine;
+            }
+        }
+
         // 先尝试快速获取（非阻塞）
         PooledContext pooled = pool.poll();
 
@@ -134,7 +255,17 @@ public class JsContextPool {
      * @param pooled Context 对象
      */
     public void returnContext(PooledContext pooled) {
-        if (pooled == null || closed) {
+        if (pooled == null) {
+            return;
+        }
+
+        if (pooled.affinityGeneration >= 0) {
+            // 亲和 Context 留在当前线程上；执行期间亲和模式已关闭的，在这里关闭
+            pooled.releaseAffine();
+            return;
+        }
+
+        if (closed) {
             return;
         }
 
@@ -156,6 +287,189 @@ public class JsContextPool {
         }
     }
 
+    /**
+     * 当前线程的亲和 Context；首次借用时从预创建的 Context 中领取一个，
+     * 达到上限时返回 null，由调用方回退到共享池
+     */
+    private PooledContext borrowAffineContext() {
+        int generation = affinityGeneration;
+        PooledContext own = affineContext.get();
+        if (own != null && own.affinityGeneration == generation && own.acquireAffine()) {
+            return own;
+        }
+        affineContext.remove();
+        PooledContext pooled = spareAffineContexts.poll();
+        if (pooled == null) {
+            if (affineContexts.size() >= affinityLimit) {
+                return null;
+            }
+            pooled = createNewContext();
+        }
+        pooled.affinityGeneration = generation;
+        if (!pooled.acquireAffine()) {
+            // 备用 Context 已被关闭亲和模式淘汰
+            return null;
+        }
+        affineContexts.add(pooled);
+        if (generation != affinityGeneration) {
+            // 领取期间亲和模式已关闭，交给淘汰流程，用完后关闭
+            pooled.retire();
+        }
+        affineContext.set(pooled);
+        return pooled;
+    }
+
+    /**
+     * 当前线程的虚拟用户结束时调用：把亲和 Context 交还备用队列，供之后启动的虚拟用户领取
+     * <p>
+     * 线程池复用线程、递减阶段结束用户、到达率模式按需启动用户时，线程数会超过同时在线的用户数，
+     * 不交还的话亲和 Context 很快被已结束的线程占满，ThreadLocal 还会让它们在关闭后继续被引用。
+     * </p>
+     */
+    public void releaseAffineContext() {
+        PooledContext own = affineContext.get();
+        if (own == null) {
+            return;
+        }
+        affineContext.remove();
+        if (threadAffinity && !closed && own.affinityGeneration == affinityGeneration && own.acquireAffine()) {
+            // 在淘汰锁内清理，避免与关闭亲和模式同时操作同一个 Context
+            own.releaseAffine();
+            spareAffineContexts.offer(own);
+        }
+    }
+
+    /**
+     * 开启线程亲和模式，预先创建并预热 Context，使测量期间尽量不再创建 Context
+     *
+     * @param contexts 亲和 Context 的上限，预创建数量不超过池的最大容量
+     */
+    public void enableThreadAffinity(int contexts) throws InterruptedException {
+        enableThreadAffinity(contexts, true);
+    }
+
+    /**
+     * 开启线程亲和模式，并行预先创建不超过池最大容量的 Context；线程数更多时，
+     * 其余线程在第一次借用时创建自己的 Context，直到达到上限
+     *
+     * @param contexts 亲和 Context 的上限，一般为并发线程数
+     * @param warmUp   是否在每个 Context 上执行预热脚本；不预热时开始更快，热点代码在测量初期编译
+     */
+    public void enableThreadAffinity(int contexts, boolean warmUp) throws InterruptedException {
+        disableThreadAffinity();
+        affinityLimit = Math.max(0, contexts);
+        spareAffineContexts.addAll(createWarmContexts(Math.min(affinityLimit, maxSize), warmUp));
+        threadAffinity = true;
+        log.info("JS context thread affinity enabled, limit: {}, pre-created: {}",
+                affinityLimit, spareAffineContexts.size());
+    }
+
+    /**
+     * 预热共享池：并行创建 Context 并执行预热脚本后放入池中，不超过池的最大容量
+     *
+     * @param contexts 期望预热的 Context 数量
+     * @return 实际放入池中的 Context 数量
+     */
+    public int warmUp(int contexts) throws InterruptedException {
+        // 先占用名额，避免与正常借用同时创建导致超出上限
+        int reserved = 0;
+        while (reserved < contexts) {
+            int current = currentSize.get();
+            if (current >= maxSize) {
+                break;
+            }
+            if (currentSize.compareAndSet(current, current + 1)) {
+                reserved++;
+            }
+        }
+        List<PooledContext> created = List.of();
+        try {
+            created = createWarmContexts(reserved, true);
+        } finally {
+            currentSize.addAndGet(created.size() - reserved);
+        }
+        for (PooledContext pooled : created) {
+            if (closed || !pool.offer(pooled)) {
+                pooled.close();
+                currentSize.decrementAndGet();
+            }
+        }
+        return created.size();
+    }
+
+    /**
+     * 使用临时线程并行创建 Context（可选预热），创建失败的 Context 会被跳过
+     */
+    private List<PooledContext> createWarmContexts(int contexts, boolean warmUp) throws InterruptedException {
+        if (contexts <= 0 || closed) {
+            return List.of();
+        }
+        int parallelism = Math.min(contexts, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "js-warmup-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<PooledContext>> futures = new ArrayList<>(contexts);
+        List<PooledContext> created = new ArrayList<>(contexts);
+        try {
+            for (int i = 0; i < contexts; i++) {
+                futures.add(executor.submit(() -> {
+                    PooledContext pooled = createNewContext();
+                    if (warmUp) {
+                        pooled.warmUp();
+                        pooled.reset();
+                    }
+                    return pooled;
+                }));
+            }
+            for (Future<PooledContext> future : futures) {
+                try {
+                    created.add(future.get());
+                } catch (ExecutionException e) {
+                    log.warn("Failed to create warm context: {}", e.getCause().getMessage());
+                }
+            }
+            return created;
+        } catch (InterruptedException e) {
+            // 被中断时取消未开始的任务，释放已创建的 Context
+            executor.shutdownNow();
+            for (Future<PooledContext> future : futures) {
+                if (future.isDone() && !future.isCancelled()) {
+                    try {
+                        future.get().close();
+                    } catch (ExecutionException | InterruptedException ignored) {
+                        // 创建失败的任务没有需要释放的 Context
+                    }
+                }
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 关闭线程亲和模式并释放所有亲和 Context
+     * <p>
+     * 空闲的 Context 立即关闭；超时仍未结束的工作线程可能还在执行脚本，
+     * 它们正在使用的 Context 在归还时关闭，不会在执行中途被关闭
+     * </p>
+     */
+    public void disableThreadAffinity() {
+        threadAffinity = false;
+        affinityGeneration++;
+        PooledContext pooled;
+        while ((pooled = spareAffineContexts.poll()) != null) {
+            pooled.retire();
+        }
+        for (PooledContext affine : affineContexts) {
+            affine.retire();
+        }
+        affineContexts.clear();
+    }
+
     /**
      * 创建新的 Context 对象
      * 注意：Context 创建时使用 nullOutputStream，实际的输出流在 JsScriptExecutor 中处理
@@ -190,6 +504,7 @@ public class JsContextPool {
             pooled.close();
         }
         currentSize.set(0);
+        disableThreadAffinity();
         log.info("JsContextPool shutdown, all contexts closed");
     }
 }
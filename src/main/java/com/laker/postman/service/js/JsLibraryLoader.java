@@ -3,6 +3,7 @@ package com.laker.postman.service.js;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
 import java.io.IOException;
@@ -14,6 +15,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JS 外部库加载器
@@ -65,9 +67,14 @@ import java.util.Map;
 public class JsLibraryLoader {
 
     /**
-     * 内置库缓存 - 避免重复加载
+     * 内置库缓存 - 避免重复加载（多个 Context 可能并行初始化）
      */
-    private static final Map<String, String> LIBRARY_CACHE = new HashMap<>();
+    private static final Map<String, String> LIBRARY_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 内置库 Source 缓存 - 所有 Context 共享同一个 Engine，每个库只解析一次
+     */
+    private static final Map<String, Source> LIBRARY_SOURCES = new ConcurrentHashMap<>();
 
     /**
      * 内置库映射表 - 库名 -> 资源路径
@@ -82,6 +89,59 @@ public class JsLibraryLoader {
     private static final String LODASH_PATH = JS_LIBS_DIR + "lodash.min.js";
     private static final String MOMENT_PATH = JS_LIBS_DIR + "moment.min.js";
 
+    /**
+     * crypto polyfill，为 CryptoJS 提供随机数生成
+     */
+    private static final Source CRYPTO_POLYFILL_SOURCE = JsSourceCache.build("crypto-polyfill.js", """
+            if (typeof crypto === 'undefined') {
+                globalThis.crypto = {
+                    getRandomValues: function(array) {
+                        for (var i = 0; i < array.length; i++) {
+                            array[i] = Math.floor(Math.random() * 256);
+                        }
+                        return array;
+                    }
+                };
+            }
+            """);
+
+    /**
+     * require() 函数的实现
+     */
+    private static final Source REQUIRE_FUNCTION_SOURCE = JsSourceCache.build("require.js", """
+            var require = (function() {
+                var cache = {};
+            \s\s\s\s
+                return function(moduleName) {
+                    // 检查缓存
+                    if (cache[moduleName]) {
+                        return cache[moduleName];
+                    }
+            \s\s\s\s
+                    // 调用 Java 端加载库
+                    var moduleCode = __loadLibrary(moduleName);
+                    if (!moduleCode) {
+                        throw new Error('Cannot find module: ' + moduleName);
+                    }
+            \s\s\s\s
+                    // 创建模块作用域
+                    var module = { exports: {} };
+                    var exports = module.exports;
+            \s\s\s\s
+                    // 执行模块代码
+                    try {
+                        eval(moduleCode);
+                    } catch (e) {
+                        throw new Error('Failed to load module ' + moduleName + ': ' + e.message);
+                    }
+            \s\s\s\s
+                    // 缓存模块
+                    cache[moduleName] = module.exports;
+                    return module.exports;
+                };
+            })();
+            """);
+
     static {
         // 注册内置库 - CryptoJS
         BUILTIN_LIBRARIES.put("crypto-js", CRYPTO_JS_PATH);
@@ -132,12 +192,15 @@ public class JsLibraryLoader {
      */
     private static void loadAndInjectLibrary(Context context, String libraryName, String globalName) {
         try {
-            String code = loadBuiltinLibrary(libraryName);
-            if (code != null) {
-                context.eval("js", code);
-                log.debug("Loaded built-in library: {} {}", libraryName,
-                         globalName != null ? "(as " + globalName + ")" : "");
+            Source source = LIBRARY_SOURCES.get(libraryName);
+            if (source == null) {
+                Source built = JsSourceCache.build(libraryName, loadBuiltinLibrary(libraryName));
+                Source existing = LIBRARY_SOURCES.putIfAbsent(libraryName, built);
+                source = existing != null ? existing : built;
             }
+            context.eval(source);
+            log.debug("Loaded built-in library: {} {}", libraryName,
+                     globalName != null ? "(as " + globalName + ")" : "");
         } catch (Exception e) {
             log.warn("Failed to load library {}: {}", libraryName, e.getMessage());
         }
@@ -147,20 +210,8 @@ public class JsLibraryLoader {
      * 注入 crypto polyfill，为 CryptoJS 提供随机数生成
      */
     private static void injectCryptoPolyfill(Context context) {
-        String cryptoPolyfill = """
-                if (typeof crypto === 'undefined') {
-                    globalThis.crypto = {
-                        getRandomValues: function(array) {
-                            for (var i = 0; i < array.length; i++) {
-                                array[i] = Math.floor(Math.random() * 256);
-                            }
-                            return array;
-                        }
-                    };
-                }
-                """;
         try {
-            context.eval("js", cryptoPolyfill);
+            context.eval(CRYPTO_POLYFILL_SOURCE);
             log.debug("Injected crypto polyfill");
         } catch (Exception e) {
             log.warn("Failed to inject crypto polyfill: {}", e.getMessage());
@@ -177,40 +228,6 @@ public class JsLibraryLoader {
      * @param context GraalVM JS 上下文
      */
     public static void injectRequireFunction(Context context) {
-        // 创建 require() 函数的实现
-        String requireFunction = """
-                var require = (function() {
-                    var cache = {};
-                \s\s\s\s
-                    return function(moduleName) {
-                        // 检查缓存
-                        if (cache[moduleName]) {
-                            return cache[moduleName];
-                        }
-                \s\s\s\s
-                        // 调用 Java 端加载库
-                        var moduleCode = __loadLibrary(moduleName);
-                        if (!moduleCode) {
-                            throw new Error('Cannot find module: ' + moduleName);
-                        }
-                \s\s\s\s
-                        // 创建模块作用域
-                        var module = { exports: {} };
-                        var exports = module.exports;
-                \s\s\s\s
-                        // 执行模块代码
-                        try {
-                            eval(moduleCode);
-                        } catch (e) {
-                            throw new Error('Failed to load module ' + moduleName + ': ' + e.message);
-                        }
-                \s\s\s\s
-                        // 缓存模块
-                        cache[moduleName] = module.exports;
-                        return module.exports;
-                    };
-                })();
-                """;
 
         // 注入 __loadLibrary 辅助函数（Java 端实现）
         ProxyExecutable loadLibraryFunc = args -> {
@@ -225,7 +242,7 @@ public class JsLibraryLoader {
         context.getBindings("js").putMember("__loadLibrary", loadLibraryFunc);
 
         // 注入 require() 函数
-        context.eval("js", requireFunction);
+        context.eval(REQUIRE_FUNCTION_SOURCE);
         log.debug("Injected require() function");
     }
 
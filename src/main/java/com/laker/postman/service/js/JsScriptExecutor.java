@@ -4,9 +4,12 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * JS脚本执行器，使用GraalVM的Polyglot API执行JavaScript脚本。
@@ -24,6 +27,16 @@ public class JsScriptExecutor {
      */
     private static final JsContextPool CONTEXT_POOL;
     private static final int CONTEXT_ACQUIRE_TIMEOUT_MS = 5000; // 获取 Context 超时时间
+    private static volatile CompletableFuture<Integer> warmUpFuture;
+
+    /**
+     * 确保 console 对象存在，内置脚本只解析一次
+     */
+    private static final Source ENSURE_CONSOLE_SOURCE = JsSourceCache.build("console-polyfill.js", """
+            if (typeof console === 'undefined') {
+                globalThis.console = {};
+            }
+            """);
 
     static {
         int poolSize = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
@@ -50,7 +63,14 @@ public class JsScriptExecutor {
         }
 
         try {
-            executeScript(context.getScript(), context.getBindings(), context.getOutputCallback());
+            // 预先构建的 Source 不经过缓存查找，复用次数单独统计
+            Source source = context.getSource();
+            if (source == null) {
+                source = JsSourceCache.get(JsSourceCache.sourceName(null, context.getScriptType()), context.getScript());
+            } else {
+                JsSourceCache.recordPrecompiledReuse();
+            }
+            executeScript(source, context.getBindings(), context.getOutputCallback());
             log.debug("Script executed successfully: {}", context.getScriptType().getDisplayName());
         } catch (Exception e) {
             String errorMsg = String.format("%s execution failed: %s",
@@ -77,7 +97,20 @@ public class JsScriptExecutor {
         if (script == null || script.isBlank()) {
             return;
         }
+        executeScript(JsSourceCache.get(JsSourceCache.sourceName(null, ScriptExecutionContext.ScriptType.CUSTOM), script),
+                bindings, outputCallback);
+    }
 
+    /**
+     * 执行已构建的脚本 Source，同一个 Source 在共享 Engine 的所有 Context 中只解析一次
+     *
+     * @param source         脚本 Source，见 {@link JsSourceCache}
+     * @param bindings       需要注入的变量
+     * @param outputCallback 输出回调（可为null）
+     * @throws ScriptExecutionException 脚本执行异常
+     */
+    public static void executeScript(Source source, Map<String, Object> bindings, OutputCallback outputCallback)
+            throws ScriptExecutionException {
         JsContextPool.PooledContext pooledContext = null;
 
         try {
@@ -94,7 +127,7 @@ public class JsScriptExecutor {
             injectBindings(context, bindings);
 
             // 执行脚本
-            context.eval("js", script);
+            context.eval(source);
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -140,11 +173,7 @@ public class JsScriptExecutor {
         };
 
         // 注入到 console 对象
-        context.eval("js", """
-                if (typeof console === 'undefined') {
-                    globalThis.console = {};
-                }
-                """);
+        context.eval(ENSURE_CONSOLE_SOURCE);
         context.getBindings("js").getMember("console").putMember("log", logFunc);
     }
 
@@ -167,6 +196,89 @@ public class JsScriptExecutor {
         return e.getMessage();
     }
 
+    /**
+     * 后台预热 Context 池：并行创建 Context、加载内置库并执行预热脚本，避免首批脚本请求承担初始化开销。
+     * 重复调用时返回同一个任务。
+     *
+     * @param contexts 预热的 Context 数量
+     * @return 预热任务，完成时的值为预热成功的 Context 数量
+     */
+    public static synchronized CompletableFuture<Integer> warmUpAsync(int contexts) {
+        if (warmUpFuture != null) {
+            return warmUpFuture;
+        }
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                int warmed = CONTEXT_POOL.warmUp(contexts);
+                log.info("JS context pool warmed up: {} contexts ready in {} ms",
+                        warmed, System.currentTimeMillis() - start);
+                future.complete(warmed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.complete(0);
+            } catch (Exception e) {
+                log.warn("JS context pool warm-up failed", e);
+                future.complete(0);
+            }
+        }, "js-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        warmUpFuture = future;
+        return future;
+    }
+
+    /**
+     * 后台预热任务是否已完成（未启动预热时视为已就绪）
+     */
+    public static boolean isWarmedUp() {
+        CompletableFuture<Integer> future = warmUpFuture;
+        return future == null || future.isDone();
+    }
+
+    /**
+     * 等待后台预热完成
+     */
+    public static void awaitWarmUp() throws InterruptedException {
+        CompletableFuture<Integer> future = warmUpFuture;
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            // 预热任务内部已处理异常，不会走到这里
+            log.debug("JS warm-up finished exceptionally", e);
+        }
+    }
+
+    /**
+     * 开启 Context 线程亲和模式（压测开始前调用），每个工作线程独占一个 Context，
+     * 不超过池容量的部分预先创建，其余在线程第一次借用时创建
+     *
+     * @param contexts 亲和 Context 数量上限，一般为并发线程数
+     * @param warmUp   是否在预先创建的 Context 上执行预热脚本
+     */
+    public static void enableThreadAffinity(int contexts, boolean warmUp) throws InterruptedException {
+        CONTEXT_POOL.enableThreadAffinity(contexts, warmUp);
+    }
+
+    /**
+     * 当前线程的虚拟用户结束（压测工作线程调用），交还其亲和 Context
+     */
+    public static void releaseThreadAffinity() {
+        CONTEXT_POOL.releaseAffineContext();
+    }
+
+    /**
+     * 关闭 Context 线程亲和模式（压测结束后调用），仍在执行脚本的 Context 在归还时关闭
+     */
+    public static void disableThreadAffinity() {
+        CONTEXT_POOL.disableThreadAffinity();
+    }
+
     /**
      * 注入变量到JS上下文
      */
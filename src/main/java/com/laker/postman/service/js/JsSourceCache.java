@@ -0,0 +1,118 @@
+package com.laker.postman.service.js;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Source;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 脚本 Source 缓存
+ * <p>
+ * 以脚本名称和内容为键缓存 {@link Source}，并开启 {@code cached(true)}。
+ * 名称出现在脚本异常的堆栈中，用于区分是哪个请求的哪类脚本。
+ * 池中所有 Context 共享同一个 Engine，同一个 Source 只解析一次，后续在任意 Context 中执行都复用已解析的代码，
+ * 避免压测时同一段前置/后置脚本被反复解析。
+ * </p>
+ */
+@Slf4j
+@UtilityClass
+public class JsSourceCache {
+
+    /**
+     * 最多缓存的脚本数量；用户编辑脚本会产生新内容，超出后整体清空重新积累
+     */
+    private static final int MAX_ENTRIES = 512;
+    private static final Map<Key, Source> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder PRECOMPILED_REUSES = new LongAdder();
+
+    /**
+     * 获取脚本对应的 Source，没有时创建并缓存
+     *
+     * @param name 脚本名称，如 "登录-PreScript.js"，见 {@link #sourceName(String, ScriptExecutionContext.ScriptType)}
+     */
+    public static Source get(String name, String script) {
+        Key key = new Key(name, script);
+        Source source = CACHE.get(key);
+        if (source != null) {
+            HITS.increment();
+            return source;
+        }
+        MISSES.increment();
+        if (CACHE.size() >= MAX_ENTRIES) {
+            log.debug("Script source cache is full ({}), clearing", MAX_ENTRIES);
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(key, k -> build(k.name, k.script));
+    }
+
+    /**
+     * 记录一次对预先构建的 Source 的复用（见 {@link PrecompiledScripts}）
+     * 这类执行不经过 {@link #get}，单独计数，不影响缓存本身的命中率
+     */
+    static void recordPrecompiledReuse() {
+        PRECOMPILED_REUSES.increment();
+    }
+
+    /**
+     * 脚本名称：所属请求名加脚本类型，没有请求名时只用脚本类型
+     */
+    public static String sourceName(String owner, ScriptExecutionContext.ScriptType type) {
+        String kind = type.getDisplayName() + ".js";
+        return owner == null || owner.isBlank() ? kind : owner + "-" + kind;
+    }
+
+    /**
+     * 创建不进入缓存的 Source，用于内置的固定脚本
+     */
+    static Source build(String name, String script) {
+        return Source.newBuilder("js", script, name)
+                .cached(true)
+                .buildLiteral();
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    public static long getPrecompiledReuses() {
+        return PRECOMPILED_REUSES.sum();
+    }
+
+    /**
+     * 重置命中统计（缓存内容保留），例如在每次压测开始时调用
+     */
+    public static void resetStats() {
+        HITS.reset();
+        MISSES.reset();
+        PRECOMPILED_REUSES.reset();
+    }
+
+    private static final class Key {
+        private final String name;
+        private final String script;
+
+        private Key(String name, String script) {
+            this.name = name;
+            this.script = script;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && name.equals(other.name) && script.equals(other.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + script.hashCode();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.laker.postman.service.js;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import org.graalvm.polyglot.Source;
+
+/**
+ * 一个请求的前置/后置脚本预先构建好的 Source
+ * <p>
+ * 压测开始时为每个请求节点构建一次，之后每次迭代直接复用，不再按脚本内容查找缓存。
+ * 脚本为空时对应的 Source 为 null。
+ * </p>
+ */
+public final class PrecompiledScripts {
+
+    public final Source preScript;
+    public final Source postScript;
+
+    private PrecompiledScripts(Source preScript, Source postScript) {
+        this.preScript = preScript;
+        this.postScript = postScript;
+    }
+
+    /**
+     * @param requestName 所属请求名称，用作脚本名称的前缀，便于在异常堆栈中区分
+     */
+    public static PrecompiledScripts of(String requestName, String preScript, String postScript) {
+        return new PrecompiledScripts(
+                compile(requestName, ScriptExecutionContext.ScriptType.PRE_REQUEST, preScript),
+                compile(requestName, ScriptExecutionContext.ScriptType.POST_REQUEST, postScript));
+    }
+
+    private static Source compile(String requestName, ScriptExecutionContext.ScriptType type, String script) {
+        return CharSequenceUtil.isBlank(script) ? null : JsSourceCache.get(JsSourceCache.sourceName(requestName, type), script);
+    }
+}
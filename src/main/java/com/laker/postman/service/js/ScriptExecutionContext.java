@@ -2,6 +2,7 @@ package com.laker.postman.service.js;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.graalvm.polyglot.Source;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +46,11 @@ public class ScriptExecutionContext {
      */
     private final String script;
 
+    /**
+     * 预先构建的脚本 Source（可选），设置后执行时优先使用，不再按脚本内容查找缓存
+     */
+    private final Source source;
+
     /**
      * 脚本类型（用于日志标识和错误追踪）
      * @see ScriptType
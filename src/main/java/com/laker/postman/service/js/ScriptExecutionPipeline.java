@@ -47,6 +47,11 @@ public class ScriptExecutionPipeline {
      */
     private final String postScript;
 
+    /**
+     * 预先构建的前置/后置脚本（可选），压测时每个请求节点只构建一次
+     */
+    private final PrecompiledScripts precompiled;
+
     /**
      * 变量绑定（可选，如果不提供则自动创建）
      */
@@ -81,6 +86,7 @@ public class ScriptExecutionPipeline {
         try {
             ScriptExecutionContext context = ScriptExecutionContext.builder()
                     .script(preScript)
+                    .source(precompiled != null ? precompiled.preScript : null)
                     .scriptType(ScriptExecutionContext.ScriptType.PRE_REQUEST)
                     .bindings(bindings)
                     .outputCallback(getEffectiveOutputCallback("[PreScript Console]\n"))
@@ -117,6 +123,7 @@ public class ScriptExecutionPipeline {
         try {
             ScriptExecutionContext context = ScriptExecutionContext.builder()
                     .script(postScript)
+                    .source(precompiled != null ? precompiled.postScript : null)
                     .scriptType(ScriptExecutionContext.ScriptType.POST_REQUEST)
                     .bindings(bindings)
                     .outputCallback(getEffectiveOutputCallback("[PostScript Console]\n"))
@@ -11,11 +11,14 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class SettingManager {
     private static final String CONFIG_FILE = SystemUtil.getUserHomeEasyPostmanPath() + "easy_postman_settings.properties";
     private static final Properties props = new Properties();
+    // 每次加载或保存设置时递增，缓存了设置派生值的调用方据此判断是否需要重新计算
+    private static final AtomicInteger VERSION = new AtomicInteger();
 
     // 私有构造函数，防止实例化
     private SettingManager() {
@@ -36,6 +39,11 @@ public class SettingManager {
                 // ignore
             }
         }
+        VERSION.incrementAndGet();
+    }
+
+    public static int getVersion() {
+        return VERSION.get();
     }
 
     /**
@@ -52,6 +60,7 @@ public class SettingManager {
     }
 
     public static void save() {
+        VERSION.incrementAndGet();
         try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE)) {
             props.store(fos, "EasyPostman Settings");
         } catch (IOException e) {
@@ -165,6 +174,114 @@ public class SettingManager {
         save();
     }
 
+    public static int getPerformanceResultMaxRows() {
+        return getPositiveInt("performance_result_max_rows", 100000);
+    }
+
+    public static void setPerformanceResultMaxRows(int maxRows) {
+        props.setProperty("performance_result_max_rows", String.valueOf(maxRows));
+        save();
+    }
+
+    public static int getPerformanceResultMemoryRows() {
+        return getPositiveInt("performance_result_memory_rows", 500);
+    }
+
+    public static void setPerformanceResultMemoryRows(int memoryRows) {
+        props.setProperty("performance_result_memory_rows", String.valueOf(memoryRows));
+        save();
+    }
+
+    /**
+     * 结果表成功结果的采样率：每 N 个成功结果保留 1 个，失败结果全部保留
+     */
+    public static int getPerformanceResultSuccessSampleRate() {
+        return getPositiveInt("performance_result_success_sample_rate", 1);
+    }
+
+    public static void setPerformanceResultSuccessSampleRate(int sampleRate) {
+        props.setProperty("performance_result_success_sample_rate", String.valueOf(sampleRate));
+        save();
+    }
+
+    /**
+     * 压测含脚本时，是否等待 JS Context 预热完成后再开始测量
+     */
+    public static boolean isPerformanceWaitForJsWarmUp() {
+        String val = props.getProperty("performance_wait_for_js_warm_up");
+        if (val != null) {
+            return Boolean.parseBoolean(val);
+        }
+        return true; // 默认开启
+    }
+
+    public static void setPerformanceWaitForJsWarmUp(boolean wait) {
+        props.setProperty("performance_wait_for_js_warm_up", String.valueOf(wait));
+        save();
+    }
+
+    /**
+     * 压测期间是否启用进程内 DNS 缓存（测量前预解析测试计划中的主机）
+     */
+    public static boolean isPerformanceDnsCacheEnabled() {
+        String val = props.getProperty("performance_dns_cache_enabled");
+        if (val != null) {
+            return Boolean.parseBoolean(val);
+        }
+        return true; // 默认开启
+    }
+
+    public static void setPerformanceDnsCacheEnabled(boolean enabled) {
+        props.setProperty("performance_dns_cache_enabled", String.valueOf(enabled));
+        save();
+    }
+
+    public static int getPerformanceDnsCacheTtlSeconds() {
+        return getPositiveInt("performance_dns_cache_ttl_seconds", 60);
+    }
+
+    public static void setPerformanceDnsCacheTtlSeconds(int seconds) {
+        props.setProperty("performance_dns_cache_ttl_seconds", String.valueOf(seconds));
+        save();
+    }
+
+    /**
+     * 解析失败（负缓存）的缓存时间
+     */
+    public static int getPerformanceDnsNegativeTtlSeconds() {
+        return getPositiveInt("performance_dns_negative_ttl_seconds", 5);
+    }
+
+    public static void setPerformanceDnsNegativeTtlSeconds(int seconds) {
+        props.setProperty("performance_dns_negative_ttl_seconds", String.valueOf(seconds));
+        save();
+    }
+
+    /**
+     * 压测使用的静态 hosts 覆盖，形如 host=ip1,ip2，多项用分号分隔
+     */
+    public static String getPerformanceDnsHosts() {
+        return props.getProperty("performance_dns_hosts", "");
+    }
+
+    public static void setPerformanceDnsHosts(String hosts) {
+        props.setProperty("performance_dns_hosts", hosts == null ? "" : hosts.trim());
+        save();
+    }
+
+    private static int getPositiveInt(String key, int defaultValue) {
+        String val = props.getProperty(key);
+        if (val != null) {
+            try {
+                int value = Integer.parseInt(val);
+                return value > 0 ? value : defaultValue;
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     public static boolean isShowDownloadProgressDialog() {
         String val = props.getProperty("show_download_progress_dialog");
         if (val != null) {
@@ -0,0 +1,568 @@
+package com.laker.postman.util;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.FilterReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的 JSONPath，编译一次后可在多个线程中重复使用
+ * <p>
+ * 支持的语法：{@code $}、{@code .name}、{@code ['name']}、{@code [n]}、{@code [-n]}、{@code .*}、{@code [*]}、
+ * 递归下降 {@code ..name} / {@code ..*}，以及过滤器 {@code [?(@.a.b == 'x')]}（运算符 == != &lt; &lt;= &gt; &gt;=，
+ * 或仅 {@code [?(@.a)]} 判断存在）。
+ * </p>
+ * 求值时直接在 Jackson 流式解析器上按路径前进，不构建整个文档的 DOM，找到第一个匹配值后立即停止；
+ * 只有过滤器、负数下标和递归下降后仍有剩余路径时，才把当前所在的子树读成节点。
+ */
+public final class CompiledJsonPath {
+
+    // 只读取解析器当前所在的子树，后面还有内容；小数保留原始精度，节点求值与流式求值的文本一致
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build();
+
+    private final String path;
+    private final Step[] steps;
+
+    private CompiledJsonPath(String path, Step[] steps) {
+        this.path = path;
+        this.steps = steps;
+    }
+
+    /**
+     * 编译 JSONPath，语法错误时抛出 {@link IllegalArgumentException}
+     */
+    public static CompiledJsonPath compile(String path) {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("JSONPath is empty");
+        }
+        return new CompiledJsonPath(path, new PathParser(path.trim()).parse());
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 返回第一个匹配值：字符串返回原始内容，数字和布尔值返回文本，对象和数组返回紧凑 JSON；
+     * 没有匹配、值为 null 或不是合法 JSON 时返回 null
+     */
+    public String findFirst(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return find(parser, 0);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 在字符流上求值，找到第一个匹配值后立即返回，不读取剩余内容；读取失败或不是合法 JSON 时返回 null
+     * <p>
+     * 不关闭传入的 Reader，由调用方负责读完和关闭
+     * </p>
+     */
+    public String findFirst(Reader json) {
+        if (json == null) {
+            return null;
+        }
+        try (JsonParser parser = MAPPER.createParser(new NonClosingReader(json))) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return find(parser, 0);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 在节点上求值，调用方已有解析好的文档时使用
+     */
+    public String findFirst(JsonNode root) {
+        return root == null ? null : textOf(findInTree(root, 0));
+    }
+
+    /**
+     * 把 JSON 文本解析为可供 {@link #findFirst(JsonNode)} 多次求值的节点，不是合法 JSON 时返回 null
+     */
+    public static JsonNode parseTree(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(json);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    // ==================== 流式求值 ====================
+
+    /**
+     * 解析器位于当前值的第一个 token；未找到时把当前值完整消费掉（停在它的最后一个 token）
+     */
+    private String find(JsonParser p, int stepIndex) {
+        if (stepIndex == steps.length) {
+            return readValue(p);
+        }
+        Step step = steps[stepIndex];
+        JsonToken token = p.currentToken();
+        switch (step.kind) {
+            case CHILD, WILDCARD -> {
+                if (token == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                        boolean matches = step.kind == Kind.WILDCARD || step.name.equals(p.currentName());
+                        p.nextToken();
+                        if (matches) {
+                            String result = find(p, stepIndex + 1);
+                            if (result != null) return result;
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    return null;
+                }
+                if (token == JsonToken.START_ARRAY && step.kind == Kind.WILDCARD) {
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        String result = find(p, stepIndex + 1);
+                        if (result != null) return result;
+                    }
+                    return null;
+                }
+            }
+            case INDEX -> {
+                if (token == JsonToken.START_ARRAY && step.index >= 0) {
+                    int i = 0;
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        if (i++ == step.index) {
+                            String result = find(p, stepIndex + 1);
+                            if (result != null) return result;
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    return null;
+                }
+                if (token == JsonToken.START_ARRAY) {
+                    // 负数下标需要数组长度，读取当前数组
+                    return textOf(findInTree(MAPPER.readTree(p), stepIndex));
+                }
+            }
+            case FILTER -> {
+                if (token == JsonToken.START_ARRAY) {
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        // 过滤条件需要完整的元素，只读取当前元素
+                        JsonNode element = MAPPER.readTree(p);
+                        if (step.filter.test(element)) {
+                            String result = textOf(findInTree(element, stepIndex + 1));
+                            if (result != null) return result;
+                        }
+                    }
+                    return null;
+                }
+            }
+            case DESCENDANT -> {
+                return findDescendant(p, stepIndex);
+            }
+        }
+        p.skipChildren();
+        return null;
+    }
+
+    private String findDescendant(JsonParser p, int stepIndex) {
+        Step step = steps[stepIndex];
+        boolean last = stepIndex + 1 == steps.length;
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                boolean matches = step.name == null || step.name.equals(p.currentName());
+                p.nextToken();
+                String result;
+                if (!matches) {
+                    result = findDescendant(p, stepIndex);
+                } else if (last) {
+                    result = readValue(p);
+                    if (result == null) {
+                        continue;
+                    }
+                } else {
+                    // 剩余路径和继续下降都要读取这个值，读成节点后在节点上求值
+                    result = textOf(descendInto(MAPPER.readTree(p), stepIndex));
+                }
+                if (result != null) return result;
+            }
+            return null;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                String result;
+                if (step.name != null) {
+                    result = findDescendant(p, stepIndex);
+                } else if (last) {
+                    result = readValue(p);
+                } else {
+                    result = textOf(descendInto(MAPPER.readTree(p), stepIndex));
+                }
+                if (result != null) return result;
+            }
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * 匹配到的值先按剩余路径求值，未找到再继续在其内部递归下降
+     */
+    private JsonNode descendInto(JsonNode value, int stepIndex) {
+        JsonNode found = findInTree(value, stepIndex + 1);
+        return found != null ? found : findInTree(value, stepIndex);
+    }
+
+    private static String readValue(JsonParser p) {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            return MAPPER.readTree(p).toString();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return p.getString();
+    }
+
+    // ==================== 节点求值 ====================
+
+    private JsonNode findInTree(JsonNode node, int stepIndex) {
+        if (node == null || node.isMissingNode()) {
+            return null;
+        }
+        if (stepIndex == steps.length) {
+            return node.isNull() ? null : node;
+        }
+        Step step = steps[stepIndex];
+        switch (step.kind) {
+            case CHILD -> {
+                return node.isObject() ? findInTree(node.get(step.name), stepIndex + 1) : null;
+            }
+            case WILDCARD -> {
+                if (node.isContainer()) {
+                    for (JsonNode child : node.values()) {
+                        JsonNode found = findInTree(child, stepIndex + 1);
+                        if (found != null) return found;
+                    }
+                }
+                return null;
+            }
+            case INDEX -> {
+                if (!node.isArray()) return null;
+                int index = step.index >= 0 ? step.index : node.size() + step.index;
+                return index >= 0 && index < node.size() ? findInTree(node.get(index), stepIndex + 1) : null;
+            }
+            case FILTER -> {
+                if (node.isArray()) {
+                    for (JsonNode child : node.values()) {
+                        if (step.filter.test(child)) {
+                            JsonNode found = findInTree(child, stepIndex + 1);
+                            if (found != null) return found;
+                        }
+                    }
+                }
+                return null;
+            }
+            case DESCENDANT -> {
+                if (node.isObject()) {
+                    for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                        JsonNode found = null;
+                        if (step.name == null || step.name.equals(entry.getKey())) {
+                            found = findInTree(entry.getValue(), stepIndex + 1);
+                        }
+                        if (found == null) {
+                            found = findInTree(entry.getValue(), stepIndex);
+                        }
+                        if (found != null) return found;
+                    }
+                } else if (node.isArray()) {
+                    for (JsonNode child : node.values()) {
+                        JsonNode found = step.name == null ? findInTree(child, stepIndex + 1) : null;
+                        if (found == null) {
+                            found = findInTree(child, stepIndex);
+                        }
+                        if (found != null) return found;
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String textOf(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return node.isContainer() ? node.toString() : node.asString();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * 关闭解析器时不关闭底层 Reader
+     */
+    private static final class NonClosingReader extends FilterReader {
+        private NonClosingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // 由调用方关闭
+        }
+    }
+
+    // ==================== 编译 ====================
+
+    private enum Kind {CHILD, WILDCARD, INDEX, FILTER, DESCENDANT}
+
+    private static final class Step {
+        private final Kind kind;
+        private final String name; // CHILD 的属性名；DESCENDANT 的属性名，null 表示 ..*
+        private final int index;
+        private final Filter filter;
+
+        private Step(Kind kind, String name, int index, Filter filter) {
+            this.kind = kind;
+            this.name = name;
+            this.index = index;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * 过滤条件 {@code @.a.b op literal}，op 为 null 时只判断路径存在且不为 null
+     */
+    private static final class Filter {
+        private final String[] fieldPath;
+        private final String op;
+        private final JsonNode literal;
+
+        private Filter(String[] fieldPath, String op, JsonNode literal) {
+            this.fieldPath = fieldPath;
+            this.op = op;
+            this.literal = literal;
+        }
+
+        boolean test(JsonNode element) {
+            JsonNode value = element;
+            for (String field : fieldPath) {
+                value = value.isObject() ? value.get(field) : null;
+                if (value == null) return false;
+            }
+            if (op == null) {
+                return !value.isNull();
+            }
+            int cmp;
+            if (value.isNumber() && literal.isNumber()) {
+                cmp = value.decimalValue().compareTo(literal.decimalValue());
+            } else if (value.isString() && literal.isString()) {
+                cmp = value.asString().compareTo(literal.asString());
+            } else if (value.isBoolean() && literal.isBoolean() || value.isNull() && literal.isNull()) {
+                // 布尔值和 null 只支持相等比较
+                cmp = value.equals(literal) ? 0 : 1;
+                if (!"==".equals(op) && !"!=".equals(op)) return false;
+            } else {
+                // 类型不同时只可能不相等
+                return "!=".equals(op);
+            }
+            return switch (op) {
+                case "==" -> cmp == 0;
+                case "!=" -> cmp != 0;
+                case "<" -> cmp < 0;
+                case "<=" -> cmp <= 0;
+                case ">" -> cmp > 0;
+                case ">=" -> cmp >= 0;
+                default -> false;
+            };
+        }
+    }
+
+    private static final class PathParser {
+        private final String path;
+        private int pos;
+
+        private PathParser(String path) {
+            this.path = path;
+        }
+
+        Step[] parse() {
+            List<Step> steps = new ArrayList<>();
+            if (path.charAt(0) == '$') {
+                pos = 1;
+            } else if (path.charAt(0) != '.' && path.charAt(0) != '[') {
+                // 兼容省略 $ 的写法：a.b[0]
+                steps.add(new Step(Kind.CHILD, readName(), 0, null));
+            }
+            while (pos < path.length()) {
+                char c = path.charAt(pos);
+                if (c == '.') {
+                    if (pos + 1 < path.length() && path.charAt(pos + 1) == '.') {
+                        pos += 2;
+                        if (peek('*')) {
+                            pos++;
+                            steps.add(new Step(Kind.DESCENDANT, null, 0, null));
+                        } else {
+                            steps.add(new Step(Kind.DESCENDANT, readName(), 0, null));
+                        }
+                    } else {
+                        pos++;
+                        if (peek('*')) {
+                            pos++;
+                            steps.add(new Step(Kind.WILDCARD, null, 0, null));
+                        } else {
+                            steps.add(new Step(Kind.CHILD, readName(), 0, null));
+                        }
+                    }
+                } else if (c == '[') {
+                    steps.add(readBracket());
+                } else {
+                    throw error("unexpected '" + c + "'");
+                }
+            }
+            return steps.toArray(new Step[0]);
+        }
+
+        private boolean peek(char c) {
+            return pos < path.length() && path.charAt(pos) == c;
+        }
+
+        private String readName() {
+            int start = pos;
+            while (pos < path.length() && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+                pos++;
+            }
+            if (pos == start) {
+                throw error("empty property name");
+            }
+            return path.substring(start, pos);
+        }
+
+        private Step readBracket() {
+            int end = findBracketEnd(pos);
+            String content = path.substring(pos + 1, end).trim();
+            pos = end + 1;
+            if (content.equals("*")) {
+                return new Step(Kind.WILDCARD, null, 0, null);
+            }
+            if (isQuoted(content)) {
+                return new Step(Kind.CHILD, content.substring(1, content.length() - 1), 0, null);
+            }
+            if (content.startsWith("?(") && content.endsWith(")")) {
+                return new Step(Kind.FILTER, null, 0, parseFilter(content.substring(2, content.length() - 1).trim()));
+            }
+            try {
+                return new Step(Kind.INDEX, null, Integer.parseInt(content), null);
+            } catch (NumberFormatException e) {
+                throw error("unsupported selector [" + content + "]");
+            }
+        }
+
+        private int findBracketEnd(int start) {
+            char quote = 0;
+            for (int i = start + 1; i < path.length(); i++) {
+                char c = path.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == ']') {
+                    return i;
+                }
+            }
+            throw error("unclosed '['");
+        }
+
+        private Filter parseFilter(String expr) {
+            if (!expr.startsWith("@")) {
+                throw error("filter must start with @");
+            }
+            int opStart = -1;
+            String op = null;
+            char quote = 0;
+            for (int i = 1; i < expr.length() && op == null; i++) {
+                char c = expr.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '=' || c == '!' || c == '<' || c == '>') {
+                    opStart = i;
+                    boolean twoChars = i + 1 < expr.length() && expr.charAt(i + 1) == '=';
+                    op = expr.substring(i, twoChars ? i + 2 : i + 1);
+                }
+            }
+            String field = (op == null ? expr : expr.substring(0, opStart)).trim();
+            String[] fieldPath = field.length() <= 1 ? new String[0] : field.substring(2).split("\\.");
+            if (field.length() > 1 && !field.startsWith("@.")) {
+                throw error("unsupported filter " + expr);
+            }
+            if (op == null) {
+                return new Filter(fieldPath, null, null);
+            }
+            if (!List.of("==", "!=", "<", "<=", ">", ">=").contains(op)) {
+                throw error("unsupported operator " + op);
+            }
+            String literal = expr.substring(opStart + op.length()).trim();
+            return new Filter(fieldPath, op, parseLiteral(literal));
+        }
+
+        private JsonNode parseLiteral(String literal) {
+            if (isQuoted(literal)) {
+                return MAPPER.getNodeFactory().stringNode(literal.substring(1, literal.length() - 1));
+            }
+            switch (literal) {
+                case "true" -> {
+                    return MAPPER.getNodeFactory().booleanNode(true);
+                }
+                case "false" -> {
+                    return MAPPER.getNodeFactory().booleanNode(false);
+                }
+                case "null" -> {
+                    return MAPPER.getNodeFactory().nullNode();
+                }
+                default -> {
+                    try {
+                        return MAPPER.getNodeFactory().numberNode(new BigDecimal(literal));
+                    } catch (NumberFormatException e) {
+                        throw error("unsupported literal " + literal);
+                    }
+                }
+            }
+        }
+
+        private static boolean isQuoted(String s) {
+            return s.length() >= 2 && (s.charAt(0) == '\'' || s.charAt(0) == '"') && s.charAt(s.length() - 1) == s.charAt(0);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid JSONPath '" + path + "': " + message);
+        }
+    }
+}
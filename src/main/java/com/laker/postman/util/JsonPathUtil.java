@@ -1,54 +1,49 @@
 package com.laker.postman.util;
 
-import cn.hutool.json.JSONArray;
-import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
 import lombok.experimental.UtilityClass;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @UtilityClass
 public class JsonPathUtil {
 
     /**
-     * 从JSON对象中提取指定路径的值，支持简单的$.a.b[0].c格式
+     * 编译结果缓存，断言等场景同一路径会被反复求值；超过上限时整体清空
+     */
+    private static final int MAX_CACHED_PATHS = 256;
+    private static final Map<String, CompiledJsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+
+    /**
+     * 获取编译后的 JSONPath（带缓存），语法错误时抛出 {@link IllegalArgumentException}
+     */
+    public static CompiledJsonPath compile(String path) {
+        CompiledJsonPath compiled = COMPILED_PATHS.get(path);
+        if (compiled == null) {
+            compiled = CompiledJsonPath.compile(path);
+            if (COMPILED_PATHS.size() >= MAX_CACHED_PATHS) {
+                COMPILED_PATHS.clear();
+            }
+            COMPILED_PATHS.put(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * 从JSON中提取指定路径的第一个匹配值，语法见 {@link CompiledJsonPath}
      *
      * @param jsonObj 可以是JSONObject/JSONArray/String
-     * @param path    形如$.a.b[0].c
-     * @return 提取到的值，找不到返回null
+     * @param path    形如$.a.b[0].c、$..id、$.items[?(@.status == 'ok')].id
+     * @return 提取到的值，找不到或路径不合法返回null
      */
     public static String extractJsonPath(Object jsonObj, String path) {
         if (jsonObj == null || path == null || path.isEmpty()) return null;
-        if (jsonObj instanceof String str) {
-            if (!JSONUtil.isTypeJSON(str)) return null;
-            jsonObj = JSONUtil.parse(str);
-        }
-        if (path.startsWith("$.")) path = path.substring(2);
-        String[] segments = path.split("\\.");
-        Object current = jsonObj;
-        for (String segment : segments) {
-            if (current == null) return null;
-            if (segment.contains("[") && segment.contains("]")) {
-                String arrayName = segment.substring(0, segment.indexOf("["));
-                String indexStr = segment.substring(segment.indexOf("[") + 1, segment.indexOf("]"));
-                int index;
-                try {
-                    index = Integer.parseInt(indexStr);
-                } catch (Exception e) {
-                    return null;
-                }
-                if (current instanceof JSONObject obj) {
-                    Object arr = obj.get(arrayName);
-                    if (arr instanceof JSONArray jsonArr) {
-                        if (index >= 0 && index < jsonArr.size()) {
-                            current = jsonArr.get(index);
-                        } else return null;
-                    } else return null;
-                } else return null;
-            } else {
-                if (current instanceof JSONObject obj) {
-                    current = obj.get(segment);
-                } else return null;
-            }
+        CompiledJsonPath compiled;
+        try {
+            compiled = compile(path);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        return current != null ? current.toString() : null;
+        return compiled.findFirst(jsonObj instanceof String str ? str : jsonObj.toString());
     }
-}
\ No newline at end of file
+}
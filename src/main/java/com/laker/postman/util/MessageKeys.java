@@ -22,6 +22,7 @@ public final class MessageKeys {
     public static final String MENU_HELP_UPDATE = "menu.help.update";
     public static final String MENU_HELP_CHANGELOG = "menu.help.changelog";
     public static final String MENU_HELP_FEEDBACK = "menu.help.feedback";
+    public static final String MENU_HELP_STARTUP_TIMINGS = "menu.help.startup_timings";
     public static final String MENU_ABOUT = "menu.about";
     public static final String MENU_ABOUT_EASYPOSTMAN = "menu.about.easypostman";
     public static final String MENU_COLLECTIONS = "menu.collections";
@@ -63,6 +64,8 @@ public final class MessageKeys {
     // ============ 反馈 ============
     public static final String FEEDBACK_MESSAGE = "feedback.message";
     public static final String FEEDBACK_TITLE = "feedback.title";
+    public static final String STARTUP_TIMINGS_TITLE = "startup_timings.title";
+    public static final String STARTUP_TIMINGS_EMPTY = "startup_timings.empty";
 
     // ============ 通用 ============
     public static final String GENERAL_ERROR = "general.error";
@@ -419,6 +422,8 @@ public final class MessageKeys {
     public static final String PERFORMANCE_EFFICIENT_MODE_WARNING_MSG = "performance.efficient_mode.warning.msg";
     public static final String PERFORMANCE_EFFICIENT_MODE_DISABLE_WARNING = "performance.efficient_mode.disable.warning";
     public static final String PERFORMANCE_PROGRESS_TOOLTIP = "performance.progress.tooltip";
+    public static final String PERFORMANCE_PROGRESS_CARRIER_THREADS = "performance.progress.carrier_threads";
+    public static final String PERFORMANCE_PROGRESS_DROPPED_ITERATIONS = "performance.progress.dropped_iterations";
     public static final String PERFORMANCE_MSG_REFRESH_SUCCESS = "performance.msg.refresh_success";
     public static final String PERFORMANCE_MSG_REFRESH_WARNING = "performance.msg.refresh_warning";
     public static final String PERFORMANCE_MSG_NO_REQUEST_TO_REFRESH = "performance.msg.no_request_to_refresh";
@@ -459,20 +464,44 @@ public final class MessageKeys {
     public static final String PERFORMANCE_REPORT_COLUMN_AVG = "performance.report.column.avg";
     public static final String PERFORMANCE_REPORT_COLUMN_MIN = "performance.report.column.min";
     public static final String PERFORMANCE_REPORT_COLUMN_MAX = "performance.report.column.max";
+    public static final String PERFORMANCE_REPORT_COLUMN_P50 = "performance.report.column.p50";
     public static final String PERFORMANCE_REPORT_COLUMN_P90 = "performance.report.column.p90";
     public static final String PERFORMANCE_REPORT_COLUMN_P95 = "performance.report.column.p95";
     public static final String PERFORMANCE_REPORT_COLUMN_P99 = "performance.report.column.p99";
+    public static final String PERFORMANCE_REPORT_COLUMN_P99_9 = "performance.report.column.p99_9";
+    public static final String PERFORMANCE_REPORT_COLUMN_P99_CORRECTED = "performance.report.column.p99_corrected";
+    public static final String PERFORMANCE_REPORT_COLUMN_P99_9_CORRECTED = "performance.report.column.p99_9_corrected";
+    public static final String PERFORMANCE_REPORT_PHASE_TITLE = "performance.report.phase_title";
+    public static final String PERFORMANCE_REPORT_COLUMN_DNS_P95 = "performance.report.column.dns_p95";
+    public static final String PERFORMANCE_REPORT_COLUMN_CONNECT_P95 = "performance.report.column.connect_p95";
+    public static final String PERFORMANCE_REPORT_COLUMN_TLS_P95 = "performance.report.column.tls_p95";
+    public static final String PERFORMANCE_REPORT_COLUMN_TTFB_P50 = "performance.report.column.ttfb_p50";
+    public static final String PERFORMANCE_REPORT_COLUMN_TTFB_P95 = "performance.report.column.ttfb_p95";
+    public static final String PERFORMANCE_REPORT_COLUMN_TTFB_P99 = "performance.report.column.ttfb_p99";
+    public static final String PERFORMANCE_REPORT_COLUMN_DOWNLOAD_P95 = "performance.report.column.download_p95";
+    public static final String PERFORMANCE_REPORT_SCRIPT_CACHE = "performance.report.script_cache";
+    public static final String PERFORMANCE_REPORT_ALLOCATION = "performance.report.allocation";
+    public static final String PERFORMANCE_REPORT_DNS_CACHE = "performance.report.dns_cache";
+    public static final String PERFORMANCE_JS_WARMING_UP = "performance.js_warming_up";
     public static final String PERFORMANCE_REPORT_TOTAL_ROW = "performance.report.total_row";
 
     // ============ 性能趋势相关 ============
     public static final String PERFORMANCE_TREND_THREADS = "performance.trend.threads";
     public static final String PERFORMANCE_TREND_RESPONSE_TIME_MS = "performance.trend.response_time_ms";
+    public static final String PERFORMANCE_TREND_P99_MS = "performance.trend.p99_ms";
+    public static final String PERFORMANCE_TREND_P99_CORRECTED_MS = "performance.trend.p99_corrected_ms";
     public static final String PERFORMANCE_TREND_QPS = "performance.trend.qps";
     public static final String PERFORMANCE_TREND_ERROR_RATE_PERCENT = "performance.trend.error_rate_percent";
     public static final String PERFORMANCE_TREND_TIME = "performance.trend.time";
     public static final String PERFORMANCE_TREND_COMBINED_CHART = "performance.trend.combined_chart";
     public static final String PERFORMANCE_TREND_SEPARATE_CHARTS = "performance.trend.separate_charts";
     public static final String PERFORMANCE_TREND_METRICS = "performance.trend.metrics";
+    public static final String PERFORMANCE_TREND_CONNECTIONS = "performance.trend.connections";
+    public static final String PERFORMANCE_TREND_THREADS_CONNECTIONS = "performance.trend.threads_connections";
+    public static final String PERFORMANCE_TREND_CONNECTIONS_ACTIVE = "performance.trend.connections.active";
+    public static final String PERFORMANCE_TREND_CONNECTIONS_IDLE = "performance.trend.connections.idle";
+    public static final String PERFORMANCE_TREND_CONNECTIONS_CREATED = "performance.trend.connections.created";
+    public static final String PERFORMANCE_TREND_CONNECTIONS_EVICTED = "performance.trend.connections.evicted";
 
     // ============ 性能结果树相关 ============
     public static final String PERFORMANCE_RESULT_TREE_COLUMN_NAME = "performance.result_tree.column.name";
@@ -480,6 +509,8 @@ public final class MessageKeys {
     public static final String PERFORMANCE_RESULT_TREE_COLUMN_COST = "performance.result_tree.column.cost";
     public static final String PERFORMANCE_RESULT_TREE_COLUMN_ASSERTION = "performance.result_tree.column.assertion";
     public static final String PERFORMANCE_RESULT_TREE_SEARCH_PLACEHOLDER = "performance.result_tree.search_placeholder";
+    public static final String PERFORMANCE_RESULT_TREE_CAP_REACHED = "performance.result_tree.cap_reached";
+    public static final String PERFORMANCE_RESULT_TREE_DETAIL_DROPPED = "performance.result_tree.detail_dropped";
 
     // ============ 历史记录相关 ============
     public static final String HISTORY_EMPTY_BODY = "history.empty_body";
@@ -654,10 +685,37 @@ public final class MessageKeys {
     public static final String THREADGROUP_MODE_RAMP_UP = "threadgroup.mode.ramp_up";
     public static final String THREADGROUP_MODE_SPIKE = "threadgroup.mode.spike";
     public static final String THREADGROUP_MODE_STAIRS = "threadgroup.mode.stairs";
+    public static final String THREADGROUP_MODE_CONSTANT_ARRIVAL_RATE = "threadgroup.mode.constant_arrival_rate";
+    public static final String THREADGROUP_MODE_RAMPING_ARRIVAL_RATE = "threadgroup.mode.ramping_arrival_rate";
 
     // 线程组界面标签
     public static final String THREADGROUP_MODE_LABEL = "threadgroup.mode.label";
     public static final String THREADGROUP_PREVIEW_TITLE = "threadgroup.preview.title";
+    public static final String THREADGROUP_VIRTUAL_THREADS = "threadgroup.virtual_threads";
+    public static final String THREADGROUP_VIRTUAL_THREADS_TOOLTIP = "threadgroup.virtual_threads.tooltip";
+    public static final String THREADGROUP_VIRTUAL_THREADS_UNSUPPORTED = "threadgroup.virtual_threads.unsupported";
+    public static final String THREADGROUP_ASYNC_REQUESTS = "threadgroup.async_requests";
+    public static final String THREADGROUP_ASYNC_REQUESTS_TOOLTIP = "threadgroup.async_requests.tooltip";
+    public static final String THREADGROUP_ISOLATED_COOKIES = "threadgroup.isolated_cookies";
+    public static final String THREADGROUP_ISOLATED_COOKIES_TOOLTIP = "threadgroup.isolated_cookies.tooltip";
+    public static final String THREADGROUP_CORRECT_OMISSION = "threadgroup.correct_omission";
+    public static final String THREADGROUP_CORRECT_OMISSION_TOOLTIP = "threadgroup.correct_omission.tooltip";
+    public static final String THREADGROUP_EXPECTED_INTERVAL = "threadgroup.expected_interval";
+    public static final String THREADGROUP_EXPECTED_INTERVAL_TOOLTIP = "threadgroup.expected_interval.tooltip";
+    public static final String THREADGROUP_CUSTOM_CONNECTIONS = "threadgroup.custom_connections";
+    public static final String THREADGROUP_CUSTOM_CONNECTIONS_TOOLTIP = "threadgroup.custom_connections.tooltip";
+    public static final String THREADGROUP_PROTOCOL = "threadgroup.protocol";
+    public static final String THREADGROUP_PROTOCOL_TOOLTIP = "threadgroup.protocol.tooltip";
+    public static final String THREADGROUP_PROTOCOL_AUTO = "threadgroup.protocol.auto";
+    public static final String THREADGROUP_PROTOCOL_HTTP_1_1 = "threadgroup.protocol.http_1_1";
+    public static final String THREADGROUP_PROTOCOL_HTTP_2 = "threadgroup.protocol.http_2";
+    public static final String THREADGROUP_POOL_SIZE = "threadgroup.pool_size";
+    public static final String THREADGROUP_POOL_SIZE_TOOLTIP = "threadgroup.pool_size.tooltip";
+    public static final String THREADGROUP_KEEP_ALIVE = "threadgroup.keep_alive";
+    public static final String THREADGROUP_MAX_PER_HOST = "threadgroup.max_per_host";
+    public static final String THREADGROUP_MAX_PER_HOST_TOOLTIP = "threadgroup.max_per_host.tooltip";
+    public static final String THREADGROUP_NEW_CONNECTION_PER_ITERATION = "threadgroup.new_connection_per_iteration";
+    public static final String THREADGROUP_NEW_CONNECTION_PER_ITERATION_TOOLTIP = "threadgroup.new_connection_per_iteration.tooltip";
 
     // 固定模式标签
     public static final String THREADGROUP_FIXED_USERS = "threadgroup.fixed.users";
@@ -687,6 +745,15 @@ public final class MessageKeys {
     public static final String THREADGROUP_STAIRS_HOLD_TIME = "threadgroup.stairs.hold_time";
     public static final String THREADGROUP_STAIRS_TEST_DURATION = "threadgroup.stairs.test_duration";
 
+    // 到达率模式标签
+    public static final String THREADGROUP_ARRIVAL_RATE = "threadgroup.arrival.rate";
+    public static final String THREADGROUP_ARRIVAL_START_RATE = "threadgroup.arrival.start_rate";
+    public static final String THREADGROUP_ARRIVAL_TARGET_RATE = "threadgroup.arrival.target_rate";
+    public static final String THREADGROUP_ARRIVAL_RAMP_TIME = "threadgroup.arrival.ramp_time";
+    public static final String THREADGROUP_ARRIVAL_TEST_DURATION = "threadgroup.arrival.test_duration";
+    public static final String THREADGROUP_ARRIVAL_MAX_USERS = "threadgroup.arrival.max_users";
+    public static final String THREADGROUP_ARRIVAL_MAX_USERS_TOOLTIP = "threadgroup.arrival.max_users.tooltip";
+
     // 预览面板标签
     public static final String THREADGROUP_PREVIEW_TIME_SECONDS = "threadgroup.preview.time_seconds";
     public static final String THREADGROUP_PREVIEW_MODE_PREFIX = "threadgroup.preview.mode_prefix";
@@ -728,6 +795,22 @@ public final class MessageKeys {
     public static final String SETTINGS_JMETER_KEEP_ALIVE_TOOLTIP = "settings.jmeter.keep_alive.tooltip";
     public static final String SETTINGS_JMETER_TREND_SAMPLING = "settings.jmeter.trend_sampling";
     public static final String SETTINGS_JMETER_TREND_SAMPLING_TOOLTIP = "settings.jmeter.trend_sampling.tooltip";
+    public static final String SETTINGS_JMETER_RESULT_MAX_ROWS = "settings.jmeter.result_max_rows";
+    public static final String SETTINGS_JMETER_RESULT_MAX_ROWS_TOOLTIP = "settings.jmeter.result_max_rows.tooltip";
+    public static final String SETTINGS_JMETER_RESULT_MEMORY_ROWS = "settings.jmeter.result_memory_rows";
+    public static final String SETTINGS_JMETER_RESULT_MEMORY_ROWS_TOOLTIP = "settings.jmeter.result_memory_rows.tooltip";
+    public static final String SETTINGS_JMETER_RESULT_SAMPLE_RATE = "settings.jmeter.result_sample_rate";
+    public static final String SETTINGS_JMETER_RESULT_SAMPLE_RATE_TOOLTIP = "settings.jmeter.result_sample_rate.tooltip";
+    public static final String SETTINGS_JMETER_WAIT_JS_WARM_UP = "settings.jmeter.wait_js_warm_up";
+    public static final String SETTINGS_JMETER_WAIT_JS_WARM_UP_TOOLTIP = "settings.jmeter.wait_js_warm_up.tooltip";
+    public static final String SETTINGS_JMETER_DNS_CACHE = "settings.jmeter.dns_cache";
+    public static final String SETTINGS_JMETER_DNS_CACHE_TOOLTIP = "settings.jmeter.dns_cache.tooltip";
+    public static final String SETTINGS_JMETER_DNS_TTL = "settings.jmeter.dns_ttl";
+    public static final String SETTINGS_JMETER_DNS_TTL_TOOLTIP = "settings.jmeter.dns_ttl.tooltip";
+    public static final String SETTINGS_JMETER_DNS_NEGATIVE_TTL = "settings.jmeter.dns_negative_ttl";
+    public static final String SETTINGS_JMETER_DNS_NEGATIVE_TTL_TOOLTIP = "settings.jmeter.dns_negative_ttl.tooltip";
+    public static final String SETTINGS_JMETER_DNS_HOSTS = "settings.jmeter.dns_hosts";
+    public static final String SETTINGS_JMETER_DNS_HOSTS_TOOLTIP = "settings.jmeter.dns_hosts.tooltip";
 
     // Download settings section
     public static final String SETTINGS_DOWNLOAD_TITLE = "settings.download.title";
@@ -764,6 +847,7 @@ public final class MessageKeys {
     public static final String SETTINGS_VALIDATION_MAX_IDLE_ERROR = "settings.validation.max_idle.error";
     public static final String SETTINGS_VALIDATION_KEEP_ALIVE_ERROR = "settings.validation.keep_alive.error";
     public static final String SETTINGS_VALIDATION_TREND_SAMPLING_ERROR = "settings.validation.trend_sampling.error";
+    public static final String SETTINGS_VALIDATION_POSITIVE_INTEGER_ERROR = "settings.validation.positive_integer.error";
     public static final String SETTINGS_VALIDATION_THRESHOLD_ERROR = "settings.validation.threshold.error";
     public static final String SETTINGS_VALIDATION_MAX_HISTORY_ERROR = "settings.validation.max_history.error";
     public static final String SETTINGS_VALIDATION_MAX_OPENED_REQUESTS_ERROR = "settings.validation.max_opened_requests_error";
@@ -857,6 +941,8 @@ public final class MessageKeys {
     public static final String BINARY_TOO_LARGE_BODY = "binary.too.large.body";
     public static final String BINARY_SAVED_TEMP_FILE = "binary.saved_temp_file";
     public static final String NO_RESPONSE_BODY = "no.response.body";
+    public static final String RESPONSE_BODY_DISCARDED = "response.body.discarded";
+    public static final String RESPONSE_BODY_DIGEST = "response.body.digest";
     public static final String DOWNLOAD_LIMIT_TITLE = "download.limit.title";
     public static final String TEXT_TOO_LARGE = "text.too_large";
     public static final String TEXT_TOO_LARGE_BODY = "text.too_large.body";
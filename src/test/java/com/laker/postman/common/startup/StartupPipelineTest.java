@@ -0,0 +1,79 @@
+package com.laker.postman.common.startup;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+/**
+ * StartupPipeline 单元测试
+ */
+public class StartupPipelineTest {
+
+    private static Map<String, StartupPipeline.StageTiming> byName(List<StartupPipeline.StageTiming> timings) {
+        return timings.stream().collect(Collectors.toMap(StartupPipeline.StageTiming::getName, Function.identity()));
+    }
+
+    @Test(description = "阶段在依赖完成后才开始，互不依赖的阶段并行执行，耗时全部记录")
+    public void testDependenciesAndParallelStages() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Runnable waitForEachOther = () -> {
+            bothRunning.countDown();
+            try {
+                // 两个独立阶段串行执行时会超时
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        StartupPipeline pipeline = new StartupPipeline()
+                .stage("a", waitForEachOther)
+                .stage("b", waitForEachOther)
+                .stage("c", () -> assertEquals(bothRunning.getCount(), 0), "a", "b");
+        pipeline.start().join();
+
+        Map<String, StartupPipeline.StageTiming> timings = byName(StartupPipeline.getLastTimings());
+        assertEquals(timings.size(), 3);
+        assertEquals(timings.get("c").getStatus(), StartupPipeline.Status.SUCCESS);
+        assertEquals(timings.get("c").getDependencies(), List.of("a", "b"));
+        assertTrue(timings.get("c").getStartNanos() >= timings.get("a").getEndNanos());
+        assertTrue(timings.get("c").getStartNanos() >= timings.get("b").getEndNanos());
+        assertTrue(StartupPipeline.format(StartupPipeline.getLastTimings()).contains("total:"));
+    }
+
+    @Test(description = "阶段失败时跳过依赖它的阶段，其它阶段照常执行")
+    public void testFailureSkipsDependents() {
+        StartupPipeline pipeline = new StartupPipeline()
+                .stage("broken", () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .stage("dependent", () -> fail("should be skipped"), "broken")
+                .stage("independent", () -> {
+                });
+        assertThrows(CompletionException.class, () -> pipeline.start().join());
+        assertThrows(CompletionException.class, () -> pipeline.getFuture("dependent").join());
+        pipeline.getFuture("independent").join();
+
+        Map<String, StartupPipeline.StageTiming> timings = byName(StartupPipeline.getLastTimings());
+        assertEquals(timings.get("broken").getStatus(), StartupPipeline.Status.FAILED);
+        assertEquals(timings.get("dependent").getStatus(), StartupPipeline.Status.SKIPPED);
+        assertEquals(timings.get("independent").getStatus(), StartupPipeline.Status.SUCCESS);
+    }
+
+    @Test(description = "依赖只能指向已声明的阶段")
+    public void testUndeclaredDependency() {
+        StartupPipeline pipeline = new StartupPipeline().stage("a", () -> {
+        });
+        assertThrows(IllegalArgumentException.class, () -> pipeline.stage("b", () -> {
+        }, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.stage("a", () -> {
+        }));
+    }
+}
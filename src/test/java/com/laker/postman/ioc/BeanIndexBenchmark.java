@@ -0,0 +1,80 @@
+package com.laker.postman.ioc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 容器启动注册 Bean 的耗时基准（手动运行 main）
+ * <p>
+ * 每轮启动一个新的 JVM，分别用编译期 {@link BeanIndex} 和扫描类路径注册 com.laker.postman 下的 Bean，
+ * 输出注册耗时中位数和注册期间新加载的类数量。需要先 mvn compile 生成索引。
+ * </p>
+ */
+public class BeanIndexBenchmark {
+
+    private static final String BASE_PACKAGE = "com.laker.postman";
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && "child".equals(args[0])) {
+            runChild("index".equals(args[1]));
+            return;
+        }
+        System.out.printf("%-8s %12s %16s %8s%n", "mode", "median ms", "classes loaded", "beans");
+        measure("scan");
+        measure("index");
+    }
+
+    private static void measure(String mode) throws Exception {
+        long[] nanos = new long[RUNS];
+        String result = null;
+        for (int i = 0; i < RUNS; i++) {
+            result = launchChild(mode);
+            nanos[i] = Long.parseLong(result.split(" ")[0]);
+        }
+        Arrays.sort(nanos);
+        String[] last = result.split(" ");
+        System.out.printf("%-8s %12.2f %16s %8s%n", mode, nanos[RUNS / 2] / 1_000_000.0, last[1], last[2]);
+    }
+
+    private static String launchChild(String mode) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BeanIndexBenchmark.class.getName());
+        command.add("child");
+        command.add(mode);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // 子进程日志在前，结果在最后一行
+                result = line;
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Benchmark child failed: " + result);
+        }
+        return result;
+    }
+
+    private static void runChild(boolean useIndex) {
+        // 先初始化容器和日志，只统计注册本身
+        ApplicationContext context = ApplicationContext.getInstance();
+        int classesBefore = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        long start = System.nanoTime();
+        context.scan(useIndex, BASE_PACKAGE);
+        long elapsed = System.nanoTime() - start;
+        int classesLoaded = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount() - classesBefore;
+        System.out.println(elapsed + " " + classesLoaded + " " + context.getBeanNames().size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.laker.postman.ioc;
+
+import com.laker.postman.ioc.test.ServiceA;
+import com.laker.postman.ioc.test.ServiceB;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+/**
+ * 编译期 Bean 索引测试
+ */
+public class BeanIndexTest {
+
+    private ApplicationContext context;
+
+    @BeforeMethod
+    public void setUp() {
+        context = ApplicationContext.getInstance();
+        context.clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        context.clear();
+    }
+
+    @Test(description = "索引行格式化后可以原样解析，注释和格式不正确的行被忽略")
+    public void testFormatAndParse() {
+        BeanIndex.Entry entry = new BeanIndex.Entry("a.b.Foo$Bar", "bar", false,
+                List.of("a.b.Foo$Bar#x", "a.b.Base#y"), List.of(), List.of("a.b.Base#close"));
+        BeanIndex.Entry parsed = BeanIndex.parse(BeanIndex.format(entry));
+
+        assertNotNull(parsed);
+        assertEquals(parsed.getClassName(), "a.b.Foo$Bar");
+        assertEquals(parsed.getBeanName(), "bar");
+        assertFalse(parsed.isSingleton());
+        assertEquals(parsed.getAutowiredFields(), List.of("a.b.Foo$Bar#x", "a.b.Base#y"));
+        assertTrue(parsed.getPostConstructMethods().isEmpty());
+        assertEquals(parsed.getPreDestroyMethods(), List.of("a.b.Base#close"));
+
+        assertNull(BeanIndex.parse("# comment"));
+        assertNull(BeanIndex.parse(""));
+        assertNull(BeanIndex.parse("a.b.Foo\tfoo"));
+    }
+
+    @Test(description = "编译测试代码时生成了测试 Bean 的索引")
+    public void testIndexGeneratedAtCompileTime() throws Exception {
+        Map<String, BeanIndex.Entry> index = BeanIndex.load(getClass().getClassLoader());
+
+        BeanIndex.Entry serviceA = index.get(ServiceA.class.getName());
+        assertNotNull(serviceA, "ServiceA should be indexed");
+        assertEquals(serviceA.getBeanName(), "serviceA");
+        assertTrue(serviceA.isSingleton());
+        assertEquals(serviceA.getAutowiredFields(), List.of(ServiceA.class.getName() + "#serviceB"));
+        assertFalse(index.containsKey(BeanIndexTest.class.getName()));
+    }
+
+    @Test(description = "按索引注册与扫描类路径注册的 Bean 相同，依赖注入正常")
+    public void testIndexMatchesClasspathScan() {
+        context.scan(false, "com.laker.postman.ioc.test");
+        Set<String> scanned = context.getBeanNames();
+        context.clear();
+
+        context.scan("com.laker.postman.ioc.test");
+        assertEquals(context.getBeanNames(), scanned);
+
+        ServiceA serviceA = context.getBean(ServiceA.class);
+        ServiceB serviceB = context.getBean(ServiceB.class);
+        assertSame(serviceA.getServiceB(), serviceB);
+        assertSame(serviceB.getServiceA(), serviceA);
+    }
+}
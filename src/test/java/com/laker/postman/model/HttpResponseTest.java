@@ -0,0 +1,81 @@
+package com.laker.postman.model;
+
+import cn.hutool.json.JSONException;
+import cn.hutool.json.JSONUtil;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * HttpResponse 解析结果缓存测试
+ */
+public class HttpResponseTest {
+
+    @Test(description = "json() 同一响应只解析一次，body 变化后重新解析")
+    public void testJsonMemoized() {
+        HttpResponse response = new HttpResponse();
+        response.body = "{\"a\":1}";
+        assertSame(response.json(), response.json());
+
+        response.body = "{\"a\":2}";
+        assertEquals(response.json().getByPath("a"), 2);
+    }
+
+    @Test(description = "多次 JSONPath 查找结果一致")
+    public void testJsonPathRepeated() {
+        HttpResponse response = new HttpResponse();
+        response.body = "{\"data\":{\"items\":[{\"id\":1,\"price\":9.50},{\"id\":2}]}}";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(response.jsonPath("$.data.items[1].id"), "2");
+            assertEquals(response.jsonPath("$.data.items[0].price"), "9.50");
+            assertNull(response.jsonPath("$.data.missing"));
+        }
+    }
+
+    @Test(description = "首次流式查找与节点树上的查找结果一致")
+    public void testJsonPathStreamedThenTree() {
+        HttpResponse streamedFirst = new HttpResponse();
+        streamedFirst.body = "{\"a\":{\"b\":[1,{\"c\":2.0}]},\"d\":null}";
+        HttpResponse treeFirst = new HttpResponse();
+        treeFirst.body = streamedFirst.body;
+        treeFirst.json();
+
+        for (String path : List.of("$.a.b[1].c", "$.a.b[-1]", "$..c", "$.d", "$.a")) {
+            assertEquals(streamedFirst.jsonPath(path), treeFirst.jsonPath(path), path);
+        }
+    }
+
+    @Test(description = "json() 由共享的节点树转换，取值类型与 hutool 直接解析一致")
+    public void testJsonFromSharedTree() {
+        HttpResponse response = new HttpResponse();
+        response.body = "{\"i\":1,\"l\":12345678901,\"big\":123456789012345678901,\"d\":9.50,"
+                + "\"s\":\"x\",\"b\":true,\"n\":null,\"arr\":[1,{\"k\":\"v\"},null]}";
+        assertEquals(response.jsonPath("$.arr[1].k"), "v");
+        assertEquals(response.json().toString(), JSONUtil.parse(response.body).toString());
+        assertEquals(response.json().getByPath("d"), new BigDecimal("9.50"));
+        assertEquals(response.json().getByPath("l"), 12345678901L);
+
+        response.body = "not json";
+        assertThrows(JSONException.class, response::json);
+        assertNull(response.jsonPath("$.a"));
+    }
+
+    @Test(description = "响应头不区分大小写查找")
+    public void testHeaderIndex() {
+        HttpResponse response = new HttpResponse();
+        response.headers = new LinkedHashMap<>();
+        response.headers.put("Content-Type", List.of("application/json"));
+        response.headers.put("Set-Cookie", List.of("a=1", "b=2"));
+
+        assertEquals(response.firstHeader("content-type"), "application/json");
+        assertEquals(response.headerValues("SET-COOKIE"), List.of("a=1", "b=2"));
+        assertNull(response.firstHeader("X-Missing"));
+
+        response.addHeader("X-Trace", List.of("t1"));
+        assertEquals(response.firstHeader("x-trace"), "t1");
+    }
+}
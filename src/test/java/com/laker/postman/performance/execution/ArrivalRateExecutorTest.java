@@ -0,0 +1,74 @@
+package com.laker.postman.performance.execution;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * ArrivalRateProfile / ArrivalRateExecutor 单元测试
+ */
+public class ArrivalRateExecutorTest {
+
+    @Test(description = "恒定速率：第 n 次迭代在 n / rate 秒触发")
+    public void testConstantProfile() {
+        ArrivalRateProfile profile = ArrivalRateProfile.constant(10, 5);
+        assertEquals(profile.fireOffsetNanos(0), 0);
+        assertEquals(profile.fireOffsetNanos(1), 100_000_000L);
+        assertEquals(profile.fireOffsetNanos(49), 4_900_000_000L);
+        assertEquals(profile.fireOffsetNanos(50), -1);
+        assertEquals(profile.totalIterations(), 50);
+    }
+
+    @Test(description = "递增速率：递增阶段按积分分布，之后保持目标速率")
+    public void testRampingProfile() {
+        // 10 秒内从 0 增加到 20 次/秒，累计 100 次；之后 20 次/秒保持 10 秒，再 200 次
+        ArrivalRateProfile profile = ArrivalRateProfile.ramping(0, 20, 10, 20);
+        assertEquals(profile.totalIterations(), 300);
+        // N(t) = t^2，第 25 次在 5 秒
+        assertEquals(profile.fireOffsetNanos(25), 5_000_000_000L, 1_000);
+        assertEquals(profile.fireOffsetNanos(100), 10_000_000_000L, 1_000);
+        assertEquals(profile.fireOffsetNanos(120), 11_000_000_000L, 1_000);
+        assertEquals(profile.fireOffsetNanos(300), -1);
+        assertEquals(profile.rateAt(5), 10.0, 0.0001);
+        assertEquals(profile.rateAt(15), 20.0, 0.0001);
+    }
+
+    @Test(description = "速率为 0 时永远不会触发")
+    public void testZeroRate() {
+        ArrivalRateProfile profile = ArrivalRateProfile.constant(0, 10);
+        assertEquals(profile.fireOffsetNanos(0), -1);
+    }
+
+    @Test(description = "用户池耗尽时丢弃迭代而不是排队")
+    public void testDropsWhenPoolExhausted() throws Exception {
+        ExecutorService workers = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger droppedCallbacks = new AtomicInteger();
+        // 1 秒内 200 次，用户池只有 2 个且迭代一直阻塞
+        ArrivalRateExecutor executor = new ArrivalRateExecutor(ArrivalRateProfile.constant(200, 1), workers, 2, () -> true)
+                .onDropped(droppedCallbacks::incrementAndGet);
+        executor.run(scheduledNanos -> {
+            executed.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        release.countDown();
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(executor.getStartedIterations(), 2);
+        assertEquals(executor.getDroppedIterations(), 198);
+        assertEquals(droppedCallbacks.get(), 198);
+        assertEquals(executed.get(), 2);
+    }
+}
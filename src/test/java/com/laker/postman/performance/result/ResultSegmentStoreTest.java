@@ -0,0 +1,55 @@
+package com.laker.postman.performance.result;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.*;
+
+/**
+ * ResultSegmentStore 单元测试
+ */
+public class ResultSegmentStoreTest {
+
+    @Test(description = "记录跨段追加后按记录号读取内容不变")
+    public void testAppendAndReadAcrossSegments() throws Exception {
+        Path dir = Files.createTempDirectory("segment-store-test");
+        ResultSegmentStore store = new ResultSegmentStore(dir, 64);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(store.append(("record-" + i).getBytes(StandardCharsets.UTF_8)), i);
+        }
+        // 超过段大小的记录单独占一段
+        byte[] large = new byte[1000];
+        large[999] = 7;
+        assertEquals(store.append(large), 50);
+
+        assertEquals(store.size(), 51);
+        assertEquals(new String(store.read(0), StandardCharsets.UTF_8), "record-0");
+        assertEquals(new String(store.read(49), StandardCharsets.UTF_8), "record-49");
+        assertEquals(store.read(50), large);
+        assertNull(store.read(51));
+
+        store.close();
+        assertNull(store.read(0));
+        assertFalse(Files.exists(dir));
+    }
+
+    @Test(description = "启动清理删除遗留的存储目录，保留仍在使用的目录")
+    public void testDeleteStaleStores() throws Exception {
+        Path root = Files.createTempDirectory("segment-store-root");
+        Path stale = Files.createDirectory(root.resolve("results-stale"));
+        Files.write(stale.resolve("segment-0.dat"), new byte[16]);
+        ResultSegmentStore live = new ResultSegmentStore(Files.createDirectory(root.resolve("results-live")), 64);
+        live.append(new byte[]{1});
+
+        assertEquals(ResultSegmentStore.deleteStaleStores(root), 1);
+        assertFalse(Files.exists(stale));
+        assertEquals(live.read(0), new byte[]{1});
+
+        live.close();
+        assertEquals(ResultSegmentStore.deleteStaleStores(root), 0);
+        assertFalse(Files.exists(root.resolve("results-live")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.laker.postman.performance.stats;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * LatencyHistogram / LatencyRecorder 单元测试
+ */
+public class LatencyHistogramTest {
+
+    @Test(description = "小于 256ms 的值精确记录")
+    public void testExactValuesBelowSubBucketCount() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordValue(i);
+        }
+        assertEquals(histogram.getTotalCount(), 100);
+        assertEquals(histogram.getMin(), 1);
+        assertEquals(histogram.getMax(), 100);
+        assertEquals(histogram.getMean(), 50);
+        assertEquals(histogram.getValueAtPercentile(50), 50);
+        assertEquals(histogram.getValueAtPercentile(90), 90);
+        assertEquals(histogram.getValueAtPercentile(99), 99);
+        assertEquals(histogram.getValueAtPercentile(100), 100);
+    }
+
+    @Test(description = "大值的相对误差不超过 1%")
+    public void testRelativeErrorForLargeValues() {
+        long[] values = {300, 1_234, 15_000, 99_999, 2_500_000};
+        for (long value : values) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.recordValue(value);
+            histogram.recordValue(LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+            long p50 = histogram.getValueAtPercentile(50);
+            assertTrue(p50 >= value && p50 - value <= value / 100, "value=" + value + ", p50=" + p50);
+        }
+    }
+
+    @Test(description = "超过上限的值按上限记录，负数按 0 记录")
+    public void testClampOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(-5);
+        histogram.recordValue(LatencyHistogram.HIGHEST_TRACKABLE_VALUE * 10);
+        assertEquals(histogram.getMin(), 0);
+        assertEquals(histogram.getMax(), LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+        assertEquals(histogram.getValueAtPercentile(100), LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+    }
+
+    @Test(description = "尾部百分位：p99.9 与 p99.99")
+    public void testTailPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValues(10, 9_990);
+        histogram.recordValues(200, 9);
+        histogram.recordValue(1_000);
+        assertEquals(histogram.getValueAtPercentile(99), 10);
+        assertEquals(histogram.getValueAtPercentile(99.9), 10);
+        assertEquals(histogram.getValueAtPercentile(99.95), 200);
+        assertTrue(histogram.getValueAtPercentile(99.99) >= 200);
+        assertEquals(histogram.getValueAtPercentile(100), 1_000);
+    }
+
+    @Test(description = "空直方图返回 0")
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getTotalCount(), 0);
+        assertEquals(histogram.getMin(), 0);
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getMean(), 0);
+        assertEquals(histogram.getValueAtPercentile(99), 0);
+    }
+
+    @Test(description = "合并直方图")
+    public void testAdd() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.recordValues(5, 10);
+        b.recordValues(50, 10);
+        a.add(b);
+        assertEquals(a.getTotalCount(), 20);
+        assertEquals(a.getMin(), 5);
+        assertEquals(a.getMax(), 50);
+        assertEquals(a.getValueAtPercentile(50), 5);
+        assertEquals(a.getValueAtPercentile(51), 50);
+    }
+
+    @Test(description = "多线程并发记录后快照计数正确")
+    public void testRecorderConcurrentRecording() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(i % 100);
+                }
+            });
+        }
+        tasks.forEach(executor::execute);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        LatencyHistogram snapshot = recorder.snapshot();
+        assertEquals(snapshot.getTotalCount(), (long) threads * perThread);
+        assertEquals(snapshot.getMin(), 0);
+        assertEquals(snapshot.getMax(), 99);
+        assertEquals(snapshot.getValueAtPercentile(50), 49);
+    }
+
+    @Test(description = "分条在第一次写入时才创建，数量不超过上限")
+    public void testRecorderStripesCreatedLazily() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals(recorder.allocatedStripes(), 0);
+        assertEquals(recorder.snapshot().getTotalCount(), 0);
+
+        recorder.record(10);
+        recorder.record(20);
+        assertEquals(recorder.allocatedStripes(), 1);
+
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> recorder.record(30));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(recorder.allocatedStripes() <= LatencyRecorder.MAX_STRIPES);
+
+        LatencyHistogram snapshot = recorder.snapshot();
+        assertEquals(snapshot.getTotalCount(), threads + 2);
+        assertEquals(snapshot.getSum(), 30L * threads + 30);
+        assertEquals(snapshot.getMin(), 10);
+        assertEquals(snapshot.getMax(), 30);
+    }
+}
@@ -0,0 +1,117 @@
+package com.laker.postman.performance.stats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PerformanceStatistics.recordResult 吞吐量基准（手动运行 main）
+ * <p>
+ * 依次用 1~256 个线程持续记录结果，输出每秒记录次数，
+ * 并与旧实现（全局锁 + HashMap.merge）对比。
+ * </p>
+ */
+public class PerformanceStatisticsBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+    private static final String[] APIS = {"login", "query", "create", "update", "delete"};
+    private static final long WARMUP_MS = 500;
+    private static final long MEASURE_MS = 2_000;
+
+    interface Recorder {
+        void record(String api, boolean success, long cost, long endTime);
+    }
+
+    /**
+     * 旧实现：所有线程竞争同一把锁，结果和耗时保存为原始列表
+     */
+    static class GlobalLockRecorder implements Recorder {
+        private final Object lock = new Object();
+        private final List<long[]> results = new ArrayList<>();
+        private final Map<String, List<Long>> costMap = new HashMap<>();
+        private final Map<String, Integer> successMap = new HashMap<>();
+        private final Map<String, Integer> failMap = new HashMap<>();
+
+        @Override
+        public void record(String api, boolean success, long cost, long endTime) {
+            synchronized (lock) {
+                results.add(new long[]{endTime, success ? 1 : 0, cost});
+                costMap.computeIfAbsent(api, k -> new ArrayList<>()).add(cost);
+                if (success) {
+                    successMap.merge(api, 1, Integer::sum);
+                } else {
+                    failMap.merge(api, 1, Integer::sum);
+                }
+            }
+        }
+
+        void reset() {
+            synchronized (lock) {
+                results.clear();
+                costMap.clear();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-8s %18s %18s%n", "threads", "lock-free ops/s", "global-lock ops/s");
+        for (int threads : THREAD_COUNTS) {
+            PerformanceStatistics statistics = new PerformanceStatistics();
+            for (String api : APIS) {
+                statistics.registerApi(api);
+            }
+            double lockFree = measure(threads, statistics::recordResult, () -> {
+            });
+            GlobalLockRecorder globalLockRecorder = new GlobalLockRecorder();
+            double globalLock = measure(threads, globalLockRecorder, globalLockRecorder::reset);
+            System.out.printf("%-8d %18.0f %18.0f%n", threads, lockFree, globalLock);
+        }
+    }
+
+    private static double measure(int threads, Recorder recorder, Runnable periodicReset) throws InterruptedException {
+        run(threads, recorder, periodicReset, WARMUP_MS);
+        long start = System.nanoTime();
+        long ops = run(threads, recorder, periodicReset, MEASURE_MS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return ops / seconds;
+    }
+
+    private static long run(int threads, Recorder recorder, Runnable periodicReset, long durationMs) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    startLatch.await();
+                    long local = 0;
+                    int i = offset;
+                    while ((local & 1023) != 0 || System.nanoTime() < deadline) {
+                        recorder.record(APIS[i % APIS.length], (i & 15) != 0, i & 511, i);
+                        i++;
+                        local++;
+                    }
+                    ops.add(local);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            }, "bench-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        startLatch.countDown();
+        while (!doneLatch.await(100, TimeUnit.MILLISECONDS)) {
+            periodicReset.run();
+        }
+        periodicReset.run();
+        return ops.sum();
+    }
+}
@@ -0,0 +1,192 @@
+package com.laker.postman.performance.stats;
+
+import com.laker.postman.model.HttpPhaseTimings;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * PerformanceStatistics 单元测试
+ */
+public class PerformanceStatisticsTest {
+
+    @Test(description = "多线程记录后成功/失败计数准确")
+    public void testConcurrentRecordResult() throws Exception {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        statistics.registerApi("a");
+        int threads = 16;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    // b 未预注册，走兜底创建路径
+                    statistics.recordResult(i % 2 == 0 ? "a" : "b", i % 4 != 0, 10, i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
+        int total = threads * perThread;
+        assertEquals(statistics.getResultCount(), total);
+        assertEquals(snapshot.getTotalCount(), total);
+        assertEquals(snapshot.getSuccessCount(), total * 3 / 4);
+        // i%2==0 的一半给 a，其中 i%4==0 的失败
+        assertEquals(snapshot.getApiSuccessMap().get("a").intValue(), total / 4);
+        assertEquals(snapshot.getApiFailMap().get("a").intValue(), total / 4);
+        assertEquals(snapshot.getApiSuccessMap().get("b").intValue(), total / 2);
+        assertEquals(snapshot.getApiFailMap().get("b").intValue(), 0);
+        assertEquals(snapshot.getApiLatencyMap().get("a").getTotalCount(), total / 2);
+    }
+
+    @Test(description = "预注册但没有结果的接口不出现在报表中")
+    public void testRegisteredApiWithoutResultsIsHidden() {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        statistics.registerApi("idle");
+        statistics.registerApi("busy");
+        statistics.recordResult("busy", true, 5, 1);
+
+        PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
+        assertFalse(snapshot.getApiLatencyMap().containsKey("idle"));
+        assertTrue(snapshot.getApiLatencyMap().containsKey("busy"));
+
+        statistics.reset();
+        assertEquals(statistics.getResultCount(), 0);
+        assertTrue(statistics.snapshotForReport().getApiLatencyMap().isEmpty());
+    }
+
+    @Test(description = "趋势采样只汇总窗口内已结束的秒桶")
+    public void testTrendSnapshotUsesCompletedSeconds() {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        long base = 1_700_000_000_000L;
+        // 第 0 秒：10 个成功，耗时 20ms
+        for (int i = 0; i < 10; i++) {
+            statistics.recordResult("a", true, 20, base + i * 10);
+        }
+        // 第 1 秒：5 个失败，耗时 40ms
+        for (int i = 0; i < 5; i++) {
+            statistics.recordResult("a", false, 40, base + 1_000 + i * 10);
+        }
+
+        PerformanceTrendSnapshot first = statistics.snapshotForTrend(base, base + 1_500, 1, 1);
+        assertEquals(first.getSampleCount(), 10);
+        assertEquals(first.getAvgResponseTime(), 20.0, 0.001);
+        assertEquals(first.getErrorPercent(), 0.0, 0.001);
+
+        PerformanceTrendSnapshot second = statistics.snapshotForTrend(base + 1_500, base + 2_500, 1, 1);
+        assertEquals(second.getSampleCount(), 5);
+        assertEquals(second.getErrorPercent(), 100.0, 0.001);
+        assertEquals(second.getP99ResponseTime(), 40);
+
+        PerformanceTrendSnapshot both = statistics.snapshotForTrend(base, base + 2_000, 1, 2);
+        assertEquals(both.getSampleCount(), 15);
+        assertEquals(both.getQps(), 7.5, 0.001);
+    }
+
+    @Test(description = "环形缓冲区复用桶时丢弃旧数据")
+    public void testTrendRingBufferWrapAround() {
+        TrendRingBuffer buffer = new TrendRingBuffer();
+        long base = 1_700_000_000_000L;
+        buffer.record(base, true, 10);
+        long wrapped = base + TrendRingBuffer.CAPACITY * 1_000L;
+        buffer.record(wrapped, false, 30);
+        // 比当前桶更旧的结果被丢弃
+        buffer.record(base, true, 10);
+
+        assertEquals(buffer.aggregate(base, base + 1_000).count, 0);
+        TrendRingBuffer.Aggregate latest = buffer.aggregate(wrapped, wrapped + 1_000);
+        assertEquals(latest.count, 1);
+        assertEquals(latest.errors, 1);
+        assertEquals(latest.max, 30);
+    }
+
+    @Test(description = "开启协调遗漏修正后按预期间隔补齐缺失样本，原始统计不变")
+    public void testCoordinatedOmissionCorrection() {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        long base = 1_700_000_000_000L;
+        // 99 个 10ms 的正常请求，加 1 个 1000ms 的慢请求，预期间隔 10ms
+        for (int i = 0; i < 99; i++) {
+            statistics.recordResult("a", true, 10, base + i, 10);
+        }
+        statistics.recordResult("a", true, 1000, base + 500, 10);
+        statistics.recordResult("b", true, 1000, base + 5_000);
+
+        PerformanceReportSnapshot snapshot = statistics.snapshotForReport();
+        LatencyHistogram raw = snapshot.getApiLatencyMap().get("a");
+        assertEquals(raw.getTotalCount(), 100);
+        assertEquals(raw.getValueAtPercentile(90), 10);
+
+        // 慢请求补齐 990, 980, ..., 10 共 99 个样本
+        LatencyHistogram corrected = snapshot.getApiCorrectedLatencyMap().get("a");
+        assertEquals(corrected.getTotalCount(), 199);
+        assertTrue(corrected.getValueAtPercentile(90) > 700);
+        assertFalse(snapshot.getApiCorrectedLatencyMap().containsKey("b"));
+
+        PerformanceTrendSnapshot trend = statistics.snapshotForTrend(base, base + 1_000, 1, 1);
+        assertEquals(trend.getSampleCount(), 100);
+        assertEquals(trend.getP99ResponseTime(), 10);
+        assertTrue(trend.getCorrectedP99ResponseTime() > 900);
+        assertEquals(statistics.getMeanLatency("b"), 1000);
+    }
+
+    @Test(description = "修正后的趋势数据包含快请求，与修正后的报表直方图一致")
+    public void testCorrectedTrendIncludesFastSamples() {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        long base = 1_700_000_000_000L;
+        // 995 个 5ms 的快请求（小于预期间隔），加 1 个 50ms 的慢请求，预期间隔 20ms
+        for (int i = 0; i < 995; i++) {
+            statistics.recordResult("a", true, 5, base + i % 1_000, 20);
+        }
+        statistics.recordResult("a", true, 50, base + 999, 20);
+
+        // 慢请求记录 50，再补齐 30；快请求各记录一次
+        LatencyHistogram corrected = statistics.snapshotForReport().getApiCorrectedLatencyMap().get("a");
+        assertEquals(corrected.getTotalCount(), 997);
+        assertEquals(corrected.getValueAtPercentile(99), 5);
+
+        PerformanceTrendSnapshot trend = statistics.snapshotForTrend(base, base + 1_000, 1, 1);
+        assertEquals(trend.getSampleCount(), 996);
+        assertEquals(trend.getCorrectedP99ResponseTime(), corrected.getValueAtPercentile(99));
+    }
+
+    @Test(description = "阶段耗时按微秒记录，复用连接时不记录 DNS/连接/TLS")
+    public void testRecordPhases() {
+        PerformanceStatistics statistics = new PerformanceStatistics();
+        statistics.recordResult("api", true, 10, 1000);
+
+        HttpPhaseTimings newConnection = new HttpPhaseTimings();
+        newConnection.callStart = 0;
+        newConnection.dnsStart = 0;
+        newConnection.dnsEnd = TimeUnit.MICROSECONDS.toNanos(300);
+        newConnection.connectStart = newConnection.dnsEnd;
+        newConnection.secureConnectStart = TimeUnit.MILLISECONDS.toNanos(1);
+        newConnection.secureConnectEnd = TimeUnit.MILLISECONDS.toNanos(3);
+        newConnection.connectEnd = newConnection.secureConnectEnd;
+        newConnection.requestHeadersStart = TimeUnit.MILLISECONDS.toNanos(3);
+        newConnection.responseHeadersStart = TimeUnit.MILLISECONDS.toNanos(8);
+        newConnection.responseHeadersEnd = newConnection.responseHeadersStart;
+        newConnection.responseBodyEnd = TimeUnit.MILLISECONDS.toNanos(9);
+        statistics.recordPhases("api", newConnection);
+
+        HttpPhaseTimings reused = new HttpPhaseTimings();
+        reused.requestHeadersStart = 0;
+        reused.responseHeadersStart = TimeUnit.MILLISECONDS.toNanos(6);
+        statistics.recordPhases("api", reused);
+
+        Map<HttpPhase, LatencyHistogram> phases = statistics.snapshotForReport().getApiPhaseLatencyMap().get("api");
+        assertEquals(phases.get(HttpPhase.DNS).getTotalCount(), 1);
+        assertEquals(phases.get(HttpPhase.DNS).getMax(), 300);
+        assertEquals(phases.get(HttpPhase.CONNECT).getMax(), 700);
+        assertEquals(phases.get(HttpPhase.TLS).getTotalCount(), 1);
+        assertEquals(phases.get(HttpPhase.TTFB).getTotalCount(), 2);
+        assertEquals(phases.get(HttpPhase.TTFB).getMin(), 5000);
+        assertEquals(phases.get(HttpPhase.DOWNLOAD).getTotalCount(), 1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.laker.postman.service;
+
+import com.laker.postman.model.HttpRequestItem;
+import com.laker.postman.model.RequestGroup;
+import com.laker.postman.service.collections.RequestsPersistence;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Git 工作区提交测试
+ */
+public class WorkspaceServiceGitTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("workspace-git-test");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static DefaultMutableTreeNode requestNode(String id, String name) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId(id);
+        item.setName(name);
+        item.setUrl("https://example.com/" + name);
+        return new DefaultMutableTreeNode(new Object[]{"request", item});
+    }
+
+    private static boolean inHead(Git git, String path) throws IOException {
+        Repository repository = git.getRepository();
+        RevCommit head = repository.parseCommit(repository.resolve("HEAD"));
+        try (TreeWalk walk = TreeWalk.forPath(repository, path, head.getTree())) {
+            return walk != null;
+        }
+    }
+
+    @Test(description = "删除请求后提交，请求文件的删除也被提交")
+    public void testCommitStagesDeletedRequestFiles() throws Exception {
+        try (Git git = Git.init().setDirectory(dir.toFile()).call()) {
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+            DefaultMutableTreeNode group = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Group")});
+            DefaultMutableTreeNode removed = requestNode("r1", "first");
+            group.add(removed);
+            group.add(requestNode("r2", "second"));
+            root.add(group);
+            RequestsPersistence persistence = new RequestsPersistence(
+                    dir.resolve("collections.json").toString(), root, new DefaultTreeModel(root));
+            persistence.saveRequestGroups();
+            WorkspaceService.stageAllChanges(git);
+            git.commit().setMessage("add requests").call();
+            assertTrue(inHead(git, "collections/r1.json"));
+
+            group.remove(removed);
+            persistence.saveRequestGroups();
+            assertFalse(Files.exists(dir.resolve("collections").resolve("r1.json")));
+            WorkspaceService.stageAllChanges(git);
+            git.commit().setMessage("delete request").call();
+
+            assertFalse(inHead(git, "collections/r1.json"));
+            assertTrue(inHead(git, "collections/r2.json"));
+            assertTrue(git.status().call().isClean());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.laker.postman.service.collections;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.model.HttpRequestItem;
+import com.laker.postman.model.RequestGroup;
+import com.laker.postman.model.SavedResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+/**
+ * RequestsPersistence 单元测试
+ */
+public class RequestsPersistenceTest {
+
+    private Path dir;
+    private Path collectionFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("collections-test");
+        collectionFile = dir.resolve("collections.json");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static HttpRequestItem request(String id, String name) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId(id);
+        item.setName(name);
+        item.setUrl("https://example.com/" + name);
+        return item;
+    }
+
+    private static DefaultMutableTreeNode requestNode(HttpRequestItem item) {
+        return new DefaultMutableTreeNode(new Object[]{"request", item});
+    }
+
+    private RequestsPersistence newPersistence(DefaultMutableTreeNode root) {
+        return new RequestsPersistence(collectionFile.toString(), root, new DefaultTreeModel(root));
+    }
+
+    @Test(description = "清单只保存结构，每个请求单独成文件，重新加载后结构和内容一致")
+    public void testSaveAndLoad() throws IOException {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode group = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Group")});
+        DefaultMutableTreeNode subGroup = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Sub")});
+        group.add(requestNode(request("r1", "first")));
+        subGroup.add(requestNode(request("r/2", "second")));
+        group.add(subGroup);
+        root.add(group);
+        newPersistence(root).saveRequestGroups();
+
+        String manifest = Files.readString(collectionFile, StandardCharsets.UTF_8);
+        assertFalse(manifest.contains("\"data\""));
+        assertTrue(Files.exists(dir.resolve("collections").resolve("r1.json")));
+        try (Stream<Path> files = Files.list(dir.resolve("collections"))) {
+            assertEquals(files.count(), 2);
+        }
+
+        DefaultMutableTreeNode loadedRoot = new DefaultMutableTreeNode("root");
+        newPersistence(loadedRoot).initRequestGroupsFromFile();
+        DefaultMutableTreeNode loadedGroup = (DefaultMutableTreeNode) loadedRoot.getChildAt(0);
+        HttpRequestItem first = (HttpRequestItem) ((Object[]) ((DefaultMutableTreeNode) loadedGroup.getChildAt(0)).getUserObject())[1];
+        DefaultMutableTreeNode loadedSub = (DefaultMutableTreeNode) loadedGroup.getChildAt(1);
+        HttpRequestItem second = (HttpRequestItem) ((Object[]) ((DefaultMutableTreeNode) loadedSub.getChildAt(0)).getUserObject())[1];
+        assertEquals(first.getUrl(), "https://example.com/first");
+        assertEquals(second.getId(), "r/2");
+        assertEquals(second.getName(), "second");
+    }
+
+    @Test(description = "单个请求保存只写该请求的文件，删除请求时删除对应文件")
+    public void testIncrementalSave() throws IOException {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode group = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Group")});
+        HttpRequestItem first = request("r1", "first");
+        DefaultMutableTreeNode secondNode = requestNode(request("r2", "second"));
+        group.add(requestNode(first));
+        group.add(secondNode);
+        root.add(group);
+        RequestsPersistence persistence = newPersistence(root);
+        persistence.saveRequestGroups();
+
+        Path requestDir = dir.resolve("collections");
+        Files.writeString(collectionFile, "marker", StandardCharsets.UTF_8);
+        Files.writeString(requestDir.resolve("r2.json"), "marker", StandardCharsets.UTF_8);
+
+        first.setBody("changed body");
+        persistence.saveRequest(first);
+        assertTrue(Files.readString(requestDir.resolve("r1.json")).contains("changed body"));
+        assertEquals(Files.readString(collectionFile), "marker");
+        assertEquals(Files.readString(requestDir.resolve("r2.json")), "marker");
+
+        // 清单中的摘要变化时同时重写清单
+        first.setUrl("https://example.com/changed");
+        persistence.saveRequest(first);
+        assertTrue(Files.readString(collectionFile).contains("/changed"));
+
+        group.remove(secondNode);
+        Files.writeString(collectionFile, "marker", StandardCharsets.UTF_8);
+        persistence.saveRequestGroups();
+        assertFalse(Files.exists(requestDir.resolve("r2.json")));
+        assertNotEquals(Files.readString(collectionFile), "marker");
+    }
+
+    @Test(description = "请求内联的旧格式可以读取，保存后转换为清单加请求文件")
+    public void testLegacyInlineFormat() throws IOException {
+        JSONObject data = JSONUtil.parseObj(request("legacy", "old"));
+        JSONObject child = new JSONObject().set("type", "request").set("data", data);
+        JSONObject group = new JSONObject().set("type", "group").set("name", "Legacy")
+                .set("children", new JSONArray().put(child));
+        Files.writeString(collectionFile, new JSONArray().put(group).toStringPretty(), StandardCharsets.UTF_8);
+
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        RequestsPersistence persistence = newPersistence(root);
+        persistence.initRequestGroupsFromFile();
+        assertEquals(root.getChildAt(0).getChildCount(), 1);
+
+        persistence.saveRequestGroups();
+        assertTrue(Files.exists(dir.resolve("collections").resolve("legacy.json")));
+        assertFalse(Files.readString(collectionFile).contains("\"data\""));
+    }
+
+    @Test(description = "启动时只读取清单，请求详情第一次访问时才读取，未访问的请求保存时不重写")
+    public void testLazyLoad() throws IOException {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode group = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Group")});
+        HttpRequestItem withExample = request("r3", "third");
+        SavedResponse example = new SavedResponse();
+        example.setName("example");
+        example.setId("e1");
+        example.setBody("example body");
+        withExample.setResponse(List.of(example));
+        group.add(requestNode(request("r1", "first")));
+        group.add(requestNode(request("r2", "second")));
+        group.add(requestNode(withExample));
+        root.add(group);
+        newPersistence(root).saveRequestGroups();
+
+        Path requestDir = dir.resolve("collections");
+        JSONObject changed = JSONUtil.parseObj(Files.readString(requestDir.resolve("r1.json")));
+        changed.set("body", "from disk");
+        Files.writeString(requestDir.resolve("r1.json"), changed.toStringPretty(), StandardCharsets.UTF_8);
+        String compact = JSONUtil.parseObj(Files.readString(requestDir.resolve("r2.json"))).toString();
+        Files.writeString(requestDir.resolve("r2.json"), compact, StandardCharsets.UTF_8);
+
+        DefaultMutableTreeNode loadedRoot = new DefaultMutableTreeNode("root");
+        RequestsPersistence persistence = newPersistence(loadedRoot);
+        persistence.initRequestGroupsFromFile();
+        DefaultMutableTreeNode loadedGroup = (DefaultMutableTreeNode) loadedRoot.getChildAt(0);
+        LazyHttpRequestItem first = (LazyHttpRequestItem) ((Object[]) ((DefaultMutableTreeNode) loadedGroup.getChildAt(0)).getUserObject())[1];
+        LazyHttpRequestItem second = (LazyHttpRequestItem) ((Object[]) ((DefaultMutableTreeNode) loadedGroup.getChildAt(1)).getUserObject())[1];
+        DefaultMutableTreeNode thirdNode = (DefaultMutableTreeNode) loadedGroup.getChildAt(2);
+
+        // 有保存响应的请求按清单中的响应摘要显示子节点，响应内容第一次访问时才随请求读取
+        LazyHttpRequestItem third = (LazyHttpRequestItem) ((Object[]) thirdNode.getUserObject())[1];
+        assertEquals(thirdNode.getChildCount(), 1);
+        SavedResponse loadedExample = (SavedResponse) ((Object[]) ((DefaultMutableTreeNode) thirdNode.getChildAt(0)).getUserObject())[1];
+        assertEquals(loadedExample.getName(), "example");
+        assertFalse(third.hasLoaded());
+        assertEquals(loadedExample.getBody(), "example body");
+        assertTrue(third.hasLoaded());
+        assertSame(third.getResponse().get(0), loadedExample);
+
+        assertEquals(first.getName(), "first");
+        assertEquals(first.getUrl(), "https://example.com/first");
+        assertFalse(first.hasLoaded());
+        assertEquals(first.getBody(), "from disk");
+        assertTrue(first.hasLoaded());
+
+        first.setName("renamed");
+        persistence.saveRequestGroups();
+        assertFalse(second.hasLoaded());
+        assertEquals(Files.readString(requestDir.resolve("r2.json")), compact);
+        assertTrue(Files.readString(requestDir.resolve("r1.json")).contains("renamed"));
+        assertTrue(Files.readString(collectionFile).contains("renamed"));
+    }
+
+    @Test(description = "请求文件缺失时未修改不写入，用户修改后保存写入请求文件")
+    public void testFailedLoadWrittenAfterEdit() throws IOException {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode group = new DefaultMutableTreeNode(new Object[]{"group", new RequestGroup("Group")});
+        group.add(requestNode(request("r1", "first")));
+        root.add(group);
+        newPersistence(root).saveRequestGroups();
+        Path requestFile = dir.resolve("collections").resolve("r1.json");
+        Files.delete(requestFile);
+
+        DefaultMutableTreeNode loadedRoot = new DefaultMutableTreeNode("root");
+        RequestsPersistence persistence = newPersistence(loadedRoot);
+        persistence.initRequestGroupsFromFile();
+        DefaultMutableTreeNode loadedGroup = (DefaultMutableTreeNode) loadedRoot.getChildAt(0);
+        LazyHttpRequestItem item = (LazyHttpRequestItem) ((Object[]) ((DefaultMutableTreeNode) loadedGroup.getChildAt(0)).getUserObject())[1];
+        assertEquals(item.getBody(), "");
+        assertTrue(item.hasLoadFailed());
+
+        persistence.saveRequestGroups();
+        assertFalse(Files.exists(requestFile));
+
+        item.setBody("filled in");
+        item.setName("renamed");
+        persistence.saveRequest(item);
+        assertTrue(Files.readString(requestFile).contains("filled in"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.laker.postman.service.history;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+/**
+ * HistoryLog 单元测试
+ */
+public class HistoryLogTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("history-log");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static String record(int i) {
+        return "{\"method\":\"GET\",\"url\":\"http://localhost/" + i + "\",\"responseCode\":200,\"requestTime\":" + i + "}";
+    }
+
+    @Test(description = "追加后重新打开只读索引，按从新到旧返回，详情按偏移读取")
+    public void testAppendAndReopen() throws IOException {
+        HistoryLog historyLog = new HistoryLog(dir, 1024, 3);
+        historyLog.open(10);
+        for (int i = 1; i <= 5; i++) {
+            historyLog.append(record(i), "GET", "http://localhost/" + i, 200, i);
+        }
+        historyLog.close();
+        assertEquals(historyLog.getSegmentCount(), 2);
+
+        HistoryLog reopened = new HistoryLog(dir, 1024, 3);
+        List<HistoryLog.Entry> entries = reopened.open(4);
+        assertEquals(entries.size(), 4);
+        assertEquals(entries.get(0).url, "http://localhost/5");
+        assertEquals(entries.get(3).requestTime, 2);
+        assertNull(entries.get(0).request);
+        assertEquals(reopened.read(entries.get(2)), record(3));
+        reopened.close();
+    }
+
+    @Test(description = "超出保留条数的整段旧分段被删除，已删除的记录读取返回 null")
+    public void testExpire() throws IOException {
+        HistoryLog historyLog = new HistoryLog(dir, 1024, 2);
+        List<HistoryLog.Entry> none = historyLog.open(10);
+        assertTrue(none.isEmpty());
+        HistoryLog.Entry first = historyLog.append(record(1), "GET", "u1", 200, 1);
+        for (int i = 2; i <= 6; i++) {
+            historyLog.append(record(i), "GET", "u" + i, 200, i);
+        }
+        assertEquals(historyLog.getSegmentCount(), 3);
+
+        historyLog.expire(3);
+        assertEquals(historyLog.getSegmentCount(), 2);
+        assertNull(historyLog.read(first));
+
+        historyLog.clear();
+        historyLog.append(record(7), "GET", "u7", 200, 7);
+        historyLog.close();
+        List<HistoryLog.Entry> entries = new HistoryLog(dir, 1024, 2).open(10);
+        assertEquals(entries.size(), 1);
+        assertEquals(entries.get(0).url, "u7");
+    }
+
+    @Test(description = "残缺的索引和日志尾部在打开时修复，缺失的索引从日志补齐")
+    public void testRecoverDamagedTail() throws IOException {
+        HistoryLog historyLog = new HistoryLog(dir);
+        historyLog.open(10);
+        historyLog.append(record(1), "GET", "http://localhost/1", 200, 1);
+        historyLog.append(record(2), "GET", "http://localhost/2", 200, 2);
+        historyLog.close();
+
+        Path logFile = dir.resolve("000001.log");
+        Path indexFile = dir.resolve("000001.idx");
+        // 第三条只写入日志，索引缺失；第四条写了一半
+        Files.writeString(logFile, record(3) + "\n{\"method\":\"PO", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        // 第二条索引被截断
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(indexFile) - 5);
+        }
+
+        HistoryLog recovered = new HistoryLog(dir);
+        List<HistoryLog.Entry> entries = recovered.open(10);
+        assertEquals(entries.size(), 3);
+        assertEquals(entries.get(0).url, "http://localhost/3");
+        assertEquals(entries.get(1).url, "http://localhost/2");
+        assertEquals(recovered.read(entries.get(1)), record(2));
+
+        HistoryLog.Entry next = recovered.append(record(4), "POST", "http://localhost/4", 201, 4);
+        assertEquals(recovered.read(next), record(4));
+        recovered.close();
+        assertEquals(new HistoryLog(dir).open(10).size(), 4);
+    }
+}
@@ -0,0 +1,110 @@
+package com.laker.postman.service.http;
+
+import com.laker.postman.model.HttpHeader;
+import com.laker.postman.model.HttpParam;
+import com.laker.postman.model.HttpRequestItem;
+import com.laker.postman.model.PreparedRequest;
+import com.laker.postman.service.EnvironmentService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * CompiledRequestTemplate 单元测试：渲染结果与 PreparedRequestBuilder 一致，且不修改共享的请求条目
+ */
+public class CompiledRequestTemplateTest {
+
+    @AfterMethod
+    public void tearDown() {
+        EnvironmentService.clearTemporaryVariables();
+    }
+
+    private static HttpRequestItem createItem() {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId("tpl-1");
+        item.setMethod("POST");
+        item.setUrl("https://{{host}}/users/{{userId}}");
+        item.setBody("{\"name\":\"{{name}}\",\"missing\":\"{{missing}}\"}");
+        item.setAuthType("Bearer Token");
+        item.setAuthToken("{{token}}");
+
+        List<HttpHeader> headers = new ArrayList<>();
+        headers.add(new HttpHeader(true, "X-Trace", "trace-{{userId}}"));
+        headers.add(new HttpHeader(false, "X-Disabled", "{{userId}}"));
+        item.setHeadersList(headers);
+
+        List<HttpParam> params = new ArrayList<>();
+        params.add(new HttpParam(true, "q", "a b {{name}}"));
+        item.setParamsList(params);
+        return item;
+    }
+
+    private static void setVariables(String userId) {
+        EnvironmentService.setTemporaryVariable("host", "api.example.com");
+        EnvironmentService.setTemporaryVariable("userId", userId);
+        EnvironmentService.setTemporaryVariable("name", "$laker\\");
+        EnvironmentService.setTemporaryVariable("token", "t-1");
+    }
+
+    @Test(description = "渲染结果与 build + replaceVariablesAfterPreScript 一致")
+    public void testRenderMatchesBuilder() {
+        setVariables("42");
+        PreparedRequest expected = PreparedRequestBuilder.build(createItem());
+        PreparedRequestBuilder.replaceVariablesAfterPreScript(expected);
+
+        CompiledRequestTemplate template = CompiledRequestTemplate.compile(createItem());
+        PreparedRequest actual = template.newRequest();
+        template.render(actual);
+
+        assertEquals(actual.url, expected.url);
+        assertEquals(actual.body, expected.body);
+        assertEquals(actual.headersList, expected.headersList);
+        assertEquals(actual.paramsList, expected.paramsList);
+        assertEquals(actual.url, "https://api.example.com/users/42?q=a%20b%20$laker\\");
+        assertTrue(actual.body.contains("{{missing}}"));
+    }
+
+    @Test(description = "每次迭代按当前变量渲染，不修改请求条目")
+    public void testRenderDoesNotMutateItem() {
+        HttpRequestItem item = createItem();
+        CompiledRequestTemplate template = CompiledRequestTemplate.compile(item);
+
+        setVariables("1");
+        PreparedRequest first = template.newRequest();
+        template.render(first);
+        setVariables("2");
+        PreparedRequest second = template.newRequest();
+        template.render(second);
+
+        assertEquals(first.headersList.get(0).getValue(), "trace-1");
+        assertEquals(second.headersList.get(0).getValue(), "trace-2");
+        assertEquals(item.getHeadersList().get(0).getValue(), "trace-{{userId}}");
+        assertEquals(item.getParamsList().get(0).getValue(), "a b {{name}}");
+    }
+
+    @Test(description = "前置脚本修改过的字段按当前值解析")
+    public void testScriptModifiedFields() {
+        CompiledRequestTemplate template = CompiledRequestTemplate.compile(createItem());
+        setVariables("7");
+        PreparedRequest req = template.newRequest();
+        req.headersList.get(0).setValue("changed-{{userId}}");
+        req.paramsList.add(new HttpParam(true, "page", "{{userId}}"));
+        template.render(req);
+
+        assertEquals(req.headersList.get(0).getValue(), "changed-7");
+        assertTrue(req.url.endsWith("&page=7"), req.url);
+    }
+
+    @Test(description = "变量段拆分与正则语义一致：不跨行、最短匹配")
+    public void testTextParse() {
+        EnvironmentService.setTemporaryVariable("a", "A");
+        EnvironmentService.setTemporaryVariable("{a", "B");
+        for (String text : new String[]{"{{a}}", "{{{a}}", "x{{a\n{{a}}y", "{{}}", "{{a}}}}", "{{a}", "plain"}) {
+            assertEquals(CompiledRequestTemplate.Text.parse(text).render(), EnvironmentService.replaceVariables(text), text);
+        }
+    }
+}
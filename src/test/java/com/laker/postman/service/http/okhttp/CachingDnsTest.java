@@ -0,0 +1,80 @@
+package com.laker.postman.service.http.okhttp;
+
+import org.testng.annotations.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * CachingDns 单元测试
+ */
+public class CachingDnsTest {
+
+    private static InetAddress ip(String host, int last) throws UnknownHostException {
+        return InetAddress.getByAddress(host, new byte[]{10, 0, 0, (byte) last});
+    }
+
+    @Test(description = "命中缓存、轮换地址并统计命中/未命中")
+    public void testCacheAndRoundRobin() throws Exception {
+        AtomicInteger systemLookups = new AtomicInteger();
+        List<InetAddress> addresses = List.of(ip("api.test", 1), ip("api.test", 2));
+        CachingDns dns = new CachingDns(host -> {
+            systemLookups.incrementAndGet();
+            return addresses;
+        });
+        dns.enable(60_000, 5_000, Map.of());
+
+        assertEquals(dns.lookup("api.test"), addresses);
+        assertEquals(CachingDns.lastLookupSource(), CachingDns.Source.CACHE_MISS);
+        InetAddress first = dns.lookup("API.test").get(0);
+        InetAddress second = dns.lookup("api.test").get(0);
+        assertEquals(CachingDns.lastLookupSource(), CachingDns.Source.CACHE_HIT);
+        assertNotEquals(first, second);
+
+        assertEquals(systemLookups.get(), 1);
+        assertEquals(dns.getHits(), 2);
+        assertEquals(dns.getMisses(), 1);
+    }
+
+    @Test(description = "解析失败在负缓存时间内不再查询系统 DNS")
+    public void testNegativeCache() {
+        AtomicInteger systemLookups = new AtomicInteger();
+        CachingDns dns = new CachingDns(host -> {
+            systemLookups.incrementAndGet();
+            throw new UnknownHostException(host);
+        });
+        dns.enable(60_000, 60_000, Map.of());
+
+        assertThrows(UnknownHostException.class, () -> dns.lookup("missing.test"));
+        assertThrows(UnknownHostException.class, () -> dns.lookup("missing.test"));
+        assertEquals(systemLookups.get(), 1);
+    }
+
+    @Test(description = "未开启时直接使用系统解析，静态 hosts 优先于解析")
+    public void testDisabledAndStaticHosts() throws Exception {
+        AtomicInteger systemLookups = new AtomicInteger();
+        CachingDns dns = new CachingDns(host -> {
+            systemLookups.incrementAndGet();
+            return List.of(ip(host, 9));
+        });
+        dns.lookup("a.test");
+        dns.lookup("a.test");
+        assertEquals(systemLookups.get(), 2);
+        assertEquals(CachingDns.lastLookupSource(), CachingDns.Source.SYSTEM);
+
+        dns.enable(60_000, 0, CachingDns.parseHosts("a.test=192.168.1.10,192.168.1.11; bad.test=not-an-ip\n# comment"));
+        List<InetAddress> result = dns.lookup("A.TEST");
+        assertEquals(result.size(), 2);
+        assertEquals(result.get(0).getHostAddress(), "192.168.1.10");
+        assertEquals(CachingDns.lastLookupSource(), CachingDns.Source.HOSTS);
+        assertEquals(systemLookups.get(), 2);
+
+        dns.lookup("bad.test");
+        assertEquals(systemLookups.get(), 3);
+    }
+}
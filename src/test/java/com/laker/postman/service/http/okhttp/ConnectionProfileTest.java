@@ -0,0 +1,51 @@
+package com.laker.postman.service.http.okhttp;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Semaphore;
+
+import static org.testng.Assert.*;
+
+/**
+ * ConnectionProfile 单元测试
+ */
+public class ConnectionProfileTest {
+
+    @Test(description = "保持连接时所有用户共用线程组的连接池")
+    public void testSharedPool() {
+        ConnectionProfile profile = new ConnectionProfile(ConnectionProfile.Protocol.HTTP_1_1, 10, 30, 0, false);
+        assertSame(profile.newUserScope(), profile);
+        assertNull(profile.hostPermit("http://localhost:8080"));
+    }
+
+    @Test(description = "每次迭代新建连接时用户独占连接池，每 host 并发许可仍在线程组内共享")
+    public void testUserScope() {
+        ConnectionProfile profile = new ConnectionProfile(ConnectionProfile.Protocol.HTTP_2, 10, 30, 2, true);
+        ConnectionProfile user1 = profile.newUserScope();
+        ConnectionProfile user2 = profile.newUserScope();
+
+        assertNotSame(user1.getPool(), user2.getPool());
+        assertNotSame(user1.getPool(), profile.getPool());
+        assertEquals(user1.getProtocol(), ConnectionProfile.Protocol.HTTP_2);
+        assertTrue(user1.isNewConnectionPerIteration());
+
+        Semaphore permit = user1.hostPermit("http://localhost:8080");
+        assertSame(user2.hostPermit("http://localhost:8080"), permit);
+        assertNotSame(user1.hostPermit("https://example.com"), permit);
+        assertEquals(permit.availablePermits(), 2);
+    }
+
+    @Test(description = "按线程绑定和解除")
+    public void testBinding() {
+        ConnectionProfile profile = new ConnectionProfile(null, 5, 60, 0, false);
+        assertEquals(profile.getProtocol(), ConnectionProfile.Protocol.AUTO);
+        assertNull(ConnectionProfile.current());
+        ConnectionProfile.bind(profile);
+        try {
+            assertSame(ConnectionProfile.current(), profile);
+        } finally {
+            ConnectionProfile.unbind();
+        }
+        assertNull(ConnectionProfile.current());
+    }
+}
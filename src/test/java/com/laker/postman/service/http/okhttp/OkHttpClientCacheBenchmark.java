@@ -0,0 +1,79 @@
+package com.laker.postman.service.http.okhttp;
+
+import com.laker.postman.ioc.BeanFactory;
+import com.laker.postman.model.PreparedRequest;
+import com.laker.postman.service.http.CompressionDecompressNetworkInterceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每次请求获取 OkHttpClient 的分配量基准（手动运行 main）
+ * <p>
+ * 对比旧实现（每次 baseClient.newBuilder() 追加拦截器和事件监听后 build）
+ * 与 {@link OkHttpClientManager#getDerivedClient} 缓存派生客户端，
+ * 输出每次“获取客户端 + newCall”平均分配的字节数和耗时。
+ * </p>
+ */
+public class OkHttpClientCacheBenchmark {
+
+    private static final String BASE_URI = "http://127.0.0.1:8080";
+    private static final int TIMEOUT_MS = 30_000;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    interface ClientSupplier {
+        OkHttpClient get(PreparedRequest req);
+    }
+
+    public static void main(String[] args) {
+        // SSL 配置需要从容器中获取客户端证书服务
+        BeanFactory.init("com.laker.postman");
+        PreparedRequest req = new PreparedRequest();
+        req.url = BASE_URI + "/api/test";
+        req.method = "GET";
+        req.headersList = new ArrayList<>();
+        req.logEvent = true;
+        Request request = OkHttpRequestBuilder.buildRequest(req);
+
+        ClientSupplier perRequest = r -> {
+            OkHttpClient.Builder builder = OkHttpClientManager.getClient(BASE_URI, r.followRedirects).newBuilder();
+            builder.addNetworkInterceptor(new CompressionDecompressNetworkInterceptor());
+            builder.eventListenerFactory(call -> new EasyConsoleEventListener(r));
+            builder.connectTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .readTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .writeTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return builder.build();
+        };
+        ClientSupplier cached = r -> OkHttpClientManager.getDerivedClient(BASE_URI, r.followRedirects, TIMEOUT_MS,
+                r.logEvent, r.collectPhaseTimings);
+
+        System.out.printf("%-12s %16s %14s%n", "client", "bytes/request", "ns/request");
+        measure("per-request", perRequest, req, request);
+        measure("cached", cached, req, request);
+        OkHttpClientManager.clearClientCache();
+    }
+
+    private static void measure(String name, ClientSupplier supplier, PreparedRequest req, Request request) {
+        run(supplier, req, request, WARMUP);
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        run(supplier, req, request, ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("%-12s %16d %14d%n", name, bytes / ITERATIONS, elapsed / ITERATIONS);
+    }
+
+    private static void run(ClientSupplier supplier, PreparedRequest req, Request request, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            // 事件监听器在 newCall 时创建，这里只创建调用不执行
+            supplier.get(req).newCall(request);
+        }
+    }
+}
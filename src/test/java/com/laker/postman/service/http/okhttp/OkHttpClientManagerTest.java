@@ -0,0 +1,26 @@
+package com.laker.postman.service.http.okhttp;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * OkHttpClientManager 派生客户端缓存键测试
+ */
+public class OkHttpClientManagerTest {
+
+    @Test(description = "派生客户端缓存键按字段比较，不依赖字符串实例")
+    public void testDerivedClientKey() {
+        OkHttpClientManager.DerivedClientKey key = new OkHttpClientManager.DerivedClientKey(
+                "http://localhost:8080", true, "no-proxy", 1000, false, true);
+        OkHttpClientManager.DerivedClientKey same = new OkHttpClientManager.DerivedClientKey(
+                new String("http://localhost:8080"), true, new String("no-proxy"), 1000, false, true);
+
+        assertEquals(same, key);
+        assertEquals(same.hashCode(), key.hashCode());
+        assertNotEquals(new OkHttpClientManager.DerivedClientKey(
+                "http://localhost:8080", true, "no-proxy", 1000, true, true), key);
+        assertNotEquals(new OkHttpClientManager.DerivedClientKey(
+                "http://localhost:8080", false, "no-proxy", 1000, false, true), key);
+    }
+}
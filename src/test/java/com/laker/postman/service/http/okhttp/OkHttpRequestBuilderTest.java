@@ -3,6 +3,7 @@ package com.laker.postman.service.http.okhttp;
 import com.laker.postman.model.HttpFormData;
 import com.laker.postman.model.HttpFormUrlencoded;
 import com.laker.postman.model.HttpHeader;
+import com.laker.postman.model.HttpPhaseTimings;
 import com.laker.postman.model.PreparedRequest;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -49,6 +50,28 @@ public class OkHttpRequestBuilderTest {
         assertEquals(okRequest.header("Accept"), "application/json");
     }
 
+    @Test(description = "请求携带 PreparedRequest tag，供共享的事件监听器工厂使用")
+    public void testRequestTaggedWithPreparedRequest() {
+        request.formDataList = new ArrayList<>();
+        request.formDataList.add(new HttpFormData(true, "field", HttpFormData.TYPE_TEXT, "value"));
+
+        assertSame(OkHttpRequestBuilder.buildRequest(request).tag(PreparedRequest.class), request);
+        assertSame(OkHttpRequestBuilder.buildFormRequest(request).tag(PreparedRequest.class), request);
+        assertSame(OkHttpRequestBuilder.buildMultipartRequest(request).tag(PreparedRequest.class), request);
+    }
+
+    @Test(description = "采集阶段耗时的请求各自携带一份 HttpPhaseTimings，完整日志模式下不携带")
+    public void testRequestTaggedWithPhaseTimings() {
+        request.collectPhaseTimings = true;
+        HttpPhaseTimings first = OkHttpRequestBuilder.buildRequest(request).tag(HttpPhaseTimings.class);
+        HttpPhaseTimings second = OkHttpRequestBuilder.buildRequest(request).tag(HttpPhaseTimings.class);
+        assertNotNull(first);
+        assertNotSame(second, first);
+
+        request.logEvent = true;
+        assertNull(OkHttpRequestBuilder.buildRequest(request).tag(HttpPhaseTimings.class));
+    }
+
     @Test(description = "测试 POST 请求构建")
     public void testBuildPostRequest() throws IOException {
         request.headersList.add(new HttpHeader(true, "Content-Type", "application/json"));
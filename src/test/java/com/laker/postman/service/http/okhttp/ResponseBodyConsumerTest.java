@@ -0,0 +1,72 @@
+package com.laker.postman.service.http.okhttp;
+
+import com.laker.postman.model.HttpResponse;
+import com.laker.postman.model.ResponseBodyMode;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * ResponseBodyConsumer 单元测试
+ */
+public class ResponseBodyConsumerTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static ResponseBody largeBody() {
+        // 超过一个读缓冲区，目标文本跨越缓冲区边界
+        StringBuilder sb = new StringBuilder("{\"items\":\"");
+        sb.append("x".repeat(8 * 1024 - sb.length() - 3));
+        sb.append("\"},\"status\":\"成功\"}");
+        return ResponseBody.create(sb.toString(), JSON);
+    }
+
+    @Test(description = "流式断言跨缓冲区匹配 Contains 内容，不保留响应体")
+    public void testStreamingAssert() throws Exception {
+        HttpResponse response = new HttpResponse();
+        ResponseBodyConsumer.consume(largeBody(), response, ResponseBodyMode.STREAMING_ASSERT,
+                List.of("\"status\":\"成功\"", "missing"), null);
+
+        assertTrue(response.bodyContains("\"status\":\"成功\""));
+        assertFalse(response.bodyContains("missing"));
+        assertEquals(response.bodyMode, ResponseBodyMode.STREAMING_ASSERT);
+        assertTrue(response.bodySize > 8 * 1024);
+    }
+
+    @Test(description = "流式断言同时求值 JSONPath，命中后仍读完剩余内容")
+    public void testStreamingJsonPath() throws Exception {
+        String json = "{\"status\":\"成功\",\"items\":\"" + "x".repeat(16 * 1024) + "\",\"tail\":\"end\"}";
+        HttpResponse response = new HttpResponse();
+        ResponseBodyConsumer.consume(ResponseBody.create(json, JSON), response, ResponseBodyMode.STREAMING_ASSERT,
+                List.of("\"tail\":\"end\""), "$.status");
+
+        assertEquals(response.jsonPath("$.status"), "成功");
+        assertTrue(response.bodyContains("\"tail\":\"end\""));
+        assertEquals(response.bodySize, json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test(description = "摘要模式只保留长度和 SHA-256")
+    public void testDigest() throws Exception {
+        HttpResponse response = new HttpResponse();
+        ResponseBodyConsumer.consume(ResponseBody.create("abc", JSON), response, ResponseBodyMode.DIGEST, null, null);
+
+        assertEquals(response.bodySize, "abc".getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(response.bodyDigest, "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test(description = "KMP 匹配在部分前缀回退时不漏匹配")
+    public void testContainsMatcherFallback() {
+        ResponseBodyConsumer.ContainsMatcher matcher = new ResponseBodyConsumer.ContainsMatcher("aab".getBytes());
+        byte[] first = "xaa".getBytes();
+        byte[] second = "ab".getBytes();
+        matcher.update(first, first.length);
+        assertFalse(matcher.isMatched());
+        matcher.update(second, second.length);
+        assertTrue(matcher.isMatched());
+    }
+}
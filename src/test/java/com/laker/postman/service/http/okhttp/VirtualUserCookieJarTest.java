@@ -0,0 +1,75 @@
+package com.laker.postman.service.http.okhttp;
+
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+/**
+ * VirtualUserCookieJar 单元测试
+ */
+public class VirtualUserCookieJarTest {
+
+    private static final HttpUrl URL = HttpUrl.get("http://example.com/api/login");
+
+    @AfterMethod
+    public void tearDown() {
+        VirtualUserCookieJar.unbind();
+    }
+
+    @Test(description = "同名 Cookie 被覆盖，过期的新值删除旧值，只返回匹配路径的 Cookie")
+    public void testSaveAndLoad() {
+        VirtualUserCookieJar jar = new VirtualUserCookieJar();
+        jar.saveFromResponse(URL, List.of(
+                Cookie.parse(URL, "session=a; Path=/"),
+                Cookie.parse(URL, "admin=x; Path=/admin")));
+        jar.saveFromResponse(URL, List.of(Cookie.parse(URL, "session=b; Path=/")));
+
+        List<Cookie> loaded = jar.loadForRequest(URL);
+        assertEquals(loaded.size(), 1);
+        assertEquals(loaded.get(0).value(), "b");
+        assertEquals(jar.size(), 2);
+
+        jar.saveFromResponse(URL, List.of(Cookie.parse(URL, "session=; Max-Age=0; Path=/")));
+        assertTrue(jar.loadForRequest(URL).isEmpty());
+    }
+
+    @Test(description = "路由 Jar 在绑定线程上使用独立存储，其他线程回退到全局 Jar")
+    public void testRouting() throws Exception {
+        List<Cookie> global = new ArrayList<>();
+        CookieJar fallback = new CookieJar() {
+            @Override
+            public void saveFromResponse(HttpUrl url, List<Cookie> list) {
+                global.addAll(list);
+            }
+
+            @Override
+            public List<Cookie> loadForRequest(HttpUrl url) {
+                return global;
+            }
+        };
+        CookieJar routing = VirtualUserCookieJar.routing(fallback);
+
+        VirtualUserCookieJar jar = VirtualUserCookieJar.bind();
+        routing.saveFromResponse(URL, List.of(Cookie.parse(URL, "session=user1")));
+        assertEquals(jar.size(), 1);
+        assertTrue(global.isEmpty());
+
+        AtomicReference<List<Cookie>> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(routing.loadForRequest(URL)));
+        thread.start();
+        thread.join();
+        assertTrue(other.get().isEmpty());
+
+        VirtualUserCookieJar.unbind();
+        routing.saveFromResponse(URL, List.of(Cookie.parse(URL, "session=global")));
+        assertEquals(global.size(), 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.laker.postman.service.js;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+/**
+ * JsContextPool 线程亲和模式测试
+ */
+public class JsContextPoolTest {
+
+    private JsContextPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        pool = new JsContextPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test(description = "亲和模式下同一线程每次借到同一个 Context，不同线程各自独占")
+    public void testThreadAffinity() throws Exception {
+        pool.enableThreadAffinity(2);
+
+        JsContextPool.PooledContext first = pool.borrowContext(1000);
+        pool.returnContext(first);
+        JsContextPool.PooledContext second = pool.borrowContext(1000);
+        pool.returnContext(second);
+        assertSame(second, first);
+
+        AtomicReference<JsContextPool.PooledContext> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(pool.borrowContext(1000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(other.get(), first);
+    }
+
+    @Test(description = "虚拟用户结束后交还亲和 Context，之后的线程领取同一个，不再新建")
+    public void testReleaseAffineContext() throws Exception {
+        pool.enableThreadAffinity(1, false);
+
+        AtomicReference<JsContextPool.PooledContext> first = new AtomicReference<>();
+        AtomicReference<JsContextPool.PooledContext> second = new AtomicReference<>();
+        for (AtomicReference<JsContextPool.PooledContext> holder : List.of(first, second)) {
+            Thread thread = new Thread(() -> {
+                try {
+                    JsContextPool.PooledContext pooled = pool.borrowContext(1000);
+                    holder.set(pooled);
+                    pool.returnContext(pooled);
+                    pool.releaseAffineContext();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+        assertNotNull(first.get());
+        assertSame(second.get(), first.get());
+    }
+
+    @Test(description = "关闭亲和模式时正在使用的 Context 不被关闭，归还时才关闭")
+    public void testDisableWhileInUse() throws Exception {
+        pool.enableThreadAffinity(1, false);
+        JsContextPool.PooledContext pooled = pool.borrowContext(1000);
+
+        pool.disableThreadAffinity();
+        assertEquals(pooled.getContext().eval("js", "1 + 1").asInt(), 2);
+
+        pool.returnContext(pooled);
+        assertThrows(IllegalStateException.class, () -> pooled.getContext().eval("js", "1 + 1"));
+    }
+
+    @Test(description = "归还亲和 Context 时清理脚本注入的全局变量")
+    public void testResetRemovesGlobals() throws Exception {
+        pool.enableThreadAffinity(1);
+
+        JsContextPool.PooledContext pooled = pool.borrowContext(1000);
+        pooled.getContext().getBindings("js").putMember("pm", "value");
+        pool.returnContext(pooled);
+
+        assertFalse(pool.borrowContext(1000).getContext().getBindings("js").hasMember("pm"));
+    }
+
+    @Test(description = "关闭亲和模式后回到共享池")
+    public void testDisableThreadAffinity() throws Exception {
+        pool.enableThreadAffinity(1);
+        JsContextPool.PooledContext affine = pool.borrowContext(1000);
+        pool.returnContext(affine);
+
+        pool.disableThreadAffinity();
+        JsContextPool.PooledContext shared = pool.borrowContext(1000);
+        assertNotSame(shared, affine);
+        pool.returnContext(shared);
+    }
+
+    @Test(description = "预热不超过池的最大容量，预热后的 Context 可直接借用")
+    public void testWarmUp() throws Exception {
+        assertEquals(pool.warmUp(3), 2);
+
+        JsContextPool.PooledContext pooled = pool.borrowContext(1000);
+        assertTrue(pooled.getContext().getBindings("js").hasMember("CryptoJS"));
+        pool.returnContext(pooled);
+    }
+}
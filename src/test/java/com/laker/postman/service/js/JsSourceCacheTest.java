@@ -0,0 +1,60 @@
+package com.laker.postman.service.js;
+
+import org.graalvm.polyglot.Source;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * JsSourceCache 单元测试
+ */
+public class JsSourceCacheTest {
+
+    @Test(description = "相同内容的脚本复用同一个 Source，并统计命中/未命中")
+    public void testSameContentReusesSource() {
+        JsSourceCache.resetStats();
+        String script = "var cacheTestValue = " + System.nanoTime() + ";";
+
+        Source first = JsSourceCache.get("a-PreScript.js", script);
+        // 内容相同但不是同一个字符串实例
+        Source second = JsSourceCache.get("a-PreScript.js", new String(script));
+        // 内容相同但名称不同，堆栈中需要能区分
+        Source other = JsSourceCache.get("b-PreScript.js", script);
+
+        assertSame(second, first);
+        assertNotSame(other, first);
+        assertEquals(first.getName(), "a-PreScript.js");
+        assertEquals(other.getName(), "b-PreScript.js");
+        assertEquals(JsSourceCache.getMisses(), 2);
+        assertEquals(JsSourceCache.getHits(), 1);
+    }
+
+    @Test(description = "预构建的脚本可以在池中的 Context 上重复执行")
+    public void testPrecompiledScriptsExecute() throws Exception {
+        PrecompiledScripts scripts = PrecompiledScripts.of("登录", "holder.put('n', (holder.get('n') || 0) + 1);", "  ");
+        assertNotNull(scripts.preScript);
+        assertNull(scripts.postScript);
+        assertEquals(scripts.preScript.getName(), "登录-PreScript.js");
+        JsSourceCache.resetStats();
+
+        Map<String, Object> holder = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> bindings = new HashMap<>();
+            bindings.put("holder", holder);
+            JsScriptExecutor.executeScript(ScriptExecutionContext.builder()
+                    .script(scripts.preScript.getCharacters().toString())
+                    .source(scripts.preScript)
+                    .scriptType(ScriptExecutionContext.ScriptType.PRE_REQUEST)
+                    .bindings(bindings)
+                    .build());
+        }
+        assertEquals(((Number) holder.get("n")).intValue(), 3);
+        // 预先构建的 Source 不查找缓存，复用单独计数，不计入命中
+        assertEquals(JsSourceCache.getPrecompiledReuses(), 3);
+        assertEquals(JsSourceCache.getHits(), 0);
+        assertEquals(JsSourceCache.getMisses(), 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.laker.postman.util;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * JsonPathUtil / CompiledJsonPath 单元测试
+ */
+public class JsonPathUtilTest {
+
+    private static final String JSON = """
+            {
+              "code": 0,
+              "message": "成功",
+              "data": {
+                "total": 3,
+                "items": [
+                  {"id": 1, "name": "a", "status": "ok", "price": 9.5, "tags": ["x"]},
+                  {"id": 2, "name": "b", "status": "fail", "price": 20},
+                  {"id": 3, "name": "c", "status": "ok", "price": 30, "owner": {"name": "laker"}}
+                ],
+                "empty": null
+              }
+            }
+            """;
+
+    @Test(description = "兼容原有的 $.a.b[0].c 写法")
+    public void testSimplePath() {
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.code"), "0");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.message"), "成功");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[1].name"), "b");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "data.items[0].price"), "9.5");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[0].tags"), "[\"x\"]");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[2].owner"), "{\"name\":\"laker\"}");
+        assertNull(JsonPathUtil.extractJsonPath(JSON, "$.data.items[5].name"));
+        assertNull(JsonPathUtil.extractJsonPath(JSON, "$.data.empty"));
+        assertNull(JsonPathUtil.extractJsonPath(JSON, "$.missing.path"));
+        assertNull(JsonPathUtil.extractJsonPath("not json", "$.code"));
+    }
+
+    @Test(description = "通配符、负数下标、括号属性名")
+    public void testWildcardAndIndex() {
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[*].id"), "1");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[-1].id"), "3");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$['data']['total']"), "3");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.*"), "3");
+    }
+
+    @Test(description = "过滤器")
+    public void testFilter() {
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[?(@.status == 'fail')].id"), "2");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[?(@.price > 10)].name"), "b");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[?(@.owner.name == \"laker\")].id"), "3");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$.data.items[?(@.owner)].name"), "c");
+        assertNull(JsonPathUtil.extractJsonPath(JSON, "$.data.items[?(@.price > 100)].name"));
+    }
+
+    @Test(description = "递归下降")
+    public void testRecursiveDescent() {
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$..id"), "1");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$..owner.name"), "laker");
+        assertEquals(JsonPathUtil.extractJsonPath(JSON, "$..items[2].status"), "ok");
+    }
+
+    @Test(description = "找到后不再解析后续内容")
+    public void testStopsAtFirstMatch() {
+        assertEquals(JsonPathUtil.extractJsonPath("{\"code\":0,\"broken\":", "$.code"), "0");
+    }
+
+    @Test(description = "非法路径返回 null，compile 抛出异常")
+    public void testInvalidPath() {
+        assertNull(JsonPathUtil.extractJsonPath(JSON, "$.data[abc]"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledJsonPath.compile("$.items[?(@.a =~ 'x')]"));
+    }
+}